@@ -0,0 +1,30 @@
+package pl.coderstrust.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.stereotype.Component;
+
+@Component
+@PropertySource("classpath:caching.properties")
+@ConfigurationProperties(prefix = "pl.coderstrust.database.cache")
+public class CachingDatabaseProperties {
+
+    private int maximumSize = 10000;
+    private int hotPeriodInDays = 30;
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(final int maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public int getHotPeriodInDays() {
+        return hotPeriodInDays;
+    }
+
+    public void setHotPeriodInDays(final int hotPeriodInDays) {
+        this.hotPeriodInDays = hotPeriodInDays;
+    }
+}
@@ -1,18 +1,29 @@
 package pl.coderstrust.configuration;
 
+import java.sql.SQLException;
+import javax.sql.DataSource;
+
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
-import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
 import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
 import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.PropertySource;
+import pl.coderstrust.database.hibernate.SqlSequences;
 
 @Configuration
 @PropertySource("classpath:hibernate.properties")
 @ConditionalOnProperty(name = "pl.coderstrust.database", havingValue = "hibernate")
-@Import({DataSourceAutoConfiguration.class,
-    DataSourceTransactionManagerAutoConfiguration.class,
-    HibernateJpaAutoConfiguration.class})
+@Import({DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class})
 public class HibernateConfiguration {
+
+    @Bean
+    @DependsOn("entityManagerFactory")
+    public SqlSequences sqlSequences(DataSource dataSource) throws SQLException {
+        SqlSequences sqlSequences = new SqlSequences(dataSource);
+        sqlSequences.advanceToExistingIds();
+        return sqlSequences;
+    }
 }
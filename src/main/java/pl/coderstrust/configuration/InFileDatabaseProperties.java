@@ -3,6 +3,9 @@ package pl.coderstrust.configuration;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.stereotype.Component;
+import pl.coderstrust.database.infile.FsyncPolicy;
+import pl.coderstrust.database.infile.ReadMode;
+import pl.coderstrust.database.infile.RecordFormat;
 
 @Component
 @PropertySource("classpath:in-file.properties")
@@ -10,6 +13,13 @@ import org.springframework.stereotype.Component;
 public class InFileDatabaseProperties {
 
     private String filePath;
+    private long segmentSize = 67108864;
+    private ReadMode readMode = ReadMode.STREAM;
+    private RecordFormat recordFormat = RecordFormat.JSON;
+    private FsyncPolicy fsyncPolicy = FsyncPolicy.EVERY_WRITE;
+    private long fsyncInterval = 100;
+    private double compactionThreshold = 0.5;
+    private long compactionInterval = 60000;
 
     public String getFilePath() {
         return filePath;
@@ -18,4 +28,60 @@ public class InFileDatabaseProperties {
     public void setFilePath(final String filePath) {
         this.filePath = filePath;
     }
+
+    public long getSegmentSize() {
+        return segmentSize;
+    }
+
+    public void setSegmentSize(final long segmentSize) {
+        this.segmentSize = segmentSize;
+    }
+
+    public ReadMode getReadMode() {
+        return readMode;
+    }
+
+    public void setReadMode(final ReadMode readMode) {
+        this.readMode = readMode;
+    }
+
+    public RecordFormat getRecordFormat() {
+        return recordFormat;
+    }
+
+    public void setRecordFormat(final RecordFormat recordFormat) {
+        this.recordFormat = recordFormat;
+    }
+
+    public FsyncPolicy getFsyncPolicy() {
+        return fsyncPolicy;
+    }
+
+    public void setFsyncPolicy(final FsyncPolicy fsyncPolicy) {
+        this.fsyncPolicy = fsyncPolicy;
+    }
+
+    public long getFsyncInterval() {
+        return fsyncInterval;
+    }
+
+    public void setFsyncInterval(final long fsyncInterval) {
+        this.fsyncInterval = fsyncInterval;
+    }
+
+    public double getCompactionThreshold() {
+        return compactionThreshold;
+    }
+
+    public void setCompactionThreshold(final double compactionThreshold) {
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    public long getCompactionInterval() {
+        return compactionInterval;
+    }
+
+    public void setCompactionInterval(final long compactionInterval) {
+        this.compactionInterval = compactionInterval;
+    }
 }
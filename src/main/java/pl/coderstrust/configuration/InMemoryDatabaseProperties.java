@@ -0,0 +1,68 @@
+package pl.coderstrust.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.stereotype.Component;
+import pl.coderstrust.database.infile.FsyncPolicy;
+import pl.coderstrust.database.inmemory.StorageType;
+
+@Component
+@PropertySource("classpath:in-memory.properties")
+@ConfigurationProperties(prefix = "pl.coderstrust.database.in-memory")
+public class InMemoryDatabaseProperties {
+
+    private StorageType storageType = StorageType.HEAP;
+    private int offHeapChunkSize = 67108864;
+    private String persistencePath;
+    private long snapshotInterval = 300000;
+    private FsyncPolicy fsyncPolicy = FsyncPolicy.EVERY_WRITE;
+    private long fsyncInterval = 100;
+
+    public StorageType getStorageType() {
+        return storageType;
+    }
+
+    public void setStorageType(final StorageType storageType) {
+        this.storageType = storageType;
+    }
+
+    public int getOffHeapChunkSize() {
+        return offHeapChunkSize;
+    }
+
+    public void setOffHeapChunkSize(final int offHeapChunkSize) {
+        this.offHeapChunkSize = offHeapChunkSize;
+    }
+
+    public String getPersistencePath() {
+        return persistencePath;
+    }
+
+    public void setPersistencePath(final String persistencePath) {
+        this.persistencePath = persistencePath;
+    }
+
+    public long getSnapshotInterval() {
+        return snapshotInterval;
+    }
+
+    public void setSnapshotInterval(final long snapshotInterval) {
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    public FsyncPolicy getFsyncPolicy() {
+        return fsyncPolicy;
+    }
+
+    public void setFsyncPolicy(final FsyncPolicy fsyncPolicy) {
+        this.fsyncPolicy = fsyncPolicy;
+    }
+
+    public long getFsyncInterval() {
+        return fsyncInterval;
+    }
+
+    public void setFsyncInterval(final long fsyncInterval) {
+        this.fsyncInterval = fsyncInterval;
+    }
+}
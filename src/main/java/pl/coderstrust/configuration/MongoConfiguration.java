@@ -3,13 +3,23 @@ package pl.coderstrust.configuration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.data.mongo.MongoDataAutoConfiguration;
 import org.springframework.boot.autoconfigure.mongo.MongoAutoConfiguration;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.PropertySource;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import pl.coderstrust.database.nosql.MongoIndexes;
 
 @Configuration
 @PropertySource("classpath:mongodb.properties")
 @ConditionalOnProperty(name = "pl.coderstrust.database", havingValue = "mongo")
 @Import({MongoAutoConfiguration.class, MongoDataAutoConfiguration.class})
 public class MongoConfiguration {
+
+    @Bean
+    public MongoIndexes mongoIndexes(MongoTemplate mongoTemplate) {
+        MongoIndexes mongoIndexes = new MongoIndexes(mongoTemplate);
+        mongoIndexes.ensureIndexes();
+        return mongoIndexes;
+    }
 }
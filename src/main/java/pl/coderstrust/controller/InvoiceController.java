@@ -1,14 +1,18 @@
 package pl.coderstrust.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiImplicitParam;
 import io.swagger.annotations.ApiImplicitParams;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
+import java.io.IOException;
 import java.time.LocalDate;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -29,7 +33,9 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import pl.coderstrust.model.Invoice;
+import pl.coderstrust.model.InvoiceTotal;
 import pl.coderstrust.model.validation.InvoiceValidator;
 import pl.coderstrust.service.InvoiceEmailService;
 import pl.coderstrust.service.InvoicePdfService;
@@ -41,29 +47,77 @@ import pl.coderstrust.service.ServiceOperationException;
 @Api(value = "/invoices")
 public class InvoiceController {
 
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private Logger log = LoggerFactory.getLogger(InvoiceController.class);
 
     private final InvoiceService invoiceService;
     private final InvoiceEmailService invoiceEmailService;
     private final InvoicePdfService invoicePdfService;
+    private final ObjectMapper mapper;
 
     @Autowired
-    public InvoiceController(InvoiceService invoiceService, InvoiceEmailService invoiceEmailService, InvoicePdfService invoicePdfService) {
+    public InvoiceController(InvoiceService invoiceService, InvoiceEmailService invoiceEmailService, InvoicePdfService invoicePdfService, ObjectMapper mapper) {
         this.invoiceService = invoiceService;
         this.invoiceEmailService = invoiceEmailService;
         this.invoicePdfService = invoicePdfService;
+        this.mapper = mapper;
     }
 
     @GetMapping(produces = "application/json")
-    @ApiOperation(value = "Get all invoices", notes = "Retrieving the collection of all invoices in database", response = Invoice[].class)
+    @ApiOperation(value = "Get all invoices", notes = "Retrieving the collection of all invoices in database or one page of them ordered by id when after or limit is provided. "
+        + "Link header points to the next page.", response = Invoice[].class)
     @ApiResponses({
         @ApiResponse(code = 200, message = "OK", response = Invoice[].class),
+        @ApiResponse(code = 400, message = "Bad request"),
+        @ApiResponse(code = 406, message = "Not acceptable format"),
+        @ApiResponse(code = 500, message = "Internal server error")
+    })
+    @ApiImplicitParams({
+        @ApiImplicitParam(name = "after", value = "Id of the last invoice from previous page", dataType = "Long"),
+        @ApiImplicitParam(name = "limit", value = "Maximum number of invoices in page", dataType = "Integer")
+    })
+    public ResponseEntity<?> getAll(@RequestParam(name = "after", required = false) Long after, @RequestParam(name = "limit", required = false) Integer limit) throws ServiceOperationException {
+        if (after == null && limit == null) {
+            log.info("Attempt to get all invoices");
+            return ResponseHelper.createJsonOkResponse(invoiceService.getAllInvoices());
+        }
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        if (pageSize <= 0 || pageSize > MAX_PAGE_SIZE) {
+            log.error("Attempt to get page of invoices providing invalid limit.");
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, String.format("Limit must be between 1 and %d", MAX_PAGE_SIZE));
+        }
+        List<Invoice> invoices = invoiceService.getInvoicesPage(after, pageSize + 1);
+        if (invoices.size() <= pageSize) {
+            return ResponseHelper.createJsonPageResponse(invoices, null);
+        }
+        List<Invoice> page = invoices.subList(0, pageSize);
+        return ResponseHelper.createJsonPageResponse(page, String.format("/invoices?after=%d&limit=%d", page.get(pageSize - 1).getId(), pageSize));
+    }
+
+    @GetMapping(value = "/export", produces = ResponseHelper.APPLICATION_NDJSON_VALUE)
+    @ApiOperation(value = "Export all invoices", notes = "Streaming all invoices in database ordered by id as newline delimited json, one invoice per line.",
+        produces = ResponseHelper.APPLICATION_NDJSON_VALUE, response = Invoice.class)
+    @ApiResponses({
+        @ApiResponse(code = 200, message = "OK", response = Invoice.class),
         @ApiResponse(code = 406, message = "Not acceptable format"),
         @ApiResponse(code = 500, message = "Internal server error")
     })
-    public ResponseEntity<?> getAll() throws ServiceOperationException {
-        log.info("Attempt to get all invoices");
-        return ResponseHelper.createJsonOkResponse(invoiceService.getAllInvoices());
+    public ResponseEntity<StreamingResponseBody> export() {
+        log.info("Attempt to export all invoices");
+        StreamingResponseBody body = outputStream -> {
+            try (Stream<Invoice> invoices = invoiceService.streamInvoices()) {
+                Iterator<Invoice> iterator = invoices.iterator();
+                while (iterator.hasNext()) {
+                    outputStream.write(mapper.writeValueAsBytes(iterator.next()));
+                    outputStream.write('\n');
+                }
+            } catch (ServiceOperationException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+        };
+        return ResponseHelper.createNdjsonOkResponse(body);
     }
 
     @GetMapping(value = "/{id}", produces = {"application/json", "application/pdf"})
@@ -128,21 +182,28 @@ public class InvoiceController {
     })
     public ResponseEntity<?> getByIssuedDate(@RequestParam(name = "startDate", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate startDate, @RequestParam(name = "endDate", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate endDate,
                                              @RequestHeader HttpHeaders httpHeaders) throws ServiceOperationException {
-        if (startDate == null) {
-            log.error("Attempt to get invoices from date interval without providing start date");
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Start date cannot be null");
-        }
-        if (endDate == null) {
-            log.error("Attempt to get invoices from date interval without providing end date");
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "End date cannot be null");
-        }
-        if (startDate.isAfter(endDate)) {
-            log.error("Attempt to get invoices from date interval when passed start date is after end date");
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Start date cannot be after end date");
-        }
+        validateDateInterval(startDate, endDate);
         return ResponseHelper.createJsonOkResponse(invoiceService.getByIssueDate(startDate, endDate));
     }
 
+    @GetMapping(value = "/totals", produces = "application/json")
+    @ApiOperation(value = "Get invoice totals", notes = "Sums of net, vat and gross values of invoice entries from the limited date interval grouped by month, seller tax id and vat rate",
+        response = InvoiceTotal[].class)
+    @ApiResponses({
+        @ApiResponse(code = 200, message = "OK", response = InvoiceTotal[].class),
+        @ApiResponse(code = 400, message = "Bad request"),
+        @ApiResponse(code = 500, message = "Internal server error"),
+    })
+    @ApiImplicitParams({
+        @ApiImplicitParam(required = true, name = "startDate", value = "Beginning of date interval respective for summed invoices", dataType = "String", format = "Date"),
+        @ApiImplicitParam(required = true, name = "endDate", value = "End of date interval respective for summed invoices", dataType = "String", format = "Date")
+    })
+    public ResponseEntity<?> getTotals(@RequestParam(name = "startDate", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate startDate,
+                                       @RequestParam(name = "endDate", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate endDate) throws ServiceOperationException {
+        validateDateInterval(startDate, endDate);
+        return ResponseHelper.createJsonOkResponse(invoiceService.getTotals(startDate, endDate));
+    }
+
     @PostMapping(produces = "application/json", consumes = "application/json")
     @ResponseStatus(HttpStatus.CREATED)
     @ApiOperation(value = "Add new invoice", notes = "Add new invoice to database", response = Invoice.class)
@@ -229,4 +290,19 @@ public class InvoiceController {
         log.debug("Deleted invoice with id {}.", id);
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
+
+    private void validateDateInterval(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null) {
+            log.error("Attempt to get invoices from date interval without providing start date");
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Start date cannot be null");
+        }
+        if (endDate == null) {
+            log.error("Attempt to get invoices from date interval without providing end date");
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "End date cannot be null");
+        }
+        if (startDate.isAfter(endDate)) {
+            log.error("Attempt to get invoices from date interval when passed start date is after end date");
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Start date cannot be after end date");
+        }
+    }
 }
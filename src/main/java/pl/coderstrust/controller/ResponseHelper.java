@@ -7,9 +7,12 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 public class ResponseHelper {
 
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
     public static ResponseEntity<?> createPdfOkResponse(Object body) {
         if (body == null) {
             throw new IllegalArgumentException("Response body cannot be null");
@@ -28,6 +31,27 @@ public class ResponseHelper {
         return new ResponseEntity<>(body, responseHeaders, HttpStatus.OK);
     }
 
+    public static ResponseEntity<?> createJsonPageResponse(Object body, String nextPageLocation) {
+        if (body == null) {
+            throw new IllegalArgumentException("Response body cannot be null");
+        }
+        HttpHeaders responseHeaders = new HttpHeaders();
+        responseHeaders.setContentType(MediaType.APPLICATION_JSON);
+        if (nextPageLocation != null) {
+            responseHeaders.add(HttpHeaders.LINK, String.format("<%s>; rel=\"next\"", nextPageLocation));
+        }
+        return new ResponseEntity<>(body, responseHeaders, HttpStatus.OK);
+    }
+
+    public static ResponseEntity<StreamingResponseBody> createNdjsonOkResponse(StreamingResponseBody body) {
+        if (body == null) {
+            throw new IllegalArgumentException("Response body cannot be null");
+        }
+        HttpHeaders responseHeaders = new HttpHeaders();
+        responseHeaders.setContentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE));
+        return new ResponseEntity<>(body, responseHeaders, HttpStatus.OK);
+    }
+
     public static ResponseEntity<?> createJsonCreatedResponse(Object body, String location) {
         if (body == null) {
             throw new IllegalArgumentException("Response body cannot be null");
@@ -0,0 +1,27 @@
+package pl.coderstrust.database;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import pl.coderstrust.model.Invoice;
+
+public class BulkSaveException extends DatabaseOperationException {
+
+    private final List<Invoice> savedInvoices;
+    private final Map<Integer, String> failures;
+
+    public BulkSaveException(String message, List<Invoice> savedInvoices, Map<Integer, String> failures) {
+        super(message);
+        this.savedInvoices = Collections.unmodifiableList(savedInvoices);
+        this.failures = Collections.unmodifiableMap(failures);
+    }
+
+    public List<Invoice> getSavedInvoices() {
+        return savedInvoices;
+    }
+
+    public Map<Integer, String> getFailures() {
+        return failures;
+    }
+}
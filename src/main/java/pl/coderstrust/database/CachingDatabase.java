@@ -0,0 +1,210 @@
+package pl.coderstrust.database;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import pl.coderstrust.configuration.CachingDatabaseProperties;
+import pl.coderstrust.database.cache.InvoiceCache;
+import pl.coderstrust.model.Invoice;
+import pl.coderstrust.model.InvoiceTotal;
+
+@Repository
+@Primary
+@ConditionalOnProperty(name = "pl.coderstrust.database.cache.enabled", havingValue = "true")
+public class CachingDatabase implements Database {
+
+    private static final int LOCK_STRIPES = 64;
+
+    private Logger log = LoggerFactory.getLogger(CachingDatabase.class);
+
+    private final Database database;
+    private final InvoiceCache cache;
+    private final int hotPeriodInDays;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    @Autowired
+    public CachingDatabase(Database database, CachingDatabaseProperties cachingDatabaseProperties) {
+        if (database == null) {
+            log.error("Attempt to set null backing database.");
+            throw new IllegalArgumentException("Database cannot be null.");
+        }
+        if (cachingDatabaseProperties == null) {
+            throw new IllegalArgumentException("Properties cannot be null.");
+        }
+        if (cachingDatabaseProperties.getHotPeriodInDays() < 0) {
+            throw new IllegalArgumentException("Hot period cannot be negative.");
+        }
+        this.database = database;
+        this.cache = new InvoiceCache(cachingDatabaseProperties.getMaximumSize());
+        this.hotPeriodInDays = cachingDatabaseProperties.getHotPeriodInDays();
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    @Override
+    public Invoice save(Invoice invoice) throws DatabaseOperationException {
+        if (invoice == null) {
+            log.error("Attempt to save null invoice.");
+            throw new IllegalArgumentException("Invoice cannot be null.");
+        }
+        if (invoice.getId() == null) {
+            long version = cache.getVersion();
+            Invoice savedInvoice = database.save(invoice);
+            if (isHot(savedInvoice)) {
+                cache.putIfUnchanged(savedInvoice, version);
+            }
+            return savedInvoice;
+        }
+        synchronized (lockFor(invoice.getId())) {
+            Invoice savedInvoice;
+            try {
+                savedInvoice = database.save(invoice);
+            } finally {
+                cache.invalidate(invoice.getId());
+            }
+            if (isHot(savedInvoice)) {
+                cache.put(savedInvoice);
+            }
+            return savedInvoice;
+        }
+    }
+
+    @Override
+    public Collection<Invoice> saveAll(Collection<Invoice> invoices) throws DatabaseOperationException {
+        if (invoices == null) {
+            log.error("Attempt to save null invoices.");
+            throw new IllegalArgumentException("Invoices cannot be null.");
+        }
+        try {
+            return database.saveAll(invoices);
+        } finally {
+            cache.invalidateAll();
+        }
+    }
+
+    @Override
+    public void delete(Long id) throws DatabaseOperationException {
+        if (id == null) {
+            log.error("Attempt to delete invoice providing null id.");
+            throw new IllegalArgumentException("Id cannot be null.");
+        }
+        synchronized (lockFor(id)) {
+            try {
+                database.delete(id);
+            } finally {
+                cache.invalidate(id);
+            }
+        }
+    }
+
+    @Override
+    public Optional<Invoice> getById(Long id) throws DatabaseOperationException {
+        if (id == null) {
+            log.error("Attempt to get invoice by id providing null id.");
+            throw new IllegalArgumentException("Id cannot be null.");
+        }
+        Optional<Invoice> cachedInvoice = cache.getById(id);
+        if (cachedInvoice.isPresent()) {
+            return cachedInvoice;
+        }
+        long version = cache.getVersion();
+        Optional<Invoice> invoice = database.getById(id);
+        admit(invoice, version);
+        return invoice;
+    }
+
+    @Override
+    public Optional<Invoice> getByNumber(String number) throws DatabaseOperationException {
+        if (number == null) {
+            log.error("Attempt to get invoice by number providing null number.");
+            throw new IllegalArgumentException("Number cannot be null.");
+        }
+        Optional<Invoice> cachedInvoice = cache.getByNumber(number);
+        if (cachedInvoice.isPresent()) {
+            return cachedInvoice;
+        }
+        long version = cache.getVersion();
+        Optional<Invoice> invoice = database.getByNumber(number);
+        admit(invoice, version);
+        return invoice;
+    }
+
+    @Override
+    public Collection<Invoice> getAll() throws DatabaseOperationException {
+        return database.getAll();
+    }
+
+    @Override
+    public List<Invoice> getPage(Long afterId, int limit) throws DatabaseOperationException {
+        return database.getPage(afterId, limit);
+    }
+
+    @Override
+    public Stream<Invoice> stream() throws DatabaseOperationException {
+        return database.stream();
+    }
+
+    @Override
+    public void deleteAll() throws DatabaseOperationException {
+        try {
+            database.deleteAll();
+        } finally {
+            cache.invalidateAll();
+        }
+    }
+
+    @Override
+    public boolean exists(Long id) throws DatabaseOperationException {
+        if (id == null) {
+            log.error("Attempt to check if invoice exists providing null id.");
+            throw new IllegalArgumentException("Id cannot be null.");
+        }
+        return cache.getById(id).isPresent() || database.exists(id);
+    }
+
+    @Override
+    public long count() throws DatabaseOperationException {
+        return database.count();
+    }
+
+    @Override
+    public Collection<Invoice> getByIssueDate(LocalDate startDate, LocalDate endDate) throws DatabaseOperationException {
+        return database.getByIssueDate(startDate, endDate);
+    }
+
+    @Override
+    public Collection<InvoiceTotal> getTotals(LocalDate startDate, LocalDate endDate) throws DatabaseOperationException {
+        return database.getTotals(startDate, endDate);
+    }
+
+    public InvoiceCache getCache() {
+        return cache;
+    }
+
+    private void admit(Optional<Invoice> invoice, long version) {
+        if (invoice.isPresent() && isHot(invoice.get())) {
+            cache.putIfUnchanged(invoice.get(), version);
+        }
+    }
+
+    private boolean isHot(Invoice invoice) {
+        if (hotPeriodInDays == 0 || invoice.getIssuedDate() == null) {
+            return true;
+        }
+        return !invoice.getIssuedDate().isBefore(LocalDate.now().minusDays(hotPeriodInDays));
+    }
+
+    private Object lockFor(Long id) {
+        return locks[Long.hashCode(id) & (LOCK_STRIPES - 1)];
+    }
+}
@@ -1,16 +1,32 @@
 package pl.coderstrust.database;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.apache.tomcat.jni.Local;
 import pl.coderstrust.model.Invoice;
+import pl.coderstrust.model.InvoiceTotal;
 
 public interface Database {
 
     Invoice save(Invoice invoice) throws DatabaseOperationException;
 
+    default Collection<Invoice> saveAll(Collection<Invoice> invoices) throws DatabaseOperationException {
+        if (invoices == null) {
+            throw new IllegalArgumentException("Invoices cannot be null.");
+        }
+        List<Invoice> savedInvoices = new ArrayList<>(invoices.size());
+        for (Invoice invoice : invoices) {
+            savedInvoices.add(save(invoice));
+        }
+        return savedInvoices;
+    }
+
     void delete(Long id) throws DatabaseOperationException;
 
     Optional<Invoice> getById(Long id) throws DatabaseOperationException;
@@ -19,6 +35,12 @@ public interface Database {
 
     Collection<Invoice> getAll() throws DatabaseOperationException;
 
+    List<Invoice> getPage(Long afterId, int limit) throws DatabaseOperationException;
+
+    default Stream<Invoice> stream() throws DatabaseOperationException {
+        return StreamSupport.stream(new InvoicePageSpliterator(this, InvoicePageSpliterator.DEFAULT_PAGE_SIZE), false);
+    }
+
     void deleteAll() throws DatabaseOperationException;
 
     boolean exists(Long id) throws DatabaseOperationException;
@@ -26,4 +48,8 @@ public interface Database {
     long count() throws DatabaseOperationException;
 
     Collection<Invoice> getByIssueDate(LocalDate startDate, LocalDate endDate) throws DatabaseOperationException;
+
+    default Collection<InvoiceTotal> getTotals(LocalDate startDate, LocalDate endDate) throws DatabaseOperationException {
+        return InvoiceTotals.aggregate(getByIssueDate(startDate, endDate));
+    }
 }
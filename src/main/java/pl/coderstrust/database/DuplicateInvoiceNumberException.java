@@ -0,0 +1,8 @@
+package pl.coderstrust.database;
+
+public class DuplicateInvoiceNumberException extends DatabaseOperationException {
+
+    public DuplicateInvoiceNumberException(String number) {
+        super(String.format("There is already an invoice in database with number: %s", number));
+    }
+}
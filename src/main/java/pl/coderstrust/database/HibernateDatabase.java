@@ -1,20 +1,36 @@
 package pl.coderstrust.database;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.NonTransientDataAccessException;
-import org.springframework.data.domain.Example;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 import pl.coderstrust.database.hibernate.InvoiceRepository;
 import pl.coderstrust.database.sql.model.Invoice;
 import pl.coderstrust.database.sql.model.SqlModelMapper;
+import pl.coderstrust.model.InvoiceTotal;
 
 @Repository
 @ConditionalOnProperty(name = "pl.coderstrust.database", havingValue = "hibernate")
@@ -24,10 +40,22 @@ public class HibernateDatabase implements Database {
 
     private final InvoiceRepository invoiceRepository;
     private SqlModelMapper sqlModelMapper;
+    private final PlatformTransactionManager transactionManager;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final int transactionBatchSize;
 
-    public HibernateDatabase(InvoiceRepository invoiceRepository, SqlModelMapper sqlModelMapper) {
+    public HibernateDatabase(InvoiceRepository invoiceRepository, SqlModelMapper sqlModelMapper, PlatformTransactionManager transactionManager, EntityManager entityManager,
+        @Value("${pl.coderstrust.database.hibernate.transactionBatchSize:1000}") int transactionBatchSize) {
+        if (transactionBatchSize <= 0) {
+            throw new IllegalArgumentException("Transaction batch size must be greater than zero.");
+        }
         this.invoiceRepository = invoiceRepository;
         this.sqlModelMapper = sqlModelMapper;
+        this.transactionManager = transactionManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManager = entityManager;
+        this.transactionBatchSize = transactionBatchSize;
     }
 
     @Override
@@ -39,6 +67,14 @@ public class HibernateDatabase implements Database {
         try {
             Invoice sqlInvoice = sqlModelMapper.toSqlInvoice(invoice);
             return sqlModelMapper.toInvoice(invoiceRepository.save(sqlInvoice));
+        } catch (DataIntegrityViolationException e) {
+            if (isNumberConflict(e)) {
+                log.error("Attempt to save invoice with number used by another invoice.");
+                throw new DuplicateInvoiceNumberException(invoice.getNumber());
+            }
+            String message = "An error occurred during saving invoice.";
+            log.error(message, e);
+            throw new DatabaseOperationException(message, e);
         } catch (NonTransientDataAccessException e) {
             String message = "An error occurred during saving invoice.";
             log.error(message, e);
@@ -46,6 +82,42 @@ public class HibernateDatabase implements Database {
         }
     }
 
+    private boolean isNumberConflict(DataIntegrityViolationException exception) {
+        Throwable cause = exception;
+        while (cause != null && !(cause instanceof ConstraintViolationException)) {
+            cause = cause.getCause();
+        }
+        if (cause == null || ((ConstraintViolationException) cause).getConstraintName() == null) {
+            return false;
+        }
+        return ((ConstraintViolationException) cause).getConstraintName().toLowerCase(Locale.ROOT).contains(Invoice.NUMBER_INDEX);
+    }
+
+    @Override
+    public Collection<pl.coderstrust.model.Invoice> saveAll(Collection<pl.coderstrust.model.Invoice> invoices) throws DatabaseOperationException {
+        if (invoices == null) {
+            log.error("Attempt to save null invoices.");
+            throw new IllegalArgumentException("Invoices cannot be null.");
+        }
+        if (invoices.stream().anyMatch(Objects::isNull)) {
+            log.error("Attempt to save null invoice.");
+            throw new IllegalArgumentException("Invoice cannot be null.");
+        }
+        List<Invoice> sqlInvoices = invoices.stream().map(sqlModelMapper::toSqlInvoice).collect(Collectors.toList());
+        List<Invoice> savedInvoices = new ArrayList<>(sqlInvoices.size());
+        try {
+            for (int start = 0; start < sqlInvoices.size(); start += transactionBatchSize) {
+                List<Invoice> batch = sqlInvoices.subList(start, Math.min(start + transactionBatchSize, sqlInvoices.size()));
+                savedInvoices.addAll(transactionTemplate.execute(status -> invoiceRepository.saveAll(batch)));
+            }
+        } catch (NonTransientDataAccessException | TransactionException e) {
+            String message = String.format("An error occurred during saving invoices, %d of %d were saved.", savedInvoices.size(), sqlInvoices.size());
+            log.error(message, e);
+            throw new DatabaseOperationException(message, e);
+        }
+        return sqlModelMapper.mapToInvoices(savedInvoices);
+    }
+
     @Override
     public void delete(Long id) throws DatabaseOperationException {
         if (id == null) {
@@ -90,9 +162,8 @@ public class HibernateDatabase implements Database {
             log.error("Attempt to get invoice by number providing null number.");
             throw new IllegalArgumentException("Number cannot be null.");
         }
-        Example<Invoice> example = Example.of(new Invoice.Builder().withNumber(number).build());
         try {
-            Optional<Invoice> foundInvoice = invoiceRepository.findOne(example);
+            Optional<Invoice> foundInvoice = invoiceRepository.findByNumber(number);
             if (foundInvoice.isPresent()) {
                 return Optional.of(sqlModelMapper.toInvoice(foundInvoice.get()));
             }
@@ -115,6 +186,51 @@ public class HibernateDatabase implements Database {
         }
     }
 
+    @Override
+    public List<pl.coderstrust.model.Invoice> getPage(Long afterId, int limit) throws DatabaseOperationException {
+        if (limit <= 0) {
+            log.error("Attempt to get page of invoices providing not positive limit.");
+            throw new IllegalArgumentException("Limit must be greater than zero.");
+        }
+        try {
+            return sqlModelMapper.mapToInvoices(invoiceRepository.findPage(afterId == null ? Long.MIN_VALUE : afterId, PageRequest.of(0, limit)));
+        } catch (NonTransientDataAccessException e) {
+            String message = "An error occurred during getting page of invoices.";
+            log.error(message, e);
+            throw new DatabaseOperationException(message, e);
+        }
+    }
+
+    @Override
+    public Stream<pl.coderstrust.model.Invoice> stream() throws DatabaseOperationException {
+        DefaultTransactionDefinition definition = new DefaultTransactionDefinition();
+        definition.setReadOnly(true);
+        TransactionStatus transaction;
+        try {
+            transaction = transactionManager.getTransaction(definition);
+        } catch (TransactionException e) {
+            String message = "An error occurred during starting transaction for streaming invoices.";
+            log.error(message, e);
+            throw new DatabaseOperationException(message, e);
+        }
+        try {
+            return invoiceRepository.streamAll()
+                .map(this::toDetachedInvoice)
+                .onClose(() -> transactionManager.commit(transaction));
+        } catch (NonTransientDataAccessException e) {
+            transactionManager.rollback(transaction);
+            String message = "An error occurred during streaming invoices.";
+            log.error(message, e);
+            throw new DatabaseOperationException(message, e);
+        }
+    }
+
+    private pl.coderstrust.model.Invoice toDetachedInvoice(Invoice invoice) {
+        pl.coderstrust.model.Invoice mappedInvoice = sqlModelMapper.toInvoice(invoice);
+        entityManager.detach(invoice);
+        return mappedInvoice;
+    }
+
     @Override
     public void deleteAll() throws DatabaseOperationException {
         try {
@@ -154,6 +270,32 @@ public class HibernateDatabase implements Database {
 
     @Override
     public Collection<pl.coderstrust.model.Invoice> getByIssueDate(LocalDate startDate, LocalDate endDate) throws DatabaseOperationException {
+        validateDateInterval(startDate, endDate);
+        try {
+            return sqlModelMapper.mapToInvoices((List<Invoice>) invoiceRepository.findAllByIssuedDate(startDate, endDate));
+        } catch (NonTransientDataAccessException e) {
+            String message = "An error occurred during getting invoices filtered by issue date";
+            log.error(message, e);
+            throw new DatabaseOperationException(message, e);
+        }
+    }
+
+    @Override
+    public Collection<InvoiceTotal> getTotals(LocalDate startDate, LocalDate endDate) throws DatabaseOperationException {
+        validateDateInterval(startDate, endDate);
+        try {
+            return InvoiceTotals.sorted(invoiceRepository.sumByMonthSellerAndVatRate(startDate, endDate).stream()
+                .map(row -> InvoiceTotals.of(YearMonth.of(row.getIssuedYear(), row.getIssuedMonth()), row.getSellerTaxId(), sqlModelMapper.toVat(row.getVatRate()),
+                    row.getNetValue(), row.getGrossValue()))
+                .collect(Collectors.toList()));
+        } catch (NonTransientDataAccessException e) {
+            String message = "An error occurred during getting invoice totals.";
+            log.error(message, e);
+            throw new DatabaseOperationException(message, e);
+        }
+    }
+
+    private void validateDateInterval(LocalDate startDate, LocalDate endDate) {
         if (startDate == null) {
             log.error("Attempt to get invoices from date interval without providing start date");
             throw new IllegalArgumentException("Start date cannot be null");
@@ -166,12 +308,5 @@ public class HibernateDatabase implements Database {
             log.error("Attempt to get invoices from date interval when passed start date is after end date");
             throw new IllegalArgumentException("Start date cannot be after end date");
         }
-        try {
-            return sqlModelMapper.mapToInvoices((List<Invoice>) invoiceRepository.findAllByIssuedDate(startDate, endDate));
-        } catch (NonTransientDataAccessException e) {
-            String message = "An error occurred during getting invoices filtered by issue date";
-            log.error(message, e);
-            throw new DatabaseOperationException(message, e);
-        }
     }
 }
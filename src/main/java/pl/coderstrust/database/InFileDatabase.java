@@ -2,13 +2,12 @@ package pl.coderstrust.database;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.time.LocalDate;
 import java.util.Collection;
-import java.util.Objects;
+import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.slf4j.Logger;
@@ -17,57 +16,40 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
 import pl.coderstrust.configuration.InFileDatabaseProperties;
+import pl.coderstrust.database.infile.DuplicateNumberException;
+import pl.coderstrust.database.infile.InvoiceStore;
+import pl.coderstrust.database.infile.LogCompactor;
 import pl.coderstrust.helpers.FileHelper;
 import pl.coderstrust.model.Invoice;
 
 @Repository
 @ConditionalOnProperty(name = "pl.coderstrust.database", havingValue = "in-file")
-public class InFileDatabase implements Database {
+public class InFileDatabase implements Database, Closeable {
 
     private Logger log = LoggerFactory.getLogger(InFileDatabase.class);
-    private String filePath;
-    private ObjectMapper mapper;
-    private FileHelper fileHelper;
-    private AtomicLong nextId;
+    private InvoiceStore store;
+    private LogCompactor compactor;
 
     @Autowired
     public InFileDatabase(InFileDatabaseProperties inFileDatabaseProperties, ObjectMapper mapper, FileHelper fileHelper) throws IOException {
-        this.filePath = inFileDatabaseProperties.getFilePath();
-        this.mapper = mapper;
-        this.fileHelper = fileHelper;
-        init();
-    }
-
-    private void init() throws IOException {
-        if (!fileHelper.exists(filePath)) {
-            fileHelper.create(filePath);
-        }
-        nextId = new AtomicLong(getLastInvoiceId());
-    }
-
-    private long getLastInvoiceId() throws IOException {
-        String lastInvoiceAsJson = fileHelper.readLastLine(filePath);
-        if (lastInvoiceAsJson == null) {
-            return 0;
-        }
-        Invoice invoice = deserializeJsonToInvoice(lastInvoiceAsJson);
-        if (invoice == null) {
-            return 0;
-        }
-        return invoice.getId();
+        this.store = new InvoiceStore(inFileDatabaseProperties, mapper, fileHelper);
+        this.compactor = new LogCompactor(store, inFileDatabaseProperties.getCompactionThreshold(), inFileDatabaseProperties.getCompactionInterval());
     }
 
     @Override
-    public synchronized Invoice save(Invoice invoice) throws DatabaseOperationException {
+    public Invoice save(Invoice invoice) throws DatabaseOperationException {
         if (invoice == null) {
             log.error("Attempt to save null invoice.");
             throw new IllegalArgumentException("Passed invoice cannot be null.");
         }
         try {
-            if (invoice.getId() == null || !isInvoiceExist(invoice.getId())) {
-                return insertInvoice(invoice);
+            if (invoice.getId() != null && store.update(invoice)) {
+                return invoice;
             }
-            return updateInvoice(invoice);
+            return store.insert(invoice);
+        } catch (DuplicateNumberException e) {
+            log.error("Attempt to save invoice with number used by another invoice.");
+            throw new DuplicateInvoiceNumberException(e.getNumber());
         } catch (IOException e) {
             String message = "An error occurred during saving invoice.";
             log.error(message, e);
@@ -75,33 +57,17 @@ public class InFileDatabase implements Database {
         }
     }
 
-    private Invoice insertInvoice(Invoice invoice) throws IOException {
-        Invoice insertedInvoice = Invoice.builder()
-            .withId(nextId.incrementAndGet())
-            .withNumber(invoice.getNumber())
-            .withIssuedDate(invoice.getIssuedDate())
-            .withDueDate(invoice.getDueDate())
-            .withSeller(invoice.getSeller())
-            .withBuyer(invoice.getBuyer())
-            .withEntries(invoice.getEntries())
-            .build();
-        fileHelper.writeLine(filePath, mapper.writeValueAsString(insertedInvoice));
-        return insertedInvoice;
-    }
-
-    private Invoice updateInvoice(Invoice invoice) throws DatabaseOperationException, IOException {
-        fileHelper.replaceLine(filePath, mapper.writeValueAsString(invoice), getPositionInDatabase(invoice.getId()));
-        return invoice;
-    }
-
     @Override
-    public synchronized void delete(Long id) throws DatabaseOperationException {
+    public void delete(Long id) throws DatabaseOperationException {
         if (id == null) {
             log.error("Attempt to delete invoice providing null id.");
             throw new IllegalArgumentException("Passed id cannot be null.");
         }
         try {
-            fileHelper.removeLine(filePath, getPositionInDatabase(id));
+            if (!store.remove(id)) {
+                log.error("Attempt to delete a non existing invoice.");
+                throw new DatabaseOperationException(String.format("There was no invoice in database with id: %s", id));
+            }
         } catch (IOException e) {
             String message = "An error occurred during deleting invoice.";
             log.error(message, e);
@@ -116,10 +82,7 @@ public class InFileDatabase implements Database {
             throw new IllegalArgumentException("Passed id cannot be null.");
         }
         try {
-            try (Stream<Invoice> stream = getInvoices()) {
-                return stream.filter(invoice -> invoice.getId().equals(id))
-                    .findFirst();
-            }
+            return store.get(id);
         } catch (IOException e) {
             String message = "An error occurred during getting invoice by id.";
             log.error(message, e);
@@ -134,11 +97,12 @@ public class InFileDatabase implements Database {
             throw new IllegalArgumentException("Passed id cannot be null.");
         }
         try {
-            try (Stream<Invoice> stream = getInvoices()) {
-                return stream
-                    .filter(invoice -> invoice.getNumber().equals(number))
-                    .findFirst();
+            Optional<Long> id = store.getIdByNumber(number);
+            if (id.isEmpty()) {
+                return Optional.empty();
             }
+            return store.get(id.get())
+                .filter(invoice -> number.equals(invoice.getNumber()));
         } catch (IOException e) {
             String message = "An error occurred during getting invoice by number.";
             log.error(message, e);
@@ -160,42 +124,43 @@ public class InFileDatabase implements Database {
     }
 
     @Override
-    public synchronized void deleteAll() throws DatabaseOperationException {
+    public List<Invoice> getPage(Long afterId, int limit) throws DatabaseOperationException {
+        if (limit <= 0) {
+            log.error("Attempt to get page of invoices providing not positive limit.");
+            throw new IllegalArgumentException("Limit must be greater than zero.");
+        }
         try {
-            fileHelper.clear(filePath);
+            return store.getAll(store.getIdsAfter(afterId, limit));
         } catch (IOException e) {
-            String message = "An error occurred during deleting all invoices.";
+            String message = "An error occurred during getting page of invoices.";
             log.error(message, e);
             throw new DatabaseOperationException(message, e);
         }
     }
 
     @Override
-    public boolean exists(Long id) throws DatabaseOperationException {
-        if (id == null) {
-            log.error("Attempt to check if invoice exists providing null id.");
-            throw new IllegalArgumentException("Passed id cannot be null.");
-        }
+    public void deleteAll() throws DatabaseOperationException {
         try {
-            return isInvoiceExist(id);
+            store.clear();
         } catch (IOException e) {
-            String message = "An error occurred during checking if invoice exists.";
+            String message = "An error occurred during deleting all invoices.";
             log.error(message, e);
             throw new DatabaseOperationException(message, e);
         }
     }
 
     @Override
-    public long count() throws DatabaseOperationException {
-        try {
-            try (Stream<Invoice> stream = getInvoices()) {
-                return stream.count();
-            }
-        } catch (IOException e) {
-            String message = "An error occurred during getting number of invoices.";
-            log.error(message, e);
-            throw new DatabaseOperationException(message, e);
+    public boolean exists(Long id) {
+        if (id == null) {
+            log.error("Attempt to check if invoice exists providing null id.");
+            throw new IllegalArgumentException("Passed id cannot be null.");
         }
+        return store.contains(id);
+    }
+
+    @Override
+    public long count() {
+        return store.count();
     }
 
     @Override
@@ -213,11 +178,10 @@ public class InFileDatabase implements Database {
             throw new IllegalArgumentException("Start date cannot be after end date");
         }
         try {
-            try (Stream<Invoice> stream = getInvoices()) {
-                return stream
-                    .filter(invoice -> invoice.getIssuedDate().compareTo(startDate) >= 0 && invoice.getIssuedDate().compareTo(endDate) <= 0)
-                    .collect(Collectors.toList());
-            }
+            return store.getAll(store.getIdsByIssuedDate(startDate, endDate))
+                .stream()
+                .filter(invoice -> invoice.getIssuedDate().compareTo(startDate) >= 0 && invoice.getIssuedDate().compareTo(endDate) <= 0)
+                .collect(Collectors.toList());
         } catch (IOException e) {
             String message = "An error occurred during getting invoices filtered by issued date";
             log.error(message, e);
@@ -225,44 +189,17 @@ public class InFileDatabase implements Database {
         }
     }
 
-    private Invoice deserializeJsonToInvoice(String json) {
-        try {
-            return mapper.readValue(json, Invoice.class);
-        } catch (IOException e) {
-            return null;
-        }
-    }
-
-    private boolean isInvoiceExist(long id) throws IOException {
-        try (Stream<Invoice> stream = getInvoices()) {
-            return stream
-                .anyMatch(invoice -> invoice.getId().equals(id));
-        }
-    }
-
     private Stream<Invoice> getInvoices() throws IOException {
-        return fileHelper.readLines(filePath)
-            .map(this::deserializeJsonToInvoice)
-            .filter(Objects::nonNull);
+        return store.getAll().stream();
     }
 
-    private int getPositionInDatabase(Long id) throws IOException, DatabaseOperationException {
-        AtomicInteger index = new AtomicInteger();
-        try (Stream<Invoice> stream = getInvoices()) {
-            Optional<Invoice> optionalInvoice = stream
-                .filter(i -> {
-                    if (!i.getId().equals(id)) {
-                        index.getAndIncrement();
-                        return false;
-                    }
-                    return true;
-                })
-                .findFirst();
-            if (optionalInvoice.isEmpty()) {
-                log.error("Attempt to operate on a non existing invoice.");
-                throw new DatabaseOperationException(String.format("There was no invoice in database with id: %s", id));
-            }
+    @Override
+    public void close() {
+        compactor.close();
+        try {
+            store.close();
+        } catch (IOException e) {
+            log.error("An error occurred during closing database.", e);
         }
-        return index.incrementAndGet();
     }
 }
@@ -1,129 +1,381 @@
 package pl.coderstrust.database;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
-import pl.coderstrust.database.nosql.model.Invoice;
-import pl.coderstrust.database.nosql.model.NoSqlModelMapper;
+import pl.coderstrust.configuration.InMemoryDatabaseProperties;
+import pl.coderstrust.database.inmemory.ConcurrentLongHashMap;
+import pl.coderstrust.database.inmemory.InMemoryPersistence;
+import pl.coderstrust.database.inmemory.OffHeapInvoiceStorage;
+import pl.coderstrust.database.inmemory.SnapshotScheduler;
+import pl.coderstrust.database.inmemory.SortedLongSet;
+import pl.coderstrust.model.Company;
+import pl.coderstrust.model.Invoice;
+import pl.coderstrust.model.InvoiceEntry;
 
 @Repository
 @ConditionalOnProperty(name = "pl.coderstrust.database", havingValue = "in-memory")
-public class InMemoryDatabase implements Database {
+public class InMemoryDatabase implements Database, Closeable {
+
+    private static final int LOCK_STRIPES = 64;
 
     private Logger log = LoggerFactory.getLogger(InMemoryDatabase.class);
 
     private Map<Long, Invoice> storage;
+    private Map<String, Long> idsByNumber = new ConcurrentHashMap<>();
+    private Map<Company, InternedCompany> companies = new ConcurrentHashMap<>();
+    private NavigableMap<LocalDate, Set<Long>> idsByIssuedDate = new ConcurrentSkipListMap<>();
+    private SortedLongSet sortedIds = new SortedLongSet();
     private AtomicLong nextId = new AtomicLong(0);
-    private NoSqlModelMapper noSqlModelMapper;
+    private boolean internCompanies;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    private InMemoryPersistence persistence;
+    private SnapshotScheduler snapshotScheduler;
+
+    @Autowired
+    public InMemoryDatabase(InMemoryDatabaseProperties inMemoryDatabaseProperties) throws IOException {
+        if (inMemoryDatabaseProperties == null) {
+            throw new IllegalArgumentException("Properties cannot be null.");
+        }
+        this.storage = createStorage(inMemoryDatabaseProperties);
+        if (inMemoryDatabaseProperties.getPersistencePath() != null && !inMemoryDatabaseProperties.getPersistencePath().isEmpty()) {
+            this.persistence = new InMemoryPersistence(inMemoryDatabaseProperties.getPersistencePath(), inMemoryDatabaseProperties.getFsyncPolicy(),
+                inMemoryDatabaseProperties.getFsyncInterval());
+            persistence.restore(storage);
+            nextId.set(persistence.getMaxId());
+            this.snapshotScheduler = new SnapshotScheduler(persistence, storage, inMemoryDatabaseProperties.getSnapshotInterval());
+        }
+        init();
+    }
 
-    public InMemoryDatabase(Map<Long, Invoice> storage, NoSqlModelMapper noSqlModelMapper) {
+    public InMemoryDatabase(Map<Long, Invoice> storage) {
         if (storage == null) {
             log.error("Attempt to set null storage.");
             throw new IllegalArgumentException("Storage cannot be null.");
         }
         this.storage = storage;
-        this.noSqlModelMapper = noSqlModelMapper;
+        init();
+    }
+
+    private void init() {
+        internCompanies = !(storage instanceof OffHeapInvoiceStorage);
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+        storage.forEach((id, invoice) -> {
+            index(invoice);
+            if (internCompanies) {
+                intern(invoice.getSeller());
+                intern(invoice.getBuyer());
+            }
+            nextId.accumulateAndGet(id, Math::max);
+        });
+        sortedIds.addAll(storage.keySet().stream().mapToLong(Long::longValue).toArray());
+    }
+
+    private static Map<Long, Invoice> createStorage(InMemoryDatabaseProperties inMemoryDatabaseProperties) {
+        switch (inMemoryDatabaseProperties.getStorageType()) {
+          case HEAP:
+              return new ConcurrentLongHashMap<>();
+          case OFF_HEAP:
+              return new OffHeapInvoiceStorage(inMemoryDatabaseProperties.getOffHeapChunkSize());
+          default:
+              throw new IllegalArgumentException(String.format("Unsupported storage type: %s", inMemoryDatabaseProperties.getStorageType()));
+        }
     }
 
     @Override
-    public synchronized pl.coderstrust.model.Invoice save(pl.coderstrust.model.Invoice invoice) {
+    public Invoice save(Invoice invoice) throws DatabaseOperationException {
         if (invoice == null) {
             log.error("Attempt to save null invoice.");
             throw new IllegalArgumentException("Passed invoice cannot be null.");
         }
-        Invoice noSqlInvoice = noSqlModelMapper.toNoSqlInvoice(invoice);
-        if (noSqlInvoice.getId() == null || !storage.containsKey(noSqlInvoice.getId())) {
-            return insertInvoice(noSqlInvoice);
+        Invoice savedInvoice = null;
+        long journalSequence = 0;
+        if (invoice.getId() != null) {
+            synchronized (lockFor(invoice.getId())) {
+                if (storage.containsKey(invoice.getId())) {
+                    savedInvoice = updateInvoice(invoice);
+                    Invoice updatedInvoice = savedInvoice;
+                    journalSequence = journal(() -> persistence.logPut(updatedInvoice));
+                }
+            }
+        }
+        if (savedInvoice == null) {
+            Long id = nextId.incrementAndGet();
+            synchronized (lockFor(id)) {
+                savedInvoice = insertInvoice(id, invoice);
+                Invoice insertedInvoice = savedInvoice;
+                journalSequence = journal(() -> persistence.logPut(insertedInvoice));
+            }
         }
-        return updateInvoice(noSqlInvoice);
+        awaitDurable(journalSequence);
+        return savedInvoice;
     }
 
-    private pl.coderstrust.model.Invoice insertInvoice(Invoice invoice) {
-        Long id = nextId.incrementAndGet();
-        Invoice insertedInvoice = Invoice.builder()
+    private Invoice insertInvoice(Long id, Invoice invoice) throws DuplicateInvoiceNumberException {
+        reserveNumber(invoice.getNumber(), id);
+        Invoice insertedInvoice = toStoredInvoice(id, invoice);
+        storage.put(id, insertedInvoice);
+        sortedIds.add(id);
+        indexIssuedDate(insertedInvoice);
+        return insertedInvoice;
+    }
+
+    private Invoice updateInvoice(Invoice invoice) throws DuplicateInvoiceNumberException {
+        reserveNumber(invoice.getNumber(), invoice.getId());
+        Invoice updatedInvoice = toStoredInvoice(invoice.getId(), invoice);
+        Invoice previousInvoice = storage.put(invoice.getId(), updatedInvoice);
+        if (previousInvoice.getNumber() != null && !previousInvoice.getNumber().equals(updatedInvoice.getNumber())) {
+            idsByNumber.remove(previousInvoice.getNumber(), previousInvoice.getId());
+        }
+        unindexIssuedDate(previousInvoice);
+        indexIssuedDate(updatedInvoice);
+        release(previousInvoice.getSeller());
+        release(previousInvoice.getBuyer());
+        return updatedInvoice;
+    }
+
+    private Invoice toStoredInvoice(Long id, Invoice invoice) {
+        return Invoice.builder()
             .withId(id)
             .withNumber(invoice.getNumber())
             .withIssuedDate(invoice.getIssuedDate())
             .withDueDate(invoice.getDueDate())
-            .withSeller(invoice.getSeller())
-            .withBuyer(invoice.getBuyer())
-            .withEntries(invoice.getEntries())
+            .withSeller(intern(invoice.getSeller()))
+            .withBuyer(intern(invoice.getBuyer()))
+            .withEntries(invoice.getEntries() == null ? null : invoice.getEntries().stream().map(this::toStoredEntry).collect(Collectors.toList()))
             .build();
+    }
 
-        storage.put(id, insertedInvoice);
-        return noSqlModelMapper.toInvoice(insertedInvoice);
+    private InvoiceEntry toStoredEntry(InvoiceEntry entry) {
+        if (entry == null || Long.valueOf(0L).equals(entry.getId())) {
+            return entry;
+        }
+        return InvoiceEntry.builder()
+            .withId(0L)
+            .withDescription(entry.getDescription())
+            .withQuantity(entry.getQuantity())
+            .withPrice(entry.getPrice())
+            .withNetValue(entry.getNetValue())
+            .withGrossValue(entry.getGrossValue())
+            .withVatRate(entry.getVatRate())
+            .build();
     }
 
-    private pl.coderstrust.model.Invoice updateInvoice(Invoice invoice) {
-        Invoice updatedInvoice = Invoice.builder()
-            .withId(invoice.getId())
-            .withNumber(invoice.getNumber())
-            .withIssuedDate(invoice.getIssuedDate())
-            .withDueDate(invoice.getDueDate())
-            .withSeller(invoice.getSeller())
-            .withBuyer(invoice.getBuyer())
-            .withEntries(invoice.getEntries())
+    private long journal(JournalOperation operation) throws DatabaseOperationException {
+        if (persistence == null) {
+            return 0;
+        }
+        try {
+            return operation.write();
+        } catch (IOException e) {
+            String message = "An error occurred during writing to database journal.";
+            log.error(message, e);
+            throw new DatabaseOperationException(message, e);
+        }
+    }
+
+    private void awaitDurable(long journalSequence) throws DatabaseOperationException {
+        if (persistence == null) {
+            return;
+        }
+        try {
+            persistence.awaitDurable(journalSequence);
+        } catch (IOException e) {
+            String message = "An error occurred during syncing database journal.";
+            log.error(message, e);
+            throw new DatabaseOperationException(message, e);
+        }
+    }
+
+    private Company intern(Company company) {
+        if (company == null) {
+            return null;
+        }
+        Company storedCompany = toStoredCompany(company);
+        if (!internCompanies) {
+            return storedCompany;
+        }
+        return companies.compute(storedCompany, (key, interned) -> interned == null ? new InternedCompany(key) : interned.retain()).company;
+    }
+
+    private void release(Company company) {
+        if (company != null && internCompanies) {
+            companies.computeIfPresent(toStoredCompany(company), (key, interned) -> interned.release() ? null : interned);
+        }
+    }
+
+    private Company toStoredCompany(Company company) {
+        if (Long.valueOf(0L).equals(company.getId())) {
+            return company;
+        }
+        return Company.builder()
+            .withId(0L)
+            .withName(company.getName())
+            .withAddress(company.getAddress())
+            .withTaxId(company.getTaxId())
+            .withAccountNumber(company.getAccountNumber())
+            .withPhoneNumber(company.getPhoneNumber())
+            .withEmail(company.getEmail())
             .build();
+    }
+
+    private void reserveNumber(String number, Long id) throws DuplicateInvoiceNumberException {
+        if (number == null) {
+            return;
+        }
+        Long numberOwnerId = idsByNumber.putIfAbsent(number, id);
+        if (numberOwnerId != null && !numberOwnerId.equals(id)) {
+            log.error("Attempt to save invoice with number used by another invoice.");
+            throw new DuplicateInvoiceNumberException(number);
+        }
+    }
+
+    private Object lockFor(Long id) {
+        return locks[Long.hashCode(id) & (locks.length - 1)];
+    }
+
+    private void index(Invoice invoice) {
+        if (invoice.getNumber() != null) {
+            idsByNumber.put(invoice.getNumber(), invoice.getId());
+        }
+        indexIssuedDate(invoice);
+    }
 
-        storage.put(invoice.getId(), updatedInvoice);
-        return noSqlModelMapper.toInvoice(updatedInvoice);
+    private void indexIssuedDate(Invoice invoice) {
+        if (invoice.getIssuedDate() != null) {
+            idsByIssuedDate.computeIfAbsent(invoice.getIssuedDate(), date -> new ConcurrentSkipListSet<>()).add(invoice.getId());
+        }
+    }
+
+    private void unindex(Invoice invoice) {
+        if (invoice == null) {
+            return;
+        }
+        sortedIds.remove(invoice.getId());
+        if (invoice.getNumber() != null) {
+            idsByNumber.remove(invoice.getNumber(), invoice.getId());
+        }
+        unindexIssuedDate(invoice);
+        release(invoice.getSeller());
+        release(invoice.getBuyer());
+    }
+
+    private void unindexIssuedDate(Invoice invoice) {
+        if (invoice.getIssuedDate() != null) {
+            Set<Long> ids = idsByIssuedDate.get(invoice.getIssuedDate());
+            if (ids != null) {
+                ids.remove(invoice.getId());
+            }
+        }
     }
 
     @Override
-    public synchronized void delete(Long id) throws DatabaseOperationException {
+    public void delete(Long id) throws DatabaseOperationException {
         if (id == null) {
             log.error("Attempt to delete invoice providing null id.");
             throw new IllegalArgumentException("Passed id cannot be null.");
         }
-        if (!storage.containsKey(id)) {
-            log.error("Attempt to delete not existing invoice.");
-            throw new DatabaseOperationException(String.format("There was no invoice in database with id: %s", id));
+        long journalSequence;
+        synchronized (lockFor(id)) {
+            if (!storage.containsKey(id)) {
+                log.error("Attempt to delete not existing invoice.");
+                throw new DatabaseOperationException(String.format("There was no invoice in database with id: %s", id));
+            }
+            unindex(storage.remove(id));
+            journalSequence = journal(() -> persistence.logRemove(id));
         }
-        storage.remove(id);
+        awaitDurable(journalSequence);
     }
 
     @Override
-    public Optional<pl.coderstrust.model.Invoice> getById(Long id) {
+    public Optional<Invoice> getById(Long id) {
         if (id == null) {
             log.error("Attempt to get invoice by id providing null id.");
             throw new IllegalArgumentException("Passed id cannot be null.");
         }
-        return Optional.ofNullable(noSqlModelMapper.toInvoice(storage.get(id)));
+        return Optional.ofNullable(storage.get(id));
     }
 
     @Override
-    public Optional<pl.coderstrust.model.Invoice> getByNumber(String number) {
+    public Optional<Invoice> getByNumber(String number) {
         if (number == null) {
             log.error("Attempt to get invoice by number providing null number.");
             throw new IllegalArgumentException("Passed number cannot be null.");
         }
-        Optional<Invoice> foundInvoice = storage.values()
-            .stream()
-            .filter(invoice -> invoice.getNumber().equals(number))
-            .findFirst();
-        if (foundInvoice.isPresent()) {
-            return Optional.of(noSqlModelMapper.toInvoice(foundInvoice.get()));
+        Long id = idsByNumber.get(number);
+        if (id == null) {
+            return Optional.empty();
         }
-        return Optional.empty();
+        return Optional.ofNullable(storage.get(id))
+            .filter(invoice -> number.equals(invoice.getNumber()));
     }
 
     @Override
-    public Collection<pl.coderstrust.model.Invoice> getAll() {
-        return noSqlModelMapper.mapToInvoices(new ArrayList<>(storage.values()));
+    public Collection<Invoice> getAll() {
+        return new ArrayList<>(storage.values());
     }
 
     @Override
-    public synchronized void deleteAll() {
-        storage.clear();
+    public List<Invoice> getPage(Long afterId, int limit) {
+        if (limit <= 0) {
+            log.error("Attempt to get page of invoices providing not positive limit.");
+            throw new IllegalArgumentException("Limit must be greater than zero.");
+        }
+        List<Invoice> invoices = new ArrayList<>();
+        long lastId = afterId == null ? Long.MIN_VALUE : afterId;
+        while (invoices.size() < limit) {
+            long[] ids = sortedIds.getAfter(lastId, limit - invoices.size());
+            if (ids.length == 0) {
+                break;
+            }
+            for (long id : ids) {
+                Invoice invoice = storage.get(id);
+                if (invoice != null) {
+                    invoices.add(invoice);
+                }
+            }
+            lastId = ids[ids.length - 1];
+        }
+        return invoices;
+    }
+
+    @Override
+    public void deleteAll() throws DatabaseOperationException {
+        awaitDurable(clearHoldingLocksFrom(0));
+    }
+
+    private long clearHoldingLocksFrom(int stripe) throws DatabaseOperationException {
+        if (stripe == locks.length) {
+            storage.clear();
+            idsByNumber.clear();
+            idsByIssuedDate.clear();
+            sortedIds.clear();
+            companies.clear();
+            return journal(() -> persistence.logClear());
+        }
+        synchronized (locks[stripe]) {
+            return clearHoldingLocksFrom(stripe + 1);
+        }
     }
 
     @Override
@@ -140,8 +392,12 @@ public class InMemoryDatabase implements Database {
         return storage.size();
     }
 
+    int getInternedCompanyCount() {
+        return companies.size();
+    }
+
     @Override
-    public Collection<pl.coderstrust.model.Invoice> getByIssueDate(LocalDate startDate, LocalDate endDate) throws DatabaseOperationException {
+    public Collection<Invoice> getByIssueDate(LocalDate startDate, LocalDate endDate) throws DatabaseOperationException {
         if (startDate == null) {
             log.error("Attempt to get invoices from date interval without providing start date");
             throw new IllegalArgumentException("Start date cannot be null");
@@ -154,9 +410,49 @@ public class InMemoryDatabase implements Database {
             log.error("Attempt to get invoices from date interval when passed start date is after end date");
             throw new IllegalArgumentException("Start date cannot be after end date");
         }
-        return noSqlModelMapper.mapToInvoices(storage.values()
+        return idsByIssuedDate.subMap(startDate, true, endDate, true)
+            .values()
             .stream()
-            .filter(invoice -> invoice.getIssuedDate().compareTo(startDate) >= 0 && invoice.getIssuedDate().compareTo(endDate) <= 0)
-            .collect(Collectors.toList()));
+            .flatMap(Collection::stream)
+            .map(storage::get)
+            .filter(invoice -> invoice != null && invoice.getIssuedDate().compareTo(startDate) >= 0 && invoice.getIssuedDate().compareTo(endDate) <= 0)
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public void close() {
+        if (persistence == null) {
+            return;
+        }
+        snapshotScheduler.close();
+        snapshotScheduler.snapshot();
+        try {
+            persistence.close();
+        } catch (IOException e) {
+            log.error("An error occurred during closing database.", e);
+        }
+    }
+
+    private interface JournalOperation {
+        long write() throws IOException;
+    }
+
+    private static final class InternedCompany {
+
+        private final Company company;
+        private int references = 1;
+
+        private InternedCompany(Company company) {
+            this.company = company;
+        }
+
+        private InternedCompany retain() {
+            references++;
+            return this;
+        }
+
+        private boolean release() {
+            return --references == 0;
+        }
     }
 }
@@ -0,0 +1,59 @@
+package pl.coderstrust.database;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+import pl.coderstrust.model.Invoice;
+
+class InvoicePageSpliterator extends Spliterators.AbstractSpliterator<Invoice> {
+
+    static final int DEFAULT_PAGE_SIZE = 100;
+
+    private final Database database;
+    private final int pageSize;
+    private Iterator<Invoice> page = Collections.emptyIterator();
+    private Long lastId;
+    private boolean lastPage;
+
+    InvoicePageSpliterator(Database database, int pageSize) {
+        super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL);
+        if (database == null) {
+            throw new IllegalArgumentException("Database cannot be null.");
+        }
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be greater than zero.");
+        }
+        this.database = database;
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Invoice> action) {
+        if (!page.hasNext() && !fetchNextPage()) {
+            return false;
+        }
+        Invoice invoice = page.next();
+        lastId = invoice.getId();
+        action.accept(invoice);
+        return true;
+    }
+
+    private boolean fetchNextPage() {
+        if (lastPage) {
+            return false;
+        }
+        List<Invoice> invoices;
+        try {
+            invoices = database.getPage(lastId, pageSize);
+        } catch (DatabaseOperationException e) {
+            throw new UncheckedDatabaseOperationException(e);
+        }
+        lastPage = invoices.size() < pageSize;
+        page = invoices.iterator();
+        return page.hasNext();
+    }
+}
@@ -0,0 +1,98 @@
+package pl.coderstrust.database;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import pl.coderstrust.model.Invoice;
+import pl.coderstrust.model.InvoiceEntry;
+import pl.coderstrust.model.InvoiceTotal;
+import pl.coderstrust.model.Vat;
+
+final class InvoiceTotals {
+
+    static final Comparator<InvoiceTotal> ORDER = Comparator.comparing(InvoiceTotal::getPeriod)
+        .thenComparing(InvoiceTotal::getSellerTaxId, Comparator.nullsFirst(Comparator.naturalOrder()))
+        .thenComparing(InvoiceTotal::getVatRate, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private InvoiceTotals() {
+    }
+
+    static InvoiceTotal of(YearMonth period, String sellerTaxId, Vat vatRate, BigDecimal netValue, BigDecimal grossValue) {
+        return InvoiceTotal.builder()
+            .withPeriod(period)
+            .withSellerTaxId(sellerTaxId)
+            .withVatRate(vatRate)
+            .withNetValue(netValue)
+            .withVatValue(grossValue.subtract(netValue))
+            .withGrossValue(grossValue)
+            .build();
+    }
+
+    static List<InvoiceTotal> aggregate(Collection<Invoice> invoices) {
+        Map<TotalKey, TotalKey> sums = new HashMap<>();
+        for (Invoice invoice : invoices) {
+            YearMonth period = YearMonth.from(invoice.getIssuedDate());
+            String sellerTaxId = invoice.getSeller() == null ? null : invoice.getSeller().getTaxId();
+            for (InvoiceEntry entry : invoice.getEntries()) {
+                TotalKey key = new TotalKey(period, sellerTaxId, entry.getVatRate());
+                sums.computeIfAbsent(key, total -> key).add(entry.getNetValue(), entry.getGrossValue());
+            }
+        }
+        return sums.values().stream()
+            .map(sum -> of(sum.period, sum.sellerTaxId, sum.vatRate, sum.netValue, sum.grossValue))
+            .sorted(ORDER)
+            .collect(Collectors.toList());
+    }
+
+    static List<InvoiceTotal> sorted(Collection<InvoiceTotal> totals) {
+        return totals.stream().sorted(ORDER).collect(Collectors.toList());
+    }
+
+    private static final class TotalKey {
+
+        private final YearMonth period;
+        private final String sellerTaxId;
+        private final Vat vatRate;
+        private final int hashCode;
+        private BigDecimal netValue = BigDecimal.ZERO;
+        private BigDecimal grossValue = BigDecimal.ZERO;
+
+        TotalKey(YearMonth period, String sellerTaxId, Vat vatRate) {
+            this.period = period;
+            this.sellerTaxId = sellerTaxId;
+            this.vatRate = vatRate;
+            this.hashCode = Objects.hash(period, sellerTaxId, vatRate);
+        }
+
+        void add(BigDecimal net, BigDecimal gross) {
+            netValue = netValue.add(net);
+            grossValue = grossValue.add(gross);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof TotalKey)) {
+                return false;
+            }
+            TotalKey that = (TotalKey) o;
+            return Objects.equals(period, that.period)
+                && Objects.equals(sellerTaxId, that.sellerTaxId)
+                && vatRate == that.vatRate;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -1,38 +1,80 @@
 package pl.coderstrust.database;
 
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.bson.Document;
+import org.bson.types.Decimal128;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.aggregation.DateOperators;
+import org.springframework.data.mongodb.core.aggregation.DateOperators.Timezone;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.data.util.Pair;
+import org.springframework.data.util.StreamUtils;
 import org.springframework.stereotype.Repository;
+import pl.coderstrust.database.nosql.MongoIndexes;
+import pl.coderstrust.database.nosql.MongoSequence;
 import pl.coderstrust.database.nosql.model.Invoice;
 import pl.coderstrust.database.nosql.model.NoSqlModelMapper;
+import pl.coderstrust.model.InvoiceTotal;
 
 @Repository
 @ConditionalOnProperty(name = "pl.coderstrust.database", havingValue = "mongo")
 public class MongoDatabase implements Database {
 
+    private static final String INVOICE_SEQUENCE = "invoice";
+
     private Logger log = LoggerFactory.getLogger(MongoDatabase.class);
 
     private MongoTemplate mongoTemplate;
     private NoSqlModelMapper noSqlModelMapper;
-    private AtomicLong nextId = new AtomicLong(0);
+    private MongoSequence invoiceIds;
+    private final int bulkBatchSize;
+    private final int streamBatchSize;
 
     @Autowired
-    public MongoDatabase(MongoTemplate mongoTemplate, NoSqlModelMapper noSqlModelMapper) {
+    public MongoDatabase(MongoTemplate mongoTemplate, NoSqlModelMapper noSqlModelMapper, @Value("${pl.coderstrust.database.mongo.idBlockSize:100}") int idBlockSize,
+        @Value("${pl.coderstrust.database.mongo.bulkBatchSize:1000}") int bulkBatchSize, @Value("${pl.coderstrust.database.mongo.streamBatchSize:500}") int streamBatchSize) {
+        if (bulkBatchSize <= 0) {
+            throw new IllegalArgumentException("Bulk batch size must be greater than zero.");
+        }
+        if (streamBatchSize <= 0) {
+            throw new IllegalArgumentException("Stream batch size must be greater than zero.");
+        }
         this.mongoTemplate = mongoTemplate;
         this.noSqlModelMapper = noSqlModelMapper;
+        this.invoiceIds = new MongoSequence(mongoTemplate, INVOICE_SEQUENCE, idBlockSize);
+        this.bulkBatchSize = bulkBatchSize;
+        this.streamBatchSize = streamBatchSize;
         init();
     }
 
@@ -40,11 +82,7 @@ public class MongoDatabase implements Database {
         Query findQuery = new Query();
         findQuery.with(new Sort(Direction.DESC, "id"));
         Invoice lastInvoice = mongoTemplate.findOne(findQuery, Invoice.class);
-        if (lastInvoice == null) {
-            nextId = new AtomicLong(0);
-        } else {
-            nextId = new AtomicLong(lastInvoice.getId());
-        }
+        invoiceIds.advanceTo(lastInvoice == null ? 0 : lastInvoice.getId());
     }
 
     @Override
@@ -54,11 +92,19 @@ public class MongoDatabase implements Database {
             throw new IllegalArgumentException("Invoice cannot be null.");
         }
         try {
-            Invoice invoiceInDatabase = getInvoiceById(invoice.getId());
-            if (invoiceInDatabase == null) {
+            Invoice updatedInvoice = invoice.getId() == null ? null : updateInvoice(invoice);
+            if (updatedInvoice == null) {
                 return insertInvoice(invoice);
             }
-            return updateInvoice(invoice, invoiceInDatabase.getMongoId());
+            return noSqlModelMapper.toInvoice(updatedInvoice);
+        } catch (DuplicateKeyException e) {
+            if (isNumberConflict(e)) {
+                log.error("Attempt to save invoice with number used by another invoice.");
+                throw new DuplicateInvoiceNumberException(invoice.getNumber());
+            }
+            String message = "An error occurred during saving invoice.";
+            log.error(message, e);
+            throw new DatabaseOperationException(message, e);
         } catch (Exception e) {
             String message = "An error occurred during saving invoice.";
             log.error(message, e);
@@ -67,8 +113,129 @@ public class MongoDatabase implements Database {
     }
 
     private pl.coderstrust.model.Invoice insertInvoice(pl.coderstrust.model.Invoice invoice) {
-        pl.coderstrust.model.Invoice invoiceToInsert = pl.coderstrust.model.Invoice.builder()
-            .withId(nextId.getAndIncrement())
+        Invoice insertedInvoice = mongoTemplate.insert(noSqlModelMapper.toNoSqlInvoice(withId(invoice, invoiceIds.next())));
+        return noSqlModelMapper.toInvoice(insertedInvoice);
+    }
+
+    private Invoice updateInvoice(pl.coderstrust.model.Invoice invoice) {
+        return mongoTemplate.findAndModify(Query.query(Criteria.where("id").is(invoice.getId())), toUpdate(invoice), FindAndModifyOptions.options().returnNew(true), Invoice.class);
+    }
+
+    private boolean isNumberConflict(DuplicateKeyException exception) {
+        return exception.getMessage() != null && exception.getMessage().contains(MongoIndexes.NUMBER_INDEX);
+    }
+
+    private Update toUpdate(pl.coderstrust.model.Invoice invoice) {
+        Invoice invoiceToUpdate = noSqlModelMapper.toNoSqlInvoice(invoice);
+        return new Update()
+            .set("number", invoiceToUpdate.getNumber())
+            .set("issuedDate", invoiceToUpdate.getIssuedDate())
+            .set("dueDate", invoiceToUpdate.getDueDate())
+            .set("seller", invoiceToUpdate.getSeller())
+            .set("buyer", invoiceToUpdate.getBuyer())
+            .set("entries", invoiceToUpdate.getEntries());
+    }
+
+    @Override
+    public Collection<pl.coderstrust.model.Invoice> saveAll(Collection<pl.coderstrust.model.Invoice> invoices) throws DatabaseOperationException {
+        if (invoices == null) {
+            log.error("Attempt to save null invoices.");
+            throw new IllegalArgumentException("Invoices cannot be null.");
+        }
+        if (invoices.stream().anyMatch(Objects::isNull)) {
+            log.error("Attempt to save null invoice.");
+            throw new IllegalArgumentException("Invoice cannot be null.");
+        }
+        List<pl.coderstrust.model.Invoice> invoicesToSave = new ArrayList<>(invoices);
+        List<pl.coderstrust.model.Invoice> savedInvoices = new ArrayList<>(invoicesToSave.size());
+        Map<Integer, String> failures = new TreeMap<>();
+        for (int start = 0; start < invoicesToSave.size(); start += bulkBatchSize) {
+            saveBatch(invoicesToSave.subList(start, Math.min(start + bulkBatchSize, invoicesToSave.size())), start, savedInvoices, failures);
+        }
+        if (!failures.isEmpty()) {
+            String message = String.format("An error occurred during saving invoices, %d of %d were saved.", savedInvoices.size(), invoicesToSave.size());
+            log.error(message);
+            throw new BulkSaveException(message, savedInvoices, failures);
+        }
+        return savedInvoices;
+    }
+
+    private void saveBatch(List<pl.coderstrust.model.Invoice> batch, int offset, List<pl.coderstrust.model.Invoice> savedInvoices, Map<Integer, String> failures) {
+        List<pl.coderstrust.model.Invoice> invoicesWithIds = new ArrayList<>(batch.size());
+        try {
+            int newInvoicesCount = (int) batch.stream().filter(invoice -> invoice.getId() == null).count();
+            long nextId = newInvoicesCount == 0 ? 0 : invoiceIds.nextBlock(newInvoicesCount);
+            List<Invoice> inserts = new ArrayList<>(newInvoicesCount);
+            List<Integer> insertIndexes = new ArrayList<>(newInvoicesCount);
+            List<Pair<Query, Update>> upserts = new ArrayList<>();
+            List<Integer> upsertIndexes = new ArrayList<>();
+            long maxUpsertedId = 0;
+            for (int i = 0; i < batch.size(); i++) {
+                pl.coderstrust.model.Invoice invoice = batch.get(i);
+                if (invoice.getId() == null) {
+                    invoice = withId(invoice, nextId++);
+                    inserts.add(noSqlModelMapper.toNoSqlInvoice(invoice));
+                    insertIndexes.add(i);
+                } else {
+                    upserts.add(Pair.of(Query.query(Criteria.where("id").is(invoice.getId())), toUpdate(invoice)));
+                    upsertIndexes.add(i);
+                    maxUpsertedId = Math.max(maxUpsertedId, invoice.getId());
+                }
+                invoicesWithIds.add(invoice);
+            }
+            BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkMode.UNORDERED, Invoice.class);
+            if (!inserts.isEmpty()) {
+                bulkOperations.insert(inserts);
+            }
+            if (!upserts.isEmpty()) {
+                bulkOperations.upsert(upserts);
+            }
+            if (maxUpsertedId > 0) {
+                invoiceIds.advanceTo(maxUpsertedId);
+            }
+            List<Integer> operationIndexes = new ArrayList<>(insertIndexes);
+            operationIndexes.addAll(upsertIndexes);
+            executeBulk(bulkOperations, offset, operationIndexes, failures);
+        } catch (RuntimeException e) {
+            log.error("An error occurred during saving batch of invoices.", e);
+            for (int i = 0; i < batch.size(); i++) {
+                failures.putIfAbsent(offset + i, e.getMessage());
+            }
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            if (!failures.containsKey(offset + i)) {
+                savedInvoices.add(invoicesWithIds.get(i));
+            }
+        }
+    }
+
+    private void executeBulk(BulkOperations bulkOperations, int offset, List<Integer> operationIndexes, Map<Integer, String> failures) {
+        try {
+            bulkOperations.execute();
+        } catch (RuntimeException e) {
+            MongoBulkWriteException bulkWriteException = findBulkWriteException(e);
+            if (bulkWriteException == null) {
+                throw e;
+            }
+            log.error("Some invoices from batch could not be saved.", e);
+            for (BulkWriteError error : bulkWriteException.getWriteErrors()) {
+                failures.put(offset + operationIndexes.get(error.getIndex()), error.getMessage());
+            }
+        }
+    }
+
+    private MongoBulkWriteException findBulkWriteException(Throwable exception) {
+        Throwable cause = exception;
+        while (cause != null && !(cause instanceof MongoBulkWriteException)) {
+            cause = cause.getCause();
+        }
+        return (MongoBulkWriteException) cause;
+    }
+
+    private pl.coderstrust.model.Invoice withId(pl.coderstrust.model.Invoice invoice, long id) {
+        return pl.coderstrust.model.Invoice.builder()
+            .withId(id)
             .withNumber(invoice.getNumber())
             .withIssuedDate(invoice.getIssuedDate())
             .withDueDate(invoice.getDueDate())
@@ -76,23 +243,6 @@ public class MongoDatabase implements Database {
             .withBuyer(invoice.getBuyer())
             .withEntries(invoice.getEntries())
             .build();
-        Invoice insertedInvoice = mongoTemplate.save(noSqlModelMapper.toNoSqlInvoice(invoiceToInsert));
-        return noSqlModelMapper.toInvoice(insertedInvoice);
-    }
-
-    private pl.coderstrust.model.Invoice updateInvoice(pl.coderstrust.model.Invoice invoice, String mongoId) {
-        Invoice mappedInvoice = noSqlModelMapper.toNoSqlInvoice(invoice);
-        Invoice invoiceToUpdate = Invoice.builder()
-            .withMongoId(mongoId)
-            .withId(mappedInvoice.getId())
-            .withNumber(mappedInvoice.getNumber())
-            .withIssuedDate(mappedInvoice.getIssuedDate())
-            .withDueDate(mappedInvoice.getDueDate())
-            .withSeller(mappedInvoice.getSeller())
-            .withBuyer(mappedInvoice.getBuyer())
-            .withEntries(mappedInvoice.getEntries())
-            .build();
-        return noSqlModelMapper.toInvoice(mongoTemplate.save(invoiceToUpdate));
     }
 
     @Override
@@ -158,8 +308,8 @@ public class MongoDatabase implements Database {
 
     @Override
     public Collection<pl.coderstrust.model.Invoice> getAll() throws DatabaseOperationException {
-        try {
-            return noSqlModelMapper.mapToInvoices(mongoTemplate.findAll(Invoice.class));
+        try (Stream<pl.coderstrust.model.Invoice> invoices = streamInvoices()) {
+            return invoices.collect(Collectors.toList());
         } catch (Exception e) {
             String message = "An error occurred during getting all invoices.";
             log.error(message, e);
@@ -167,10 +317,44 @@ public class MongoDatabase implements Database {
         }
     }
 
+    @Override
+    public List<pl.coderstrust.model.Invoice> getPage(Long afterId, int limit) throws DatabaseOperationException {
+        if (limit <= 0) {
+            log.error("Attempt to get page of invoices providing not positive limit.");
+            throw new IllegalArgumentException("Limit must be greater than zero.");
+        }
+        try {
+            Query query = afterId == null ? new Query() : Query.query(Criteria.where("id").gt(afterId));
+            query.with(new Sort(Direction.ASC, "id")).limit(limit);
+            return noSqlModelMapper.mapToInvoices(mongoTemplate.find(query, Invoice.class));
+        } catch (Exception e) {
+            String message = "An error occurred during getting page of invoices.";
+            log.error(message, e);
+            throw new DatabaseOperationException(message, e);
+        }
+    }
+
+    @Override
+    public Stream<pl.coderstrust.model.Invoice> stream() throws DatabaseOperationException {
+        try {
+            return streamInvoices();
+        } catch (Exception e) {
+            String message = "An error occurred during streaming invoices.";
+            log.error(message, e);
+            throw new DatabaseOperationException(message, e);
+        }
+    }
+
+    private Stream<pl.coderstrust.model.Invoice> streamInvoices() {
+        Query query = new Query().with(new Sort(Direction.ASC, "id")).cursorBatchSize(streamBatchSize);
+        CloseableIterator<Invoice> invoices = mongoTemplate.stream(query, Invoice.class);
+        return StreamUtils.createStreamFromIterator(invoices).map(noSqlModelMapper::toInvoice);
+    }
+
     @Override
     public void deleteAll() throws DatabaseOperationException {
         try {
-            mongoTemplate.dropCollection(Invoice.class);
+            mongoTemplate.remove(new Query(), Invoice.class);
         } catch (Exception e) {
             String message = "An error occurred during deleting all invoices.";
             log.error(message, e);
@@ -206,6 +390,52 @@ public class MongoDatabase implements Database {
 
     @Override
     public Collection<pl.coderstrust.model.Invoice> getByIssueDate(LocalDate startDate, LocalDate endDate) throws DatabaseOperationException {
+        validateDateInterval(startDate, endDate);
+        try {
+            List<Invoice> filteredInvoices = mongoTemplate.find(Query.query(Criteria.where("issuedDate").gte(startDate).lte(endDate)), Invoice.class);
+            return noSqlModelMapper.mapToInvoices(filteredInvoices);
+        } catch (Exception e) {
+            String message = "An error occurred during getting invoices filtered by issued date.";
+            log.error(message, e);
+            throw new DatabaseOperationException(message, e);
+        }
+    }
+
+    @Override
+    public Collection<InvoiceTotal> getTotals(LocalDate startDate, LocalDate endDate) throws DatabaseOperationException {
+        validateDateInterval(startDate, endDate);
+        try {
+            Timezone timezone = Timezone.valueOf(ZoneId.systemDefault().getId());
+            Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("issuedDate").gte(startDate).lte(endDate)),
+                Aggregation.unwind("entries"),
+                Aggregation.project()
+                    .and(DateOperators.dateOf("issuedDate").withTimezone(timezone).year()).as("year")
+                    .and(DateOperators.dateOf("issuedDate").withTimezone(timezone).month()).as("month")
+                    .and("seller.taxId").as("sellerTaxId")
+                    .and("entries.vatRate").as("vatRate")
+                    .and(ConvertOperators.valueOf("entries.netValue").convertToDecimal()).as("netValue")
+                    .and(ConvertOperators.valueOf("entries.grossValue").convertToDecimal()).as("grossValue"),
+                Aggregation.group("year", "month", "sellerTaxId", "vatRate").sum("netValue").as("netValue").sum("grossValue").as("grossValue"));
+            return InvoiceTotals.sorted(mongoTemplate.aggregate(aggregation, Invoice.class, Document.class).getMappedResults().stream()
+                .map(this::toInvoiceTotal)
+                .collect(Collectors.toList()));
+        } catch (Exception e) {
+            String message = "An error occurred during getting invoice totals.";
+            log.error(message, e);
+            throw new DatabaseOperationException(message, e);
+        }
+    }
+
+    private InvoiceTotal toInvoiceTotal(Document total) {
+        Document group = total.get("_id", Document.class);
+        String vatRate = group.getString("vatRate");
+        return InvoiceTotals.of(YearMonth.of(group.getInteger("year"), group.getInteger("month")), group.getString("sellerTaxId"),
+            vatRate == null ? null : pl.coderstrust.model.Vat.valueOf(vatRate), total.get("netValue", Decimal128.class).bigDecimalValue(),
+            total.get("grossValue", Decimal128.class).bigDecimalValue());
+    }
+
+    private void validateDateInterval(LocalDate startDate, LocalDate endDate) {
         if (startDate == null) {
             log.error("Attempt to get invoices from date interval without providing start date");
             throw new IllegalArgumentException("Start date cannot be null");
@@ -218,13 +448,5 @@ public class MongoDatabase implements Database {
             log.error("Attempt to get invoices from date interval when passed start date is after end date");
             throw new IllegalArgumentException("Start date cannot be after end date");
         }
-        try {
-            List<Invoice> filteredInvoices = mongoTemplate.find(Query.query(Criteria.where("issuedDate").gte(startDate).lte(endDate)), Invoice.class);
-            return noSqlModelMapper.mapToInvoices(filteredInvoices);
-        } catch (Exception e) {
-            String message = "An error occurred during getting invoices filtered by issued date.";
-            log.error(message, e);
-            throw new DatabaseOperationException(message, e);
-        }
     }
 }
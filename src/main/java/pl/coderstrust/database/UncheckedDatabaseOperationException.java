@@ -0,0 +1,13 @@
+package pl.coderstrust.database;
+
+public class UncheckedDatabaseOperationException extends RuntimeException {
+
+    public UncheckedDatabaseOperationException(DatabaseOperationException cause) {
+        super(cause.getMessage(), cause);
+    }
+
+    @Override
+    public synchronized DatabaseOperationException getCause() {
+        return (DatabaseOperationException) super.getCause();
+    }
+}
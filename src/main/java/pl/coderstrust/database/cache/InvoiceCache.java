@@ -0,0 +1,154 @@
+package pl.coderstrust.database.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import pl.coderstrust.model.Invoice;
+
+public class InvoiceCache {
+
+    private static final int READ_BUFFER_STRIPES = 16;
+    private static final int READ_BUFFER_SIZE = 64;
+
+    private final int maximumSize;
+    private final Map<Long, Invoice> invoices = new ConcurrentHashMap<>();
+    private final Map<String, Long> idsByNumber = new ConcurrentHashMap<>();
+    private final Map<Long, Boolean> accessOrder = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReadBuffer[] readBuffers = new ReadBuffer[READ_BUFFER_STRIPES];
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private volatile long version;
+
+    public InvoiceCache(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be greater than zero.");
+        }
+        this.maximumSize = maximumSize;
+        for (int i = 0; i < readBuffers.length; i++) {
+            readBuffers[i] = new ReadBuffer();
+        }
+    }
+
+    public Optional<Invoice> getById(Long id) {
+        return Optional.ofNullable(recordAccess(id, invoices.get(id)));
+    }
+
+    public Optional<Invoice> getByNumber(String number) {
+        Long id = idsByNumber.get(number);
+        Invoice invoice = id == null ? null : invoices.get(id);
+        if (invoice != null && !number.equals(invoice.getNumber())) {
+            invoice = null;
+        }
+        return Optional.ofNullable(recordAccess(id, invoice));
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public synchronized void put(Invoice invoice) {
+        if (invoice == null || invoice.getId() == null) {
+            throw new IllegalArgumentException("Invoice and its id cannot be null.");
+        }
+        drainReadBuffers();
+        removeFromIndex(invoices.put(invoice.getId(), invoice));
+        if (invoice.getNumber() != null) {
+            idsByNumber.put(invoice.getNumber(), invoice.getId());
+        }
+        accessOrder.put(invoice.getId(), Boolean.TRUE);
+        evictIfNeeded();
+    }
+
+    public synchronized boolean putIfUnchanged(Invoice invoice, long expectedVersion) {
+        if (version != expectedVersion) {
+            return false;
+        }
+        put(invoice);
+        return true;
+    }
+
+    public synchronized void invalidate(Long id) {
+        version++;
+        accessOrder.remove(id);
+        removeFromIndex(invoices.remove(id));
+    }
+
+    public synchronized void invalidateAll() {
+        version++;
+        accessOrder.clear();
+        invoices.clear();
+        idsByNumber.clear();
+    }
+
+    public int size() {
+        return invoices.size();
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    private Invoice recordAccess(Long id, Invoice invoice) {
+        if (invoice == null) {
+            missCount.increment();
+        } else {
+            hitCount.increment();
+            readBuffers[(int) Thread.currentThread().getId() & (readBuffers.length - 1)].record(id);
+        }
+        return invoice;
+    }
+
+    private void drainReadBuffers() {
+        for (ReadBuffer readBuffer : readBuffers) {
+            readBuffer.drainTo(accessOrder);
+        }
+    }
+
+    private void evictIfNeeded() {
+        Iterator<Long> eldestIds = accessOrder.keySet().iterator();
+        while (accessOrder.size() > maximumSize) {
+            Long eldestId = eldestIds.next();
+            eldestIds.remove();
+            removeFromIndex(invoices.remove(eldestId));
+            evictionCount.increment();
+        }
+    }
+
+    private void removeFromIndex(Invoice invoice) {
+        if (invoice != null && invoice.getNumber() != null) {
+            idsByNumber.remove(invoice.getNumber(), invoice.getId());
+        }
+    }
+
+    // Lossy ring of recently read ids, replayed into the access order by the next write.
+    private static final class ReadBuffer {
+
+        private final AtomicLongArray ids = new AtomicLongArray(READ_BUFFER_SIZE);
+        private final AtomicInteger readCount = new AtomicInteger();
+
+        private void record(long id) {
+            ids.lazySet(readCount.getAndIncrement() & (READ_BUFFER_SIZE - 1), id);
+        }
+
+        private void drainTo(Map<Long, Boolean> accessOrder) {
+            int count = readCount.getAndSet(0);
+            for (int i = Math.max(0, count - READ_BUFFER_SIZE); i < count; i++) {
+                accessOrder.get(ids.get(i & (READ_BUFFER_SIZE - 1)));
+            }
+        }
+    }
+}
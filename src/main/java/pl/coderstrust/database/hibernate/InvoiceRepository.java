@@ -2,16 +2,53 @@ package pl.coderstrust.database.hibernate;
 
 import java.time.LocalDate;
 import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import javax.persistence.QueryHint;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import pl.coderstrust.database.sql.model.Invoice;
 
 
 public interface InvoiceRepository extends JpaRepository<Invoice, Long>, JpaSpecificationExecutor<Invoice> {
 
+    @Override
+    @EntityGraph(Invoice.WITH_COMPANIES_GRAPH)
+    List<Invoice> findAll();
+
+    @Override
+    @EntityGraph(Invoice.WITH_COMPANIES_GRAPH)
+    Optional<Invoice> findById(Long id);
+
+    @EntityGraph(Invoice.WITH_COMPANIES_GRAPH)
+    Optional<Invoice> findByNumber(String number);
+
+    @EntityGraph(Invoice.WITH_COMPANIES_GRAPH)
+    @Query(value = "SELECT i FROM Invoice i WHERE i.id>:afterId ORDER BY i.id")
+    List<Invoice> findPage(@Param("afterId") Long afterId, Pageable pageable);
+
+    @EntityGraph(Invoice.WITH_COMPANIES_AND_ENTRIES_GRAPH)
+    @QueryHints({
+        @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "100"),
+        @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true")
+    })
+    @Query(value = "SELECT i FROM Invoice i ORDER BY i.id")
+    Stream<Invoice> streamAll();
+
+    @EntityGraph(Invoice.WITH_COMPANIES_GRAPH)
     @Query(value = "SELECT i FROM Invoice i WHERE i.issuedDate>=:startDate AND i.issuedDate<=:endDate")
     Collection<Invoice> findAllByIssuedDate(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Query(value = "SELECT YEAR(i.issuedDate) AS issuedYear, MONTH(i.issuedDate) AS issuedMonth, s.taxId AS sellerTaxId, e.vatRate AS vatRate, "
+        + "SUM(e.netValue) AS netValue, SUM(e.grossValue) AS grossValue "
+        + "FROM Invoice i JOIN i.entries e LEFT JOIN i.seller s WHERE i.issuedDate>=:startDate AND i.issuedDate<=:endDate "
+        + "GROUP BY YEAR(i.issuedDate), MONTH(i.issuedDate), s.taxId, e.vatRate")
+    List<InvoiceTotalRow> sumByMonthSellerAndVatRate(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 }
@@ -0,0 +1,20 @@
+package pl.coderstrust.database.hibernate;
+
+import java.math.BigDecimal;
+
+import pl.coderstrust.database.sql.model.Vat;
+
+public interface InvoiceTotalRow {
+
+    Integer getIssuedYear();
+
+    Integer getIssuedMonth();
+
+    String getSellerTaxId();
+
+    Vat getVatRate();
+
+    BigDecimal getNetValue();
+
+    BigDecimal getGrossValue();
+}
@@ -0,0 +1,50 @@
+package pl.coderstrust.database.hibernate;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class SqlSequences {
+
+    static final Map<String, String> SEQUENCE_TABLES = Map.of(
+        "invoice_sequence", "invoice",
+        "company_sequence", "company",
+        "invoice_entry_sequence", "invoice_entry"
+    );
+
+    private static final String POSTGRESQL = "PostgreSQL";
+
+    private Logger log = LoggerFactory.getLogger(SqlSequences.class);
+
+    private final DataSource dataSource;
+
+    public SqlSequences(DataSource dataSource) {
+        if (dataSource == null) {
+            throw new IllegalArgumentException("Data source cannot be null.");
+        }
+        this.dataSource = dataSource;
+    }
+
+    public void advanceToExistingIds() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!POSTGRESQL.equals(connection.getMetaData().getDatabaseProductName())) {
+                return;
+            }
+            try (Statement statement = connection.createStatement()) {
+                for (Map.Entry<String, String> sequence : SEQUENCE_TABLES.entrySet()) {
+                    log.debug("Advancing sequence {} to the highest id of table {}.", sequence.getKey(), sequence.getValue());
+                    statement.execute(advanceQuery(sequence.getKey(), sequence.getValue()));
+                }
+            }
+        }
+    }
+
+    static String advanceQuery(String sequence, String table) {
+        return String.format("SELECT setval('%1$s', ids.max_id) FROM (SELECT MAX(id) AS max_id FROM %2$s) ids, %1$s WHERE ids.max_id >= %1$s.last_value", sequence, table);
+    }
+}
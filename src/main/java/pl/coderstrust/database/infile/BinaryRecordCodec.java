@@ -0,0 +1,355 @@
+package pl.coderstrust.database.infile;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import pl.coderstrust.model.Company;
+import pl.coderstrust.model.Invoice;
+import pl.coderstrust.model.InvoiceEntry;
+import pl.coderstrust.model.Vat;
+
+public class BinaryRecordCodec implements RecordCodec {
+
+    private static final byte INLINE_COMPANIES_VERSION = 1;
+    private static final byte COMPANY_REFERENCES_VERSION = 2;
+    private static final int INITIAL_BUFFER_SIZE = 256;
+    private static final byte NO_VAT_CODE = 0;
+    private static final byte VAT_0_CODE = 1;
+    private static final byte VAT_5_CODE = 2;
+    private static final byte VAT_8_CODE = 3;
+    private static final byte VAT_23_CODE = 4;
+
+    private final CompanyRegistry companyRegistry;
+
+    public BinaryRecordCodec() {
+        this(null);
+    }
+
+    public BinaryRecordCodec(CompanyRegistry companyRegistry) {
+        this.companyRegistry = companyRegistry;
+    }
+
+    @Override
+    public RecordFormat getFormat() {
+        return RecordFormat.BINARY;
+    }
+
+    @Override
+    public byte[] encode(Invoice invoice) throws IOException {
+        if (invoice == null) {
+            throw new IllegalArgumentException("Invoice cannot be null.");
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream(INITIAL_BUFFER_SIZE);
+        output.write(companyRegistry == null ? INLINE_COMPANIES_VERSION : COMPANY_REFERENCES_VERSION);
+        writeLong(output, invoice.getId());
+        writeString(output, invoice.getNumber());
+        writeDate(output, invoice.getIssuedDate());
+        writeDate(output, invoice.getDueDate());
+        writeCompanyReference(output, invoice.getSeller());
+        writeCompanyReference(output, invoice.getBuyer());
+        List<InvoiceEntry> entries = invoice.getEntries();
+        writeVarLong(output, entries.size());
+        for (InvoiceEntry entry : entries) {
+            writeEntry(output, entry);
+        }
+        return output.toByteArray();
+    }
+
+    @Override
+    public Invoice decode(ByteBuffer payload) throws IOException {
+        if (payload == null) {
+            throw new IllegalArgumentException("Payload cannot be null.");
+        }
+        ByteBuffer input = payload.slice();
+        try {
+            byte version = input.get();
+            if (version != INLINE_COMPANIES_VERSION && version != COMPANY_REFERENCES_VERSION) {
+                throw new IOException(String.format("Unsupported binary record version: %d", version));
+            }
+            if (version == COMPANY_REFERENCES_VERSION && companyRegistry == null) {
+                throw new IOException("Binary record references companies but no company dictionary is available.");
+            }
+            Invoice.Builder builder = Invoice.builder()
+                .withId(readLong(input))
+                .withNumber(readString(input))
+                .withIssuedDate(readDate(input))
+                .withDueDate(readDate(input))
+                .withSeller(readCompanyReference(input, version))
+                .withBuyer(readCompanyReference(input, version));
+            int entriesCount = readSize(input);
+            List<InvoiceEntry> entries = new ArrayList<>(entriesCount);
+            for (int i = 0; i < entriesCount; i++) {
+                entries.add(readEntry(input));
+            }
+            return builder.withEntries(entries).build();
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("Binary record is corrupted.", e);
+        }
+    }
+
+    public void readCompanyIds(ByteBuffer payload, Collection<Long> companyIds) throws IOException {
+        ByteBuffer input = payload.slice();
+        try {
+            if (input.get() != COMPANY_REFERENCES_VERSION) {
+                return;
+            }
+            readLong(input);
+            readString(input);
+            readDate(input);
+            readDate(input);
+            for (int i = 0; i < 2; i++) {
+                if (readPresence(input)) {
+                    companyIds.add(readVarLong(input));
+                }
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("Binary record is corrupted.", e);
+        }
+    }
+
+    public byte[] encodeCompany(Company company) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(INITIAL_BUFFER_SIZE);
+        writeCompany(output, company);
+        return output.toByteArray();
+    }
+
+    public Company decodeCompany(ByteBuffer payload) throws IOException {
+        try {
+            return readCompany(payload.slice());
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("Binary company record is corrupted.", e);
+        }
+    }
+
+    private void writeCompanyReference(ByteArrayOutputStream output, Company company) throws IOException {
+        if (companyRegistry == null) {
+            writeCompany(output, company);
+        } else if (writePresence(output, company)) {
+            writeVarLong(output, companyRegistry.intern(company));
+        }
+    }
+
+    private Company readCompanyReference(ByteBuffer input, byte version) throws IOException {
+        if (version == INLINE_COMPANIES_VERSION) {
+            return readCompany(input);
+        }
+        if (!readPresence(input)) {
+            return null;
+        }
+        long companyId = readVarLong(input);
+        Company company = companyRegistry.get(companyId);
+        if (company == null) {
+            throw new IOException(String.format("Binary record references unknown company: %d", companyId));
+        }
+        return company;
+    }
+
+    private void writeCompany(ByteArrayOutputStream output, Company company) {
+        if (writePresence(output, company)) {
+            writeLong(output, company.getId());
+            writeString(output, company.getName());
+            writeString(output, company.getAddress());
+            writeString(output, company.getTaxId());
+            writeString(output, company.getAccountNumber());
+            writeString(output, company.getPhoneNumber());
+            writeString(output, company.getEmail());
+        }
+    }
+
+    private Company readCompany(ByteBuffer input) {
+        if (!readPresence(input)) {
+            return null;
+        }
+        return Company.builder()
+            .withId(readLong(input))
+            .withName(readString(input))
+            .withAddress(readString(input))
+            .withTaxId(readString(input))
+            .withAccountNumber(readString(input))
+            .withPhoneNumber(readString(input))
+            .withEmail(readString(input))
+            .build();
+    }
+
+    private void writeEntry(ByteArrayOutputStream output, InvoiceEntry entry) {
+        if (writePresence(output, entry)) {
+            writeLong(output, entry.getId());
+            writeString(output, entry.getDescription());
+            writeLong(output, entry.getQuantity());
+            writeDecimal(output, entry.getPrice());
+            writeDecimal(output, entry.getNetValue());
+            writeDecimal(output, entry.getGrossValue());
+            output.write(getVatCode(entry.getVatRate()));
+        }
+    }
+
+    private InvoiceEntry readEntry(ByteBuffer input) {
+        if (!readPresence(input)) {
+            return null;
+        }
+        return InvoiceEntry.builder()
+            .withId(readLong(input))
+            .withDescription(readString(input))
+            .withQuantity(readLong(input))
+            .withPrice(readDecimal(input))
+            .withNetValue(readDecimal(input))
+            .withGrossValue(readDecimal(input))
+            .withVatRate(readVat(input))
+            .build();
+    }
+
+    private int getVatCode(Vat vat) {
+        if (vat == null) {
+            return NO_VAT_CODE;
+        }
+        switch (vat) {
+          case VAT_0:
+              return VAT_0_CODE;
+          case VAT_5:
+              return VAT_5_CODE;
+          case VAT_8:
+              return VAT_8_CODE;
+          case VAT_23:
+              return VAT_23_CODE;
+          default:
+              throw new IllegalArgumentException(String.format("Unsupported vat rate: %s", vat.name()));
+        }
+    }
+
+    private Vat readVat(ByteBuffer input) {
+        byte code = input.get();
+        switch (code) {
+          case NO_VAT_CODE:
+              return null;
+          case VAT_0_CODE:
+              return Vat.VAT_0;
+          case VAT_5_CODE:
+              return Vat.VAT_5;
+          case VAT_8_CODE:
+              return Vat.VAT_8;
+          case VAT_23_CODE:
+              return Vat.VAT_23;
+          default:
+              throw new IllegalArgumentException("Unknown vat rate.");
+        }
+    }
+
+    private void writeDecimal(ByteArrayOutputStream output, BigDecimal value) {
+        if (writePresence(output, value)) {
+            writeVarLong(output, zigZag(value.scale()));
+            byte[] unscaledValue = value.unscaledValue().toByteArray();
+            writeVarLong(output, unscaledValue.length);
+            output.writeBytes(unscaledValue);
+        }
+    }
+
+    private BigDecimal readDecimal(ByteBuffer input) {
+        if (!readPresence(input)) {
+            return null;
+        }
+        int scale = (int) unZigZag(readVarLong(input));
+        byte[] unscaledValue = new byte[readSize(input)];
+        input.get(unscaledValue);
+        return new BigDecimal(new BigInteger(unscaledValue), scale);
+    }
+
+    private void writeDate(ByteArrayOutputStream output, LocalDate date) {
+        if (writePresence(output, date)) {
+            writeVarLong(output, zigZag(date.toEpochDay()));
+        }
+    }
+
+    private LocalDate readDate(ByteBuffer input) {
+        if (!readPresence(input)) {
+            return null;
+        }
+        return LocalDate.ofEpochDay(unZigZag(readVarLong(input)));
+    }
+
+    private void writeLong(ByteArrayOutputStream output, Long value) {
+        if (writePresence(output, value)) {
+            writeVarLong(output, zigZag(value));
+        }
+    }
+
+    private Long readLong(ByteBuffer input) {
+        if (!readPresence(input)) {
+            return null;
+        }
+        return unZigZag(readVarLong(input));
+    }
+
+    private void writeString(ByteArrayOutputStream output, String value) {
+        if (value == null) {
+            writeVarLong(output, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(UTF_8);
+        writeVarLong(output, bytes.length + 1L);
+        output.writeBytes(bytes);
+    }
+
+    private String readString(ByteBuffer input) {
+        int length = readSize(input);
+        if (length == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length - 1];
+        input.get(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    private boolean writePresence(ByteArrayOutputStream output, Object value) {
+        output.write(value == null ? 0 : 1);
+        return value != null;
+    }
+
+    private boolean readPresence(ByteBuffer input) {
+        return input.get() != 0;
+    }
+
+    private int readSize(ByteBuffer input) {
+        long size = readVarLong(input);
+        if (size < 0 || size > input.remaining() + 1L) {
+            throw new IllegalArgumentException("Size exceeds the remaining payload.");
+        }
+        return (int) size;
+    }
+
+    private void writeVarLong(ByteArrayOutputStream output, long value) {
+        while ((value & ~0x7FL) != 0) {
+            output.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        output.write((int) value);
+    }
+
+    private long readVarLong(ByteBuffer input) {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            byte current = input.get();
+            value |= (long) (current & 0x7F) << shift;
+            if ((current & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Variable length number is too long.");
+    }
+
+    private long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
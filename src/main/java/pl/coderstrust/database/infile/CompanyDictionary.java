@@ -0,0 +1,205 @@
+package pl.coderstrust.database.infile;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import pl.coderstrust.model.Company;
+
+public class CompanyDictionary implements CompanyRegistry, Closeable {
+
+    private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+    private static final byte[] EMPTY_PAYLOAD = new byte[0];
+
+    private final BinaryRecordCodec companyCodec = new BinaryRecordCodec();
+    private final Map<ByteBuffer, Long> idsByCompany = new ConcurrentHashMap<>();
+    private final Map<Long, Company> companiesById = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> idsByTaxId = new ConcurrentHashMap<>();
+    private Path path;
+    private FileChannel channel;
+    private long lastId;
+    private volatile long epoch;
+    private volatile Set<Long> usedIds;
+
+    public CompanyDictionary() {
+    }
+
+    public CompanyDictionary(String path) throws IOException {
+        if (path == null) {
+            throw new IllegalArgumentException("Dictionary's path cannot be null.");
+        }
+        Path dictionaryPath = Paths.get(path);
+        this.path = dictionaryPath;
+        if (!Files.exists(dictionaryPath) || Files.size(dictionaryPath) < SegmentFormat.SEGMENT_HEADER_SIZE) {
+            Files.write(dictionaryPath, SegmentFormat.getSegmentHeader(RecordFormat.BINARY));
+        }
+        long validSize = SegmentFormat.scan(path, frame -> {
+            if (frame.getType() == RecordFrame.COMPANY) {
+                register(frame.getId(), frame.getPayload(), companyCodec.decodeCompany(ByteBuffer.wrap(frame.getPayload())));
+            }
+            lastId = Math.max(lastId, frame.getId());
+        });
+        channel = FileChannel.open(dictionaryPath, StandardOpenOption.WRITE);
+        if (channel.size() > validSize) {
+            channel.truncate(validSize);
+        }
+        channel.position(validSize);
+    }
+
+    @Override
+    public long intern(Company company) throws IOException {
+        if (company == null) {
+            throw new IllegalArgumentException("Company cannot be null.");
+        }
+        byte[] payload = companyCodec.encodeCompany(company);
+        Long id = idsByCompany.get(ByteBuffer.wrap(payload));
+        if (id != null) {
+            markAsUsed(id);
+            return id;
+        }
+        synchronized (this) {
+            id = idsByCompany.get(ByteBuffer.wrap(payload));
+            if (id != null) {
+                markAsUsed(id);
+                return id;
+            }
+            long newId = lastId + 1;
+            if (channel != null) {
+                ByteBuffer frame = ByteBuffer.wrap(SegmentFormat.encode(RecordFrame.COMPANY, newId, payload));
+                while (frame.hasRemaining()) {
+                    channel.write(frame);
+                }
+                channel.force(false);
+            }
+            register(newId, payload, company);
+            markAsUsed(newId);
+            return newId;
+        }
+    }
+
+    public long getEpoch() {
+        return epoch;
+    }
+
+    public synchronized void startCompaction() {
+        usedIds = ConcurrentHashMap.newKeySet();
+        epoch++;
+    }
+
+    public synchronized void cancelCompaction() {
+        usedIds = null;
+    }
+
+    public synchronized int retain(Set<Long> referencedIds) throws IOException {
+        if (referencedIds == null) {
+            throw new IllegalArgumentException("Referenced ids cannot be null.");
+        }
+        Set<Long> retainedIds = new HashSet<>(referencedIds);
+        if (usedIds != null) {
+            retainedIds.addAll(usedIds);
+        }
+        usedIds = null;
+        epoch++;
+        int removedCompanies = (int) companiesById.keySet().stream().filter(id -> !retainedIds.contains(id)).count();
+        if (removedCompanies > 0) {
+            rewrite(retainedIds);
+        }
+        return removedCompanies;
+    }
+
+    public synchronized void clear() throws IOException {
+        usedIds = null;
+        epoch++;
+        rewrite(Collections.emptySet());
+    }
+
+    public synchronized void delete() throws IOException {
+        clear();
+        if (channel != null) {
+            channel.close();
+            channel = null;
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Override
+    public Company get(long id) {
+        return companiesById.get(id);
+    }
+
+    public Set<Long> getIdsByTaxId(String taxId) {
+        if (taxId == null) {
+            throw new IllegalArgumentException("Tax id cannot be null.");
+        }
+        return Collections.unmodifiableSet(idsByTaxId.getOrDefault(taxId, Collections.emptySet()));
+    }
+
+    public int size() {
+        return companiesById.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private void rewrite(Set<Long> retainedIds) throws IOException {
+        if (channel != null) {
+            Path temporaryPath = Paths.get(path.toString() + TEMPORARY_FILE_SUFFIX);
+            try (FileChannel output = FileChannel.open(temporaryPath, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                write(output, SegmentFormat.getSegmentHeader(RecordFormat.BINARY));
+                for (Map.Entry<Long, Company> entry : new TreeMap<>(companiesById).entrySet()) {
+                    if (retainedIds.contains(entry.getKey())) {
+                        write(output, SegmentFormat.encode(RecordFrame.COMPANY, entry.getKey(), companyCodec.encodeCompany(entry.getValue())));
+                    }
+                }
+                write(output, SegmentFormat.encode(RecordFrame.TOMBSTONE, lastId, EMPTY_PAYLOAD));
+                output.force(false);
+            }
+            channel.close();
+            Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            channel = FileChannel.open(path, StandardOpenOption.WRITE);
+            channel.position(channel.size());
+        }
+        companiesById.keySet().retainAll(retainedIds);
+        idsByCompany.values().retainAll(retainedIds);
+        idsByTaxId.values().forEach(ids -> ids.retainAll(retainedIds));
+        idsByTaxId.values().removeIf(Set::isEmpty);
+    }
+
+    private void write(FileChannel output, byte[] bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            output.write(buffer);
+        }
+    }
+
+    private void markAsUsed(long id) {
+        Set<Long> ids = usedIds;
+        if (ids != null) {
+            ids.add(id);
+        }
+    }
+
+    private void register(long id, byte[] payload, Company company) {
+        companiesById.put(id, company);
+        if (company.getTaxId() != null) {
+            idsByTaxId.computeIfAbsent(company.getTaxId(), taxId -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+        idsByCompany.put(ByteBuffer.wrap(payload), id);
+        lastId = Math.max(lastId, id);
+    }
+}
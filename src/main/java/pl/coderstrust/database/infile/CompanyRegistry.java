@@ -0,0 +1,11 @@
+package pl.coderstrust.database.infile;
+
+import java.io.IOException;
+import pl.coderstrust.model.Company;
+
+public interface CompanyRegistry {
+
+    long intern(Company company) throws IOException;
+
+    Company get(long id) throws IOException;
+}
@@ -0,0 +1,17 @@
+package pl.coderstrust.database.infile;
+
+import java.io.IOException;
+
+public class DuplicateNumberException extends IOException {
+
+    private final String number;
+
+    public DuplicateNumberException(String number) {
+        super(String.format("Number %s is already used by another invoice.", number));
+        this.number = number;
+    }
+
+    public String getNumber() {
+        return number;
+    }
+}
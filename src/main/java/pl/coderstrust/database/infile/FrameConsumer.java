@@ -0,0 +1,9 @@
+package pl.coderstrust.database.infile;
+
+import java.io.IOException;
+
+@FunctionalInterface
+public interface FrameConsumer {
+
+    void accept(RecordFrame frame) throws IOException;
+}
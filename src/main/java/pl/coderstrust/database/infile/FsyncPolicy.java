@@ -0,0 +1,7 @@
+package pl.coderstrust.database.infile;
+
+public enum FsyncPolicy {
+    EVERY_WRITE,
+    INTERVAL,
+    OS
+}
@@ -0,0 +1,108 @@
+package pl.coderstrust.database.infile;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Optional;
+
+public class IndexSnapshot {
+
+    private static final int MAGIC = 0x494E5649;
+    private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+
+    private final Path path;
+
+    public IndexSnapshot(String path) {
+        if (path == null) {
+            throw new IllegalArgumentException("Snapshot's path cannot be null.");
+        }
+        this.path = Paths.get(path);
+    }
+
+    public Optional<HighWaterMark> read(List<SecondaryIndex> indexes) throws IOException {
+        validate(indexes);
+        if (!Files.exists(path)) {
+            return Optional.empty();
+        }
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (input.readInt() != MAGIC) {
+                return Optional.empty();
+            }
+            HighWaterMark highWaterMark = new HighWaterMark(input.readLong(), input.readLong());
+            if (input.readInt() != indexes.size()) {
+                return Optional.empty();
+            }
+            for (SecondaryIndex index : indexes) {
+                index.readFrom(input);
+            }
+            return Optional.of(highWaterMark);
+        } catch (IOException e) {
+            indexes.forEach(SecondaryIndex::clear);
+            return Optional.empty();
+        }
+    }
+
+    public void write(HighWaterMark highWaterMark, List<SecondaryIndex> indexes) throws IOException {
+        if (highWaterMark == null) {
+            throw new IllegalArgumentException("High-water mark cannot be null.");
+        }
+        validate(indexes);
+        Path temporaryPath = Paths.get(path.toString() + TEMPORARY_FILE_SUFFIX);
+        try {
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryPath)))) {
+                output.writeInt(MAGIC);
+                output.writeLong(highWaterMark.getSegmentId());
+                output.writeLong(highWaterMark.getOffset());
+                output.writeInt(indexes.size());
+                for (SecondaryIndex index : indexes) {
+                    index.writeTo(output);
+                }
+            }
+            Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.deleteIfExists(temporaryPath);
+            Files.deleteIfExists(path);
+            throw e;
+        }
+    }
+
+    public void delete() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    private void validate(List<SecondaryIndex> indexes) {
+        if (indexes == null) {
+            throw new IllegalArgumentException("Indexes cannot be null.");
+        }
+    }
+
+    public static final class HighWaterMark {
+
+        private final long segmentId;
+        private final long offset;
+
+        public HighWaterMark(long segmentId, long offset) {
+            this.segmentId = segmentId;
+            this.offset = offset;
+        }
+
+        public long getSegmentId() {
+            return segmentId;
+        }
+
+        public long getOffset() {
+            return offset;
+        }
+
+        public boolean covers(long recordSegmentId, long recordOffset) {
+            return recordSegmentId < segmentId || (recordSegmentId == segmentId && recordOffset < offset);
+        }
+    }
+}
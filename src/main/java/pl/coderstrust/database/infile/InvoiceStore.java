@@ -0,0 +1,876 @@
+package pl.coderstrust.database.infile;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pl.coderstrust.configuration.InFileDatabaseProperties;
+import pl.coderstrust.database.infile.IndexSnapshot.HighWaterMark;
+import pl.coderstrust.helpers.FileHelper;
+import pl.coderstrust.model.Invoice;
+
+public class InvoiceStore implements Closeable {
+
+    private static final String LEGACY_TOMBSTONE_PREFIX = "{\"deletedId\":";
+    private static final String LEGACY_TOMBSTONE_SUFFIX = "}";
+    private static final String MANIFEST_FILE_SUFFIX = ".manifest";
+    private static final String COMPACTION_FILE_SUFFIX = ".compaction";
+    private static final String CONVERSION_FILE_SUFFIX = ".conversion";
+    private static final String INDEX_SNAPSHOT_FILE_SUFFIX = ".indexes";
+    private static final String COMPANY_DICTIONARY_FILE_SUFFIX = ".companies";
+    private static final String SEGMENT_FILE_FORMAT = "%s.%06d";
+    private static final byte[] EMPTY_PAYLOAD = new byte[0];
+    private static final HighWaterMark NOTHING_TO_REPLAY = new HighWaterMark(Long.MAX_VALUE, 0);
+
+    private Logger log = LoggerFactory.getLogger(InvoiceStore.class);
+
+    private final String filePath;
+    private final long segmentSize;
+    private final ReadMode readMode;
+    private final ObjectMapper mapper;
+    private final CompanyDictionary companyDictionary;
+    private final RecordCodec codec;
+    private final FileHelper fileHelper;
+    private final SegmentManifest manifest;
+    private final NavigableMap<Long, Segment> segments = new TreeMap<>();
+    private final OffsetIndex index = new OffsetIndex();
+    private final NumberIndex numberIndex = new NumberIndex();
+    private final IssuedDateIndex issuedDateIndex = new IssuedDateIndex();
+    private final List<SecondaryIndex> secondaryIndexes = List.of(numberIndex, issuedDateIndex);
+    private final IndexSnapshot indexSnapshot;
+    private final MappedSegmentReader mappedReader = new MappedSegmentReader();
+    private final RecordJournal journal;
+    private final StampedLock swapLock = new StampedLock();
+    private final Lock compactionLock = new ReentrantLock();
+    private volatile long activeSegmentId;
+    private long maxId;
+    private long lastSequence;
+    private long generation;
+
+    public InvoiceStore(InFileDatabaseProperties properties, ObjectMapper mapper, FileHelper fileHelper) throws IOException {
+        if (properties == null) {
+            throw new IllegalArgumentException("Properties cannot be null.");
+        }
+        if (properties.getFilePath() == null) {
+            throw new IllegalArgumentException("File's path cannot be null.");
+        }
+        if (properties.getSegmentSize() <= 0) {
+            throw new IllegalArgumentException("Segment size must be greater than zero.");
+        }
+        if (properties.getReadMode() == null) {
+            throw new IllegalArgumentException("Read mode cannot be null.");
+        }
+        if (properties.getReadMode() == ReadMode.MEMORY_MAPPED && properties.getSegmentSize() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Segment size cannot exceed 2 GB when segments are memory mapped.");
+        }
+        if (properties.getRecordFormat() == null) {
+            throw new IllegalArgumentException("Record format cannot be null.");
+        }
+        if (properties.getFsyncPolicy() == null) {
+            throw new IllegalArgumentException("Fsync policy cannot be null.");
+        }
+        if (mapper == null) {
+            throw new IllegalArgumentException("Mapper cannot be null.");
+        }
+        if (fileHelper == null) {
+            throw new IllegalArgumentException("File helper cannot be null.");
+        }
+        this.filePath = properties.getFilePath();
+        this.segmentSize = properties.getSegmentSize();
+        this.readMode = properties.getReadMode();
+        this.mapper = mapper;
+        this.companyDictionary = createCompanyDictionary(properties.getRecordFormat());
+        this.codec = createCodec(properties.getRecordFormat());
+        this.fileHelper = fileHelper;
+        this.manifest = new SegmentManifest(filePath + MANIFEST_FILE_SUFFIX);
+        this.indexSnapshot = new IndexSnapshot(filePath + INDEX_SNAPSHOT_FILE_SUFFIX);
+        this.journal = new RecordJournal(properties.getFsyncPolicy(), properties.getFsyncInterval());
+        init();
+    }
+
+    private void init() throws IOException {
+        if (!manifest.exists()) {
+            createManifest();
+        }
+        Optional<HighWaterMark> highWaterMark = indexSnapshot.read(secondaryIndexes);
+        boolean snapshotMatchesSegments = highWaterMark.isPresent();
+        List<Long> segmentIds = manifest.read();
+        for (Long segmentId : segmentIds) {
+            Segment segment = new Segment(segmentId, getSegmentPath(segmentId));
+            Files.deleteIfExists(Paths.get(segment.getPath() + COMPACTION_FILE_SUFFIX));
+            if (!fileHelper.exists(segment.getPath())) {
+                fileHelper.create(segment.getPath());
+            }
+            if (prepare(segment)) {
+                snapshotMatchesSegments = false;
+            }
+            segments.put(segmentId, segment);
+            load(segment, segmentId.equals(segmentIds.get(segmentIds.size() - 1)), highWaterMark.orElse(NOTHING_TO_REPLAY));
+        }
+        if (!snapshotMatchesSegments || !isReachable(highWaterMark.get())) {
+            secondaryIndexes.forEach(SecondaryIndex::clear);
+            rebuildSecondaryIndexes();
+        }
+        if (segments.isEmpty()) {
+            rollOver();
+        } else {
+            journal.open(segments.lastEntry().getValue().getPath());
+            activeSegmentId = segments.lastKey();
+            checkpoint();
+        }
+        if (codec.getFormat() != RecordFormat.BINARY) {
+            companyDictionary.delete();
+        }
+    }
+
+    private boolean isReachable(HighWaterMark highWaterMark) {
+        Segment segment = segments.get(highWaterMark.getSegmentId());
+        return segment != null && highWaterMark.getOffset() >= SegmentFormat.SEGMENT_HEADER_SIZE && highWaterMark.getOffset() <= segment.getSize();
+    }
+
+    private void replay(RecordFrame frame) {
+        if (frame.isTombstone()) {
+            secondaryIndexes.forEach(secondaryIndex -> secondaryIndex.remove(frame.getId()));
+            return;
+        }
+        Invoice invoice = deserialize(frame.getPayload());
+        if (invoice != null) {
+            secondaryIndexes.forEach(secondaryIndex -> secondaryIndex.put(invoice));
+        }
+    }
+
+    private void checkpoint() {
+        Segment activeSegment = segments.lastEntry().getValue();
+        try {
+            indexSnapshot.write(new HighWaterMark(activeSegment.getId(), activeSegment.getSize()), secondaryIndexes);
+        } catch (IOException e) {
+            log.warn("Could not write index snapshot of {}, secondary indexes will be rebuilt on next startup.", filePath, e);
+        }
+    }
+
+    private void rebuildSecondaryIndexes() throws IOException {
+        List<Invoice> invoices = getAllFromSegmentFiles();
+        for (Invoice invoice : invoices) {
+            secondaryIndexes.forEach(secondaryIndex -> secondaryIndex.put(invoice));
+        }
+        log.info("Rebuilt secondary indexes of {} from {} invoices.", filePath, invoices.size());
+    }
+
+    private void createManifest() throws IOException {
+        String firstSegmentPath = getSegmentPath(1L);
+        if (fileHelper.exists(filePath)) {
+            Files.move(Paths.get(filePath), Paths.get(firstSegmentPath), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            fileHelper.create(firstSegmentPath);
+        }
+        manifest.write(Collections.singletonList(1L));
+    }
+
+    private CompanyDictionary createCompanyDictionary(RecordFormat format) throws IOException {
+        String dictionaryPath = filePath + COMPANY_DICTIONARY_FILE_SUFFIX;
+        if (format == RecordFormat.BINARY || Files.exists(Paths.get(dictionaryPath))) {
+            return new CompanyDictionary(dictionaryPath);
+        }
+        return new CompanyDictionary();
+    }
+
+    private RecordCodec createCodec(RecordFormat format) {
+        switch (format) {
+          case JSON:
+              return new JsonRecordCodec(mapper);
+          case BINARY:
+              return new BinaryRecordCodec(companyDictionary);
+          default:
+              throw new IllegalArgumentException(String.format("Unsupported record format: %s", format));
+        }
+    }
+
+    private boolean prepare(Segment segment) throws IOException {
+        if (fileHelper.isEmpty(segment.getPath())) {
+            Files.write(Paths.get(segment.getPath()), SegmentFormat.getSegmentHeader(codec.getFormat()));
+            return false;
+        }
+        if (!SegmentFormat.hasSegmentHeader(segment.getPath())) {
+            convertLegacySegment(segment);
+            return true;
+        }
+        RecordFormat format = SegmentFormat.readRecordFormat(segment.getPath());
+        if (format != codec.getFormat()) {
+            convertSegment(segment, createCodec(format));
+            return true;
+        }
+        return false;
+    }
+
+    private void convertLegacySegment(Segment segment) throws IOException {
+        rewrite(segment, output -> fileHelper.forEachLine(segment.getPath(), (offset, length, line) -> {
+            Optional<Long> deletedId = parseLegacyTombstone(line);
+            if (deletedId.isPresent()) {
+                output.write(SegmentFormat.encode(RecordFrame.TOMBSTONE, deletedId.get(), EMPTY_PAYLOAD));
+                return;
+            }
+            Invoice invoice = deserialize(line);
+            if (invoice != null && invoice.getId() != null) {
+                output.write(SegmentFormat.encode(RecordFrame.INVOICE, invoice.getId(), codec.encode(invoice)));
+            }
+        }));
+        log.info("Converted segment {} from JSON lines to {} records.", segment.getPath(), codec.getFormat());
+    }
+
+    private void convertSegment(Segment segment, RecordCodec sourceCodec) throws IOException {
+        rewrite(segment, output -> scan(segment.getPath(), frame -> {
+            if (frame.isTombstone()) {
+                output.write(SegmentFormat.encode(frame));
+                return;
+            }
+            Invoice invoice = sourceCodec.decode(ByteBuffer.wrap(frame.getPayload()));
+            output.write(SegmentFormat.encode(RecordFrame.INVOICE, frame.getId(), codec.encode(invoice)));
+        }));
+        log.info("Converted segment {} from {} to {} records.", segment.getPath(), sourceCodec.getFormat(), codec.getFormat());
+    }
+
+    private void rewrite(Segment segment, SegmentRewriter rewriter) throws IOException {
+        Path conversionPath = Paths.get(segment.getPath() + CONVERSION_FILE_SUFFIX);
+        try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(conversionPath))) {
+            output.write(SegmentFormat.getSegmentHeader(codec.getFormat()));
+            rewriter.write(output);
+        } catch (IOException e) {
+            Files.deleteIfExists(conversionPath);
+            throw e;
+        }
+        Files.move(conversionPath, Paths.get(segment.getPath()), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void load(Segment segment, boolean lastSegment, HighWaterMark highWaterMark) throws IOException {
+        segment.setLiveBytes(SegmentFormat.SEGMENT_HEADER_SIZE);
+        long validSize = scan(segment.getPath(), frame -> {
+            maxId = Math.max(maxId, frame.getId());
+            if (!highWaterMark.covers(segment.getId(), frame.getOffset())) {
+                replay(frame);
+            }
+            if (frame.isTombstone()) {
+                index.remove(frame.getId()).ifPresent(this::markAsDead);
+            } else {
+                markAsLive(frame.getId(), frame.getLocation(segment.getId()));
+            }
+        });
+        long size = fileHelper.size(segment.getPath());
+        if (validSize < size && !lastSegment) {
+            throw new IOException(String.format("Sealed segment %s contains %d bytes of corrupted records at offset %d.", segment.getPath(), size - validSize, validSize));
+        }
+        if (validSize < size) {
+            log.warn("Truncating {} bytes of torn or corrupted records at the end of segment {}.", size - validSize, segment.getPath());
+            fileHelper.truncate(segment.getPath(), validSize);
+        }
+        segment.setSize(validSize);
+    }
+
+    private long scan(String segmentPath, FrameConsumer consumer) throws IOException {
+        try (InputStream input = fileHelper.openInputStream(segmentPath)) {
+            return SegmentFormat.scan(input, fileHelper.size(segmentPath), consumer);
+        }
+    }
+
+    public synchronized long getMaxId() {
+        return maxId;
+    }
+
+    public Optional<Long> getIdByNumber(String number) {
+        return numberIndex.get(number);
+    }
+
+    public List<Long> getIdsByIssuedDate(LocalDate startDate, LocalDate endDate) {
+        return issuedDateIndex.get(startDate, endDate);
+    }
+
+    public List<Long> getIdsAfter(Long afterId, int limit) {
+        return index.getIdsAfter(afterId, limit);
+    }
+
+    public boolean contains(Long id) {
+        return index.contains(id);
+    }
+
+    public long count() {
+        return index.size();
+    }
+
+    public synchronized List<String> getSegmentPaths() {
+        return segments.values()
+            .stream()
+            .map(Segment::getPath)
+            .collect(Collectors.toList());
+    }
+
+    public Optional<Invoice> get(Long id) throws IOException {
+        return readConsistently(() -> {
+            Optional<RecordLocation> location = index.get(id);
+            if (location.isEmpty()) {
+                return Optional.empty();
+            }
+            return Optional.ofNullable(readInvoice(location.get()));
+        });
+    }
+
+    private Invoice readInvoice(RecordLocation location) throws IOException {
+        if (readMode == ReadMode.MEMORY_MAPPED && location.getSegmentId() != activeSegmentId) {
+            return deserialize(read(location));
+        }
+        if (location.getSegmentId() == activeSegmentId) {
+            journal.flush();
+        }
+        return deserialize(fileHelper.readBytes(getSegmentPath(location.getSegmentId()), location.getOffset(), location.getLength()));
+    }
+
+    public List<Invoice> getAll() throws IOException {
+        return readConsistently(() -> {
+            journal.flush();
+            if (readMode == ReadMode.MEMORY_MAPPED) {
+                return getAllFromMappedSegments();
+            }
+            return getAllFromSegmentFiles();
+        });
+    }
+
+    public List<Invoice> getAll(Collection<Long> ids) throws IOException {
+        if (ids == null) {
+            throw new IllegalArgumentException("Ids cannot be null.");
+        }
+        return readConsistently(() -> {
+            List<Invoice> invoices = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                Optional<RecordLocation> location = index.get(id);
+                if (location.isPresent()) {
+                    Invoice invoice = readInvoice(location.get());
+                    if (invoice != null) {
+                        invoices.add(invoice);
+                    }
+                }
+            }
+            return invoices;
+        });
+    }
+
+    private <T> T readConsistently(SegmentRead<T> read) throws IOException {
+        long stamp = swapLock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                T result = read.read();
+                if (swapLock.validate(stamp)) {
+                    return result;
+                }
+            } catch (IOException | RuntimeException e) {
+                if (swapLock.validate(stamp)) {
+                    throw e;
+                }
+            }
+        }
+        stamp = swapLock.readLock();
+        try {
+            return read.read();
+        } finally {
+            swapLock.unlockRead(stamp);
+        }
+    }
+
+    private List<Invoice> getAllFromSegmentFiles() throws IOException {
+        NavigableMap<Long, Set<Long>> liveOffsetsBySegment = new TreeMap<>(index.getOffsetsBySegment());
+        List<Invoice> invoices = new ArrayList<>();
+        for (Map.Entry<Long, Set<Long>> entry : liveOffsetsBySegment.entrySet()) {
+            Set<Long> liveOffsets = entry.getValue();
+            scan(getSegmentPath(entry.getKey()), frame -> {
+                if (liveOffsets.contains(frame.getPayloadOffset())) {
+                    Invoice invoice = deserialize(frame.getPayload());
+                    if (invoice != null) {
+                        invoices.add(invoice);
+                    }
+                }
+            });
+        }
+        return invoices;
+    }
+
+    private List<Invoice> getAllFromMappedSegments() throws IOException {
+        long currentSegmentId = activeSegmentId;
+        List<Invoice> invoices = new ArrayList<>();
+        Set<Long> activeSegmentOffsets = new HashSet<>();
+        for (RecordLocation location : index.getLocationsInFileOrder()) {
+            if (location.getSegmentId() == currentSegmentId) {
+                activeSegmentOffsets.add(location.getOffset());
+                continue;
+            }
+            Invoice invoice = deserialize(read(location));
+            if (invoice != null) {
+                invoices.add(invoice);
+            }
+        }
+        if (!activeSegmentOffsets.isEmpty()) {
+            scan(getSegmentPath(currentSegmentId), frame -> {
+                if (activeSegmentOffsets.contains(frame.getPayloadOffset())) {
+                    Invoice invoice = deserialize(frame.getPayload());
+                    if (invoice != null) {
+                        invoices.add(invoice);
+                    }
+                }
+            });
+        }
+        return invoices;
+    }
+
+    private ByteBuffer read(RecordLocation location) throws IOException {
+        return mappedReader.read(getSegmentPath(location.getSegmentId()), location);
+    }
+
+    public void put(Invoice invoice) throws IOException {
+        validate(invoice);
+        long dictionaryEpoch = companyDictionary.getEpoch();
+        byte[] payload = codec.encode(invoice);
+        long sequence;
+        synchronized (this) {
+            sequence = write(invoice, encodeAgainIfDictionaryChanged(invoice, payload, dictionaryEpoch));
+        }
+        journal.awaitDurable(sequence);
+    }
+
+    public Invoice insert(Invoice invoice) throws IOException {
+        if (invoice == null) {
+            throw new IllegalArgumentException("Invoice cannot be null.");
+        }
+        Invoice insertedInvoice;
+        long sequence;
+        synchronized (this) {
+            if (invoice.getNumber() != null && numberIndex.get(invoice.getNumber()).isPresent()) {
+                throw new DuplicateNumberException(invoice.getNumber());
+            }
+            insertedInvoice = Invoice.builder()
+                .withId(maxId + 1)
+                .withNumber(invoice.getNumber())
+                .withIssuedDate(invoice.getIssuedDate())
+                .withDueDate(invoice.getDueDate())
+                .withSeller(invoice.getSeller())
+                .withBuyer(invoice.getBuyer())
+                .withEntries(invoice.getEntries())
+                .build();
+            sequence = write(insertedInvoice, codec.encode(insertedInvoice));
+        }
+        journal.awaitDurable(sequence);
+        return insertedInvoice;
+    }
+
+    public boolean update(Invoice invoice) throws IOException {
+        validate(invoice);
+        long dictionaryEpoch = companyDictionary.getEpoch();
+        byte[] payload = codec.encode(invoice);
+        long sequence;
+        synchronized (this) {
+            if (!index.contains(invoice.getId())) {
+                return false;
+            }
+            sequence = write(invoice, encodeAgainIfDictionaryChanged(invoice, payload, dictionaryEpoch));
+        }
+        journal.awaitDurable(sequence);
+        return true;
+    }
+
+    private byte[] encodeAgainIfDictionaryChanged(Invoice invoice, byte[] payload, long dictionaryEpoch) throws IOException {
+        if (companyDictionary.getEpoch() == dictionaryEpoch) {
+            return payload;
+        }
+        return codec.encode(invoice);
+    }
+
+    private void validate(Invoice invoice) {
+        if (invoice == null) {
+            throw new IllegalArgumentException("Invoice cannot be null.");
+        }
+        if (invoice.getId() == null) {
+            throw new IllegalArgumentException("Invoice id cannot be null.");
+        }
+    }
+
+    private long write(Invoice invoice, byte[] payload) throws IOException {
+        if (numberIndex.isTakenByOtherInvoice(invoice)) {
+            throw new DuplicateNumberException(invoice.getNumber());
+        }
+        RecordLocation location = append(RecordFrame.INVOICE, invoice.getId(), payload);
+        maxId = Math.max(maxId, invoice.getId());
+        markAsLive(invoice.getId(), location);
+        secondaryIndexes.forEach(secondaryIndex -> secondaryIndex.put(invoice));
+        return lastSequence;
+    }
+
+    public boolean remove(Long id) throws IOException {
+        if (id == null) {
+            throw new IllegalArgumentException("Id cannot be null.");
+        }
+        long sequence;
+        synchronized (this) {
+            if (!index.contains(id)) {
+                return false;
+            }
+            append(RecordFrame.TOMBSTONE, id, EMPTY_PAYLOAD);
+            index.remove(id).ifPresent(this::markAsDead);
+            secondaryIndexes.forEach(secondaryIndex -> secondaryIndex.remove(id));
+            sequence = lastSequence;
+        }
+        journal.awaitDurable(sequence);
+        return true;
+    }
+
+    public synchronized void clear() throws IOException {
+        long stamp = swapLock.writeLock();
+        try {
+            final List<Segment> removedSegments = new ArrayList<>(segments.values());
+            final long nextSegmentId = segments.lastKey() + 1;
+            segments.clear();
+            index.clear();
+            secondaryIndexes.forEach(SecondaryIndex::clear);
+            companyDictionary.clear();
+            rollOver(nextSegmentId);
+            for (Segment segment : removedSegments) {
+                fileHelper.delete(segment.getPath());
+            }
+            mappedReader.invalidateAll();
+            generation++;
+            if (maxId > 0) {
+                append(RecordFrame.TOMBSTONE, maxId, EMPTY_PAYLOAD);
+            }
+        } finally {
+            swapLock.unlockWrite(stamp);
+        }
+        journal.awaitDurable(lastSequence);
+    }
+
+    public synchronized double getDeadRecordRatio() {
+        long size = segments.values().stream().mapToLong(Segment::getSize).sum();
+        if (size == 0) {
+            return 0;
+        }
+        long deadBytes = segments.values().stream().mapToLong(Segment::getDeadBytes).sum();
+        return (double) deadBytes / size;
+    }
+
+    public int compact() throws IOException {
+        return compact(0);
+    }
+
+    public int compact(double threshold) throws IOException {
+        compactionLock.lock();
+        try {
+            List<Segment> candidates;
+            long snapshotGeneration;
+            synchronized (this) {
+                if (isCompactionCandidate(segments.lastEntry().getValue(), threshold)) {
+                    rollOver();
+                }
+                candidates = segments.headMap(segments.lastKey())
+                    .values()
+                    .stream()
+                    .filter(segment -> isCompactionCandidate(segment, threshold))
+                    .collect(Collectors.toList());
+                snapshotGeneration = generation;
+            }
+            int compactedSegments = 0;
+            for (Segment segment : candidates) {
+                if (compactSegment(segment, snapshotGeneration)) {
+                    compactedSegments++;
+                }
+            }
+            if (compactedSegments > 0) {
+                synchronized (this) {
+                    checkpoint();
+                }
+                compactCompanyDictionary();
+            }
+            return compactedSegments;
+        } finally {
+            compactionLock.unlock();
+        }
+    }
+
+    private void compactCompanyDictionary() throws IOException {
+        if (!(codec instanceof BinaryRecordCodec)) {
+            return;
+        }
+        BinaryRecordCodec binaryCodec = (BinaryRecordCodec) codec;
+        Map<Long, Set<Long>> liveOffsetsBySegment;
+        long snapshotGeneration;
+        synchronized (this) {
+            companyDictionary.startCompaction();
+            liveOffsetsBySegment = index.getOffsetsBySegment();
+            snapshotGeneration = generation;
+        }
+        try {
+            journal.flush();
+            Set<Long> referencedIds = new HashSet<>();
+            for (Map.Entry<Long, Set<Long>> entry : liveOffsetsBySegment.entrySet()) {
+                Set<Long> liveOffsets = entry.getValue();
+                scan(getSegmentPath(entry.getKey()), frame -> {
+                    if (liveOffsets.contains(frame.getPayloadOffset())) {
+                        binaryCodec.readCompanyIds(ByteBuffer.wrap(frame.getPayload()), referencedIds);
+                    }
+                });
+            }
+            synchronized (this) {
+                if (generation != snapshotGeneration) {
+                    return;
+                }
+                long stamp = swapLock.writeLock();
+                try {
+                    int removedCompanies = companyDictionary.retain(referencedIds);
+                    log.debug("Removed {} unreferenced companies from dictionary of {}.", removedCompanies, filePath);
+                } finally {
+                    swapLock.unlockWrite(stamp);
+                }
+            }
+        } finally {
+            companyDictionary.cancelCompaction();
+        }
+    }
+
+    private boolean isCompactionCandidate(Segment segment, double threshold) {
+        return segment.getDeadBytes() > 0 && segment.getDeadRecordRatio() >= threshold;
+    }
+
+    private boolean compactSegment(Segment segment, long snapshotGeneration) throws IOException {
+        Map<Long, RecordLocation> liveLocations;
+        boolean oldestSegment;
+        long maxIdSnapshot;
+        synchronized (this) {
+            liveLocations = index.getLocationsInSegment(segment.getId());
+            oldestSegment = segments.firstKey() == segment.getId();
+            maxIdSnapshot = maxId;
+        }
+        Map<Long, Long> liveIdsByOffset = new HashMap<>();
+        liveLocations.forEach((id, location) -> liveIdsByOffset.put(location.getOffset(), id));
+        Path compactionPath = Paths.get(segment.getPath() + COMPACTION_FILE_SUFFIX);
+        try (CompactionWriter writer = new CompactionWriter(segment.getId(), compactionPath, SegmentFormat.getSegmentHeader(codec.getFormat()))) {
+            Map<Long, RecordLocation> compactedLocations = new HashMap<>();
+            scan(segment.getPath(), frame -> {
+                Long id = liveIdsByOffset.get(frame.getPayloadOffset());
+                if (id != null) {
+                    compactedLocations.put(id, writer.write(frame));
+                    return;
+                }
+                if (frame.isTombstone() && (!oldestSegment || frame.getId() == maxIdSnapshot)) {
+                    writer.write(frame);
+                }
+            });
+            writer.close();
+            synchronized (this) {
+                if (generation != snapshotGeneration) {
+                    log.debug("Skipping compaction of {} because database was cleared in the meantime.", segment.getPath());
+                    return false;
+                }
+                if (writer.getPosition() == SegmentFormat.SEGMENT_HEADER_SIZE) {
+                    removeSegment(segment);
+                } else {
+                    publish(segment, compactionPath, liveLocations, compactedLocations, writer.getPosition());
+                }
+            }
+            return true;
+        } finally {
+            Files.deleteIfExists(compactionPath);
+        }
+    }
+
+    private void publish(Segment segment, Path compactionPath, Map<Long, RecordLocation> liveLocations, Map<Long, RecordLocation> compactedLocations, long compactedSize) throws IOException {
+        long stamp = swapLock.writeLock();
+        try {
+            Files.move(compactionPath, Paths.get(segment.getPath()), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            mappedReader.invalidate(segment.getId());
+            long liveBytes = 0;
+            long copiedBytes = 0;
+            for (Map.Entry<Long, RecordLocation> entry : compactedLocations.entrySet()) {
+                copiedBytes += getRecordSize(entry.getValue());
+                if (index.replace(entry.getKey(), liveLocations.get(entry.getKey()), entry.getValue())) {
+                    liveBytes += getRecordSize(entry.getValue());
+                }
+            }
+            segment.setSize(compactedSize);
+            segment.setLiveBytes(liveBytes + compactedSize - copiedBytes);
+        } finally {
+            swapLock.unlockWrite(stamp);
+        }
+        log.debug("Compacted segment {} to {} bytes.", segment.getPath(), compactedSize);
+    }
+
+    private void removeSegment(Segment segment) throws IOException {
+        long stamp = swapLock.writeLock();
+        try {
+            segments.remove(segment.getId());
+            manifest.write(segments.keySet());
+            mappedReader.invalidate(segment.getId());
+            fileHelper.delete(segment.getPath());
+        } finally {
+            swapLock.unlockWrite(stamp);
+        }
+        log.debug("Removed empty segment {}.", segment.getPath());
+    }
+
+    private void rollOver() throws IOException {
+        rollOver(segments.isEmpty() ? 1L : segments.lastKey() + 1);
+    }
+
+    private void rollOver(long segmentId) throws IOException {
+        Segment segment = new Segment(segmentId, getSegmentPath(segmentId));
+        fileHelper.create(segment.getPath());
+        journal.open(segment.getPath());
+        lastSequence = journal.write(0, SegmentFormat.getSegmentHeader(codec.getFormat()));
+        activeSegmentId = segmentId;
+        segment.setSize(SegmentFormat.SEGMENT_HEADER_SIZE);
+        segment.setLiveBytes(SegmentFormat.SEGMENT_HEADER_SIZE);
+        segments.put(segmentId, segment);
+        manifest.write(segments.keySet());
+        checkpoint();
+    }
+
+    private RecordLocation append(byte type, long id, byte[] payload) throws IOException {
+        byte[] record = SegmentFormat.encode(type, id, payload);
+        Segment segment = segments.lastEntry().getValue();
+        if (segment.getSize() > SegmentFormat.SEGMENT_HEADER_SIZE && segment.getSize() + record.length > segmentSize) {
+            rollOver();
+            segment = segments.lastEntry().getValue();
+        }
+        long offset = segment.getSize();
+        lastSequence = journal.write(offset, record);
+        segment.setSize(offset + record.length);
+        return new RecordLocation(segment.getId(), offset + SegmentFormat.FRAME_HEADER_SIZE, payload.length);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        journal.close();
+        mappedReader.invalidateAll();
+        companyDictionary.close();
+        checkpoint();
+    }
+
+    public Set<Long> getCompanyIdsByTaxId(String taxId) {
+        return companyDictionary.getIdsByTaxId(taxId);
+    }
+
+    public int getCompanyCount() {
+        return companyDictionary.size();
+    }
+
+    private void markAsLive(Long id, RecordLocation location) {
+        segments.get(location.getSegmentId()).addLiveBytes(getRecordSize(location));
+        index.put(id, location).ifPresent(this::markAsDead);
+    }
+
+    private void markAsDead(RecordLocation location) {
+        Segment segment = segments.get(location.getSegmentId());
+        if (segment != null) {
+            segment.addLiveBytes(-getRecordSize(location));
+        }
+    }
+
+    private long getRecordSize(RecordLocation location) {
+        return location.getLength() + SegmentFormat.FRAME_HEADER_SIZE;
+    }
+
+    private String getSegmentPath(long segmentId) {
+        return String.format(SEGMENT_FILE_FORMAT, filePath, segmentId);
+    }
+
+    private Invoice deserialize(String line) {
+        try {
+            return mapper.readValue(line, Invoice.class);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private Invoice deserialize(byte[] payload) {
+        return deserialize(ByteBuffer.wrap(payload));
+    }
+
+    private Invoice deserialize(ByteBuffer record) {
+        try {
+            return codec.decode(record);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static Optional<Long> parseLegacyTombstone(String line) {
+        if (!line.startsWith(LEGACY_TOMBSTONE_PREFIX) || !line.endsWith(LEGACY_TOMBSTONE_SUFFIX)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Long.valueOf(line.substring(LEGACY_TOMBSTONE_PREFIX.length(), line.length() - LEGACY_TOMBSTONE_SUFFIX.length())));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    @FunctionalInterface
+    private interface SegmentRead<T> {
+
+        T read() throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface SegmentRewriter {
+
+        void write(OutputStream output) throws IOException;
+    }
+
+    private static class CompactionWriter implements Closeable {
+
+        private final long segmentId;
+        private final OutputStream output;
+        private long position;
+
+        CompactionWriter(long segmentId, Path path, byte[] segmentHeader) throws IOException {
+            this.segmentId = segmentId;
+            this.output = new BufferedOutputStream(Files.newOutputStream(path));
+            this.output.write(segmentHeader);
+            this.position = segmentHeader.length;
+        }
+
+        RecordLocation write(RecordFrame frame) throws IOException {
+            byte[] record = SegmentFormat.encode(frame);
+            output.write(record);
+            RecordLocation location = new RecordLocation(segmentId, position + SegmentFormat.FRAME_HEADER_SIZE, frame.getPayload().length);
+            position += record.length;
+            return location;
+        }
+
+        long getPosition() {
+            return position;
+        }
+
+        @Override
+        public void close() throws IOException {
+            output.close();
+        }
+    }
+}
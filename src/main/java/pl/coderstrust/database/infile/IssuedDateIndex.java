@@ -0,0 +1,105 @@
+package pl.coderstrust.database.infile;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Collectors;
+import pl.coderstrust.model.Invoice;
+
+public class IssuedDateIndex implements SecondaryIndex {
+
+    private final NavigableMap<LocalDate, Set<Long>> idsByIssuedDate = new ConcurrentSkipListMap<>();
+    private final Map<Long, LocalDate> issuedDatesById = new ConcurrentHashMap<>();
+
+    public List<Long> get(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null) {
+            throw new IllegalArgumentException("Start date cannot be null.");
+        }
+        if (endDate == null) {
+            throw new IllegalArgumentException("End date cannot be null.");
+        }
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date cannot be after end date.");
+        }
+        return idsByIssuedDate.subMap(startDate, true, endDate, true)
+            .values()
+            .stream()
+            .flatMap(Collection::stream)
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public void put(Invoice invoice) {
+        if (invoice == null) {
+            throw new IllegalArgumentException("Invoice cannot be null.");
+        }
+        remove(invoice.getId());
+        if (invoice.getIssuedDate() != null) {
+            add(invoice.getId(), invoice.getIssuedDate());
+        }
+    }
+
+    private void add(Long id, LocalDate issuedDate) {
+        idsByIssuedDate.computeIfAbsent(issuedDate, date -> new ConcurrentSkipListSet<>()).add(id);
+        issuedDatesById.put(id, issuedDate);
+    }
+
+    @Override
+    public void remove(Long id) {
+        if (id == null) {
+            throw new IllegalArgumentException("Id cannot be null.");
+        }
+        LocalDate issuedDate = issuedDatesById.remove(id);
+        if (issuedDate != null) {
+            idsByIssuedDate.computeIfPresent(issuedDate, (date, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    @Override
+    public void clear() {
+        idsByIssuedDate.clear();
+        issuedDatesById.clear();
+    }
+
+    public int size() {
+        return issuedDatesById.size();
+    }
+
+    @Override
+    public void writeTo(DataOutput output) throws IOException {
+        if (output == null) {
+            throw new IllegalArgumentException("Output cannot be null.");
+        }
+        Map<Long, LocalDate> entries = Map.copyOf(issuedDatesById);
+        output.writeInt(entries.size());
+        for (Map.Entry<Long, LocalDate> entry : entries.entrySet()) {
+            output.writeLong(entry.getKey());
+            output.writeLong(entry.getValue().toEpochDay());
+        }
+    }
+
+    @Override
+    public void readFrom(DataInput input) throws IOException {
+        if (input == null) {
+            throw new IllegalArgumentException("Input cannot be null.");
+        }
+        clear();
+        int size = input.readInt();
+        for (int i = 0; i < size; i++) {
+            long id = input.readLong();
+            add(id, LocalDate.ofEpochDay(input.readLong()));
+        }
+    }
+}
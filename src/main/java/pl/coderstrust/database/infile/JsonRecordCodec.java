@@ -0,0 +1,43 @@
+package pl.coderstrust.database.infile;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import pl.coderstrust.model.Invoice;
+
+public class JsonRecordCodec implements RecordCodec {
+
+    private final ObjectMapper mapper;
+
+    public JsonRecordCodec(ObjectMapper mapper) {
+        if (mapper == null) {
+            throw new IllegalArgumentException("Mapper cannot be null.");
+        }
+        this.mapper = mapper;
+    }
+
+    @Override
+    public RecordFormat getFormat() {
+        return RecordFormat.JSON;
+    }
+
+    @Override
+    public byte[] encode(Invoice invoice) throws IOException {
+        if (invoice == null) {
+            throw new IllegalArgumentException("Invoice cannot be null.");
+        }
+        return mapper.writeValueAsBytes(invoice);
+    }
+
+    @Override
+    public Invoice decode(ByteBuffer payload) throws IOException {
+        if (payload == null) {
+            throw new IllegalArgumentException("Payload cannot be null.");
+        }
+        if (payload.hasArray()) {
+            return mapper.readValue(payload.array(), payload.arrayOffset() + payload.position(), payload.remaining(), Invoice.class);
+        }
+        return mapper.readValue(new ByteBufferBackedInputStream(payload), Invoice.class);
+    }
+}
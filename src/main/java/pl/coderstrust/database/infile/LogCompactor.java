@@ -0,0 +1,52 @@
+package pl.coderstrust.database.infile;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class LogCompactor implements Closeable {
+
+    private Logger log = LoggerFactory.getLogger(LogCompactor.class);
+
+    private final InvoiceStore store;
+    private final double threshold;
+    private final ScheduledExecutorService executor;
+
+    public LogCompactor(InvoiceStore store, double threshold, long intervalInMillis) {
+        if (store == null) {
+            throw new IllegalArgumentException("Store cannot be null.");
+        }
+        if (threshold <= 0 || threshold > 1) {
+            throw new IllegalArgumentException("Compaction threshold must be greater than zero and not greater than one.");
+        }
+        if (intervalInMillis <= 0) {
+            throw new IllegalArgumentException("Compaction interval must be greater than zero.");
+        }
+        this.store = store;
+        this.threshold = threshold;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "in-file-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::compactIfNeeded, intervalInMillis, intervalInMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public boolean compactIfNeeded() {
+        try {
+            return store.compact(threshold) > 0;
+        } catch (IOException e) {
+            log.error("An error occurred during compacting database file.", e);
+            return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
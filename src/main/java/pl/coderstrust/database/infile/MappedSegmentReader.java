@@ -0,0 +1,60 @@
+package pl.coderstrust.database.infile;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class MappedSegmentReader {
+
+    private final Map<Long, MappedByteBuffer> mappings = new ConcurrentHashMap<>();
+
+    public ByteBuffer read(String segmentPath, RecordLocation location) throws IOException {
+        if (segmentPath == null) {
+            throw new IllegalArgumentException("Segment's path cannot be null.");
+        }
+        if (location == null) {
+            throw new IllegalArgumentException("Location cannot be null.");
+        }
+        long end = location.getOffset() + location.getLength();
+        MappedByteBuffer mapping = mappings.get(location.getSegmentId());
+        if (mapping == null) {
+            mapping = map(location.getSegmentId(), segmentPath);
+        }
+        if (mapping.capacity() < end) {
+            throw new IOException(String.format("Record at offset %d is beyond the end of mapped segment %s.", location.getOffset(), segmentPath));
+        }
+        ByteBuffer record = mapping.duplicate();
+        record.position((int) location.getOffset());
+        record.limit((int) end);
+        return record.slice();
+    }
+
+    private synchronized MappedByteBuffer map(long segmentId, String segmentPath) throws IOException {
+        MappedByteBuffer mapping = mappings.get(segmentId);
+        if (mapping != null) {
+            return mapping;
+        }
+        try (FileChannel channel = FileChannel.open(Paths.get(segmentPath), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException(String.format("Segment %s is too large to be memory mapped.", segmentPath));
+            }
+            mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+        mappings.put(segmentId, mapping);
+        return mapping;
+    }
+
+    public synchronized void invalidate(long segmentId) {
+        mappings.remove(segmentId);
+    }
+
+    public synchronized void invalidateAll() {
+        mappings.clear();
+    }
+}
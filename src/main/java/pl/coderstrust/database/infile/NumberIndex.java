@@ -0,0 +1,94 @@
+package pl.coderstrust.database.infile;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import pl.coderstrust.model.Invoice;
+
+public class NumberIndex implements SecondaryIndex {
+
+    private final Map<String, Long> idsByNumber = new ConcurrentHashMap<>();
+    private final Map<Long, String> numbersById = new ConcurrentHashMap<>();
+
+    public Optional<Long> get(String number) {
+        if (number == null) {
+            throw new IllegalArgumentException("Number cannot be null.");
+        }
+        return Optional.ofNullable(idsByNumber.get(number));
+    }
+
+    public boolean isTakenByOtherInvoice(Invoice invoice) {
+        if (invoice == null) {
+            throw new IllegalArgumentException("Invoice cannot be null.");
+        }
+        if (invoice.getNumber() == null) {
+            return false;
+        }
+        Long id = idsByNumber.get(invoice.getNumber());
+        return id != null && !id.equals(invoice.getId());
+    }
+
+    @Override
+    public void put(Invoice invoice) {
+        if (invoice == null) {
+            throw new IllegalArgumentException("Invoice cannot be null.");
+        }
+        remove(invoice.getId());
+        if (invoice.getNumber() != null) {
+            idsByNumber.put(invoice.getNumber(), invoice.getId());
+            numbersById.put(invoice.getId(), invoice.getNumber());
+        }
+    }
+
+    @Override
+    public void remove(Long id) {
+        if (id == null) {
+            throw new IllegalArgumentException("Id cannot be null.");
+        }
+        String number = numbersById.remove(id);
+        if (number != null) {
+            idsByNumber.remove(number, id);
+        }
+    }
+
+    @Override
+    public void clear() {
+        idsByNumber.clear();
+        numbersById.clear();
+    }
+
+    public int size() {
+        return idsByNumber.size();
+    }
+
+    @Override
+    public void writeTo(DataOutput output) throws IOException {
+        if (output == null) {
+            throw new IllegalArgumentException("Output cannot be null.");
+        }
+        Map<Long, String> entries = Map.copyOf(numbersById);
+        output.writeInt(entries.size());
+        for (Map.Entry<Long, String> entry : entries.entrySet()) {
+            output.writeLong(entry.getKey());
+            output.writeUTF(entry.getValue());
+        }
+    }
+
+    @Override
+    public void readFrom(DataInput input) throws IOException {
+        if (input == null) {
+            throw new IllegalArgumentException("Input cannot be null.");
+        }
+        clear();
+        int size = input.readInt();
+        for (int i = 0; i < size; i++) {
+            long id = input.readLong();
+            String number = input.readUTF();
+            idsByNumber.put(number, id);
+            numbersById.put(id, number);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package pl.coderstrust.database.infile;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+
+public class OffsetIndex {
+
+    private final NavigableMap<Long, RecordLocation> locations = new ConcurrentSkipListMap<>();
+
+    public Optional<RecordLocation> put(Long id, RecordLocation location) {
+        if (id == null) {
+            throw new IllegalArgumentException("Id cannot be null.");
+        }
+        if (location == null) {
+            throw new IllegalArgumentException("Location cannot be null.");
+        }
+        return Optional.ofNullable(locations.put(id, location));
+    }
+
+    public Optional<RecordLocation> get(Long id) {
+        if (id == null) {
+            throw new IllegalArgumentException("Id cannot be null.");
+        }
+        return Optional.ofNullable(locations.get(id));
+    }
+
+    public boolean contains(Long id) {
+        if (id == null) {
+            throw new IllegalArgumentException("Id cannot be null.");
+        }
+        return locations.containsKey(id);
+    }
+
+    public Optional<RecordLocation> remove(Long id) {
+        if (id == null) {
+            throw new IllegalArgumentException("Id cannot be null.");
+        }
+        return Optional.ofNullable(locations.remove(id));
+    }
+
+    public List<Long> getIdsAfter(Long afterId, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative.");
+        }
+        NavigableMap<Long, RecordLocation> tail = afterId == null ? locations : locations.tailMap(afterId, false);
+        return tail.keySet()
+            .stream()
+            .limit(limit)
+            .collect(Collectors.toList());
+    }
+
+    public long size() {
+        return locations.size();
+    }
+
+    public void clear() {
+        locations.clear();
+    }
+
+    public Map<Long, Set<Long>> getOffsetsBySegment() {
+        return locations.values()
+            .stream()
+            .collect(Collectors.groupingBy(RecordLocation::getSegmentId, Collectors.mapping(RecordLocation::getOffset, Collectors.toSet())));
+    }
+
+    public List<RecordLocation> getLocationsInFileOrder() {
+        return locations.values()
+            .stream()
+            .sorted(Comparator.comparingLong(RecordLocation::getSegmentId).thenComparingLong(RecordLocation::getOffset))
+            .collect(Collectors.toList());
+    }
+
+    public Map<Long, RecordLocation> getLocationsInSegment(long segmentId) {
+        return locations.entrySet()
+            .stream()
+            .filter(entry -> entry.getValue().getSegmentId() == segmentId)
+            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+
+    public boolean replace(Long id, RecordLocation oldLocation, RecordLocation newLocation) {
+        if (id == null) {
+            throw new IllegalArgumentException("Id cannot be null.");
+        }
+        if (oldLocation == null || newLocation == null) {
+            throw new IllegalArgumentException("Location cannot be null.");
+        }
+        return locations.replace(id, oldLocation, newLocation);
+    }
+}
@@ -0,0 +1,6 @@
+package pl.coderstrust.database.infile;
+
+public enum ReadMode {
+    STREAM,
+    MEMORY_MAPPED
+}
@@ -0,0 +1,14 @@
+package pl.coderstrust.database.infile;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import pl.coderstrust.model.Invoice;
+
+public interface RecordCodec {
+
+    RecordFormat getFormat();
+
+    byte[] encode(Invoice invoice) throws IOException;
+
+    Invoice decode(ByteBuffer payload) throws IOException;
+}
@@ -0,0 +1,25 @@
+package pl.coderstrust.database.infile;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+public enum RecordFormat {
+    JSON((byte) 1),
+    BINARY((byte) 2);
+
+    private final byte code;
+
+    RecordFormat(byte code) {
+        this.code = code;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    public static Optional<RecordFormat> fromCode(byte code) {
+        return Arrays.stream(values())
+            .filter(format -> format.code == code)
+            .findFirst();
+    }
+}
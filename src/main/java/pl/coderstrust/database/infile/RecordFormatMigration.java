@@ -0,0 +1,57 @@
+package pl.coderstrust.database.infile;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pl.coderstrust.configuration.ApplicationConfiguration;
+import pl.coderstrust.configuration.InFileDatabaseProperties;
+import pl.coderstrust.helpers.FileHelper;
+
+public class RecordFormatMigration {
+
+    private Logger log = LoggerFactory.getLogger(RecordFormatMigration.class);
+
+    private final ObjectMapper mapper;
+    private final FileHelper fileHelper;
+
+    public RecordFormatMigration(ObjectMapper mapper, FileHelper fileHelper) {
+        if (mapper == null) {
+            throw new IllegalArgumentException("Mapper cannot be null.");
+        }
+        if (fileHelper == null) {
+            throw new IllegalArgumentException("File helper cannot be null.");
+        }
+        this.mapper = mapper;
+        this.fileHelper = fileHelper;
+    }
+
+    public long migrate(String filePath, RecordFormat format) throws IOException {
+        if (filePath == null) {
+            throw new IllegalArgumentException("File's path cannot be null.");
+        }
+        if (format == null) {
+            throw new IllegalArgumentException("Record format cannot be null.");
+        }
+        InFileDatabaseProperties properties = new InFileDatabaseProperties();
+        properties.setFilePath(filePath);
+        properties.setRecordFormat(format);
+        try (InvoiceStore store = new InvoiceStore(properties, mapper, fileHelper)) {
+            store.compact();
+            long size = 0;
+            for (String segmentPath : store.getSegmentPaths()) {
+                size += fileHelper.size(segmentPath);
+            }
+            log.info("Migrated {} invoices from {} to {} records, database takes {} bytes now.", store.count(), filePath, format, size);
+            return size;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: RecordFormatMigration <database file path> <json|binary>");
+        }
+        ObjectMapper mapper = new ApplicationConfiguration().getObjectMapper();
+        new RecordFormatMigration(mapper, new FileHelper()).migrate(args[0], RecordFormat.valueOf(args[1].toUpperCase()));
+    }
+}
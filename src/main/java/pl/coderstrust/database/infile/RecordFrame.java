@@ -0,0 +1,95 @@
+package pl.coderstrust.database.infile;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+public final class RecordFrame {
+
+    public static final byte INVOICE = 1;
+    public static final byte TOMBSTONE = 2;
+    public static final byte COMPANY = 3;
+    public static final byte CLEAR = 4;
+
+    private final byte type;
+    private final long id;
+    private final long offset;
+    private final byte[] payload;
+
+    public RecordFrame(byte type, long id, long offset, byte[] payload) {
+        if (!isKnownType(type)) {
+            throw new IllegalArgumentException("Unknown record type.");
+        }
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset cannot be lower than zero.");
+        }
+        if (payload == null) {
+            throw new IllegalArgumentException("Payload cannot be null.");
+        }
+        this.type = type;
+        this.id = id;
+        this.offset = offset;
+        this.payload = payload;
+    }
+
+    public static boolean isKnownType(byte type) {
+        return type == INVOICE || type == TOMBSTONE || type == COMPANY || type == CLEAR;
+    }
+
+    public byte getType() {
+        return type;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public byte[] getPayload() {
+        return payload;
+    }
+
+    public boolean isTombstone() {
+        return type == TOMBSTONE;
+    }
+
+    public long getPayloadOffset() {
+        return offset + SegmentFormat.FRAME_HEADER_SIZE;
+    }
+
+    public RecordLocation getLocation(long segmentId) {
+        return new RecordLocation(segmentId, getPayloadOffset(), payload.length);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RecordFrame)) {
+            return false;
+        }
+        RecordFrame that = (RecordFrame) o;
+        return type == that.type
+            && id == that.id
+            && offset == that.offset
+            && Arrays.equals(payload, that.payload);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Objects.hash(type, id, offset) + Arrays.hashCode(payload);
+    }
+
+    @Override
+    public String toString() {
+        return "RecordFrame{"
+            + "type=" + type
+            + ", id=" + id
+            + ", offset=" + offset
+            + ", payloadLength=" + payload.length
+            + '}';
+    }
+}
@@ -0,0 +1,229 @@
+package pl.coderstrust.database.infile;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class RecordJournal implements Closeable {
+
+    private Logger log = LoggerFactory.getLogger(RecordJournal.class);
+
+    private final FsyncPolicy fsyncPolicy;
+    private final Object batchLock = new Object();
+    private final ScheduledExecutorService scheduler;
+    private List<PendingRecord> pendingRecords = new ArrayList<>();
+    private FileChannel channel;
+    private long queuedSequence;
+    private long writtenSequence;
+    private long durableSequence;
+    private IOException failure;
+
+    public RecordJournal(FsyncPolicy fsyncPolicy, long fsyncIntervalInMillis) {
+        if (fsyncPolicy == null) {
+            throw new IllegalArgumentException("Fsync policy cannot be null.");
+        }
+        if (fsyncPolicy == FsyncPolicy.INTERVAL && fsyncIntervalInMillis <= 0) {
+            throw new IllegalArgumentException("Fsync interval must be greater than zero.");
+        }
+        this.fsyncPolicy = fsyncPolicy;
+        if (fsyncPolicy == FsyncPolicy.INTERVAL) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "in-file-journal-sync");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::commitInBackground, fsyncIntervalInMillis, fsyncIntervalInMillis, TimeUnit.MILLISECONDS);
+        } else {
+            scheduler = null;
+        }
+    }
+
+    public void open(String segmentPath) throws IOException {
+        if (segmentPath == null) {
+            throw new IllegalArgumentException("Segment's path cannot be null.");
+        }
+        synchronized (batchLock) {
+            commitBatch(fsyncPolicy != FsyncPolicy.OS);
+            FileChannel newChannel = FileChannel.open(Paths.get(segmentPath), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            synchronized (this) {
+                closeChannel();
+                channel = newChannel;
+            }
+        }
+    }
+
+    public synchronized long write(long position, byte[] record) throws IOException {
+        if (record == null) {
+            throw new IllegalArgumentException("Record cannot be null.");
+        }
+        if (channel == null) {
+            throw new IllegalStateException("Journal is not opened.");
+        }
+        throwIfFailed();
+        pendingRecords.add(new PendingRecord(position, record));
+        queuedSequence += record.length;
+        return queuedSequence;
+    }
+
+    public void awaitDurable(long sequence) throws IOException {
+        if (fsyncPolicy == FsyncPolicy.INTERVAL) {
+            awaitBackgroundCommit(sequence);
+            return;
+        }
+        synchronized (batchLock) {
+            synchronized (this) {
+                throwIfFailed();
+                if (durableSequence >= sequence) {
+                    return;
+                }
+            }
+            commitBatch(fsyncPolicy == FsyncPolicy.EVERY_WRITE);
+        }
+    }
+
+    public void flush() throws IOException {
+        synchronized (this) {
+            if (writtenSequence == queuedSequence) {
+                return;
+            }
+        }
+        synchronized (batchLock) {
+            commitBatch(false);
+        }
+    }
+
+    private synchronized void awaitBackgroundCommit(long sequence) throws IOException {
+        while (durableSequence < sequence) {
+            throwIfFailed();
+            if (channel == null) {
+                return;
+            }
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for database journal to be synced.");
+            }
+        }
+    }
+
+    private void commitBatch(boolean force) throws IOException {
+        List<PendingRecord> batch;
+        FileChannel currentChannel;
+        long batchSequence;
+        synchronized (this) {
+            batch = pendingRecords;
+            pendingRecords = new ArrayList<>();
+            currentChannel = channel;
+            batchSequence = queuedSequence;
+        }
+        if (currentChannel == null) {
+            return;
+        }
+        try {
+            writeBatch(currentChannel, batch);
+            if (force && durableSequence < batchSequence) {
+                currentChannel.force(false);
+            }
+        } catch (IOException e) {
+            synchronized (this) {
+                failure = e;
+                notifyAll();
+            }
+            throw e;
+        }
+        synchronized (this) {
+            writtenSequence = batchSequence;
+            if (force || fsyncPolicy == FsyncPolicy.OS) {
+                durableSequence = batchSequence;
+            }
+            notifyAll();
+        }
+    }
+
+    private void writeBatch(FileChannel target, List<PendingRecord> batch) throws IOException {
+        int start = 0;
+        while (start < batch.size()) {
+            long position = batch.get(start).position;
+            int end = start;
+            int length = 0;
+            while (end < batch.size() && batch.get(end).position == position + length) {
+                length += batch.get(end).record.length;
+                end++;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(length);
+            for (int i = start; i < end; i++) {
+                buffer.put(batch.get(i).record);
+            }
+            buffer.flip();
+            long currentPosition = position;
+            while (buffer.hasRemaining()) {
+                currentPosition += target.write(buffer, currentPosition);
+            }
+            start = end;
+        }
+    }
+
+    private void commitInBackground() {
+        try {
+            synchronized (batchLock) {
+                commitBatch(true);
+            }
+        } catch (IOException e) {
+            log.error("An error occurred during syncing database journal.", e);
+        }
+    }
+
+    private void throwIfFailed() throws IOException {
+        if (failure != null) {
+            throw new IOException("Database journal cannot be written after a failed write.", failure);
+        }
+    }
+
+    private void closeChannel() throws IOException {
+        if (channel == null) {
+            return;
+        }
+        channel.close();
+        channel = null;
+        notifyAll();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+        synchronized (batchLock) {
+            try {
+                commitBatch(fsyncPolicy != FsyncPolicy.OS);
+            } finally {
+                synchronized (this) {
+                    closeChannel();
+                }
+            }
+        }
+    }
+
+    private static class PendingRecord {
+
+        private final long position;
+        private final byte[] record;
+
+        PendingRecord(long position, byte[] record) {
+            this.position = position;
+            this.record = record;
+        }
+    }
+}
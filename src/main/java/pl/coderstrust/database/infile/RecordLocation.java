@@ -0,0 +1,65 @@
+package pl.coderstrust.database.infile;
+
+import java.util.Objects;
+
+public final class RecordLocation {
+
+    private final long segmentId;
+    private final long offset;
+    private final int length;
+
+    public RecordLocation(long segmentId, long offset, int length) {
+        if (segmentId < 0) {
+            throw new IllegalArgumentException("Segment id cannot be lower than zero.");
+        }
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset cannot be lower than zero.");
+        }
+        if (length < 0) {
+            throw new IllegalArgumentException("Length cannot be lower than zero.");
+        }
+        this.segmentId = segmentId;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    public long getSegmentId() {
+        return segmentId;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RecordLocation)) {
+            return false;
+        }
+        RecordLocation that = (RecordLocation) o;
+        return segmentId == that.segmentId
+            && offset == that.offset
+            && length == that.length;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(segmentId, offset, length);
+    }
+
+    @Override
+    public String toString() {
+        return "RecordLocation{"
+            + "segmentId=" + segmentId
+            + ", offset=" + offset
+            + ", length=" + length
+            + '}';
+    }
+}
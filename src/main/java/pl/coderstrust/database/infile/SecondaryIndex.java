@@ -0,0 +1,19 @@
+package pl.coderstrust.database.infile;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import pl.coderstrust.model.Invoice;
+
+public interface SecondaryIndex {
+
+    void put(Invoice invoice);
+
+    void remove(Long id);
+
+    void clear();
+
+    void writeTo(DataOutput output) throws IOException;
+
+    void readFrom(DataInput input) throws IOException;
+}
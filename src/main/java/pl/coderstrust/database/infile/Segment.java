@@ -0,0 +1,69 @@
+package pl.coderstrust.database.infile;
+
+public final class Segment {
+
+    private final long id;
+    private final String path;
+    private long size;
+    private long liveBytes;
+
+    public Segment(long id, String path) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Segment id cannot be lower than zero.");
+        }
+        if (path == null) {
+            throw new IllegalArgumentException("Segment's path cannot be null.");
+        }
+        this.id = id;
+        this.path = path;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    void setSize(long size) {
+        this.size = size;
+    }
+
+    public long getLiveBytes() {
+        return liveBytes;
+    }
+
+    void setLiveBytes(long liveBytes) {
+        this.liveBytes = liveBytes;
+    }
+
+    void addLiveBytes(long bytes) {
+        liveBytes += bytes;
+    }
+
+    public long getDeadBytes() {
+        return size - liveBytes;
+    }
+
+    public double getDeadRecordRatio() {
+        if (size == 0) {
+            return 0;
+        }
+        return (double) getDeadBytes() / size;
+    }
+
+    @Override
+    public String toString() {
+        return "Segment{"
+            + "id=" + id
+            + ", path='" + path + '\''
+            + ", size=" + size
+            + ", liveBytes=" + liveBytes
+            + '}';
+    }
+}
@@ -0,0 +1,123 @@
+package pl.coderstrust.database.infile;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+public final class SegmentFormat {
+
+    public static final int SEGMENT_HEADER_SIZE = 5;
+    public static final int FRAME_HEADER_SIZE = Integer.BYTES + Integer.BYTES + Byte.BYTES + Long.BYTES;
+
+    private static final byte[] SEGMENT_MAGIC = {'I', 'N', 'V', 'S'};
+
+    private SegmentFormat() {
+    }
+
+    public static byte[] getSegmentHeader(RecordFormat format) {
+        if (format == null) {
+            throw new IllegalArgumentException("Record format cannot be null.");
+        }
+        byte[] header = Arrays.copyOf(SEGMENT_MAGIC, SEGMENT_HEADER_SIZE);
+        header[SEGMENT_MAGIC.length] = format.getCode();
+        return header;
+    }
+
+    public static boolean hasSegmentHeader(String segmentPath) throws IOException {
+        if (segmentPath == null) {
+            throw new IllegalArgumentException("Segment's path cannot be null.");
+        }
+        Path path = Paths.get(segmentPath);
+        if (Files.size(path) < SEGMENT_HEADER_SIZE) {
+            return false;
+        }
+        try (InputStream input = Files.newInputStream(path)) {
+            return Arrays.equals(SEGMENT_MAGIC, input.readNBytes(SEGMENT_MAGIC.length));
+        }
+    }
+
+    public static RecordFormat readRecordFormat(String segmentPath) throws IOException {
+        if (!hasSegmentHeader(segmentPath)) {
+            throw new IOException(String.format("Segment %s has no header.", segmentPath));
+        }
+        try (InputStream input = Files.newInputStream(Paths.get(segmentPath))) {
+            byte code = input.readNBytes(SEGMENT_HEADER_SIZE)[SEGMENT_MAGIC.length];
+            return RecordFormat.fromCode(code)
+                .orElseThrow(() -> new IOException(String.format("Segment %s uses unknown record format: %d", segmentPath, code)));
+        }
+    }
+
+    public static byte[] encode(byte type, long id, byte[] payload) {
+        if (payload == null) {
+            throw new IllegalArgumentException("Payload cannot be null.");
+        }
+        return ByteBuffer.allocate(FRAME_HEADER_SIZE + payload.length)
+            .putInt(payload.length)
+            .putInt((int) checksum(type, id, payload))
+            .put(type)
+            .putLong(id)
+            .put(payload)
+            .array();
+    }
+
+    public static byte[] encode(RecordFrame frame) {
+        if (frame == null) {
+            throw new IllegalArgumentException("Frame cannot be null.");
+        }
+        return encode(frame.getType(), frame.getId(), frame.getPayload());
+    }
+
+    public static long scan(String segmentPath, FrameConsumer consumer) throws IOException {
+        if (segmentPath == null) {
+            throw new IllegalArgumentException("Segment's path cannot be null.");
+        }
+        Path path = Paths.get(segmentPath);
+        try (InputStream input = Files.newInputStream(path)) {
+            return scan(input, Files.size(path), consumer);
+        }
+    }
+
+    public static long scan(InputStream segment, long size, FrameConsumer consumer) throws IOException {
+        if (segment == null) {
+            throw new IllegalArgumentException("Segment's input stream cannot be null.");
+        }
+        if (consumer == null) {
+            throw new IllegalArgumentException("Frame consumer cannot be null.");
+        }
+        DataInputStream input = new DataInputStream(new BufferedInputStream(segment));
+        input.readFully(new byte[SEGMENT_HEADER_SIZE]);
+        long position = SEGMENT_HEADER_SIZE;
+        while (size - position >= FRAME_HEADER_SIZE) {
+            int length = input.readInt();
+            int checksum = input.readInt();
+            byte type = input.readByte();
+            long id = input.readLong();
+            if (length < 0 || length > size - position - FRAME_HEADER_SIZE || !RecordFrame.isKnownType(type)) {
+                return position;
+            }
+            byte[] payload = new byte[length];
+            input.readFully(payload);
+            if (checksum != (int) checksum(type, id, payload)) {
+                return position;
+            }
+            consumer.accept(new RecordFrame(type, id, position, payload));
+            position += FRAME_HEADER_SIZE + length;
+        }
+        return position;
+    }
+
+    private static long checksum(byte type, long id, byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(type);
+        crc.update(ByteBuffer.allocate(Long.BYTES).putLong(id).array());
+        crc.update(payload);
+        return crc.getValue();
+    }
+}
@@ -0,0 +1,53 @@
+package pl.coderstrust.database.infile;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class SegmentManifest {
+
+    private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+
+    private final Path path;
+
+    public SegmentManifest(String path) {
+        if (path == null) {
+            throw new IllegalArgumentException("Manifest's path cannot be null.");
+        }
+        this.path = Paths.get(path);
+    }
+
+    public boolean exists() {
+        return Files.exists(path);
+    }
+
+    public List<Long> read() throws IOException {
+        return Files.readAllLines(path, UTF_8)
+            .stream()
+            .map(String::trim)
+            .filter(line -> !line.isEmpty())
+            .map(Long::valueOf)
+            .sorted()
+            .collect(Collectors.toList());
+    }
+
+    public void write(Collection<Long> segmentIds) throws IOException {
+        if (segmentIds == null) {
+            throw new IllegalArgumentException("Segment ids cannot be null.");
+        }
+        List<String> lines = segmentIds.stream()
+            .sorted()
+            .map(String::valueOf)
+            .collect(Collectors.toList());
+        Path temporaryPath = Paths.get(path.toString() + TEMPORARY_FILE_SUFFIX);
+        Files.write(temporaryPath, lines, UTF_8);
+        Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
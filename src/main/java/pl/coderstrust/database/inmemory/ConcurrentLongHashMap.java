@@ -0,0 +1,336 @@
+package pl.coderstrust.database.inmemory;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongFunction;
+
+public class ConcurrentLongHashMap<V> extends AbstractMap<Long, V> {
+
+    private static final int DEFAULT_STRIPES = 64;
+    private static final int DEFAULT_STRIPE_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.7f;
+    private static final Object REMOVED = new Object();
+
+    private final List<Stripe> stripes;
+    private final int stripeMask;
+
+    public ConcurrentLongHashMap() {
+        this(DEFAULT_STRIPES);
+    }
+
+    public ConcurrentLongHashMap(int stripes) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("Number of stripes must be greater than zero.");
+        }
+        int stripeCount = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.stripes = new ArrayList<>(stripeCount);
+        for (int i = 0; i < stripeCount; i++) {
+            this.stripes.add(new Stripe());
+        }
+        this.stripeMask = stripeCount - 1;
+    }
+
+    public V get(long key) {
+        long hash = hash(key);
+        return stripeFor(hash).get(key, hash);
+    }
+
+    @Override
+    public V get(Object key) {
+        if (!(key instanceof Long)) {
+            return null;
+        }
+        return get(((Long) key).longValue());
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    public V put(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Value cannot be null.");
+        }
+        long hash = hash(key);
+        return stripeFor(hash).put(key, hash, value, false);
+    }
+
+    @Override
+    public V put(Long key, V value) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null.");
+        }
+        return put(key.longValue(), value);
+    }
+
+    public V putIfAbsent(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Value cannot be null.");
+        }
+        long hash = hash(key);
+        return stripeFor(hash).put(key, hash, value, true);
+    }
+
+    @Override
+    public V putIfAbsent(Long key, V value) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null.");
+        }
+        return putIfAbsent(key.longValue(), value);
+    }
+
+    public V computeIfAbsent(long key, LongFunction<? extends V> mappingFunction) {
+        if (mappingFunction == null) {
+            throw new IllegalArgumentException("Mapping function cannot be null.");
+        }
+        long hash = hash(key);
+        return stripeFor(hash).computeIfAbsent(key, hash, mappingFunction);
+    }
+
+    public V remove(long key) {
+        long hash = hash(key);
+        return stripeFor(hash).remove(key, hash);
+    }
+
+    @Override
+    public V remove(Object key) {
+        if (!(key instanceof Long)) {
+            return null;
+        }
+        return remove(((Long) key).longValue());
+    }
+
+    @Override
+    public int size() {
+        long size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size;
+        }
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            stripe.clear();
+        }
+    }
+
+    @Override
+    public Set<Entry<Long, V>> entrySet() {
+        return new EntrySet();
+    }
+
+    private Stripe stripeFor(long hash) {
+        return stripes.get((int) (hash >>> 32) & stripeMask);
+    }
+
+    private static long hash(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return hash ^ (hash >>> 29);
+    }
+
+    private static final class Table {
+
+        private final long[] keys;
+        private final AtomicReferenceArray<Object> values;
+        private final int mask;
+
+        private Table(int capacity) {
+            this.keys = new long[capacity];
+            this.values = new AtomicReferenceArray<>(capacity);
+            this.mask = capacity - 1;
+        }
+    }
+
+    private final class Stripe {
+
+        private volatile Table table = new Table(DEFAULT_STRIPE_CAPACITY);
+        private volatile int size;
+        private int usedSlots;
+
+        @SuppressWarnings("unchecked")
+        private V get(long key, long hash) {
+            Table current = table;
+            int slot = (int) hash & current.mask;
+            while (true) {
+                Object value = current.values.getAcquire(slot);
+                if (value == null) {
+                    return null;
+                }
+                if (current.keys[slot] == key) {
+                    return value == REMOVED ? null : (V) value;
+                }
+                slot = (slot + 1) & current.mask;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private synchronized V put(long key, long hash, V value, boolean onlyIfAbsent) {
+            Table current = table;
+            int slot = findSlot(current, key, hash);
+            Object previous = current.values.get(slot);
+            if (previous != null && previous != REMOVED) {
+                if (!onlyIfAbsent) {
+                    current.values.setRelease(slot, value);
+                }
+                return (V) previous;
+            }
+            insert(current, slot, key, previous, value);
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        private synchronized V computeIfAbsent(long key, long hash, LongFunction<? extends V> mappingFunction) {
+            Table current = table;
+            int slot = findSlot(current, key, hash);
+            Object previous = current.values.get(slot);
+            if (previous != null && previous != REMOVED) {
+                return (V) previous;
+            }
+            V value = mappingFunction.apply(key);
+            if (value != null) {
+                insert(current, slot, key, previous, value);
+            }
+            return value;
+        }
+
+        @SuppressWarnings("unchecked")
+        private synchronized V remove(long key, long hash) {
+            Table current = table;
+            int slot = findSlot(current, key, hash);
+            Object previous = current.values.get(slot);
+            if (previous == null || previous == REMOVED) {
+                return null;
+            }
+            current.values.setRelease(slot, REMOVED);
+            size--;
+            return (V) previous;
+        }
+
+        private synchronized void clear() {
+            table = new Table(DEFAULT_STRIPE_CAPACITY);
+            size = 0;
+            usedSlots = 0;
+        }
+
+        private int findSlot(Table current, long key, long hash) {
+            int slot = (int) hash & current.mask;
+            while (current.values.get(slot) != null && current.keys[slot] != key) {
+                slot = (slot + 1) & current.mask;
+            }
+            return slot;
+        }
+
+        private void insert(Table current, int slot, long key, Object previous, V value) {
+            if (previous == null) {
+                current.keys[slot] = key;
+                usedSlots++;
+            }
+            current.values.setRelease(slot, value);
+            size++;
+            if (usedSlots > current.keys.length * LOAD_FACTOR) {
+                rehash(current);
+            }
+        }
+
+        private void rehash(Table current) {
+            int capacity = current.keys.length;
+            if (size > capacity * LOAD_FACTOR / 2) {
+                capacity <<= 1;
+            }
+            Table rehashed = new Table(capacity);
+            int liveSlots = 0;
+            for (int i = 0; i < current.keys.length; i++) {
+                Object value = current.values.get(i);
+                if (value != null && value != REMOVED) {
+                    int slot = (int) hash(current.keys[i]) & rehashed.mask;
+                    while (rehashed.values.get(slot) != null) {
+                        slot = (slot + 1) & rehashed.mask;
+                    }
+                    rehashed.keys[slot] = current.keys[i];
+                    rehashed.values.set(slot, value);
+                    liveSlots++;
+                }
+            }
+            usedSlots = liveSlots;
+            table = rehashed;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void collect(List<Entry<Long, V>> entries) {
+            Table current = table;
+            for (int i = 0; i < current.keys.length; i++) {
+                Object value = current.values.getAcquire(i);
+                if (value != null && value != REMOVED) {
+                    entries.add(new SimpleImmutableEntry<>(current.keys[i], (V) value));
+                }
+            }
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<Long, V>> {
+
+        @Override
+        public Iterator<Entry<Long, V>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return ConcurrentLongHashMap.this.size();
+        }
+
+        @Override
+        public void clear() {
+            ConcurrentLongHashMap.this.clear();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Entry<Long, V>> {
+
+        private final List<Entry<Long, V>> entries = new ArrayList<>();
+        private int stripe;
+        private int position;
+        private Entry<Long, V> current;
+
+        @Override
+        public boolean hasNext() {
+            while (position == entries.size() && stripe < stripes.size()) {
+                entries.clear();
+                position = 0;
+                stripes.get(stripe++).collect(entries);
+            }
+            return position < entries.size();
+        }
+
+        @Override
+        public Entry<Long, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            current = entries.get(position++);
+            return current;
+        }
+
+        @Override
+        public void remove() {
+            if (current == null) {
+                throw new IllegalStateException();
+            }
+            ConcurrentLongHashMap.this.remove(current.getKey().longValue());
+            current = null;
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package pl.coderstrust.database.inmemory;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pl.coderstrust.database.infile.BinaryRecordCodec;
+import pl.coderstrust.database.infile.FsyncPolicy;
+import pl.coderstrust.database.infile.RecordFormat;
+import pl.coderstrust.database.infile.RecordFrame;
+import pl.coderstrust.database.infile.RecordJournal;
+import pl.coderstrust.database.infile.SegmentFormat;
+import pl.coderstrust.model.Invoice;
+
+public class InMemoryPersistence implements Closeable {
+
+    private static final String SNAPSHOT_FILE_PREFIX = "snapshot";
+    private static final String JOURNAL_FILE_PREFIX = "journal";
+    private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+    private static final Pattern FILE_NAME_PATTERN = Pattern.compile("(snapshot|journal)\\.(\\d+)");
+    private static final int DECODE_BATCH_SIZE = 1024;
+    private static final byte[] EMPTY_PAYLOAD = new byte[0];
+
+    private Logger log = LoggerFactory.getLogger(InMemoryPersistence.class);
+
+    private final Path directory;
+    private final BinaryRecordCodec codec = new BinaryRecordCodec();
+    private final RecordJournal journal;
+    private final Object snapshotLock = new Object();
+    private long generation;
+    private long journalPosition;
+    private long maxId;
+
+    public InMemoryPersistence(String directory, FsyncPolicy fsyncPolicy, long fsyncIntervalInMillis) {
+        if (directory == null) {
+            throw new IllegalArgumentException("Directory cannot be null.");
+        }
+        this.directory = Paths.get(directory);
+        this.journal = new RecordJournal(fsyncPolicy, fsyncIntervalInMillis);
+    }
+
+    public void restore(Map<Long, Invoice> storage) throws IOException {
+        if (storage == null) {
+            throw new IllegalArgumentException("Storage cannot be null.");
+        }
+        Files.createDirectories(directory);
+        TreeSet<Long> snapshotGenerations = listGenerations(SNAPSHOT_FILE_PREFIX);
+        TreeSet<Long> journalGenerations = listGenerations(JOURNAL_FILE_PREFIX);
+        long snapshotGeneration = snapshotGenerations.isEmpty() ? 0 : snapshotGenerations.last();
+        if (!snapshotGenerations.isEmpty()) {
+            loadSnapshot(getPath(SNAPSHOT_FILE_PREFIX, snapshotGeneration), storage);
+        }
+        long validJournalSize = SegmentFormat.SEGMENT_HEADER_SIZE;
+        for (Long journalGeneration : journalGenerations.tailSet(snapshotGeneration, true)) {
+            validJournalSize = replayJournal(getPath(JOURNAL_FILE_PREFIX, journalGeneration), storage);
+        }
+        synchronized (this) {
+            generation = journalGenerations.isEmpty() ? snapshotGeneration : Math.max(snapshotGeneration, journalGenerations.last());
+            Path journalPath = getPath(JOURNAL_FILE_PREFIX, generation);
+            if (!Files.exists(journalPath) || Files.size(journalPath) < SegmentFormat.SEGMENT_HEADER_SIZE) {
+                Files.write(journalPath, SegmentFormat.getSegmentHeader(RecordFormat.BINARY));
+                validJournalSize = SegmentFormat.SEGMENT_HEADER_SIZE;
+            }
+            truncate(journalPath, validJournalSize);
+            journal.open(journalPath.toString());
+            journalPosition = validJournalSize;
+        }
+        deleteFilesOlderThan(snapshotGeneration);
+        log.info("Restored {} invoices from {}.", storage.size(), directory);
+    }
+
+    public long logPut(Invoice invoice) throws IOException {
+        if (invoice == null) {
+            throw new IllegalArgumentException("Invoice cannot be null.");
+        }
+        return append(RecordFrame.INVOICE, invoice.getId(), codec.encode(invoice));
+    }
+
+    public long logRemove(Long id) throws IOException {
+        if (id == null) {
+            throw new IllegalArgumentException("Id cannot be null.");
+        }
+        return append(RecordFrame.TOMBSTONE, id, EMPTY_PAYLOAD);
+    }
+
+    public long logClear() throws IOException {
+        return append(RecordFrame.CLEAR, 0, EMPTY_PAYLOAD);
+    }
+
+    public void awaitDurable(long sequence) throws IOException {
+        journal.awaitDurable(sequence);
+    }
+
+    public synchronized long getMaxId() {
+        return maxId;
+    }
+
+    public void snapshot(Map<Long, Invoice> storage) throws IOException {
+        if (storage == null) {
+            throw new IllegalArgumentException("Storage cannot be null.");
+        }
+        synchronized (snapshotLock) {
+            long snapshotGeneration;
+            long snapshotMaxId;
+            synchronized (this) {
+                snapshotGeneration = generation + 1;
+                Path journalPath = getPath(JOURNAL_FILE_PREFIX, snapshotGeneration);
+                Files.write(journalPath, SegmentFormat.getSegmentHeader(RecordFormat.BINARY));
+                journal.open(journalPath.toString());
+                journalPosition = SegmentFormat.SEGMENT_HEADER_SIZE;
+                generation = snapshotGeneration;
+                snapshotMaxId = maxId;
+            }
+            Path snapshotPath = getPath(SNAPSHOT_FILE_PREFIX, snapshotGeneration);
+            Path temporaryPath = Paths.get(snapshotPath.toString() + TEMPORARY_FILE_SUFFIX);
+            long count = 0;
+            try (FileChannel channel = FileChannel.open(temporaryPath, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                OutputStream output = new BufferedOutputStream(Channels.newOutputStream(channel));
+                output.write(SegmentFormat.getSegmentHeader(RecordFormat.BINARY));
+                for (Map.Entry<Long, Invoice> entry : storage.entrySet()) {
+                    output.write(SegmentFormat.encode(RecordFrame.INVOICE, entry.getKey(), codec.encode(entry.getValue())));
+                    count++;
+                }
+                output.write(SegmentFormat.encode(RecordFrame.TOMBSTONE, snapshotMaxId, EMPTY_PAYLOAD));
+                output.flush();
+                channel.force(true);
+            }
+            Files.move(temporaryPath, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            deleteFilesOlderThan(snapshotGeneration);
+            log.info("Wrote snapshot of {} invoices to {}.", count, snapshotPath);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        journal.close();
+    }
+
+    private synchronized long append(byte type, long id, byte[] payload) throws IOException {
+        byte[] record = SegmentFormat.encode(type, id, payload);
+        long sequence = journal.write(journalPosition, record);
+        journalPosition += record.length;
+        maxId = Math.max(maxId, id);
+        return sequence;
+    }
+
+    private void loadSnapshot(Path path, Map<Long, Invoice> storage) throws IOException {
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "in-memory-snapshot-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Semaphore batchesInFlight = new Semaphore(parallelism * 2);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        List<RecordFrame> batch = new ArrayList<>(DECODE_BATCH_SIZE);
+        try {
+            long validSize = SegmentFormat.scan(path.toString(), frame -> {
+                if (frame.getType() == RecordFrame.TOMBSTONE) {
+                    updateMaxId(frame.getId());
+                    return;
+                }
+                batch.add(frame);
+                if (batch.size() == DECODE_BATCH_SIZE) {
+                    futures.add(decodeInBackground(new ArrayList<>(batch), storage, executor, batchesInFlight));
+                    batch.clear();
+                }
+            });
+            if (validSize != Files.size(path)) {
+                throw new IOException(String.format("Snapshot %s is corrupted at position %d.", path, validSize));
+            }
+            futures.add(decodeInBackground(batch, storage, executor, batchesInFlight));
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            throw new IOException(String.format("Snapshot %s could not be decoded.", path), e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private CompletableFuture<Void> decodeInBackground(List<RecordFrame> frames, Map<Long, Invoice> storage, ExecutorService executor, Semaphore batchesInFlight) throws IOException {
+        try {
+            batchesInFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while loading snapshot.", e);
+        }
+        return CompletableFuture.runAsync(() -> {
+            try {
+                for (RecordFrame frame : frames) {
+                    storage.put(frame.getId(), decode(frame));
+                    updateMaxId(frame.getId());
+                }
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            } finally {
+                batchesInFlight.release();
+            }
+        }, executor);
+    }
+
+    private long replayJournal(Path path, Map<Long, Invoice> storage) throws IOException {
+        long validSize = SegmentFormat.scan(path.toString(), frame -> {
+            updateMaxId(frame.getId());
+            if (frame.getType() == RecordFrame.INVOICE) {
+                storage.put(frame.getId(), decode(frame));
+            } else if (frame.getType() == RecordFrame.TOMBSTONE) {
+                storage.remove(frame.getId());
+            } else if (frame.getType() == RecordFrame.CLEAR) {
+                storage.clear();
+            }
+        });
+        if (validSize < Files.size(path)) {
+            log.warn("Journal {} has a torn tail at position {}.", path, validSize);
+        }
+        return validSize;
+    }
+
+    private Invoice decode(RecordFrame frame) throws IOException {
+        return codec.decode(ByteBuffer.wrap(frame.getPayload()));
+    }
+
+    private synchronized void updateMaxId(long id) {
+        maxId = Math.max(maxId, id);
+    }
+
+    private void truncate(Path path, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            if (channel.size() > size) {
+                channel.truncate(size);
+            }
+        }
+    }
+
+    private TreeSet<Long> listGenerations(String prefix) throws IOException {
+        TreeSet<Long> generations = new TreeSet<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(file -> parseGeneration(file, prefix))
+                .forEach(fileGeneration -> fileGeneration.ifPresent(generations::add));
+        }
+        return generations;
+    }
+
+    private Optional<Long> parseGeneration(Path file, String prefix) {
+        Matcher matcher = FILE_NAME_PATTERN.matcher(file.getFileName().toString());
+        if (!matcher.matches() || !prefix.equals(matcher.group(1))) {
+            return Optional.empty();
+        }
+        return Optional.of(Long.valueOf(matcher.group(2)));
+    }
+
+    private void deleteFilesOlderThan(long oldestGeneration) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                Matcher matcher = FILE_NAME_PATTERN.matcher(name);
+                if ((matcher.matches() && Long.parseLong(matcher.group(2)) < oldestGeneration) || name.endsWith(TEMPORARY_FILE_SUFFIX)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private Path getPath(String prefix, long fileGeneration) {
+        return directory.resolve(String.format("%s.%06d", prefix, fileGeneration));
+    }
+}
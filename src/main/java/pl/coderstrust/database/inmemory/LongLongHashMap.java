@@ -0,0 +1,127 @@
+package pl.coderstrust.database.inmemory;
+
+import java.util.Arrays;
+
+public class LongLongHashMap {
+
+    public static final long MISSING_VALUE = -1;
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.7f;
+
+    private long[] keys;
+    private long[] values;
+    private boolean[] used;
+    private int size;
+
+    public LongLongHashMap() {
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    public long get(long key) {
+        int slot = findSlot(key);
+        return used[slot] ? values[slot] : MISSING_VALUE;
+    }
+
+    public boolean containsKey(long key) {
+        return used[findSlot(key)];
+    }
+
+    public long put(long key, long value) {
+        if (value == MISSING_VALUE) {
+            throw new IllegalArgumentException("Value cannot be equal to missing value marker.");
+        }
+        int slot = findSlot(key);
+        if (used[slot]) {
+            long previous = values[slot];
+            values[slot] = value;
+            return previous;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        used[slot] = true;
+        if (++size > keys.length * LOAD_FACTOR) {
+            rehash(keys.length << 1);
+        }
+        return MISSING_VALUE;
+    }
+
+    public long remove(long key) {
+        int slot = findSlot(key);
+        if (!used[slot]) {
+            return MISSING_VALUE;
+        }
+        final long previous = values[slot];
+        used[slot] = false;
+        size--;
+        int mask = keys.length - 1;
+        int next = (slot + 1) & mask;
+        while (used[next]) {
+            int home = slotFor(keys[next]);
+            if (((next - home) & mask) >= ((next - slot) & mask)) {
+                keys[slot] = keys[next];
+                values[slot] = values[next];
+                used[slot] = true;
+                used[next] = false;
+                slot = next;
+            }
+            next = (next + 1) & mask;
+        }
+        return previous;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        Arrays.fill(used, false);
+        size = 0;
+    }
+
+    public long[] keys() {
+        long[] result = new long[size];
+        int index = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (used[i]) {
+                result[index++] = keys[i];
+            }
+        }
+        return result;
+    }
+
+    private int findSlot(long key) {
+        int mask = keys.length - 1;
+        int slot = slotFor(key);
+        while (used[slot] && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private int slotFor(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & (keys.length - 1);
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        used = new boolean[capacity];
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        boolean[] oldUsed = used;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                int slot = findSlot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+                used[slot] = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package pl.coderstrust.database.inmemory;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Keyed byte records stored in direct chunks. Not thread safe, callers guard it with their own lock.
+ * Compacted chunks are kept in a small pool and reused, the rest is left to the garbage collector.
+ */
+final class OffHeapArena {
+
+    static final int RECORD_HEADER_SIZE = Long.BYTES + Integer.BYTES;
+
+    private static final int NO_CHUNK = -1;
+    private static final int MAX_POOLED_CHUNKS = 4;
+
+    private final int chunkSize;
+    private final List<Chunk> chunks = new ArrayList<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private final Deque<ByteBuffer> pooledBuffers = new ArrayDeque<>();
+    private LongLongHashMap locations = new LongLongHashMap();
+    private int activeSlot = NO_CHUNK;
+    private long liveBytes;
+    private long deadBytes;
+
+    OffHeapArena(int chunkSize) {
+        if (chunkSize <= RECORD_HEADER_SIZE) {
+            throw new IllegalArgumentException("Chunk size must be greater than record header size.");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    byte[] read(long key) {
+        long location = locations.get(key);
+        if (location == LongLongHashMap.MISSING_VALUE) {
+            return null;
+        }
+        ByteBuffer buffer = chunks.get(slotOf(location)).buffer.duplicate();
+        buffer.position(offsetOf(location) + Long.BYTES);
+        byte[] record = new byte[buffer.getInt()];
+        buffer.get(record);
+        return record;
+    }
+
+    boolean contains(long key) {
+        return locations.containsKey(key);
+    }
+
+    byte[] write(long key, byte[] record) {
+        final byte[] previousRecord = read(key);
+        release(key);
+        locations.put(key, allocate(key, record));
+        compactIfNeeded();
+        return previousRecord;
+    }
+
+    byte[] remove(long key) {
+        byte[] previousRecord = read(key);
+        release(key);
+        compactIfNeeded();
+        return previousRecord;
+    }
+
+    int size() {
+        return locations.size();
+    }
+
+    long[] keys() {
+        return locations.keys();
+    }
+
+    long getCapacity() {
+        long capacity = 0;
+        for (Chunk chunk : chunks) {
+            if (chunk != null) {
+                capacity += chunk.buffer.capacity();
+            }
+        }
+        for (ByteBuffer buffer : pooledBuffers) {
+            capacity += buffer.capacity();
+        }
+        return capacity;
+    }
+
+    void clear() {
+        chunks.clear();
+        freeSlots.clear();
+        pooledBuffers.clear();
+        locations = new LongLongHashMap();
+        activeSlot = NO_CHUNK;
+        liveBytes = 0;
+        deadBytes = 0;
+    }
+
+    private void release(long key) {
+        long location = locations.remove(key);
+        if (location != LongLongHashMap.MISSING_VALUE) {
+            Chunk chunk = chunks.get(slotOf(location));
+            int recordSize = RECORD_HEADER_SIZE + chunk.buffer.getInt(offsetOf(location) + Long.BYTES);
+            chunk.deadBytes += recordSize;
+            liveBytes -= recordSize;
+            deadBytes += recordSize;
+        }
+    }
+
+    private long allocate(long key, byte[] record) {
+        int recordSize = RECORD_HEADER_SIZE + record.length;
+        if (activeSlot == NO_CHUNK || chunks.get(activeSlot).buffer.remaining() < recordSize) {
+            activeSlot = addChunk(new Chunk(newBuffer(recordSize)));
+        }
+        ByteBuffer buffer = chunks.get(activeSlot).buffer;
+        final long location = ((long) activeSlot << 32) | buffer.position();
+        buffer.putLong(key);
+        buffer.putInt(record.length);
+        buffer.put(record);
+        liveBytes += recordSize;
+        return location;
+    }
+
+    private ByteBuffer newBuffer(int recordSize) {
+        if (recordSize <= chunkSize && !pooledBuffers.isEmpty()) {
+            return pooledBuffers.pop();
+        }
+        return ByteBuffer.allocateDirect(Math.max(chunkSize, recordSize));
+    }
+
+    private int addChunk(Chunk chunk) {
+        Integer slot = freeSlots.poll();
+        if (slot == null) {
+            chunks.add(chunk);
+            return chunks.size() - 1;
+        }
+        chunks.set(slot, chunk);
+        return slot;
+    }
+
+    private void compactIfNeeded() {
+        if (deadBytes < chunkSize || deadBytes < liveBytes) {
+            return;
+        }
+        int slot = findMostFragmentedChunk();
+        if (slot != NO_CHUNK) {
+            compact(slot);
+        }
+    }
+
+    private int findMostFragmentedChunk() {
+        int mostFragmentedSlot = NO_CHUNK;
+        for (int slot = 0; slot < chunks.size(); slot++) {
+            Chunk chunk = chunks.get(slot);
+            if (chunk != null && chunk.deadBytes > 0 && (mostFragmentedSlot == NO_CHUNK || chunk.deadBytes > chunks.get(mostFragmentedSlot).deadBytes)) {
+                mostFragmentedSlot = slot;
+            }
+        }
+        return mostFragmentedSlot;
+    }
+
+    private void compact(int slot) {
+        Chunk chunk = chunks.get(slot);
+        if (slot == activeSlot) {
+            activeSlot = NO_CHUNK;
+        }
+        ByteBuffer buffer = chunk.buffer.duplicate();
+        buffer.flip();
+        while (buffer.remaining() >= RECORD_HEADER_SIZE) {
+            int offset = buffer.position();
+            long key = buffer.getLong();
+            byte[] record = new byte[buffer.getInt()];
+            buffer.get(record);
+            long location = ((long) slot << 32) | offset;
+            if (locations.get(key) == location) {
+                liveBytes -= RECORD_HEADER_SIZE + record.length;
+                locations.put(key, allocate(key, record));
+            }
+        }
+        deadBytes -= chunk.deadBytes;
+        chunks.set(slot, null);
+        freeSlots.push(slot);
+        if (chunk.buffer.capacity() == chunkSize && pooledBuffers.size() < MAX_POOLED_CHUNKS) {
+            chunk.buffer.clear();
+            pooledBuffers.push(chunk.buffer);
+        }
+    }
+
+    private int slotOf(long location) {
+        return (int) (location >>> 32);
+    }
+
+    private int offsetOf(long location) {
+        return (int) location;
+    }
+
+    private static final class Chunk {
+
+        private final ByteBuffer buffer;
+        private int deadBytes;
+
+        private Chunk(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package pl.coderstrust.database.inmemory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import pl.coderstrust.database.infile.BinaryRecordCodec;
+import pl.coderstrust.database.infile.CompanyRegistry;
+import pl.coderstrust.model.Company;
+
+final class OffHeapCompanyTable implements CompanyRegistry {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final BinaryRecordCodec companyCodec = new BinaryRecordCodec();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final OffHeapArena companies;
+    private final LongLongHashMap idsByHash = new LongLongHashMap();
+    private final LongLongHashMap referenceCounts = new LongLongHashMap();
+    private long lastId;
+    private volatile long generation;
+
+    OffHeapCompanyTable(int chunkSize) {
+        this.companies = new OffHeapArena(chunkSize);
+    }
+
+    @Override
+    public long intern(Company company) {
+        if (company == null) {
+            throw new IllegalArgumentException("Company cannot be null.");
+        }
+        byte[] payload = companyCodec.encodeCompany(company);
+        long hash = hash(payload);
+        lock.writeLock().lock();
+        try {
+            long id = idsByHash.get(hash);
+            if (id == LongLongHashMap.MISSING_VALUE || !Arrays.equals(payload, companies.read(id))) {
+                id = ++lastId;
+                companies.write(id, payload);
+                // Companies with colliding hashes are stored without being shared.
+                if (!idsByHash.containsKey(hash)) {
+                    idsByHash.put(hash, id);
+                }
+            }
+            long references = referenceCounts.get(id);
+            referenceCounts.put(id, references == LongLongHashMap.MISSING_VALUE ? 1 : references + 1);
+            return id;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Company get(long id) throws IOException {
+        byte[] payload;
+        lock.readLock().lock();
+        try {
+            payload = companies.read(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return payload == null ? null : companyCodec.decodeCompany(ByteBuffer.wrap(payload));
+    }
+
+    void release(long id) {
+        lock.writeLock().lock();
+        try {
+            long references = referenceCounts.get(id);
+            if (references == LongLongHashMap.MISSING_VALUE) {
+                return;
+            }
+            if (references > 1) {
+                referenceCounts.put(id, references - 1);
+                return;
+            }
+            referenceCounts.remove(id);
+            long hash = hash(companies.remove(id));
+            if (idsByHash.get(hash) == id) {
+                idsByHash.remove(hash);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    long getGeneration() {
+        return generation;
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return referenceCounts.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long getOffHeapBytes() {
+        lock.readLock().lock();
+        try {
+            return companies.getCapacity();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void clear() {
+        lock.writeLock().lock();
+        try {
+            companies.clear();
+            idsByHash.clear();
+            referenceCounts.clear();
+            generation++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private long hash(byte[] payload) {
+        long hash = FNV_OFFSET_BASIS;
+        for (byte value : payload) {
+            hash = (hash ^ (value & 0xff)) * FNV_PRIME;
+        }
+        return hash;
+    }
+}
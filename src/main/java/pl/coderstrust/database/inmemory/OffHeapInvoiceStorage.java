@@ -0,0 +1,288 @@
+package pl.coderstrust.database.inmemory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import pl.coderstrust.database.infile.BinaryRecordCodec;
+import pl.coderstrust.model.Invoice;
+
+public class OffHeapInvoiceStorage extends AbstractMap<Long, Invoice> {
+
+    private static final int STRIPES = 16;
+
+    private final OffHeapCompanyTable companyTable;
+    private final BinaryRecordCodec codec;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    public OffHeapInvoiceStorage(int chunkSize) {
+        this.companyTable = new OffHeapCompanyTable(chunkSize);
+        this.codec = new BinaryRecordCodec(companyTable);
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe(chunkSize);
+        }
+    }
+
+    @Override
+    public Invoice get(Object key) {
+        if (!(key instanceof Long)) {
+            return null;
+        }
+        Stripe stripe = stripeFor((Long) key);
+        stripe.lock.readLock().lock();
+        try {
+            return decode(stripe.arena.read((Long) key));
+        } finally {
+            stripe.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (!(key instanceof Long)) {
+            return false;
+        }
+        Stripe stripe = stripeFor((Long) key);
+        stripe.lock.readLock().lock();
+        try {
+            return stripe.arena.contains((Long) key);
+        } finally {
+            stripe.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Invoice put(Long key, Invoice value) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null.");
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("Value cannot be null.");
+        }
+        Stripe stripe = stripeFor(key);
+        while (true) {
+            long generation = companyTable.getGeneration();
+            byte[] record = encode(value);
+            stripe.lock.writeLock().lock();
+            try {
+                if (companyTable.getGeneration() == generation) {
+                    return release(stripe.arena.write(key, record));
+                }
+            } finally {
+                stripe.lock.writeLock().unlock();
+            }
+            releaseCompanies(record);
+        }
+    }
+
+    @Override
+    public Invoice remove(Object key) {
+        if (!(key instanceof Long)) {
+            return null;
+        }
+        Stripe stripe = stripeFor((Long) key);
+        stripe.lock.writeLock().lock();
+        try {
+            return release(stripe.arena.remove((Long) key));
+        } finally {
+            stripe.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.readLock().lock();
+            try {
+                size += stripe.arena.size();
+            } finally {
+                stripe.lock.readLock().unlock();
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            stripe.lock.writeLock().lock();
+        }
+        try {
+            for (Stripe stripe : stripes) {
+                stripe.arena.clear();
+            }
+            companyTable.clear();
+        } finally {
+            for (Stripe stripe : stripes) {
+                stripe.lock.writeLock().unlock();
+            }
+        }
+    }
+
+    @Override
+    public Set<Entry<Long, Invoice>> entrySet() {
+        return new EntrySet();
+    }
+
+    public long getOffHeapBytes() {
+        long bytes = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.readLock().lock();
+            try {
+                bytes += stripe.arena.getCapacity();
+            } finally {
+                stripe.lock.readLock().unlock();
+            }
+        }
+        return bytes + companyTable.getOffHeapBytes();
+    }
+
+    public int getCompanyCount() {
+        return companyTable.size();
+    }
+
+    private Stripe stripeFor(long key) {
+        return stripes[Long.hashCode(key) & (stripes.length - 1)];
+    }
+
+    private byte[] encode(Invoice invoice) {
+        try {
+            return codec.encode(invoice);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Invoice could not be encoded.", e);
+        }
+    }
+
+    private Invoice decode(byte[] record) {
+        if (record == null) {
+            return null;
+        }
+        try {
+            return codec.decode(ByteBuffer.wrap(record));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Stored invoice could not be decoded.", e);
+        }
+    }
+
+    private Invoice release(byte[] previousRecord) {
+        Invoice previousInvoice = decode(previousRecord);
+        if (previousRecord != null) {
+            releaseCompanies(previousRecord);
+        }
+        return previousInvoice;
+    }
+
+    private void releaseCompanies(byte[] record) {
+        List<Long> companyIds = new ArrayList<>(2);
+        try {
+            codec.readCompanyIds(ByteBuffer.wrap(record), companyIds);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Stored invoice could not be decoded.", e);
+        }
+        for (long companyId : companyIds) {
+            companyTable.release(companyId);
+        }
+    }
+
+    private long[] keys() {
+        List<long[]> stripeKeys = new ArrayList<>(stripes.length);
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.readLock().lock();
+            try {
+                long[] keys = stripe.arena.keys();
+                stripeKeys.add(keys);
+                size += keys.length;
+            } finally {
+                stripe.lock.readLock().unlock();
+            }
+        }
+        long[] keys = new long[size];
+        int position = 0;
+        for (long[] keysOfStripe : stripeKeys) {
+            System.arraycopy(keysOfStripe, 0, keys, position, keysOfStripe.length);
+            position += keysOfStripe.length;
+        }
+        return keys;
+    }
+
+    private static final class Stripe {
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final OffHeapArena arena;
+
+        private Stripe(int chunkSize) {
+            this.arena = new OffHeapArena(chunkSize);
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<Long, Invoice>> {
+
+        @Override
+        public Iterator<Entry<Long, Invoice>> iterator() {
+            return new EntryIterator(keys());
+        }
+
+        @Override
+        public int size() {
+            return OffHeapInvoiceStorage.this.size();
+        }
+
+        @Override
+        public void clear() {
+            OffHeapInvoiceStorage.this.clear();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Entry<Long, Invoice>> {
+
+        private final long[] keys;
+        private int position;
+        private Entry<Long, Invoice> next;
+        private Entry<Long, Invoice> current;
+
+        private EntryIterator(long[] keys) {
+            this.keys = keys;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && position < keys.length) {
+                long key = keys[position++];
+                Invoice invoice = get(key);
+                if (invoice != null) {
+                    next = new SimpleImmutableEntry<>(key, invoice);
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public Entry<Long, Invoice> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            current = next;
+            next = null;
+            return current;
+        }
+
+        @Override
+        public void remove() {
+            if (current == null) {
+                throw new IllegalStateException();
+            }
+            OffHeapInvoiceStorage.this.remove(current.getKey());
+            current = null;
+        }
+    }
+}
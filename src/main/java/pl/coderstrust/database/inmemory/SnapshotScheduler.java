@@ -0,0 +1,55 @@
+package pl.coderstrust.database.inmemory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pl.coderstrust.model.Invoice;
+
+public class SnapshotScheduler implements Closeable {
+
+    private Logger log = LoggerFactory.getLogger(SnapshotScheduler.class);
+
+    private final InMemoryPersistence persistence;
+    private final Map<Long, Invoice> storage;
+    private final ScheduledExecutorService executor;
+
+    public SnapshotScheduler(InMemoryPersistence persistence, Map<Long, Invoice> storage, long intervalInMillis) {
+        if (persistence == null) {
+            throw new IllegalArgumentException("Persistence cannot be null.");
+        }
+        if (storage == null) {
+            throw new IllegalArgumentException("Storage cannot be null.");
+        }
+        if (intervalInMillis <= 0) {
+            throw new IllegalArgumentException("Snapshot interval must be greater than zero.");
+        }
+        this.persistence = persistence;
+        this.storage = storage;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "in-memory-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::snapshot, intervalInMillis, intervalInMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public boolean snapshot() {
+        try {
+            persistence.snapshot(storage);
+            return true;
+        } catch (IOException e) {
+            log.error("An error occurred during writing in-memory database snapshot.", e);
+            return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,159 @@
+package pl.coderstrust.database.inmemory;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free ordered set of longs kept as bitmap blocks of consecutive values in a skip list.
+ * Empty blocks are retired and removed, so deleted ranges do not keep memory.
+ */
+public class SortedLongSet {
+
+    private static final int BLOCK_SHIFT = 10;
+    private static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+    private static final int INITIAL_PAGE_CAPACITY = 64;
+
+    private final ConcurrentSkipListMap<Long, Block> blocks = new ConcurrentSkipListMap<>();
+    private final LongAdder size = new LongAdder();
+
+    public boolean add(long value) {
+        long blockKey = value >> BLOCK_SHIFT;
+        int bit = (int) (value & (BLOCK_SIZE - 1));
+        while (true) {
+            Block block = blocks.computeIfAbsent(blockKey, Block::new);
+            if (!block.retain()) {
+                blocks.remove(blockKey, block);
+                continue;
+            }
+            if (block.set(bit)) {
+                size.increment();
+                return true;
+            }
+            block.release();
+            return false;
+        }
+    }
+
+    public void addAll(long[] newValues) {
+        if (newValues == null) {
+            throw new IllegalArgumentException("Values cannot be null.");
+        }
+        for (long value : newValues) {
+            add(value);
+        }
+    }
+
+    public boolean remove(long value) {
+        Block block = blocks.get(value >> BLOCK_SHIFT);
+        if (block == null || !block.clear((int) (value & (BLOCK_SIZE - 1)))) {
+            return false;
+        }
+        block.release();
+        size.decrement();
+        return true;
+    }
+
+    public long[] getAfter(long value, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be lower than zero.");
+        }
+        if (limit == 0 || value == Long.MAX_VALUE) {
+            return new long[0];
+        }
+        long from = value + 1;
+        long[] page = new long[Math.min(limit, INITIAL_PAGE_CAPACITY)];
+        int count = 0;
+        for (Block block : blocks.tailMap(from >> BLOCK_SHIFT, true).values()) {
+            long base = block.key << BLOCK_SHIFT;
+            for (int word = from > base ? (int) ((from - base) >>> 6) : 0; word < BLOCK_SIZE / Long.SIZE && count < limit; word++) {
+                long bits = block.words.get(word);
+                long firstValue = base + ((long) word << 6);
+                if (firstValue < from) {
+                    bits &= -1L << (from - firstValue);
+                }
+                while (bits != 0 && count < limit) {
+                    if (count == page.length) {
+                        page = Arrays.copyOf(page, (int) Math.min(limit, (long) page.length << 1));
+                    }
+                    page[count++] = firstValue + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                }
+            }
+            if (count == limit) {
+                break;
+            }
+        }
+        return count == page.length ? page : Arrays.copyOf(page, count);
+    }
+
+    public int size() {
+        return (int) size.sum();
+    }
+
+    public void clear() {
+        blocks.clear();
+        size.reset();
+    }
+
+    private final class Block {
+
+        private static final int RETIRED = -1;
+
+        private final long key;
+        private final AtomicLongArray words = new AtomicLongArray(BLOCK_SIZE / Long.SIZE);
+        private final AtomicInteger references = new AtomicInteger();
+
+        private Block(long key) {
+            this.key = key;
+        }
+
+        private boolean retain() {
+            while (true) {
+                int current = references.get();
+                if (current == RETIRED) {
+                    return false;
+                }
+                if (references.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        private void release() {
+            if (references.decrementAndGet() == 0 && references.compareAndSet(0, RETIRED)) {
+                blocks.remove(key, this);
+            }
+        }
+
+        private boolean set(int bit) {
+            int word = bit >>> 6;
+            long mask = 1L << bit;
+            while (true) {
+                long bits = words.get(word);
+                if ((bits & mask) != 0) {
+                    return false;
+                }
+                if (words.compareAndSet(word, bits, bits | mask)) {
+                    return true;
+                }
+            }
+        }
+
+        private boolean clear(int bit) {
+            int word = bit >>> 6;
+            long mask = 1L << bit;
+            while (true) {
+                long bits = words.get(word);
+                if ((bits & mask) == 0) {
+                    return false;
+                }
+                if (words.compareAndSet(word, bits, bits & ~mask)) {
+                    return true;
+                }
+            }
+        }
+    }
+}
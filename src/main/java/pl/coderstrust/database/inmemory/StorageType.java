@@ -0,0 +1,6 @@
+package pl.coderstrust.database.inmemory;
+
+public enum StorageType {
+    HEAP,
+    OFF_HEAP
+}
@@ -0,0 +1,38 @@
+package pl.coderstrust.database.nosql;
+
+import java.util.List;
+
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import pl.coderstrust.database.nosql.model.Invoice;
+
+public class MongoIndexes {
+
+    public static final String NUMBER_INDEX = "number_unique";
+
+    static final List<IndexDefinition> INVOICE_INDEXES = List.of(
+        new Index().on("number", Direction.ASC).unique().sparse().named(NUMBER_INDEX),
+        new Index().on("issuedDate", Direction.ASC).on("id", Direction.ASC).named("issuedDate_id"),
+        new Index().on("seller.taxId", Direction.ASC).on("issuedDate", Direction.ASC).named("sellerTaxId_issuedDate"),
+        new Index().on("buyer.taxId", Direction.ASC).on("issuedDate", Direction.ASC).named("buyerTaxId_issuedDate")
+    );
+
+    private final MongoTemplate mongoTemplate;
+
+    public MongoIndexes(MongoTemplate mongoTemplate) {
+        if (mongoTemplate == null) {
+            throw new IllegalArgumentException("Mongo template cannot be null.");
+        }
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    public void ensureIndexes() {
+        IndexOperations indexOperations = mongoTemplate.indexOps(Invoice.class);
+        for (IndexDefinition index : INVOICE_INDEXES) {
+            indexOperations.ensureIndex(index);
+        }
+    }
+}
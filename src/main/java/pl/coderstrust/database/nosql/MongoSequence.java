@@ -0,0 +1,65 @@
+package pl.coderstrust.database.nosql;
+
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import pl.coderstrust.database.nosql.model.Counter;
+
+public class MongoSequence {
+
+    private static final String VALUE_FIELD = "value";
+
+    private final MongoTemplate mongoTemplate;
+    private final String name;
+    private final int blockSize;
+    private long next = 1;
+    private long blockEnd;
+
+    public MongoSequence(MongoTemplate mongoTemplate, String name, int blockSize) {
+        if (mongoTemplate == null) {
+            throw new IllegalArgumentException("Mongo template cannot be null.");
+        }
+        if (name == null) {
+            throw new IllegalArgumentException("Sequence name cannot be null.");
+        }
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be greater than zero.");
+        }
+        this.mongoTemplate = mongoTemplate;
+        this.name = name;
+        this.blockSize = blockSize;
+    }
+
+    public void advanceTo(long value) {
+        mongoTemplate.upsert(byName(), new Update().max(VALUE_FIELD, value), Counter.class);
+    }
+
+    public synchronized long next() {
+        if (next > blockEnd) {
+            blockEnd = increment(blockSize);
+            next = blockEnd - blockSize + 1;
+        }
+        return next++;
+    }
+
+    public long nextBlock(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("Count must be greater than zero.");
+        }
+        return increment(count) - count + 1;
+    }
+
+    private long increment(int count) {
+        Counter counter = mongoTemplate.findAndModify(byName(), new Update().inc(VALUE_FIELD, count), FindAndModifyOptions.options().returnNew(true).upsert(true), Counter.class);
+        if (counter == null) {
+            throw new IllegalStateException(String.format("Sequence %s could not be incremented.", name));
+        }
+        return counter.getValue();
+    }
+
+    private Query byName() {
+        return Query.query(Criteria.where("_id").is(name));
+    }
+}
@@ -69,12 +69,12 @@ public final class Company {
             return false;
         }
         Company company = (Company) o;
-        return name.equals(company.name)
-            && address.equals(company.address)
-            && taxId.equals(company.taxId)
-            && accountNumber.equals(company.accountNumber)
-            && phoneNumber.equals(company.phoneNumber)
-            && email.equals(company.email);
+        return Objects.equals(name, company.name)
+            && Objects.equals(address, company.address)
+            && Objects.equals(taxId, company.taxId)
+            && Objects.equals(accountNumber, company.accountNumber)
+            && Objects.equals(phoneNumber, company.phoneNumber)
+            && Objects.equals(email, company.email);
     }
 
     @Override
@@ -0,0 +1,55 @@
+package pl.coderstrust.database.nosql.model;
+
+import java.util.Objects;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.PersistenceConstructor;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Document(collection = "counters")
+public final class Counter {
+
+    @Id
+    private final String name;
+    private final long value;
+
+    @PersistenceConstructor
+    public Counter(String name, long value) {
+        this.name = name;
+        this.value = value;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getValue() {
+        return value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Counter)) {
+            return false;
+        }
+        Counter counter = (Counter) o;
+        return value == counter.value
+            && Objects.equals(name, counter.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, value);
+    }
+
+    @Override
+    public String toString() {
+        return "Counter{"
+            + "name='" + name + '\''
+            + ", value=" + value
+            + '}';
+    }
+}
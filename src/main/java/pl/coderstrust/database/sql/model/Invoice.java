@@ -10,14 +10,34 @@ import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.ManyToMany;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 
 @Entity
+@Table(indexes = {
+    @Index(name = Invoice.NUMBER_INDEX, columnList = "number", unique = true),
+    @Index(name = "invoice_issued_date_idx", columnList = "issuedDate"),
+    @Index(name = "invoice_seller_idx", columnList = "seller_id"),
+    @Index(name = "invoice_buyer_idx", columnList = "buyer_id")
+})
+@NamedEntityGraph(name = Invoice.WITH_COMPANIES_GRAPH, attributeNodes = {@NamedAttributeNode("seller"), @NamedAttributeNode("buyer")})
+@NamedEntityGraph(name = Invoice.WITH_COMPANIES_AND_ENTRIES_GRAPH, attributeNodes = {@NamedAttributeNode("seller"), @NamedAttributeNode("buyer"), @NamedAttributeNode("entries")})
 public class Invoice {
 
+    public static final String WITH_COMPANIES_GRAPH = "Invoice.withCompanies";
+    public static final String WITH_COMPANIES_AND_ENTRIES_GRAPH = "Invoice.withCompaniesAndEntries";
+    public static final String NUMBER_INDEX = "invoice_number_idx";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "invoice_sequence")
+    @SequenceGenerator(name = "invoice_sequence", sequenceName = "invoice_sequence", allocationSize = 50)
     private final Long id;
 
     private final String number;
@@ -31,6 +51,7 @@ public class Invoice {
     private final Company buyer;
 
     @ManyToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    @Fetch(FetchMode.SUBSELECT)
     private final List<InvoiceEntry> entries;
 
     private Invoice() {
@@ -6,12 +6,14 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
 
 @Entity
 public class InvoiceEntry {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "invoice_entry_sequence")
+    @SequenceGenerator(name = "invoice_entry_sequence", sequenceName = "invoice_entry_sequence", allocationSize = 50)
     private final Long id;
 
     private final String description;
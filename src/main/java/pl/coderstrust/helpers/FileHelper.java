@@ -2,9 +2,13 @@ package pl.coderstrust.helpers;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -75,11 +79,114 @@ public class FileHelper {
         return Files.lines(Paths.get(filePath), ENCODING);
     }
 
+    public String readLine(String filePath, long offset, int length) throws IOException {
+        return new String(readBytes(filePath, offset, length), ENCODING);
+    }
+
+    public byte[] readBytes(String filePath, long offset, int length) throws IOException {
+        if (filePath == null) {
+            throw new IllegalArgumentException("File's path cannot be null.");
+        }
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset cannot be lower than zero.");
+        }
+        if (length < 0) {
+            throw new IllegalArgumentException("Length cannot be lower than zero.");
+        }
+        try (RandomAccessFile file = new RandomAccessFile(filePath, "r")) {
+            byte[] bytes = new byte[length];
+            file.seek(offset);
+            file.readFully(bytes);
+            return bytes;
+        }
+    }
+
+    public InputStream openInputStream(String filePath) throws IOException {
+        if (filePath == null) {
+            throw new IllegalArgumentException("File's path cannot be null.");
+        }
+        return Files.newInputStream(Paths.get(filePath));
+    }
+
+    public void forEachLine(String filePath, LineConsumer consumer) throws IOException {
+        forEachLine(filePath, 0, consumer);
+    }
+
+    public void forEachLine(String filePath, long fromOffset, LineConsumer consumer) throws IOException {
+        if (filePath == null) {
+            throw new IllegalArgumentException("File's path cannot be null.");
+        }
+        if (fromOffset < 0) {
+            throw new IllegalArgumentException("Offset cannot be lower than zero.");
+        }
+        if (consumer == null) {
+            throw new IllegalArgumentException("Line consumer cannot be null.");
+        }
+        try (InputStream input = new BufferedInputStream(Files.newInputStream(Paths.get(filePath)))) {
+            long position = skip(input, fromOffset);
+            long lineOffset = position;
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            int current;
+            while ((current = input.read()) != -1) {
+                position++;
+                if (current == '\n') {
+                    acceptLine(consumer, lineOffset, line.toByteArray());
+                    line.reset();
+                    lineOffset = position;
+                } else {
+                    line.write(current);
+                }
+            }
+            if (line.size() > 0) {
+                acceptLine(consumer, lineOffset, line.toByteArray());
+            }
+        }
+    }
+
+    private long skip(InputStream input, long bytesToSkip) throws IOException {
+        long skippedBytes = 0;
+        while (skippedBytes < bytesToSkip) {
+            long skipped = input.skip(bytesToSkip - skippedBytes);
+            if (skipped <= 0) {
+                break;
+            }
+            skippedBytes += skipped;
+        }
+        return skippedBytes;
+    }
+
+    private void acceptLine(LineConsumer consumer, long offset, byte[] bytes) throws IOException {
+        int length = bytes.length;
+        if (length > 0 && bytes[length - 1] == '\r') {
+            length--;
+        }
+        consumer.accept(offset, length, new String(bytes, 0, length, ENCODING));
+    }
+
+    public long size(String filePath) throws IOException {
+        if (filePath == null) {
+            throw new IllegalArgumentException("File's path cannot be null.");
+        }
+        return Files.size(Paths.get(filePath));
+    }
+
+    public void truncate(String filePath, long size) throws IOException {
+        if (filePath == null) {
+            throw new IllegalArgumentException("File's path cannot be null.");
+        }
+        if (size < 0) {
+            throw new IllegalArgumentException("Size cannot be lower than zero.");
+        }
+        try (RandomAccessFile file = new RandomAccessFile(filePath, "rw")) {
+            file.setLength(size);
+        }
+    }
+
     public String readLastLine(String filePath) throws IOException {
         if (filePath == null) {
             throw new IllegalArgumentException("File's path cannot be null.");
         }
-        try (ReversedLinesFileReader reader = new ReversedLinesFileReader(new File(filePath), Charset.defaultCharset())) {
+        try (ReversedLinesFileReader reader = new ReversedLinesFileReader(new File(filePath), ENCODING)) {
             return reader.readLine();
         }
     }
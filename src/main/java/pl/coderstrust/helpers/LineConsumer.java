@@ -0,0 +1,9 @@
+package pl.coderstrust.helpers;
+
+import java.io.IOException;
+
+@FunctionalInterface
+public interface LineConsumer {
+
+    void accept(long offset, int length, String line) throws IOException;
+}
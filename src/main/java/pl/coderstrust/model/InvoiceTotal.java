@@ -0,0 +1,148 @@
+package pl.coderstrust.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.Objects;
+
+@JsonDeserialize(builder = InvoiceTotal.Builder.class)
+@ApiModel(value = "InvoiceTotal", description = "Totals of invoice entries grouped by month, seller and vat rate.")
+public final class InvoiceTotal {
+
+    @ApiModelProperty(value = "Month in which invoices were issued.", example = "2019-07")
+    private final YearMonth period;
+
+    @ApiModelProperty(value = "Tax identification number of the seller.", example = "6570011469")
+    private final String sellerTaxId;
+
+    @ApiModelProperty(value = "Vat tax rate.", example = "VAT_23")
+    private final Vat vatRate;
+
+    @ApiModelProperty(value = "Sum of entries values without tax.", example = "1000")
+    private final BigDecimal netValue;
+
+    @ApiModelProperty(value = "Sum of tax of entries.", example = "230")
+    private final BigDecimal vatValue;
+
+    @ApiModelProperty(value = "Sum of entries values with tax.", example = "1230")
+    private final BigDecimal grossValue;
+
+    private InvoiceTotal(Builder builder) {
+        period = builder.period;
+        sellerTaxId = builder.sellerTaxId;
+        vatRate = builder.vatRate;
+        netValue = builder.netValue;
+        vatValue = builder.vatValue;
+        grossValue = builder.grossValue;
+    }
+
+    public static InvoiceTotal.Builder builder() {
+        return new InvoiceTotal.Builder();
+    }
+
+    public YearMonth getPeriod() {
+        return period;
+    }
+
+    public String getSellerTaxId() {
+        return sellerTaxId;
+    }
+
+    public Vat getVatRate() {
+        return vatRate;
+    }
+
+    public BigDecimal getNetValue() {
+        return netValue;
+    }
+
+    public BigDecimal getVatValue() {
+        return vatValue;
+    }
+
+    public BigDecimal getGrossValue() {
+        return grossValue;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof InvoiceTotal)) {
+            return false;
+        }
+        InvoiceTotal that = (InvoiceTotal) o;
+        return Objects.equals(period, that.period)
+            && Objects.equals(sellerTaxId, that.sellerTaxId)
+            && vatRate == that.vatRate
+            && Objects.equals(netValue, that.netValue)
+            && Objects.equals(vatValue, that.vatValue)
+            && Objects.equals(grossValue, that.grossValue);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(period, sellerTaxId, vatRate, netValue, vatValue, grossValue);
+    }
+
+    @Override
+    public String toString() {
+        return "InvoiceTotal{"
+            + "period=" + period
+            + ", sellerTaxId='" + sellerTaxId + '\''
+            + ", vatRate=" + vatRate
+            + ", netValue=" + netValue
+            + ", vatValue=" + vatValue
+            + ", grossValue=" + grossValue
+            + '}';
+    }
+
+    @JsonPOJOBuilder
+    public static class Builder {
+
+        private YearMonth period;
+        private String sellerTaxId;
+        private Vat vatRate;
+        private BigDecimal netValue;
+        private BigDecimal vatValue;
+        private BigDecimal grossValue;
+
+        public Builder withPeriod(YearMonth period) {
+            this.period = period;
+            return this;
+        }
+
+        public Builder withSellerTaxId(String sellerTaxId) {
+            this.sellerTaxId = sellerTaxId;
+            return this;
+        }
+
+        public Builder withVatRate(Vat vatRate) {
+            this.vatRate = vatRate;
+            return this;
+        }
+
+        public Builder withNetValue(BigDecimal netValue) {
+            this.netValue = netValue;
+            return this;
+        }
+
+        public Builder withVatValue(BigDecimal vatValue) {
+            this.vatValue = vatValue;
+            return this;
+        }
+
+        public Builder withGrossValue(BigDecimal grossValue) {
+            this.grossValue = grossValue;
+            return this;
+        }
+
+        public InvoiceTotal build() {
+            return new InvoiceTotal(this);
+        }
+    }
+}
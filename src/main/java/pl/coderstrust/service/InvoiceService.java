@@ -2,7 +2,9 @@ package pl.coderstrust.service;
 
 import java.time.LocalDate;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,6 +12,7 @@ import org.springframework.stereotype.Service;
 import pl.coderstrust.database.Database;
 import pl.coderstrust.database.DatabaseOperationException;
 import pl.coderstrust.model.Invoice;
+import pl.coderstrust.model.InvoiceTotal;
 
 @Service
 public class InvoiceService {
@@ -32,6 +35,30 @@ public class InvoiceService {
         }
     }
 
+    public List<Invoice> getInvoicesPage(Long afterId, int limit) throws ServiceOperationException {
+        if (limit <= 0) {
+            log.error("Attempt to get page of invoices providing not positive limit.");
+            throw new IllegalArgumentException("Limit must be greater than zero.");
+        }
+        try {
+            return database.getPage(afterId, limit);
+        } catch (DatabaseOperationException e) {
+            String message = "An error occurred during getting page of invoices.";
+            log.error(message, e);
+            throw new ServiceOperationException(message, e);
+        }
+    }
+
+    public Stream<Invoice> streamInvoices() throws ServiceOperationException {
+        try {
+            return database.stream();
+        } catch (DatabaseOperationException e) {
+            String message = "An error occurred during streaming invoices.";
+            log.error(message, e);
+            throw new ServiceOperationException(message, e);
+        }
+    }
+
     public Optional<Invoice> getInvoiceById(Long id) throws ServiceOperationException {
         if (id == null) {
             log.error("Attempt to get invoice by id providing null id.");
@@ -65,6 +92,20 @@ public class InvoiceService {
         }
     }
 
+    public Collection<Invoice> addInvoices(Collection<Invoice> invoices) throws ServiceOperationException {
+        if (invoices == null) {
+            log.error("Attempt to add null invoices.");
+            throw new IllegalArgumentException("Invoices cannot be null.");
+        }
+        try {
+            return database.saveAll(invoices);
+        } catch (DatabaseOperationException e) {
+            String message = "An error occurred during adding invoices.";
+            log.error(message, e);
+            throw new ServiceOperationException(message, e);
+        }
+    }
+
     public Invoice updateInvoice(Invoice invoice) throws ServiceOperationException {
         if (invoice == null) {
             log.error("Attempt to update invoice providing null invoice.");
@@ -147,6 +188,28 @@ public class InvoiceService {
     }
 
     public Collection<Invoice> getByIssueDate(LocalDate startDate, LocalDate endDate) throws ServiceOperationException {
+        validateDateInterval(startDate, endDate);
+        try {
+            return database.getByIssueDate(startDate, endDate);
+        } catch (DatabaseOperationException e) {
+            String message = "An error occurred during getting invoices filtered by issued date.";
+            log.error(message, e);
+            throw new ServiceOperationException(message, e);
+        }
+    }
+
+    public Collection<InvoiceTotal> getTotals(LocalDate startDate, LocalDate endDate) throws ServiceOperationException {
+        validateDateInterval(startDate, endDate);
+        try {
+            return database.getTotals(startDate, endDate);
+        } catch (DatabaseOperationException e) {
+            String message = "An error occurred during getting invoice totals.";
+            log.error(message, e);
+            throw new ServiceOperationException(message, e);
+        }
+    }
+
+    private void validateDateInterval(LocalDate startDate, LocalDate endDate) {
         if (startDate == null) {
             log.error("Attempt to get invoices from date interval without providing start date");
             throw new IllegalArgumentException("Start date cannot be null");
@@ -159,12 +222,5 @@ public class InvoiceService {
             log.error("Attempt to get invoices from date interval when passed start date is after end date");
             throw new IllegalArgumentException("Start date cannot be after end date");
         }
-        try {
-            return database.getByIssueDate(startDate, endDate);
-        } catch (DatabaseOperationException e) {
-            String message = "An error occurred during getting invoices filtered by issued date.";
-            log.error(message, e);
-            throw new ServiceOperationException(message, e);
-        }
     }
 }
@@ -1,27 +1,34 @@
 package pl.coderstrust.controller;
 
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -35,8 +42,11 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import pl.coderstrust.generators.InvoiceGenerator;
 import pl.coderstrust.model.Invoice;
+import pl.coderstrust.model.InvoiceTotal;
+import pl.coderstrust.model.Vat;
 import pl.coderstrust.service.InvoiceEmailService;
 import pl.coderstrust.service.InvoicePdfService;
 import pl.coderstrust.service.InvoiceService;
@@ -119,6 +129,80 @@ class InvoiceControllerTest {
         verify(invoiceService).getAllInvoices();
     }
 
+    @Test
+    void shouldReturnPageOfInvoicesWithLinkToNextPage() throws Exception {
+        List<Invoice> invoices = Arrays.asList(InvoiceGenerator.getRandomInvoiceWithSpecificId(11L), InvoiceGenerator.getRandomInvoiceWithSpecificId(12L),
+            InvoiceGenerator.getRandomInvoiceWithSpecificId(13L));
+        when(invoiceService.getInvoicesPage(10L, 3)).thenReturn(invoices);
+
+        String url = "/invoices?after=10&limit=2";
+
+        mockMvc.perform(get(url)
+            .accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(header().string("Link", "</invoices?after=12&limit=2>; rel=\"next\""))
+            .andExpect(content().json(mapper.writeValueAsString(invoices.subList(0, 2))));
+
+        verify(invoiceService).getInvoicesPage(10L, 3);
+        verify(invoiceService, never()).getAllInvoices();
+    }
+
+    @Test
+    void shouldReturnLastPageOfInvoicesWithoutLinkToNextPage() throws Exception {
+        List<Invoice> invoices = Arrays.asList(InvoiceGenerator.getRandomInvoiceWithSpecificId(1L));
+        when(invoiceService.getInvoicesPage(null, 3)).thenReturn(invoices);
+
+        String url = "/invoices?limit=2";
+
+        mockMvc.perform(get(url)
+            .accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("Link"))
+            .andExpect(content().json(mapper.writeValueAsString(invoices)));
+
+        verify(invoiceService).getInvoicesPage(null, 3);
+    }
+
+    @ParameterizedTest
+    @MethodSource("invalidPageLimits")
+    void shouldReturnBadRequestDuringGettingPageOfInvoicesWithInvalidLimit(String limit) throws Exception {
+        String url = "/invoices?limit=" + limit;
+
+        mockMvc.perform(get(url)
+            .accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isBadRequest());
+
+        verify(invoiceService, never()).getInvoicesPage(any(), any(Integer.class));
+    }
+
+    private static Stream<String> invalidPageLimits() {
+        return Stream.of("0", "-1", "1001");
+    }
+
+    @Test
+    void shouldExportAllInvoicesAsNewlineDelimitedJson() throws Exception {
+        Invoice firstInvoice = InvoiceGenerator.getRandomInvoiceWithSpecificId(1L);
+        Invoice secondInvoice = InvoiceGenerator.getRandomInvoiceWithSpecificId(2L);
+        AtomicBoolean streamClosed = new AtomicBoolean();
+        when(invoiceService.streamInvoices()).thenReturn(Stream.of(firstInvoice, secondInvoice).onClose(() -> streamClosed.set(true)));
+
+        String url = "/invoices/export";
+
+        MvcResult result = mockMvc.perform(get(url)
+            .accept(ResponseHelper.APPLICATION_NDJSON_VALUE))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(ResponseHelper.APPLICATION_NDJSON_VALUE))
+            .andExpect(content().string(mapper.writeValueAsString(firstInvoice) + "\n" + mapper.writeValueAsString(secondInvoice) + "\n"));
+
+        assertTrue(streamClosed.get());
+        verify(invoiceService).streamInvoices();
+        verify(invoiceService, never()).getAllInvoices();
+    }
+
     @Test
     public void shouldReturnInvoiceById() throws Exception {
         Invoice invoice = InvoiceGenerator.getRandomInvoice();
@@ -776,4 +860,45 @@ class InvoiceControllerTest {
 
         verify(invoiceService, never()).getByIssueDate(startDate, endDate);
     }
+
+    @Test
+    void shouldReturnInvoiceTotals() throws Exception {
+        LocalDate startDate = LocalDate.of(2019, 8, 1);
+        LocalDate endDate = LocalDate.of(2019, 8, 31);
+        List<InvoiceTotal> totals = List.of(InvoiceTotal.builder()
+            .withPeriod(YearMonth.of(2019, 8))
+            .withSellerTaxId("1234567890")
+            .withVatRate(Vat.VAT_23)
+            .withNetValue(new BigDecimal("100"))
+            .withVatValue(new BigDecimal("23"))
+            .withGrossValue(new BigDecimal("123"))
+            .build());
+        when(invoiceService.getTotals(startDate, endDate)).thenReturn(totals);
+
+        mockMvc.perform(get("/invoices/totals")
+            .param("startDate", startDate.format(DateTimeFormatter.ISO_DATE))
+            .param("endDate", endDate.format(DateTimeFormatter.ISO_DATE))
+            .accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(content().json(mapper.writeValueAsString(totals)))
+            .andExpect(jsonPath("$[0].period").value("2019-08"));
+
+        verify(invoiceService).getTotals(startDate, endDate);
+    }
+
+    @Test
+    void getTotalsMethodShouldReturnBadRequestStatusWhenInvalidArgumentsArePassed() throws Exception {
+        mockMvc.perform(get("/invoices/totals")
+            .param("startDate", "2019-08-31")
+            .param("endDate", "2019-08-01")
+            .accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/invoices/totals")
+            .param("startDate", "2019-08-31")
+            .accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isBadRequest());
+
+        verify(invoiceService, never()).getTotals(any(), any());
+    }
 }
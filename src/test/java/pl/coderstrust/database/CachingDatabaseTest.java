@@ -0,0 +1,204 @@
+package pl.coderstrust.database;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import pl.coderstrust.configuration.CachingDatabaseProperties;
+import pl.coderstrust.generators.InvoiceGenerator;
+import pl.coderstrust.model.Invoice;
+
+@ExtendWith(MockitoExtension.class)
+class CachingDatabaseTest {
+
+    @Mock
+    private Database database;
+    private CachingDatabaseProperties properties;
+    private CachingDatabase cachingDatabase;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CachingDatabaseProperties();
+        cachingDatabase = new CachingDatabase(database, properties);
+    }
+
+    @Test
+    void shouldReadThroughOnceAndServeNextReadsFromCache() throws DatabaseOperationException {
+        Invoice invoice = InvoiceGenerator.getRandomInvoiceWithSpecificId(1L);
+        when(database.getById(1L)).thenReturn(Optional.of(invoice));
+
+        assertEquals(Optional.of(invoice), cachingDatabase.getById(1L));
+        assertEquals(Optional.of(invoice), cachingDatabase.getById(1L));
+        assertEquals(Optional.of(invoice), cachingDatabase.getByNumber(invoice.getNumber()));
+        assertTrue(cachingDatabase.exists(1L));
+
+        verify(database, times(1)).getById(1L);
+        assertEquals(3, cachingDatabase.getCache().getHitCount());
+    }
+
+    @Test
+    void shouldReadThroughByNumber() throws DatabaseOperationException {
+        Invoice invoice = InvoiceGenerator.getRandomInvoiceWithSpecificId(1L);
+        when(database.getByNumber(invoice.getNumber())).thenReturn(Optional.of(invoice));
+
+        assertEquals(Optional.of(invoice), cachingDatabase.getByNumber(invoice.getNumber()));
+        assertEquals(Optional.of(invoice), cachingDatabase.getById(1L));
+
+        verify(database, times(1)).getByNumber(invoice.getNumber());
+    }
+
+    @Test
+    void shouldNotCacheMissingInvoice() throws DatabaseOperationException {
+        when(database.getById(1L)).thenReturn(Optional.empty());
+
+        assertEquals(Optional.empty(), cachingDatabase.getById(1L));
+        assertEquals(Optional.empty(), cachingDatabase.getById(1L));
+
+        verify(database, times(2)).getById(1L);
+    }
+
+    @Test
+    void shouldNotCacheInvoicesIssuedBeforeHotPeriod() throws DatabaseOperationException {
+        Invoice invoice = InvoiceGenerator.getRandomInvoiceWithFixedIdsAndIssuedDate(1L, LocalDate.now().minusDays(31));
+        when(database.getById(1L)).thenReturn(Optional.of(invoice));
+
+        assertEquals(Optional.of(invoice), cachingDatabase.getById(1L));
+        assertEquals(Optional.of(invoice), cachingDatabase.getById(1L));
+
+        verify(database, times(2)).getById(1L);
+        assertEquals(0, cachingDatabase.getCache().size());
+    }
+
+    @Test
+    void shouldCacheAllInvoicesWhenHotPeriodIsDisabled() throws DatabaseOperationException {
+        properties.setHotPeriodInDays(0);
+        cachingDatabase = new CachingDatabase(database, properties);
+        Invoice invoice = InvoiceGenerator.getRandomInvoiceWithFixedIdsAndIssuedDate(1L, LocalDate.of(2010, 1, 1));
+        when(database.getById(1L)).thenReturn(Optional.of(invoice));
+
+        cachingDatabase.getById(1L);
+        cachingDatabase.getById(1L);
+
+        verify(database, times(1)).getById(1L);
+    }
+
+    @Test
+    void shouldWriteThroughSavedInvoices() throws DatabaseOperationException {
+        Invoice invoiceToAdd = InvoiceGenerator.getRandomInvoiceWithNullId();
+        Invoice addedInvoice = InvoiceGenerator.getRandomInvoiceWithSpecificId(1L);
+        Invoice updatedInvoice = InvoiceGenerator.getRandomInvoiceWithSpecificId(1L);
+        when(database.save(any(Invoice.class))).thenReturn(addedInvoice, updatedInvoice);
+
+        assertEquals(addedInvoice, cachingDatabase.save(invoiceToAdd));
+        assertEquals(Optional.of(addedInvoice), cachingDatabase.getById(1L));
+        assertEquals(updatedInvoice, cachingDatabase.save(updatedInvoice));
+        assertEquals(Optional.of(updatedInvoice), cachingDatabase.getById(1L));
+        assertEquals(Optional.of(updatedInvoice), cachingDatabase.getByNumber(updatedInvoice.getNumber()));
+    }
+
+    @Test
+    void shouldInvalidateCacheAfterSavingInvoicesInBulk() throws DatabaseOperationException {
+        Invoice invoice = InvoiceGenerator.getRandomInvoiceWithSpecificId(1L);
+        List<Invoice> invoices = Arrays.asList(InvoiceGenerator.getRandomInvoiceWithSpecificId(1L));
+        when(database.save(invoice)).thenReturn(invoice);
+        when(database.saveAll(invoices)).thenReturn(invoices);
+        cachingDatabase.save(invoice);
+
+        assertEquals(invoices, cachingDatabase.saveAll(invoices));
+
+        assertEquals(0, cachingDatabase.getCache().size());
+        assertThrows(IllegalArgumentException.class, () -> cachingDatabase.saveAll(null));
+    }
+
+    @Test
+    void shouldInvalidateInvoiceWhenUpdateFails() throws DatabaseOperationException {
+        Invoice invoice = InvoiceGenerator.getRandomInvoiceWithSpecificId(1L);
+        Invoice updatedInvoice = InvoiceGenerator.getRandomInvoiceWithSpecificId(1L);
+        when(database.save(invoice)).thenReturn(invoice);
+        when(database.save(updatedInvoice)).thenThrow(new DatabaseOperationException("Failed."));
+        cachingDatabase.save(invoice);
+
+        assertThrows(DatabaseOperationException.class, () -> cachingDatabase.save(updatedInvoice));
+
+        assertEquals(0, cachingDatabase.getCache().size());
+    }
+
+    @Test
+    void shouldInvalidateDeletedInvoice() throws DatabaseOperationException {
+        Invoice invoice = InvoiceGenerator.getRandomInvoiceWithSpecificId(1L);
+        when(database.save(invoice)).thenReturn(invoice);
+        when(database.getById(1L)).thenReturn(Optional.empty());
+        when(database.exists(1L)).thenReturn(false);
+        cachingDatabase.save(invoice);
+
+        cachingDatabase.delete(1L);
+
+        assertEquals(Optional.empty(), cachingDatabase.getById(1L));
+        assertFalse(cachingDatabase.exists(1L));
+        verify(database).delete(1L);
+    }
+
+    @Test
+    void shouldInvalidateAllInvoicesEvenWhenDeleteAllFails() throws DatabaseOperationException {
+        Invoice invoice = InvoiceGenerator.getRandomInvoiceWithSpecificId(1L);
+        when(database.save(invoice)).thenReturn(invoice);
+        doThrow(new DatabaseOperationException("Failed.")).when(database).deleteAll();
+        cachingDatabase.save(invoice);
+
+        assertThrows(DatabaseOperationException.class, () -> cachingDatabase.deleteAll());
+
+        assertEquals(0, cachingDatabase.getCache().size());
+    }
+
+    @Test
+    void shouldDelegateQueriesToBackingDatabase() throws DatabaseOperationException {
+        List<Invoice> invoices = Arrays.asList(InvoiceGenerator.getRandomInvoice(), InvoiceGenerator.getRandomInvoice());
+        LocalDate startDate = LocalDate.of(2019, 8, 1);
+        LocalDate endDate = LocalDate.of(2019, 8, 31);
+        when(database.getAll()).thenReturn(invoices);
+        when(database.getByIssueDate(startDate, endDate)).thenReturn(invoices);
+        when(database.count()).thenReturn(2L);
+        when(database.getPage(1L, 2)).thenReturn(invoices);
+        when(database.stream()).thenReturn(invoices.stream());
+        when(database.getTotals(startDate, endDate)).thenReturn(InvoiceTotals.aggregate(invoices));
+
+        Collection<Invoice> allInvoices = cachingDatabase.getAll();
+
+        assertEquals(invoices, allInvoices);
+        assertEquals(invoices, cachingDatabase.getByIssueDate(startDate, endDate));
+        assertEquals(2L, cachingDatabase.count());
+        assertEquals(invoices, cachingDatabase.getPage(1L, 2));
+        assertEquals(invoices, cachingDatabase.stream().collect(Collectors.toList()));
+        assertEquals(InvoiceTotals.aggregate(invoices), cachingDatabase.getTotals(startDate, endDate));
+    }
+
+    @Test
+    void shouldThrowExceptionForInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new CachingDatabase(null, properties));
+        assertThrows(IllegalArgumentException.class, () -> new CachingDatabase(database, null));
+        properties.setHotPeriodInDays(-1);
+        assertThrows(IllegalArgumentException.class, () -> new CachingDatabase(database, properties));
+        assertThrows(IllegalArgumentException.class, () -> cachingDatabase.save(null));
+        assertThrows(IllegalArgumentException.class, () -> cachingDatabase.delete(null));
+        assertThrows(IllegalArgumentException.class, () -> cachingDatabase.getById(null));
+        assertThrows(IllegalArgumentException.class, () -> cachingDatabase.getByNumber(null));
+        assertThrows(IllegalArgumentException.class, () -> cachingDatabase.exists(null));
+    }
+}
@@ -5,18 +5,28 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import javax.persistence.EntityManager;
+import org.hibernate.exception.ConstraintViolationException;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -26,26 +36,39 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.NonTransientDataAccessException;
-import org.springframework.data.domain.Example;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
 import pl.coderstrust.database.hibernate.InvoiceRepository;
+import pl.coderstrust.database.hibernate.InvoiceTotalRow;
 import pl.coderstrust.database.sql.model.Invoice;
 import pl.coderstrust.database.sql.model.SqlModelMapper;
 import pl.coderstrust.database.sql.model.SqlModelMapperImpl;
+import pl.coderstrust.database.sql.model.Vat;
 import pl.coderstrust.generators.InvoiceGenerator;
 import pl.coderstrust.generators.SqlInvoiceGenerator;
+import pl.coderstrust.model.InvoiceTotal;
 
 @ExtendWith(MockitoExtension.class)
 class HibernateDatabaseTest {
 
     @Mock
     InvoiceRepository invoiceRepository;
+    @Mock
+    PlatformTransactionManager transactionManager;
+    @Mock
+    EntityManager entityManager;
+    @Mock
+    TransactionStatus transactionStatus;
     SqlModelMapper sqlModelMapper = new SqlModelMapperImpl();
     HibernateDatabase database;
 
     @BeforeEach
     void setUp() {
-        database = new HibernateDatabase(invoiceRepository, sqlModelMapper);
+        database = new HibernateDatabase(invoiceRepository, sqlModelMapper, transactionManager, entityManager, 2);
     }
 
     @Test
@@ -63,11 +86,76 @@ class HibernateDatabaseTest {
         verify(invoiceRepository).save(sqlInvoiceToSave);
     }
 
+    @Test
+    void shouldSaveInvoicesInOneTransactionPerBatch() throws DatabaseOperationException {
+        //given
+        List<pl.coderstrust.model.Invoice> invoicesToSave = List.of(InvoiceGenerator.getRandomInvoice(), InvoiceGenerator.getRandomInvoice(), InvoiceGenerator.getRandomInvoice());
+        when(invoiceRepository.saveAll(any())).thenAnswer(invocation -> new ArrayList<>(invocation.getArgument(0)));
+
+        //when
+        Collection<pl.coderstrust.model.Invoice> result = database.saveAll(invoicesToSave);
+
+        //then
+        assertEquals(invoicesToSave, result);
+        verify(invoiceRepository, times(2)).saveAll(any());
+        verify(transactionManager, times(2)).getTransaction(any());
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void saveAllMethodShouldThrowDatabaseOperationExceptionWhenNonTransientDataAccessExceptionOccurDuringSavingInvoices() {
+        //given
+        List<pl.coderstrust.model.Invoice> invoices = List.of(InvoiceGenerator.getRandomInvoice());
+        doThrow(new NonTransientDataAccessException("") {}).when(invoiceRepository).saveAll(any());
+
+        //then
+        assertThrows(DatabaseOperationException.class, () -> database.saveAll(invoices));
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void saveAllMethodShouldThrowExceptionForInvalidArguments() {
+        List<pl.coderstrust.model.Invoice> invoices = new ArrayList<>();
+        invoices.add(null);
+
+        assertThrows(IllegalArgumentException.class, () -> database.saveAll(null));
+        assertThrows(IllegalArgumentException.class, () -> database.saveAll(invoices));
+        assertThrows(IllegalArgumentException.class, () -> new HibernateDatabase(invoiceRepository, sqlModelMapper, transactionManager, entityManager, 0));
+    }
+
     @Test
     void saveMethodShouldThrowExceptionForNullInvoice() {
         assertThrows(IllegalArgumentException.class, () -> database.save(null));
     }
 
+    @Test
+    void saveMethodShouldThrowDuplicateInvoiceNumberExceptionWhenNumberIsUsedByAnotherInvoice() {
+        //given
+        pl.coderstrust.model.Invoice invoice = InvoiceGenerator.getRandomInvoice();
+        Invoice sqlInvoice = sqlModelMapper.toSqlInvoice(invoice);
+        doThrow(new DataIntegrityViolationException("", new ConstraintViolationException("", new SQLException(), "PUBLIC.INVOICE_NUMBER_IDX ON PUBLIC.INVOICE(NUMBER)")))
+            .when(invoiceRepository).save(sqlInvoice);
+
+        //then
+        DuplicateInvoiceNumberException exception = assertThrows(DuplicateInvoiceNumberException.class, () -> database.save(invoice));
+        assertTrue(exception.getMessage().contains(invoice.getNumber()));
+    }
+
+    @Test
+    void saveMethodShouldThrowDatabaseOperationExceptionWhenOtherConstraintIsViolated() {
+        //given
+        pl.coderstrust.model.Invoice invoice = InvoiceGenerator.getRandomInvoice();
+        Invoice sqlInvoice = sqlModelMapper.toSqlInvoice(invoice);
+        doThrow(new DataIntegrityViolationException("", new ConstraintViolationException("", new SQLException(), "invoice_entries_fk")))
+            .when(invoiceRepository).save(sqlInvoice);
+
+        //when
+        DatabaseOperationException exception = assertThrows(DatabaseOperationException.class, () -> database.save(invoice));
+
+        //then
+        assertFalse(exception instanceof DuplicateInvoiceNumberException);
+    }
+
     @Test
     void saveMethodShouldThrowDatabaseOperationExceptionWhenNonTransientDataAccessExceptionOccurDuringSavingInvoice() {
         //given
@@ -180,7 +268,7 @@ class HibernateDatabaseTest {
         //given
         pl.coderstrust.model.Invoice invoice = InvoiceGenerator.getRandomInvoice();
         Invoice sqlInvoice = sqlModelMapper.toSqlInvoice(invoice);
-        when(invoiceRepository.findOne(any(Example.class))).thenReturn(Optional.of(sqlInvoice));
+        when(invoiceRepository.findByNumber(sqlInvoice.getNumber())).thenReturn(Optional.of(sqlInvoice));
 
         //when
         Optional<pl.coderstrust.model.Invoice> result = database.getByNumber(invoice.getNumber());
@@ -188,7 +276,7 @@ class HibernateDatabaseTest {
         //then
         assertTrue(result.isPresent());
         assertEquals(invoice, result.get());
-        verify(invoiceRepository).findOne(any(Example.class));
+        verify(invoiceRepository).findByNumber(invoice.getNumber());
     }
 
     @Test
@@ -198,7 +286,7 @@ class HibernateDatabaseTest {
 
         //then
         assertTrue(invoice.isEmpty());
-        verify(invoiceRepository).findOne(any(Example.class));
+        verify(invoiceRepository).findByNumber("not_existing_number");
     }
 
     @Test
@@ -209,11 +297,11 @@ class HibernateDatabaseTest {
     @Test
     void getByNumberMethodShouldThrowDatabaseOperationExceptionWhenNonTransientDataAccessExceptionOccurDuringGettingInvoiceByNumber() {
         //given
-        doThrow(new NonTransientDataAccessException("") {}).when(invoiceRepository).findOne(any(Example.class));
+        doThrow(new NonTransientDataAccessException("") {}).when(invoiceRepository).findByNumber("1/1/1");
 
         //then
         assertThrows(DatabaseOperationException.class, () -> database.getByNumber("1/1/1"));
-        verify(invoiceRepository).findOne(any(Example.class));
+        verify(invoiceRepository).findByNumber("1/1/1");
     }
 
     @Test
@@ -231,6 +319,61 @@ class HibernateDatabaseTest {
         verify(invoiceRepository).findAll();
     }
 
+    @Test
+    void shouldReturnPageOfInvoices() throws DatabaseOperationException {
+        //given
+        List<Invoice> sqlInvoices = List.of(SqlInvoiceGenerator.getRandomInvoice(), SqlInvoiceGenerator.getRandomInvoice());
+        when(invoiceRepository.findPage(5L, PageRequest.of(0, 2))).thenReturn(sqlInvoices);
+        when(invoiceRepository.findPage(Long.MIN_VALUE, PageRequest.of(0, 2))).thenReturn(sqlInvoices);
+
+        //then
+        assertEquals(sqlModelMapper.mapToInvoices(sqlInvoices), database.getPage(5L, 2));
+        assertEquals(sqlModelMapper.mapToInvoices(sqlInvoices), database.getPage(null, 2));
+        assertThrows(IllegalArgumentException.class, () -> database.getPage(null, 0));
+    }
+
+    @Test
+    void getPageMethodShouldThrowDatabaseOperationExceptionWhenNonTransientDataAccessExceptionOccurDuringGettingPage() {
+        //given
+        doThrow(new NonTransientDataAccessException("") {}).when(invoiceRepository).findPage(any(), any());
+
+        //then
+        assertThrows(DatabaseOperationException.class, () -> database.getPage(null, 2));
+    }
+
+    @Test
+    void shouldStreamDetachedInvoicesInReadOnlyTransaction() throws DatabaseOperationException {
+        //given
+        List<Invoice> sqlInvoices = List.of(SqlInvoiceGenerator.getRandomInvoice(), SqlInvoiceGenerator.getRandomInvoice());
+        when(transactionManager.getTransaction(any(TransactionDefinition.class))).thenReturn(transactionStatus);
+        when(invoiceRepository.streamAll()).thenReturn(sqlInvoices.stream());
+
+        //when
+        List<pl.coderstrust.model.Invoice> result;
+        try (Stream<pl.coderstrust.model.Invoice> stream = database.stream()) {
+            result = stream.collect(Collectors.toList());
+            verify(transactionManager, never()).commit(transactionStatus);
+        }
+
+        //then
+        assertEquals(sqlModelMapper.mapToInvoices(sqlInvoices), result);
+        verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+        verify(entityManager).detach(sqlInvoices.get(0));
+        verify(entityManager).detach(sqlInvoices.get(1));
+        verify(transactionManager).commit(transactionStatus);
+    }
+
+    @Test
+    void streamMethodShouldRollbackTransactionAndThrowDatabaseOperationExceptionWhenNonTransientDataAccessExceptionOccurDuringStreaming() {
+        //given
+        when(transactionManager.getTransaction(any(TransactionDefinition.class))).thenReturn(transactionStatus);
+        doThrow(new NonTransientDataAccessException("") {}).when(invoiceRepository).streamAll();
+
+        //then
+        assertThrows(DatabaseOperationException.class, () -> database.stream());
+        verify(transactionManager).rollback(transactionStatus);
+    }
+
     @Test
     void getAllMethodShouldThrowDatabaseOperationExceptionWhenNonTransientDataAccessExceptionOccurDuringGettingAllInvoices() {
         //given
@@ -368,4 +511,43 @@ class HibernateDatabaseTest {
 
         verify(invoiceRepository).findAllByIssuedDate(startDate, startDate.plusDays(2L));
     }
+
+    @Test
+    void shouldReturnTotalsGroupedByDatabase() throws DatabaseOperationException {
+        //given
+        LocalDate startDate = LocalDate.of(2019, 8, 1);
+        LocalDate endDate = LocalDate.of(2019, 8, 31);
+        InvoiceTotalRow row = mock(InvoiceTotalRow.class);
+        when(row.getIssuedYear()).thenReturn(2019);
+        when(row.getIssuedMonth()).thenReturn(8);
+        when(row.getSellerTaxId()).thenReturn("1234567890");
+        when(row.getVatRate()).thenReturn(Vat.VAT_23);
+        when(row.getNetValue()).thenReturn(new BigDecimal("100.00"));
+        when(row.getGrossValue()).thenReturn(new BigDecimal("123.00"));
+        when(invoiceRepository.sumByMonthSellerAndVatRate(startDate, endDate)).thenReturn(List.of(row));
+
+        //when
+        Collection<InvoiceTotal> result = database.getTotals(startDate, endDate);
+
+        //then
+        assertEquals(List.of(InvoiceTotal.builder()
+            .withPeriod(YearMonth.of(2019, 8))
+            .withSellerTaxId("1234567890")
+            .withVatRate(pl.coderstrust.model.Vat.VAT_23)
+            .withNetValue(new BigDecimal("100.00"))
+            .withVatValue(new BigDecimal("23.00"))
+            .withGrossValue(new BigDecimal("123.00"))
+            .build()), result);
+        verify(invoiceRepository, never()).findAllByIssuedDate(startDate, endDate);
+    }
+
+    @Test
+    void getTotalsShouldThrowExceptionWhenNonTransientDataAccessExceptionOccurDuringSummingInvoices() {
+        LocalDate startDate = LocalDate.of(2019, 8, 1);
+        doThrow(new NonTransientDataAccessException(" ") {}).when(invoiceRepository).sumByMonthSellerAndVatRate(startDate, startDate);
+
+        DatabaseOperationException exception = assertThrows(DatabaseOperationException.class, () -> database.getTotals(startDate, startDate));
+        assertEquals("An error occurred during getting invoice totals.", exception.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> database.getTotals(startDate, startDate.minusDays(1L)));
+    }
 }
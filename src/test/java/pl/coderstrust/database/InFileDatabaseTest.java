@@ -1,64 +1,77 @@
 package pl.coderstrust.database;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.doAnswer;
-import static org.mockito.Mockito.doNothing;
-import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
-import static org.mockito.internal.verification.VerificationModeFactory.times;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
-import org.mockito.Mock;
-import org.mockito.junit.jupiter.MockitoExtension;
 import pl.coderstrust.configuration.ApplicationConfiguration;
 import pl.coderstrust.configuration.InFileDatabaseProperties;
+import pl.coderstrust.database.infile.RecordFrame;
+import pl.coderstrust.database.infile.SegmentFormat;
 import pl.coderstrust.generators.InvoiceGenerator;
 import pl.coderstrust.helpers.FileHelper;
 import pl.coderstrust.model.Invoice;
 
-@ExtendWith(MockitoExtension.class)
 class InFileDatabaseTest {
 
-    @Mock
-    private FileHelper fileHelper;
-
-    private InFileDatabase inFileDatabase;
+    private static final String DATABASE_FILE = "invoice_database.txt";
+    private static final String FIRST_SEGMENT_FILE = "invoice_database.txt.000001";
 
-    private static ObjectMapper objectMapper;
+    @TempDir
+    Path temporaryFolder;
 
-    private static final String DATABASE_FILE = "invoice_database.txt";
+    private FileHelper fileHelper;
+    private InFileDatabase inFileDatabase;
+    private InFileDatabaseProperties inFileDatabaseProperties;
+    private ObjectMapper objectMapper;
+    private String databaseFile;
+    private String segmentFile;
 
     @BeforeEach
     void setup() throws IOException {
         objectMapper = new ApplicationConfiguration().getObjectMapper();
-        InFileDatabaseProperties inFileDatabasePropertiesTest = new InFileDatabaseProperties();
-        inFileDatabasePropertiesTest.setFilePath(DATABASE_FILE);
+        databaseFile = temporaryFolder.resolve(DATABASE_FILE).toString();
+        segmentFile = temporaryFolder.resolve(FIRST_SEGMENT_FILE).toString();
+        inFileDatabaseProperties = new InFileDatabaseProperties();
+        inFileDatabaseProperties.setFilePath(databaseFile);
+        fileHelper = spy(new FileHelper());
 
-        doReturn(false).when(fileHelper).exists(DATABASE_FILE);
+        inFileDatabase = new InFileDatabase(inFileDatabaseProperties, objectMapper, fileHelper);
+    }
 
-        inFileDatabase = new InFileDatabase(inFileDatabasePropertiesTest, objectMapper, fileHelper);
+    @AfterEach
+    void teardown() {
+        inFileDatabase.close();
     }
 
     @Test
@@ -73,36 +86,35 @@ class InFileDatabaseTest {
             .withBuyer(invoiceToAdd.getBuyer())
             .withEntries(invoiceToAdd.getEntries())
             .build();
-        doNothing().when(fileHelper).writeLine(DATABASE_FILE, objectMapper.writeValueAsString(expectedInvoice));
-        doReturn(Stream.of(objectMapper.writeValueAsString(InvoiceGenerator.getRandomInvoice()), objectMapper.writeValueAsString(InvoiceGenerator.getRandomInvoice()))).when(fileHelper).readLines(DATABASE_FILE);
 
         Invoice addedInvoice = inFileDatabase.save(invoiceToAdd);
 
         assertEquals(expectedInvoice, addedInvoice);
-        verify(fileHelper).readLines(DATABASE_FILE);
-        verify(fileHelper).writeLine(DATABASE_FILE, objectMapper.writeValueAsString(addedInvoice));
+        assertEquals(Optional.of(expectedInvoice), inFileDatabase.getById(1L));
+        assertEquals(Collections.singletonList(objectMapper.writeValueAsString(expectedInvoice)), readSegmentFile());
     }
 
     @Test
     void shouldUpdateInvoice() throws DatabaseOperationException, IOException {
-        Invoice invoiceInDatabase = InvoiceGenerator.getRandomInvoice();
+        Invoice invoiceInDatabase = inFileDatabase.save(InvoiceGenerator.getRandomInvoice());
+        Invoice otherInvoice = inFileDatabase.save(InvoiceGenerator.getRandomInvoice());
         Invoice invoiceToUpdate = Invoice.builder()
             .withId(invoiceInDatabase.getId())
-            .withNumber("123/456")
+            .withNumber("123/456/789/2019/longer-than-before")
             .withIssuedDate(invoiceInDatabase.getIssuedDate())
             .withDueDate(invoiceInDatabase.getDueDate())
             .withSeller(invoiceInDatabase.getSeller())
             .withBuyer(invoiceInDatabase.getBuyer())
             .withEntries(invoiceInDatabase.getEntries())
             .build();
-        doAnswer(invocation -> Stream.of(objectMapper.writeValueAsString(invoiceInDatabase))).when(fileHelper).readLines(DATABASE_FILE);
-        doNothing().when(fileHelper).replaceLine(DATABASE_FILE, objectMapper.writeValueAsString(invoiceToUpdate), 1);
 
         Invoice updatedInvoice = inFileDatabase.save(invoiceToUpdate);
 
         assertEquals(invoiceToUpdate, updatedInvoice);
-        verify(fileHelper).replaceLine(DATABASE_FILE, objectMapper.writeValueAsString(updatedInvoice), 1);
-        verify(fileHelper, times(2)).readLines(DATABASE_FILE);
+        assertEquals(Optional.of(invoiceToUpdate), inFileDatabase.getById(invoiceToUpdate.getId()));
+        assertEquals(Optional.of(otherInvoice), inFileDatabase.getById(otherInvoice.getId()));
+        assertEquals(objectMapper.writeValueAsString(invoiceToUpdate), readSegmentFile().get(2));
+        verify(fileHelper, never()).replaceLine(anyString(), anyString(), anyInt());
     }
 
     @Test
@@ -111,28 +123,20 @@ class InFileDatabaseTest {
     }
 
     @Test
-    void saveMethodShouldThrowExceptionWhenFileHelpersWriteLineMethodThrowsException() throws IOException {
+    void saveMethodShouldThrowExceptionWhenNewSegmentCannotBeCreated() throws IOException, DatabaseOperationException {
+        reopenDatabaseWithSegmentSize(1);
+        inFileDatabase.save(InvoiceGenerator.getRandomInvoice());
         Invoice invoiceToAdd = InvoiceGenerator.getRandomInvoice();
-        Invoice expectedInvoice = Invoice.builder()
-            .withId(1L)
-            .withNumber(invoiceToAdd.getNumber())
-            .withIssuedDate(invoiceToAdd.getIssuedDate())
-            .withDueDate(invoiceToAdd.getDueDate())
-            .withSeller(invoiceToAdd.getSeller())
-            .withBuyer(invoiceToAdd.getBuyer())
-            .withEntries(invoiceToAdd.getEntries())
-            .build();
-        doReturn(Stream.of(objectMapper.writeValueAsString(InvoiceGenerator.getRandomInvoice()))).when(fileHelper).readLines(DATABASE_FILE);
-        doThrow(IOException.class).when(fileHelper).writeLine(DATABASE_FILE, objectMapper.writeValueAsString(expectedInvoice));
+        doThrow(IOException.class).when(fileHelper).create(anyString());
 
         assertThrows(DatabaseOperationException.class, () -> inFileDatabase.save(invoiceToAdd));
-        verify(fileHelper).readLines(DATABASE_FILE);
-        verify(fileHelper).writeLine(DATABASE_FILE, objectMapper.writeValueAsString(expectedInvoice));
+        assertEquals(1, inFileDatabase.count());
     }
 
     @Test
-    void saveMethodShouldThrowExceptionWhenFileHelpersReplaceLineMethodThrowsException() throws IOException {
-        Invoice invoiceInDatabase = InvoiceGenerator.getRandomInvoice();
+    void saveMethodShouldThrowExceptionWhenNewSegmentCannotBeCreatedDuringUpdate() throws IOException, DatabaseOperationException {
+        reopenDatabaseWithSegmentSize(1);
+        Invoice invoiceInDatabase = inFileDatabase.save(InvoiceGenerator.getRandomInvoice());
         Invoice invoiceToUpdate = Invoice.builder()
             .withId(invoiceInDatabase.getId())
             .withNumber("123/456")
@@ -142,24 +146,27 @@ class InFileDatabaseTest {
             .withBuyer(invoiceInDatabase.getBuyer())
             .withEntries(invoiceInDatabase.getEntries())
             .build();
-        doAnswer(invocation -> Stream.of(objectMapper.writeValueAsString(invoiceInDatabase))).when(fileHelper).readLines(DATABASE_FILE);
-        doThrow(IOException.class).when(fileHelper).replaceLine(DATABASE_FILE, objectMapper.writeValueAsString(invoiceToUpdate), 1);
+        doThrow(IOException.class).when(fileHelper).create(anyString());
 
         assertThrows(DatabaseOperationException.class, () -> inFileDatabase.save(invoiceToUpdate));
-        verify(fileHelper, times(2)).readLines(DATABASE_FILE);
-        verify(fileHelper).replaceLine(DATABASE_FILE, objectMapper.writeValueAsString(invoiceToUpdate), 1);
+        assertEquals(Optional.of(invoiceInDatabase), inFileDatabase.getById(invoiceInDatabase.getId()));
     }
 
     @Test
     void shouldDeleteInvoice() throws DatabaseOperationException, IOException {
-        Invoice invoiceToDelete = InvoiceGenerator.getRandomInvoice();
-        doReturn(Stream.of(objectMapper.writeValueAsString(invoiceToDelete), objectMapper.writeValueAsString(InvoiceGenerator.getRandomInvoice()))).when(fileHelper).readLines(DATABASE_FILE);
-        doNothing().when(fileHelper).removeLine(DATABASE_FILE, 1);
+        Invoice invoice1 = inFileDatabase.save(InvoiceGenerator.getRandomInvoice());
+        Invoice invoiceToDelete = inFileDatabase.save(InvoiceGenerator.getRandomInvoice());
+        Invoice invoice3 = inFileDatabase.save(InvoiceGenerator.getRandomInvoice());
 
         inFileDatabase.delete(invoiceToDelete.getId());
 
-        verify(fileHelper).readLines(DATABASE_FILE);
-        verify(fileHelper).removeLine(DATABASE_FILE, 1);
+        assertEquals(Optional.of(invoice3), inFileDatabase.getById(invoice3.getId()));
+        assertEquals(Optional.of(invoice1), inFileDatabase.getById(invoice1.getId()));
+        assertFalse(inFileDatabase.exists(invoiceToDelete.getId()));
+        RecordFrame lastFrame = readFrames().get(3);
+        assertTrue(lastFrame.isTombstone());
+        assertEquals(invoiceToDelete.getId(), lastFrame.getId());
+        verify(fileHelper, never()).removeLine(anyString(), anyInt());
     }
 
     @Test
@@ -168,47 +175,148 @@ class InFileDatabaseTest {
     }
 
     @Test
-    void deleteMethodShouldThrowExceptionForNonExistingInvoice() throws IOException {
-        Invoice invoice = InvoiceGenerator.getRandomInvoice();
-        doReturn(Stream.of(objectMapper.writeValueAsString(invoice))).when(fileHelper).readLines(DATABASE_FILE);
+    void deleteMethodShouldThrowExceptionForNonExistingInvoice() throws IOException, DatabaseOperationException {
+        Invoice invoice = inFileDatabase.save(InvoiceGenerator.getRandomInvoice());
 
         assertThrows(DatabaseOperationException.class, () -> inFileDatabase.delete(invoice.getId() + 1L));
-        verify(fileHelper).readLines(DATABASE_FILE);
-        verify(fileHelper, never()).removeLine(anyString(), anyInt());
+        assertEquals(Collections.singletonList(objectMapper.writeValueAsString(invoice)), readSegmentFile());
     }
 
     @Test
-    void deleteMethodShouldThrowExceptionWhenFileHelperThrowsException() throws IOException {
-        Invoice invoiceToDelete = InvoiceGenerator.getRandomInvoice();
-        doReturn(Stream.of(objectMapper.writeValueAsString(invoiceToDelete))).when(fileHelper).readLines(DATABASE_FILE);
-        doThrow(IOException.class).when(fileHelper).removeLine(DATABASE_FILE, 1);
+    void deleteMethodShouldThrowExceptionWhenNewSegmentCannotBeCreated() throws IOException, DatabaseOperationException {
+        reopenDatabaseWithSegmentSize(1);
+        Invoice invoiceToDelete = inFileDatabase.save(InvoiceGenerator.getRandomInvoice());
+        doThrow(IOException.class).when(fileHelper).create(anyString());
 
         assertThrows(DatabaseOperationException.class, () -> inFileDatabase.delete(invoiceToDelete.getId()));
-        verify(fileHelper).readLines(DATABASE_FILE);
-        verify(fileHelper).removeLine(DATABASE_FILE, 1);
+        assertTrue(inFileDatabase.exists(invoiceToDelete.getId()));
     }
 
     @Test
     void shouldReturnInvoiceById() throws DatabaseOperationException, IOException {
-        Invoice invoiceToGet = InvoiceGenerator.getRandomInvoice();
-        doReturn(Stream.of(objectMapper.writeValueAsString(InvoiceGenerator.getRandomInvoice()), objectMapper.writeValueAsString(invoiceToGet))).when(fileHelper).readLines(DATABASE_FILE);
+        inFileDatabase.save(InvoiceGenerator.getRandomInvoice());
+        Invoice invoiceToGet = inFileDatabase.save(InvoiceGenerator.getRandomInvoice());
+        clearInvocations(fileHelper);
 
         Optional<Invoice> optionalInvoice = inFileDatabase.getById(invoiceToGet.getId());
 
         assertTrue(optionalInvoice.isPresent());
         assertEquals(invoiceToGet, optionalInvoice.get());
-        verify(fileHelper).readLines(DATABASE_FILE);
+        verify(fileHelper).readBytes(anyString(), anyLong(), anyInt());
+        verify(fileHelper, never()).openInputStream(segmentFile);
+    }
+
+    @Test
+    void shouldReturnInvoiceByIdAfterReopeningDatabase() throws DatabaseOperationException, IOException {
+        Invoice invoice1 = inFileDatabase.save(InvoiceGenerator.getRandomInvoice());
+        Invoice invoice2 = inFileDatabase.save(InvoiceGenerator.getRandomInvoice());
+
+        InFileDatabase reopenedDatabase = new InFileDatabase(inFileDatabaseProperties, objectMapper, fileHelper);
+
+        assertEquals(Optional.of(invoice1), reopenedDatabase.getById(invoice1.getId()));
+        assertEquals(Optional.of(invoice2), reopenedDatabase.getById(invoice2.getId()));
+        assertEquals(2, reopenedDatabase.count());
+        reopenedDatabase.close();
+    }
+
+    @Test
+    void shouldReadInvoicesSavedInMultipleSegmentsAfterReopeningDatabase() throws DatabaseOperationException, IOException {
+        inFileDatabaseProperties.setSegmentSize(1);
+        InFileDatabase segmentedDatabase = new InFileDatabase(inFileDatabaseProperties, objectMapper, fileHelper);
+        Invoice invoice1 = segmentedDatabase.save(InvoiceGenerator.getRandomInvoice());
+        Invoice invoice2 = segmentedDatabase.save(InvoiceGenerator.getRandomInvoice());
+        segmentedDatabase.close();
+
+        InFileDatabase reopenedDatabase = new InFileDatabase(inFileDatabaseProperties, objectMapper, fileHelper);
+
+        assertTrue(fileHelper.exists(databaseFile + ".000002"));
+        assertEquals(Arrays.asList(invoice1, invoice2), reopenedDatabase.getAll());
+        assertEquals(Optional.of(invoice2), reopenedDatabase.getById(invoice2.getId()));
+        reopenedDatabase.close();
+    }
+
+    @Test
+    void shouldMigrateSingleFileDatabaseToSegments() throws DatabaseOperationException, IOException {
+        String legacyDatabaseFile = temporaryFolder.resolve("legacy_database.txt").toString();
+        Invoice invoice = InvoiceGenerator.getRandomInvoiceWithSpecificId(5L);
+        fileHelper.writeLine(legacyDatabaseFile, objectMapper.writeValueAsString(invoice));
+        inFileDatabaseProperties.setFilePath(legacyDatabaseFile);
+
+        InFileDatabase migratedDatabase = new InFileDatabase(inFileDatabaseProperties, objectMapper, fileHelper);
+
+        assertFalse(fileHelper.exists(legacyDatabaseFile));
+        assertEquals(Optional.of(invoice), migratedDatabase.getById(5L));
+        assertEquals(6L, migratedDatabase.save(InvoiceGenerator.getRandomInvoice()).getId());
+        migratedDatabase.close();
+    }
+
+    @Test
+    void shouldNotRestoreDeletedInvoiceAfterReopeningDatabase() throws DatabaseOperationException, IOException {
+        Invoice invoice = inFileDatabase.save(InvoiceGenerator.getRandomInvoice());
+        Invoice invoiceToDelete = inFileDatabase.save(InvoiceGenerator.getRandomInvoice());
+        inFileDatabase.delete(invoiceToDelete.getId());
+
+        InFileDatabase reopenedDatabase = new InFileDatabase(inFileDatabaseProperties, objectMapper, fileHelper);
+
+        assertFalse(reopenedDatabase.exists(invoiceToDelete.getId()));
+        assertEquals(Collections.singletonList(invoice), reopenedDatabase.getAll());
+        reopenedDatabase.close();
+    }
+
+    @Test
+    void shouldReturnLatestVersionOfUpdatedInvoiceAfterReopeningDatabase() throws DatabaseOperationException, IOException {
+        Invoice invoiceInDatabase = inFileDatabase.save(InvoiceGenerator.getRandomInvoice());
+        Invoice invoiceToUpdate = Invoice.builder()
+            .withId(invoiceInDatabase.getId())
+            .withNumber("123/456")
+            .withIssuedDate(invoiceInDatabase.getIssuedDate())
+            .withDueDate(invoiceInDatabase.getDueDate())
+            .withSeller(invoiceInDatabase.getSeller())
+            .withBuyer(invoiceInDatabase.getBuyer())
+            .withEntries(invoiceInDatabase.getEntries())
+            .build();
+        inFileDatabase.save(invoiceToUpdate);
+
+        InFileDatabase reopenedDatabase = new InFileDatabase(inFileDatabaseProperties, objectMapper, fileHelper);
+
+        assertEquals(Collections.singletonList(invoiceToUpdate), reopenedDatabase.getAll());
+        reopenedDatabase.close();
+    }
+
+    @Test
+    void shouldNotReuseIdOfDeletedInvoiceAfterReopeningDatabase() throws DatabaseOperationException, IOException {
+        inFileDatabase.save(InvoiceGenerator.getRandomInvoice());
+        Invoice invoiceToDelete = inFileDatabase.save(InvoiceGenerator.getRandomInvoice());
+        inFileDatabase.delete(invoiceToDelete.getId());
+
+        InFileDatabase reopenedDatabase = new InFileDatabase(inFileDatabaseProperties, objectMapper, fileHelper);
+        Invoice addedInvoice = reopenedDatabase.save(InvoiceGenerator.getRandomInvoice());
+
+        assertEquals(invoiceToDelete.getId() + 1L, addedInvoice.getId());
+        reopenedDatabase.close();
+    }
+
+    @Test
+    void shouldNotReuseIdsAfterDeletingAllInvoicesAndReopeningDatabase() throws DatabaseOperationException, IOException {
+        inFileDatabase.save(InvoiceGenerator.getRandomInvoice());
+        Invoice lastInvoice = inFileDatabase.save(InvoiceGenerator.getRandomInvoice());
+        inFileDatabase.deleteAll();
+
+        InFileDatabase reopenedDatabase = new InFileDatabase(inFileDatabaseProperties, objectMapper, fileHelper);
+        Invoice addedInvoice = reopenedDatabase.save(InvoiceGenerator.getRandomInvoice());
+
+        assertEquals(lastInvoice.getId() + 1L, addedInvoice.getId());
+        reopenedDatabase.close();
     }
 
     @Test
     void shouldReturnEmptyOptionalWhenGettingNonExistingInvoiceById() throws IOException, DatabaseOperationException {
-        Invoice invoice = InvoiceGenerator.getRandomInvoice();
-        doReturn(Stream.of(objectMapper.writeValueAsString(invoice))).when(fileHelper).readLines(DATABASE_FILE);
+        Invoice invoice = inFileDatabase.save(InvoiceGenerator.getRandomInvoice());
 
         Optional<Invoice> optionalInvoice = inFileDatabase.getById(invoice.getId() + 1L);
 
         assertTrue(optionalInvoice.isEmpty());
-        verify(fileHelper).readLines(DATABASE_FILE);
+        verify(fileHelper, never()).readLine(anyString(), anyLong(), anyInt());
     }
 
     @Test
@@ -217,35 +325,31 @@ class InFileDatabaseTest {
     }
 
     @Test
-    void getByIdMethodShouldThrowExceptionWhenFileHelperThrowsException() throws IOException {
-        Invoice invoiceToGet = InvoiceGenerator.getRandomInvoice();
-        doThrow(IOException.class).when(fileHelper).readLines(DATABASE_FILE);
+    void getByIdMethodShouldThrowExceptionWhenFileHelperThrowsException() throws IOException, DatabaseOperationException {
+        Invoice invoiceToGet = inFileDatabase.save(InvoiceGenerator.getRandomInvoice());
+        doThrow(IOException.class).when(fileHelper).readBytes(anyString(), anyLong(), anyInt());
 
         assertThrows(DatabaseOperationException.class, () -> inFileDatabase.getById(invoiceToGet.getId()));
-        verify(fileHelper).readLines(DATABASE_FILE);
     }
 
     @Test
-    void shouldReturnInvoiceByNumber() throws DatabaseOperationException, IOException {
-        Invoice invoiceToGet = InvoiceGenerator.getRandomInvoice();
-        doReturn(Stream.of(objectMapper.writeValueAsString(InvoiceGenerator.getRandomInvoice()), objectMapper.writeValueAsString(invoiceToGet))).when(fileHelper).readLines(DATABASE_FILE);
+    void shouldReturnInvoiceByNumber() throws DatabaseOperationException {
+        inFileDatabase.save(InvoiceGenerator.getRandomInvoice());
+        Invoice invoiceToGet = inFileDatabase.save(InvoiceGenerator.getRandomInvoice());
 
         Optional<Invoice> optionalInvoice = inFileDatabase.getByNumber(invoiceToGet.getNumber());
 
         assertTrue(optionalInvoice.isPresent());
         assertEquals(invoiceToGet, optionalInvoice.get());
-        verify(fileHelper).readLines(DATABASE_FILE);
     }
 
     @Test
-    void shouldReturnEmptyOptionalWhenGettingNonExistingInvoiceByNumber() throws IOException, DatabaseOperationException {
-        Invoice invoice = InvoiceGenerator.getRandomInvoice();
-        doReturn(Stream.of(objectMapper.writeValueAsString(invoice))).when(fileHelper).readLines(DATABASE_FILE);
+    void shouldReturnEmptyOptionalWhenGettingNonExistingInvoiceByNumber() throws DatabaseOperationException {
+        Invoice invoice = inFileDatabase.save(InvoiceGenerator.getRandomInvoice());
 
         Optional<Invoice> optionalInvoice = inFileDatabase.getByNumber(invoice.getNumber() + "sd");
 
         assertTrue(optionalInvoice.isEmpty());
-        verify(fileHelper).readLines(DATABASE_FILE);
     }
 
     @Test
@@ -254,133 +358,196 @@ class InFileDatabaseTest {
     }
 
     @Test
-    void getByNumberMethodShouldThrowExceptionWhenFileHelperThrowsException() throws IOException {
-        Invoice invoiceToGet = InvoiceGenerator.getRandomInvoice();
-        doThrow(IOException.class).when(fileHelper).readLines(DATABASE_FILE);
+    void getByNumberMethodShouldThrowExceptionWhenFileHelperThrowsException() throws IOException, DatabaseOperationException {
+        Invoice invoice = inFileDatabase.save(InvoiceGenerator.getRandomInvoice());
+        doThrow(IOException.class).when(fileHelper).readBytes(anyString(), anyLong(), anyInt());
 
-        assertThrows(DatabaseOperationException.class, () -> inFileDatabase.getByNumber(invoiceToGet.getNumber()));
-        verify(fileHelper).readLines(DATABASE_FILE);
+        assertThrows(DatabaseOperationException.class, () -> inFileDatabase.getByNumber(invoice.getNumber()));
     }
 
     @Test
-    void shouldReturnAllInvoices() throws IOException, DatabaseOperationException {
-        Invoice invoice1 = InvoiceGenerator.getRandomInvoice();
-        Invoice invoice2 = InvoiceGenerator.getRandomInvoice();
-        List<Invoice> expected = Arrays.asList(invoice1, invoice2);
-        doReturn(Stream.of(objectMapper.writeValueAsString(invoice1), objectMapper.writeValueAsString(invoice2))).when(fileHelper).readLines(DATABASE_FILE);
+    void shouldFindInvoiceByNumberWithoutScanningSegments() throws DatabaseOperationException, IOException {
+        inFileDatabase.save(InvoiceGenerator.getRandomInvoice());
+        Invoice invoiceToGet = inFileDatabase.save(InvoiceGenerator.getRandomInvoice());
+        clearInvocations(fileHelper);
 
-        Collection<Invoice> result = inFileDatabase.getAll();
+        assertEquals(Optional.of(invoiceToGet), inFileDatabase.getByNumber(invoiceToGet.getNumber()));
+        verify(fileHelper, never()).openInputStream(anyString());
+    }
 
-        assertEquals(expected, result);
-        verify(fileHelper).readLines(DATABASE_FILE);
+    @Test
+    void shouldFindInvoiceByNumberAfterUpdateAndForgetItAfterDelete() throws DatabaseOperationException {
+        Invoice addedInvoice = inFileDatabase.save(InvoiceGenerator.getRandomInvoice());
+        Invoice updatedInvoice = inFileDatabase.save(InvoiceGenerator.getRandomInvoiceWithSpecificId(addedInvoice.getId()));
+
+        assertEquals(Optional.empty(), inFileDatabase.getByNumber(addedInvoice.getNumber()));
+        assertEquals(Optional.of(updatedInvoice), inFileDatabase.getByNumber(updatedInvoice.getNumber()));
+
+        inFileDatabase.delete(updatedInvoice.getId());
+
+        assertEquals(Optional.empty(), inFileDatabase.getByNumber(updatedInvoice.getNumber()));
     }
 
     @Test
-    void getAllMethodShouldReturnEmptyListWhenDatabaseIsEmpty() throws IOException, DatabaseOperationException {
-        doReturn(Stream.empty()).when(fileHelper).readLines(DATABASE_FILE);
+    void shouldFindInvoiceByNumberAfterReopeningDatabase() throws DatabaseOperationException, IOException {
+        Invoice invoice = inFileDatabase.save(InvoiceGenerator.getRandomInvoice());
+        inFileDatabase.close();
 
-        Collection<Invoice> result = inFileDatabase.getAll();
+        InFileDatabase reopenedDatabase = new InFileDatabase(inFileDatabaseProperties, objectMapper, fileHelper);
 
-        assertEquals(Collections.emptyList(), result);
-        verify(fileHelper).readLines(DATABASE_FILE);
+        assertEquals(Optional.of(invoice), reopenedDatabase.getByNumber(invoice.getNumber()));
+        reopenedDatabase.close();
     }
 
     @Test
-    void getAllMethodShouldThrowExceptionWhenFileHelperThrowsException() throws IOException {
-        doThrow(IOException.class).when(fileHelper).readLines(DATABASE_FILE);
+    void saveMethodShouldThrowExceptionForNumberUsedByAnotherInvoice() throws DatabaseOperationException {
+        Invoice invoice = inFileDatabase.save(InvoiceGenerator.getRandomInvoice());
 
-        assertThrows(DatabaseOperationException.class, () -> inFileDatabase.getAll());
-        verify(fileHelper).readLines(DATABASE_FILE);
+        assertThrows(DuplicateInvoiceNumberException.class, () -> inFileDatabase.save(InvoiceGenerator.getRandomInvoiceWithSpecificNumber(invoice.getNumber())));
+        assertEquals(invoice, inFileDatabase.save(invoice));
+        assertEquals(1, inFileDatabase.count());
     }
 
     @Test
-    void shouldDeleteAllInvoices() throws IOException, DatabaseOperationException {
-        doNothing().when(fileHelper).clear(DATABASE_FILE);
+    void shouldNotUseUpIdWhenSavingInvoiceWithTakenNumber() throws DatabaseOperationException {
+        Invoice invoice = inFileDatabase.save(InvoiceGenerator.getRandomInvoiceWithNullId());
+        assertThrows(DuplicateInvoiceNumberException.class, () -> inFileDatabase.save(InvoiceGenerator.getRandomInvoiceWithSpecificNumber(invoice.getNumber())));
 
-        inFileDatabase.deleteAll();
+        Invoice nextInvoice = inFileDatabase.save(InvoiceGenerator.getRandomInvoiceWithNullId());
 
-        verify(fileHelper).clear(DATABASE_FILE);
+        assertEquals(Long.valueOf(invoice.getId() + 1), nextInvoice.getId());
     }
 
     @Test
-    void deleteAllMethodShouldThrowExceptionWhenFileHelperThrowsException() throws IOException {
-        doThrow(IOException.class).when(fileHelper).clear(DATABASE_FILE);
+    void shouldReturnAllInvoices() throws DatabaseOperationException {
+        Invoice invoice1 = inFileDatabase.save(InvoiceGenerator.getRandomInvoice());
+        Invoice invoice2 = inFileDatabase.save(InvoiceGenerator.getRandomInvoice());
+        List<Invoice> expected = Arrays.asList(invoice1, invoice2);
 
-        assertThrows(DatabaseOperationException.class, () -> inFileDatabase.deleteAll());
-        verify(fileHelper).clear(DATABASE_FILE);
+        Collection<Invoice> result = inFileDatabase.getAll();
+
+        assertEquals(expected, result);
     }
 
     @Test
-    void shouldReturnTrueWhenInvoiceExists() throws IOException, DatabaseOperationException {
-        Invoice invoice = InvoiceGenerator.getRandomInvoice();
-        doReturn(Stream.of(objectMapper.writeValueAsString(invoice))).when(fileHelper).readLines(DATABASE_FILE);
+    void shouldReturnPagesOfInvoicesOrderedById() throws DatabaseOperationException {
+        List<Invoice> invoices = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            invoices.add(inFileDatabase.save(InvoiceGenerator.getRandomInvoiceWithNullId()));
+        }
+        inFileDatabase.delete(invoices.get(2).getId());
+
+        assertEquals(Arrays.asList(invoices.get(0), invoices.get(1), invoices.get(3)), inFileDatabase.getPage(null, 3));
+        assertEquals(Arrays.asList(invoices.get(4)), inFileDatabase.getPage(invoices.get(3).getId(), 3));
+        assertEquals(Collections.emptyList(), inFileDatabase.getPage(invoices.get(4).getId(), 3));
+        assertThrows(IllegalArgumentException.class, () -> inFileDatabase.getPage(null, 0));
+    }
 
-        boolean result = inFileDatabase.exists(invoice.getId());
+    @Test
+    void shouldStreamAllInvoicesOrderedById() throws DatabaseOperationException {
+        List<Invoice> invoices = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            invoices.add(inFileDatabase.save(InvoiceGenerator.getRandomInvoiceWithNullId()));
+        }
+        inFileDatabase.delete(invoices.remove(2).getId());
 
-        assertTrue(result);
-        verify(fileHelper).readLines(DATABASE_FILE);
+        try (Stream<Invoice> stream = inFileDatabase.stream()) {
+            assertEquals(invoices, stream.collect(Collectors.toList()));
+        }
     }
 
     @Test
-    void shouldReturnFalseWhenInvoiceDoesNotExist() throws IOException, DatabaseOperationException {
-        Invoice invoice = InvoiceGenerator.getRandomInvoice();
-        doReturn(Stream.of(objectMapper.writeValueAsString(invoice))).when(fileHelper).readLines(DATABASE_FILE);
+    void streamMethodShouldThrowExceptionWhenFileHelperThrowsExceptionDuringReading() throws IOException, DatabaseOperationException {
+        inFileDatabase.save(InvoiceGenerator.getRandomInvoice());
+        doThrow(IOException.class).when(fileHelper).readBytes(anyString(), anyLong(), anyInt());
 
-        boolean result = inFileDatabase.exists(invoice.getId() + 1L);
+        try (Stream<Invoice> stream = inFileDatabase.stream()) {
+            assertThrows(UncheckedDatabaseOperationException.class, () -> stream.collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    void getPageMethodShouldThrowExceptionWhenFileHelperThrowsException() throws IOException, DatabaseOperationException {
+        inFileDatabase.save(InvoiceGenerator.getRandomInvoice());
+        doThrow(IOException.class).when(fileHelper).readBytes(anyString(), anyLong(), anyInt());
 
-        assertFalse(result);
-        verify(fileHelper).readLines(DATABASE_FILE);
+        assertThrows(DatabaseOperationException.class, () -> inFileDatabase.getPage(null, 10));
     }
 
     @Test
-    void existsMethodShouldThrowExceptionForNullId() {
-        assertThrows(IllegalArgumentException.class, () -> inFileDatabase.exists(null));
+    void getAllMethodShouldReturnEmptyListWhenDatabaseIsEmpty() throws DatabaseOperationException {
+        Collection<Invoice> result = inFileDatabase.getAll();
+
+        assertEquals(Collections.emptyList(), result);
     }
 
     @Test
-    void existsMethodShouldThrowExceptionWhenFileHelperThrowsException() throws IOException {
-        Invoice invoice = InvoiceGenerator.getRandomInvoice();
-        doThrow(IOException.class).when(fileHelper).readLines(DATABASE_FILE);
+    void getAllMethodShouldThrowExceptionWhenFileHelperThrowsException() throws IOException, DatabaseOperationException {
+        inFileDatabase.save(InvoiceGenerator.getRandomInvoice());
+        doThrow(IOException.class).when(fileHelper).openInputStream(anyString());
 
-        assertThrows(DatabaseOperationException.class, () -> inFileDatabase.exists(invoice.getId()));
-        verify(fileHelper).readLines(DATABASE_FILE);
+        assertThrows(DatabaseOperationException.class, () -> inFileDatabase.getAll());
     }
 
     @Test
-    void shouldReturnNumberOfInvoices() throws IOException, DatabaseOperationException {
-        doReturn(Stream.of(objectMapper.writeValueAsString(InvoiceGenerator.getRandomInvoice()), objectMapper.writeValueAsString(InvoiceGenerator.getRandomInvoice()))).when(fileHelper).readLines(DATABASE_FILE);
+    void shouldDeleteAllInvoices() throws IOException, DatabaseOperationException {
+        inFileDatabase.save(InvoiceGenerator.getRandomInvoice());
+        inFileDatabase.save(InvoiceGenerator.getRandomInvoice());
 
-        long result = inFileDatabase.count();
+        inFileDatabase.deleteAll();
 
-        assertEquals(2, result);
-        verify(fileHelper).readLines(DATABASE_FILE);
+        assertEquals(0, inFileDatabase.count());
+        assertEquals(Collections.emptyList(), inFileDatabase.getAll());
+        verify(fileHelper).delete(segmentFile);
     }
 
     @Test
-    void countMethodShouldThrowExceptionWhenFileHelperThrowsException() throws IOException {
-        doThrow(IOException.class).when(fileHelper).readLines(DATABASE_FILE);
+    void deleteAllMethodShouldThrowExceptionWhenFileHelperThrowsException() throws IOException {
+        doThrow(IOException.class).when(fileHelper).delete(anyString());
 
-        assertThrows(DatabaseOperationException.class, () -> inFileDatabase.count());
-        verify(fileHelper).readLines(DATABASE_FILE);
+        assertThrows(DatabaseOperationException.class, () -> inFileDatabase.deleteAll());
     }
 
     @Test
-    void shouldReturnInvoicesByIssuedDate() throws IOException, DatabaseOperationException {
-        LocalDate startDate = LocalDate.of(2019, 8, 26);
-        Invoice invoice1 = InvoiceGenerator.getRandomInvoiceWithSpecificIssuedDate(startDate);
-        Invoice invoice2 = InvoiceGenerator.getRandomInvoiceWithSpecificIssuedDate(startDate.plusDays(1L));
-        Invoice invoice3 = InvoiceGenerator.getRandomInvoiceWithSpecificIssuedDate(startDate.plusDays(2L));
-        Invoice invoice4 = InvoiceGenerator.getRandomInvoiceWithSpecificIssuedDate(startDate.plusDays(3L));
-        Invoice invoice5 = InvoiceGenerator.getRandomInvoiceWithSpecificIssuedDate(startDate.minusDays(1L));
+    void shouldReturnTrueWhenInvoiceExists() throws DatabaseOperationException {
+        Invoice invoice = inFileDatabase.save(InvoiceGenerator.getRandomInvoice());
+
+        assertTrue(inFileDatabase.exists(invoice.getId()));
+    }
+
+    @Test
+    void shouldReturnFalseWhenInvoiceDoesNotExist() throws DatabaseOperationException {
+        Invoice invoice = inFileDatabase.save(InvoiceGenerator.getRandomInvoice());
+
+        assertFalse(inFileDatabase.exists(invoice.getId() + 1L));
+    }
+
+    @Test
+    void existsMethodShouldThrowExceptionForNullId() {
+        assertThrows(IllegalArgumentException.class, () -> inFileDatabase.exists(null));
+    }
+
+    @Test
+    void shouldReturnNumberOfInvoices() throws DatabaseOperationException {
+        inFileDatabase.save(InvoiceGenerator.getRandomInvoice());
+        inFileDatabase.save(InvoiceGenerator.getRandomInvoice());
 
+        assertEquals(2, inFileDatabase.count());
+    }
 
+    @Test
+    void shouldReturnInvoicesByIssuedDate() throws DatabaseOperationException {
+        LocalDate startDate = LocalDate.of(2019, 8, 26);
+        Invoice invoice1 = inFileDatabase.save(InvoiceGenerator.getRandomInvoiceWithSpecificIssuedDate(startDate));
+        Invoice invoice2 = inFileDatabase.save(InvoiceGenerator.getRandomInvoiceWithSpecificIssuedDate(startDate.plusDays(1L)));
+        Invoice invoice3 = inFileDatabase.save(InvoiceGenerator.getRandomInvoiceWithSpecificIssuedDate(startDate.plusDays(2L)));
+        inFileDatabase.save(InvoiceGenerator.getRandomInvoiceWithSpecificIssuedDate(startDate.plusDays(3L)));
+        inFileDatabase.save(InvoiceGenerator.getRandomInvoiceWithSpecificIssuedDate(startDate.minusDays(1L)));
         List<Invoice> expected = Arrays.asList(invoice1, invoice2, invoice3);
-        doReturn(Stream.of(objectMapper.writeValueAsString(invoice1), objectMapper.writeValueAsString(invoice2), objectMapper.writeValueAsString(invoice3), objectMapper.writeValueAsString(invoice4), objectMapper.writeValueAsString(invoice5))).when(fileHelper).readLines(DATABASE_FILE);
 
         Collection<Invoice> result = inFileDatabase.getByIssueDate(startDate, startDate.plusDays(2L));
 
         assertEquals(expected, result);
-        verify(fileHelper).readLines(DATABASE_FILE);
     }
 
     @ParameterizedTest
@@ -402,13 +569,47 @@ class InFileDatabaseTest {
     }
 
     @Test
-    void getByIssueDateMethodShouldThrowExceptionWhenFileHelperThrowsIoException() throws IOException {
+    void getByIssueDateMethodShouldThrowExceptionWhenFileHelperThrowsIoException() throws IOException, DatabaseOperationException {
         LocalDate startDate = LocalDate.now();
-        doThrow(IOException.class).when(fileHelper).readLines(DATABASE_FILE);
+        inFileDatabase.save(InvoiceGenerator.getRandomInvoiceWithSpecificIssuedDate(startDate));
+        doThrow(IOException.class).when(fileHelper).readBytes(anyString(), anyLong(), anyInt());
 
         DatabaseOperationException exception = assertThrows(DatabaseOperationException.class, () -> inFileDatabase.getByIssueDate(startDate, startDate.plusDays(2L)));
         assertEquals("An error occurred during getting invoices filtered by issued date", exception.getMessage());
+    }
+
+    @Test
+    void shouldReturnInvoicesByIssuedDateAfterUpdateDeleteAndReopening() throws DatabaseOperationException, IOException {
+        LocalDate date = LocalDate.of(2019, 8, 24);
+        Invoice movedInvoice = inFileDatabase.save(InvoiceGenerator.getRandomInvoiceWithSpecificIssuedDate(date));
+        Invoice deletedInvoice = inFileDatabase.save(InvoiceGenerator.getRandomInvoiceWithSpecificIssuedDate(date));
+        final Invoice keptInvoice = inFileDatabase.save(InvoiceGenerator.getRandomInvoiceWithSpecificIssuedDate(date.plusDays(1)));
+        final Invoice updatedInvoice = inFileDatabase.save(InvoiceGenerator.getRandomInvoiceWithFixedIdsAndIssuedDate(movedInvoice.getId(), date.plusDays(5)));
+        inFileDatabase.delete(deletedInvoice.getId());
+        inFileDatabase.close();
+        clearInvocations(fileHelper);
+
+        inFileDatabase = new InFileDatabase(inFileDatabaseProperties, objectMapper, fileHelper);
+
+        assertEquals(Collections.singletonList(keptInvoice), inFileDatabase.getByIssueDate(date, date.plusDays(2)));
+        assertEquals(Arrays.asList(keptInvoice, updatedInvoice), inFileDatabase.getByIssueDate(date, date.plusDays(5)));
+    }
+
+    private void reopenDatabaseWithSegmentSize(long segmentSize) throws IOException {
+        inFileDatabase.close();
+        inFileDatabaseProperties.setSegmentSize(segmentSize);
+        inFileDatabase = new InFileDatabase(inFileDatabaseProperties, objectMapper, fileHelper);
+    }
+
+    private List<RecordFrame> readFrames() throws IOException {
+        List<RecordFrame> frames = new ArrayList<>();
+        SegmentFormat.scan(segmentFile, frames::add);
+        return frames;
+    }
 
-        verify(fileHelper).readLines(DATABASE_FILE);
+    private List<String> readSegmentFile() throws IOException {
+        return readFrames().stream()
+            .map(frame -> new String(frame.getPayload(), UTF_8))
+            .collect(Collectors.toList());
     }
 }
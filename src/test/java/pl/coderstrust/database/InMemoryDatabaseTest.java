@@ -2,74 +2,100 @@ package pl.coderstrust.database;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.google.common.collect.ImmutableMap;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.MethodSource;
-import pl.coderstrust.database.nosql.model.Invoice;
-import pl.coderstrust.database.nosql.model.NoSqlModelMapper;
-import pl.coderstrust.database.nosql.model.NoSqlModelMapperImpl;
+import pl.coderstrust.configuration.InMemoryDatabaseProperties;
+import pl.coderstrust.database.inmemory.StorageType;
 import pl.coderstrust.generators.InvoiceGenerator;
+import pl.coderstrust.model.Invoice;
 
 class InMemoryDatabaseTest {
 
     private Map<Long, Invoice> storage;
     private InMemoryDatabase database;
-    private NoSqlModelMapper noSqlModelMapper = new NoSqlModelMapperImpl();
+
+    @TempDir
+    Path temporaryFolder;
 
     @BeforeEach
     void setup() {
         storage = new HashMap<>();
-        database = new InMemoryDatabase(storage, noSqlModelMapper);
+        database = new InMemoryDatabase(storage);
+    }
+
+    @Test
+    void shouldSumInvoicesFromDateInterval() throws DatabaseOperationException {
+        Invoice invoiceInInterval = database.save(InvoiceGenerator.getRandomInvoiceWithSpecificIssuedDate(LocalDate.of(2019, 8, 1)));
+        database.save(InvoiceGenerator.getRandomInvoiceWithSpecificIssuedDate(LocalDate.of(2019, 9, 1)));
+
+        assertEquals(InvoiceTotals.aggregate(List.of(invoiceInInterval)), database.getTotals(LocalDate.of(2019, 8, 1), LocalDate.of(2019, 8, 31)));
     }
 
     @Test
     void constructorClassShouldThrowExceptionForNullStorage() {
-        assertThrows(IllegalArgumentException.class, () -> new InMemoryDatabase(null, noSqlModelMapper));
+        assertThrows(IllegalArgumentException.class, () -> new InMemoryDatabase((Map<Long, Invoice>) null));
+    }
+
+    @Test
+    void constructorClassShouldThrowExceptionForNullProperties() {
+        assertThrows(IllegalArgumentException.class, () -> new InMemoryDatabase((InMemoryDatabaseProperties) null));
     }
 
     @Test
-    void shouldAddInvoice() {
-        pl.coderstrust.model.Invoice invoiceToAdd = InvoiceGenerator.getRandomInvoice();
-        pl.coderstrust.model.Invoice addedInvoice = database.save(invoiceToAdd);
+    void shouldAddInvoice() throws DatabaseOperationException {
+        Invoice invoiceToAdd = InvoiceGenerator.getRandomInvoice();
+        Invoice addedInvoice = database.save(invoiceToAdd);
 
         assertEquals(1L, (long) addedInvoice.getId());
-        assertEquals(noSqlModelMapper.toInvoice(storage.get(1L)), addedInvoice);
+        assertEquals(storage.get(1L), addedInvoice);
     }
 
     @Test
-    void shouldAddInvoiceWithNullId() {
-        pl.coderstrust.model.Invoice invoiceToAdd = InvoiceGenerator.getRandomInvoiceWithNullId();
-        pl.coderstrust.model.Invoice addedInvoice = database.save(invoiceToAdd);
+    void shouldAddInvoiceWithNullId() throws DatabaseOperationException {
+        Invoice invoiceToAdd = InvoiceGenerator.getRandomInvoiceWithNullId();
+        Invoice addedInvoice = database.save(invoiceToAdd);
 
         assertEquals(1L, (long) addedInvoice.getId());
-        assertEquals(noSqlModelMapper.toInvoice(storage.get(1L)), addedInvoice);
+        assertEquals(storage.get(1L), addedInvoice);
     }
 
     @Test
-    void shouldUpdate() {
-        pl.coderstrust.model.Invoice invoiceInDatabase = InvoiceGenerator.getRandomInvoice();
-        pl.coderstrust.model.Invoice invoiceToUpdate = InvoiceGenerator.getRandomInvoiceWithSpecificId(invoiceInDatabase.getId());
-        storage.put(invoiceInDatabase.getId(), noSqlModelMapper.toNoSqlInvoice(invoiceInDatabase));
+    void shouldUpdate() throws DatabaseOperationException {
+        Invoice invoiceInDatabase = InvoiceGenerator.getRandomInvoice();
+        Invoice invoiceToUpdate = InvoiceGenerator.getRandomInvoiceWithSpecificId(invoiceInDatabase.getId());
+        storage.put(invoiceInDatabase.getId(), invoiceInDatabase);
 
-        pl.coderstrust.model.Invoice updatedInvoice = database.save(invoiceToUpdate);
+        Invoice updatedInvoice = database.save(invoiceToUpdate);
 
-        assertEquals(noSqlModelMapper.toInvoice(storage.get(invoiceInDatabase.getId())), updatedInvoice);
+        assertEquals(storage.get(invoiceInDatabase.getId()), updatedInvoice);
     }
 
     @Test
@@ -79,8 +105,8 @@ class InMemoryDatabaseTest {
 
     @Test
     void shouldDeleteInvoice() throws DatabaseOperationException {
-        Invoice invoice1 = noSqlModelMapper.toNoSqlInvoice(InvoiceGenerator.getRandomInvoice());
-        Invoice invoice2 = noSqlModelMapper.toNoSqlInvoice(InvoiceGenerator.getRandomInvoice());
+        Invoice invoice1 = InvoiceGenerator.getRandomInvoice();
+        Invoice invoice2 = InvoiceGenerator.getRandomInvoice();
         storage.put(invoice1.getId(), invoice1);
         storage.put(invoice2.getId(), invoice2);
         Map<Long, Invoice> expected = ImmutableMap.of(invoice2.getId(), invoice2);
@@ -102,24 +128,24 @@ class InMemoryDatabaseTest {
 
     @Test
     void shouldReturnInvoiceById() {
-        Invoice invoice1 = noSqlModelMapper.toNoSqlInvoice(InvoiceGenerator.getRandomInvoice());
-        Invoice invoice2 = noSqlModelMapper.toNoSqlInvoice(InvoiceGenerator.getRandomInvoice());
+        Invoice invoice1 = InvoiceGenerator.getRandomInvoice();
+        Invoice invoice2 = InvoiceGenerator.getRandomInvoice();
         storage.put(invoice1.getId(), invoice1);
         storage.put(invoice2.getId(), invoice2);
 
-        Optional<pl.coderstrust.model.Invoice> optionalInvoice = database.getById(invoice1.getId());
+        Optional<Invoice> optionalInvoice = database.getById(invoice1.getId());
 
         assertTrue(optionalInvoice.isPresent());
-        assertEquals(noSqlModelMapper.toInvoice(storage.get(invoice1.getId())), optionalInvoice.get());
+        assertEquals(storage.get(invoice1.getId()), optionalInvoice.get());
     }
 
     @Test
     void shouldReturnEmptyOptionalWhileGetNonExistingInvoiceById() {
-        Invoice invoice1 = noSqlModelMapper.toNoSqlInvoice(InvoiceGenerator.getRandomInvoice());
-        Invoice invoice2 = noSqlModelMapper.toNoSqlInvoice(InvoiceGenerator.getRandomInvoice());
+        Invoice invoice1 = InvoiceGenerator.getRandomInvoice();
+        Invoice invoice2 = InvoiceGenerator.getRandomInvoice();
         storage.put(invoice1.getId(), invoice1);
 
-        Optional<pl.coderstrust.model.Invoice> optionalInvoice = database.getById(invoice2.getId());
+        Optional<Invoice> optionalInvoice = database.getById(invoice2.getId());
 
         assertTrue(optionalInvoice.isEmpty());
     }
@@ -131,28 +157,63 @@ class InMemoryDatabaseTest {
 
     @Test
     void shouldReturnInvoiceByNumber() {
-        Invoice invoice1 = noSqlModelMapper.toNoSqlInvoice(InvoiceGenerator.getRandomInvoice());
-        Invoice invoice2 = noSqlModelMapper.toNoSqlInvoice(InvoiceGenerator.getRandomInvoice());
+        Invoice invoice1 = InvoiceGenerator.getRandomInvoice();
+        Invoice invoice2 = InvoiceGenerator.getRandomInvoice();
         storage.put(invoice1.getId(), invoice1);
         storage.put(invoice2.getId(), invoice2);
+        database = new InMemoryDatabase(storage);
 
-        Optional<pl.coderstrust.model.Invoice> optionalInvoice = database.getByNumber(invoice1.getNumber());
+        Optional<Invoice> optionalInvoice = database.getByNumber(invoice1.getNumber());
 
         assertTrue(optionalInvoice.isPresent());
-        assertEquals(noSqlModelMapper.toInvoice(storage.get(invoice1.getId())), optionalInvoice.get());
+        assertEquals(storage.get(invoice1.getId()), optionalInvoice.get());
     }
 
     @Test
     void shouldReturnEmptyOptionalWhileGetNonExistingInvoiceByNumber() {
-        Invoice invoice1 = noSqlModelMapper.toNoSqlInvoice(InvoiceGenerator.getRandomInvoice());
-        Invoice invoice2 = noSqlModelMapper.toNoSqlInvoice(InvoiceGenerator.getRandomInvoice());
+        Invoice invoice1 = InvoiceGenerator.getRandomInvoice();
+        Invoice invoice2 = InvoiceGenerator.getRandomInvoice();
         storage.put(invoice1.getId(), invoice1);
+        database = new InMemoryDatabase(storage);
 
-        Optional<pl.coderstrust.model.Invoice> optionalInvoice = database.getByNumber(invoice2.getNumber());
+        Optional<Invoice> optionalInvoice = database.getByNumber(invoice2.getNumber());
 
         assertTrue(optionalInvoice.isEmpty());
     }
 
+    @Test
+    void shouldFindInvoiceByNumberAfterUpdateAndForgetItAfterDelete() throws DatabaseOperationException {
+        Invoice addedInvoice = database.save(InvoiceGenerator.getRandomInvoice());
+        Invoice updatedInvoice = database.save(InvoiceGenerator.getRandomInvoiceWithSpecificId(addedInvoice.getId()));
+
+        assertTrue(database.getByNumber(addedInvoice.getNumber()).isEmpty());
+        assertEquals(Optional.of(updatedInvoice), database.getByNumber(updatedInvoice.getNumber()));
+
+        database.delete(updatedInvoice.getId());
+
+        assertTrue(database.getByNumber(updatedInvoice.getNumber()).isEmpty());
+    }
+
+    @Test
+    void saveMethodShouldThrowExceptionForNumberUsedByAnotherInvoice() throws DatabaseOperationException {
+        Invoice invoice1 = database.save(InvoiceGenerator.getRandomInvoice());
+        Invoice invoice2 = database.save(InvoiceGenerator.getRandomInvoice());
+        Invoice invoiceWithTakenNumber = Invoice.builder()
+            .withId(invoice2.getId())
+            .withNumber(invoice1.getNumber())
+            .withIssuedDate(invoice2.getIssuedDate())
+            .withDueDate(invoice2.getDueDate())
+            .withSeller(invoice2.getSeller())
+            .withBuyer(invoice2.getBuyer())
+            .withEntries(invoice2.getEntries())
+            .build();
+
+        assertThrows(DuplicateInvoiceNumberException.class, () -> database.save(InvoiceGenerator.getRandomInvoiceWithSpecificNumber(invoice1.getNumber())));
+        assertThrows(DuplicateInvoiceNumberException.class, () -> database.save(invoiceWithTakenNumber));
+        assertEquals(invoice1, database.save(invoice1));
+        assertEquals(2, database.count());
+    }
+
     @Test
     void getByNumberMethodShouldThrowExceptionForNullNumber() {
         assertThrows(IllegalArgumentException.class, () -> database.getByNumber(null));
@@ -160,20 +221,20 @@ class InMemoryDatabaseTest {
 
     @Test
     void shouldReturnAllInvoices() {
-        Invoice invoice1 = noSqlModelMapper.toNoSqlInvoice(InvoiceGenerator.getRandomInvoice());
-        Invoice invoice2 = noSqlModelMapper.toNoSqlInvoice(InvoiceGenerator.getRandomInvoice());
+        Invoice invoice1 = InvoiceGenerator.getRandomInvoice();
+        Invoice invoice2 = InvoiceGenerator.getRandomInvoice();
         storage.put(invoice1.getId(), invoice1);
         storage.put(invoice2.getId(), invoice2);
 
-        Collection<pl.coderstrust.model.Invoice> invoices = database.getAll();
+        Collection<Invoice> invoices = database.getAll();
 
-        assertEquals(noSqlModelMapper.mapToInvoices(new ArrayList<>(storage.values())), invoices);
+        assertEquals(new ArrayList<>(storage.values()), invoices);
     }
 
     @Test
-    void shouldDeleteAllInvoices() {
-        Invoice invoice1 = noSqlModelMapper.toNoSqlInvoice(InvoiceGenerator.getRandomInvoice());
-        Invoice invoice2 = noSqlModelMapper.toNoSqlInvoice(InvoiceGenerator.getRandomInvoice());
+    void shouldDeleteAllInvoices() throws DatabaseOperationException {
+        Invoice invoice1 = InvoiceGenerator.getRandomInvoice();
+        Invoice invoice2 = InvoiceGenerator.getRandomInvoice();
         storage.put(invoice1.getId(), invoice1);
         storage.put(invoice2.getId(), invoice2);
 
@@ -184,7 +245,7 @@ class InMemoryDatabaseTest {
 
     @Test
     void shouldReturnTrueForExistingInvoice() {
-        Invoice invoice = noSqlModelMapper.toNoSqlInvoice(InvoiceGenerator.getRandomInvoice());
+        Invoice invoice = InvoiceGenerator.getRandomInvoice();
         storage.put(invoice.getId(), invoice);
 
         assertTrue(database.exists(invoice.getId()));
@@ -192,7 +253,7 @@ class InMemoryDatabaseTest {
 
     @Test
     void shouldReturnFalseForNonExistingInvoice() {
-        Invoice invoice = noSqlModelMapper.toNoSqlInvoice(InvoiceGenerator.getRandomInvoice());
+        Invoice invoice = InvoiceGenerator.getRandomInvoice();
         storage.put(invoice.getId(), invoice);
 
         assertFalse(database.exists(invoice.getId() + 1L));
@@ -205,10 +266,10 @@ class InMemoryDatabaseTest {
 
     @Test
     void shouldReturnNumberOfInvoices() {
-        Invoice invoice1 = noSqlModelMapper.toNoSqlInvoice(InvoiceGenerator.getRandomInvoice());
-        Invoice invoice2 = noSqlModelMapper.toNoSqlInvoice(InvoiceGenerator.getRandomInvoice());
-        Invoice invoice3 = noSqlModelMapper.toNoSqlInvoice(InvoiceGenerator.getRandomInvoice());
-        Invoice invoice4 = noSqlModelMapper.toNoSqlInvoice(InvoiceGenerator.getRandomInvoice());
+        Invoice invoice1 = InvoiceGenerator.getRandomInvoice();
+        Invoice invoice2 = InvoiceGenerator.getRandomInvoice();
+        Invoice invoice3 = InvoiceGenerator.getRandomInvoice();
+        Invoice invoice4 = InvoiceGenerator.getRandomInvoice();
         storage.put(invoice1.getId(), invoice1);
         storage.put(invoice2.getId(), invoice2);
         storage.put(invoice3.getId(), invoice3);
@@ -221,26 +282,234 @@ class InMemoryDatabaseTest {
 
     @Test
     void shouldReturnInvoicesFilteredByIssueDate() throws DatabaseOperationException {
-        Invoice invoice1 = noSqlModelMapper.toNoSqlInvoice(InvoiceGenerator.getRandomInvoiceWithSpecificIssuedDate(LocalDate.of(2019, 8, 24)));
-        Invoice invoice2 = noSqlModelMapper.toNoSqlInvoice(InvoiceGenerator.getRandomInvoiceWithSpecificIssuedDate(LocalDate.of(2019, 8, 25)));
-        Invoice invoice3 = noSqlModelMapper.toNoSqlInvoice(InvoiceGenerator.getRandomInvoiceWithSpecificIssuedDate(LocalDate.of(2019, 8, 26)));
-        Invoice invoice4 = noSqlModelMapper.toNoSqlInvoice(InvoiceGenerator.getRandomInvoiceWithSpecificIssuedDate(LocalDate.of(2019, 8, 27)));
+        Invoice invoice1 = InvoiceGenerator.getRandomInvoiceWithSpecificIssuedDate(LocalDate.of(2019, 8, 24));
+        Invoice invoice2 = InvoiceGenerator.getRandomInvoiceWithSpecificIssuedDate(LocalDate.of(2019, 8, 25));
+        Invoice invoice3 = InvoiceGenerator.getRandomInvoiceWithSpecificIssuedDate(LocalDate.of(2019, 8, 26));
+        Invoice invoice4 = InvoiceGenerator.getRandomInvoiceWithSpecificIssuedDate(LocalDate.of(2019, 8, 27));
 
         storage.put(invoice1.getId(), invoice1);
         storage.put(invoice2.getId(), invoice2);
         storage.put(invoice3.getId(), invoice3);
         storage.put(invoice4.getId(), invoice4);
+        database = new InMemoryDatabase(storage);
 
         LocalDate startDate = LocalDate.of(2019, 8, 24);
         LocalDate endDate = LocalDate.of(2019, 8, 26);
 
-        List<pl.coderstrust.model.Invoice> expected = noSqlModelMapper.mapToInvoices(Arrays.asList(invoice1, invoice2, invoice3));
-        Collection<pl.coderstrust.model.Invoice> result = database.getByIssueDate(startDate, endDate);
+        List<Invoice> expected = Arrays.asList(invoice1, invoice2, invoice3);
+        Collection<Invoice> result = database.getByIssueDate(startDate, endDate);
 
         assertEquals(result.size(), expected.size());
         assertTrue(result.containsAll(expected));
     }
 
+    @ParameterizedTest
+    @EnumSource(StorageType.class)
+    void shouldSaveInvoicesConcurrentlyWithUniqueIdsAndNumbers(StorageType storageType) throws Exception {
+        InMemoryDatabaseProperties properties = new InMemoryDatabaseProperties();
+        properties.setStorageType(storageType);
+        properties.setOffHeapChunkSize(4096);
+        database = new InMemoryDatabase(properties);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Callable<Long>> tasks = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            tasks.add(() -> database.save(InvoiceGenerator.getRandomInvoiceWithSpecificIdCompaniesAndEntriesWithIdsEqualZero(null)).getId());
+        }
+
+        List<Long> ids = new ArrayList<>();
+        try {
+            for (Future<Long> future : executor.invokeAll(tasks)) {
+                ids.add(future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(400, database.count());
+        assertEquals(400, ids.stream().distinct().count());
+        assertEquals(400, database.getAll().stream().map(Invoice::getNumber).collect(Collectors.toSet()).size());
+    }
+
+    @Test
+    void shouldKeepIndexesConsistentWhenDeletingAllDuringConcurrentSaves() throws Exception {
+        database = new InMemoryDatabase(new InMemoryDatabaseProperties());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Callable<Object>> tasks = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            if (i % 50 == 0) {
+                tasks.add(() -> {
+                    database.deleteAll();
+                    return null;
+                });
+            }
+            tasks.add(() -> database.save(InvoiceGenerator.getRandomInvoiceWithSpecificIdCompaniesAndEntriesWithIdsEqualZero(null)));
+        }
+
+        try {
+            for (Future<Object> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Collection<Invoice> invoices = database.getAll();
+        assertEquals(invoices.size(), database.getPage(null, 1000).size());
+        for (Invoice invoice : invoices) {
+            assertEquals(Optional.of(invoice), database.getByNumber(invoice.getNumber()));
+        }
+    }
+
+    @Test
+    void shouldUpdateDeleteAndQueryInvoicesStoredOffHeap() throws DatabaseOperationException, IOException {
+        InMemoryDatabaseProperties properties = new InMemoryDatabaseProperties();
+        properties.setStorageType(StorageType.OFF_HEAP);
+        database = new InMemoryDatabase(properties);
+        LocalDate date = LocalDate.of(2019, 8, 24);
+        Invoice invoice = database.save(InvoiceGenerator.getRandomInvoiceWithSpecificIssuedDate(date));
+        Invoice deletedInvoice = database.save(InvoiceGenerator.getRandomInvoiceWithSpecificIssuedDate(date));
+        Invoice updatedInvoice = database.save(InvoiceGenerator.getRandomInvoiceWithFixedIdsAndIssuedDate(invoice.getId(), date));
+        database.delete(deletedInvoice.getId());
+
+        assertEquals(Optional.of(updatedInvoice), database.getById(invoice.getId()));
+        assertEquals(Optional.of(updatedInvoice), database.getByNumber(updatedInvoice.getNumber()));
+        assertEquals(Arrays.asList(updatedInvoice), new ArrayList<>(database.getByIssueDate(date, date)));
+        assertEquals(1, database.count());
+    }
+
+    @ParameterizedTest
+    @EnumSource(StorageType.class)
+    void shouldRestoreInvoicesSavedBeforeClose(StorageType storageType) throws DatabaseOperationException, IOException {
+        InMemoryDatabaseProperties properties = new InMemoryDatabaseProperties();
+        properties.setStorageType(storageType);
+        properties.setPersistencePath(temporaryFolder.toString());
+        InMemoryDatabase persistentDatabase = new InMemoryDatabase(properties);
+        LocalDate date = LocalDate.of(2019, 8, 24);
+        Invoice invoice = persistentDatabase.save(InvoiceGenerator.getRandomInvoiceWithSpecificIssuedDate(date));
+        Invoice deletedInvoice = persistentDatabase.save(InvoiceGenerator.getRandomInvoiceWithSpecificIssuedDate(date));
+        final Invoice updatedInvoice = persistentDatabase.save(InvoiceGenerator.getRandomInvoiceWithFixedIdsAndIssuedDate(invoice.getId(), date));
+        persistentDatabase.delete(deletedInvoice.getId());
+        persistentDatabase.close();
+
+        InMemoryDatabase restoredDatabase = new InMemoryDatabase(properties);
+        final Invoice newInvoice = restoredDatabase.save(InvoiceGenerator.getRandomInvoiceWithNullId());
+        restoredDatabase.close();
+
+        assertEquals(Optional.of(updatedInvoice), restoredDatabase.getById(invoice.getId()));
+        assertEquals(Optional.of(updatedInvoice), restoredDatabase.getByNumber(updatedInvoice.getNumber()));
+        assertEquals(Arrays.asList(updatedInvoice), new ArrayList<>(restoredDatabase.getByIssueDate(date, date)));
+        assertEquals(deletedInvoice.getId() + 1, newInvoice.getId());
+        assertEquals(2, restoredDatabase.count());
+    }
+
+    @Test
+    void shouldReturnPagesOfInvoicesOrderedById() throws DatabaseOperationException {
+        List<Invoice> invoices = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            invoices.add(database.save(InvoiceGenerator.getRandomInvoiceWithNullId()));
+        }
+        database.delete(invoices.get(2).getId());
+
+        assertEquals(Arrays.asList(invoices.get(0), invoices.get(1), invoices.get(3)), database.getPage(null, 3));
+        assertEquals(Arrays.asList(invoices.get(4)), database.getPage(invoices.get(3).getId(), 3));
+        assertEquals(new ArrayList<>(), database.getPage(invoices.get(4).getId(), 3));
+        database.deleteAll();
+        assertEquals(new ArrayList<>(), database.getPage(null, 3));
+        assertThrows(IllegalArgumentException.class, () -> database.getPage(null, 0));
+    }
+
+    @Test
+    void shouldStreamAllInvoicesOrderedByIdAcrossPages() throws DatabaseOperationException {
+        List<Invoice> invoices = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            invoices.add(database.save(InvoiceGenerator.getRandomInvoiceWithNullId()));
+        }
+        final Invoice deletedInvoice = invoices.remove(100);
+        database.delete(deletedInvoice.getId());
+
+        try (Stream<Invoice> stream = database.stream()) {
+            assertEquals(invoices, stream.collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    void shouldSaveAllInvoices() throws DatabaseOperationException {
+        List<Invoice> invoices = Arrays.asList(InvoiceGenerator.getRandomInvoiceWithNullId(), InvoiceGenerator.getRandomInvoiceWithNullId());
+
+        Collection<Invoice> savedInvoices = database.saveAll(invoices);
+
+        assertEquals(2, database.count());
+        assertEquals(new HashSet<>(savedInvoices), new HashSet<>(database.getAll()));
+        assertThrows(IllegalArgumentException.class, () -> database.saveAll(null));
+    }
+
+    @Test
+    void shouldShareCompanyInstancesBetweenStoredInvoices() throws DatabaseOperationException {
+        Invoice invoice = database.save(InvoiceGenerator.getRandomInvoiceWithNullId());
+        Invoice otherInvoice = database.save(Invoice.builder()
+            .withNumber(invoice.getNumber() + "/2")
+            .withIssuedDate(invoice.getIssuedDate())
+            .withDueDate(invoice.getDueDate())
+            .withSeller(invoice.getSeller())
+            .withBuyer(invoice.getBuyer())
+            .withEntries(invoice.getEntries())
+            .build());
+
+        assertSame(storage.get(invoice.getId()).getSeller(), storage.get(otherInvoice.getId()).getSeller());
+        assertSame(storage.get(invoice.getId()).getBuyer(), storage.get(otherInvoice.getId()).getBuyer());
+    }
+
+    @Test
+    void shouldReleaseInternedCompaniesNoLongerUsedByStoredInvoices() throws DatabaseOperationException {
+        Invoice invoice = database.save(InvoiceGenerator.getRandomInvoiceWithNullId());
+        Invoice otherInvoice = database.save(Invoice.builder()
+            .withNumber(invoice.getNumber() + "/2")
+            .withIssuedDate(invoice.getIssuedDate())
+            .withDueDate(invoice.getDueDate())
+            .withSeller(invoice.getSeller())
+            .withBuyer(invoice.getSeller())
+            .withEntries(invoice.getEntries())
+            .build());
+        assertEquals(2, database.getInternedCompanyCount());
+
+        database.delete(invoice.getId());
+        assertEquals(1, database.getInternedCompanyCount());
+
+        for (int i = 0; i < 10; i++) {
+            Invoice updatedInvoice = InvoiceGenerator.getRandomInvoiceWithSpecificId(otherInvoice.getId());
+            database.save(updatedInvoice);
+        }
+        assertEquals(2, database.getInternedCompanyCount());
+
+        database.delete(otherInvoice.getId());
+        assertEquals(0, database.getInternedCompanyCount());
+    }
+
+    @Test
+    void shouldContinueIdsAfterInvoicesAlreadyInStorage() throws DatabaseOperationException {
+        Invoice invoice = InvoiceGenerator.getRandomInvoiceWithSpecificId(5L);
+        storage.put(invoice.getId(), invoice);
+        database = new InMemoryDatabase(storage);
+
+        Invoice addedInvoice = database.save(InvoiceGenerator.getRandomInvoiceWithNullId());
+
+        assertEquals(6L, addedInvoice.getId());
+        assertEquals(2, storage.size());
+    }
+
+    @Test
+    void shouldReturnInvoicesByIssuedDateAfterUpdateAndDelete() throws DatabaseOperationException {
+        LocalDate date = LocalDate.of(2019, 8, 24);
+        Invoice movedInvoice = database.save(InvoiceGenerator.getRandomInvoiceWithSpecificIssuedDate(date));
+        Invoice deletedInvoice = database.save(InvoiceGenerator.getRandomInvoiceWithSpecificIssuedDate(date));
+        Invoice keptInvoice = database.save(InvoiceGenerator.getRandomInvoiceWithSpecificIssuedDate(date.plusDays(1)));
+        Invoice updatedInvoice = database.save(InvoiceGenerator.getRandomInvoiceWithFixedIdsAndIssuedDate(movedInvoice.getId(), date.plusDays(5)));
+        database.delete(deletedInvoice.getId());
+
+        assertEquals(Arrays.asList(keptInvoice), new ArrayList<>(database.getByIssueDate(date, date.plusDays(2))));
+        assertEquals(Arrays.asList(keptInvoice, updatedInvoice), new ArrayList<>(database.getByIssueDate(date, date.plusDays(5))));
+    }
+
     @ParameterizedTest
     @MethodSource("invalidIssuedDateArgumentsAndExceptionMessages")
     void getByIssuedDateShouldThrowExceptionWhenInvalidArgumentsArePassed(LocalDate startDate, LocalDate endDate, String message) {
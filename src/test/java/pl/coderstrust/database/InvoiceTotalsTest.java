@@ -0,0 +1,58 @@
+package pl.coderstrust.database;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import pl.coderstrust.model.Company;
+import pl.coderstrust.model.Invoice;
+import pl.coderstrust.model.InvoiceEntry;
+import pl.coderstrust.model.InvoiceTotal;
+import pl.coderstrust.model.Vat;
+
+class InvoiceTotalsTest {
+
+    @Test
+    void shouldSumEntriesByMonthSellerAndVatRate() {
+        List<Invoice> invoices = List.of(
+            invoice(LocalDate.of(2019, 8, 31), "222", entry(Vat.VAT_23, "100", "123"), entry(Vat.VAT_8, "10", "10.80")),
+            invoice(LocalDate.of(2019, 8, 1), "222", entry(Vat.VAT_23, "200", "246")),
+            invoice(LocalDate.of(2019, 8, 15), "111", entry(Vat.VAT_0, "50", "50")),
+            invoice(LocalDate.of(2019, 7, 10), "222", entry(Vat.VAT_23, "1", "1.23")));
+
+        List<InvoiceTotal> totals = InvoiceTotals.aggregate(invoices);
+
+        assertEquals(List.of(
+            InvoiceTotals.of(YearMonth.of(2019, 7), "222", Vat.VAT_23, new BigDecimal("1"), new BigDecimal("1.23")),
+            InvoiceTotals.of(YearMonth.of(2019, 8), "111", Vat.VAT_0, new BigDecimal("50"), new BigDecimal("50")),
+            InvoiceTotals.of(YearMonth.of(2019, 8), "222", Vat.VAT_8, new BigDecimal("10"), new BigDecimal("10.80")),
+            InvoiceTotals.of(YearMonth.of(2019, 8), "222", Vat.VAT_23, new BigDecimal("300"), new BigDecimal("369"))), totals);
+        assertEquals(new BigDecimal("69"), totals.get(3).getVatValue());
+    }
+
+    @Test
+    void shouldReturnEmptyTotalsForNoInvoices() {
+        assertTrue(InvoiceTotals.aggregate(List.of()).isEmpty());
+    }
+
+    private Invoice invoice(LocalDate issuedDate, String sellerTaxId, InvoiceEntry... entries) {
+        return Invoice.builder()
+            .withIssuedDate(issuedDate)
+            .withSeller(Company.builder().withTaxId(sellerTaxId).build())
+            .withEntries(List.of(entries))
+            .build();
+    }
+
+    private InvoiceEntry entry(Vat vatRate, String netValue, String grossValue) {
+        return InvoiceEntry.builder()
+            .withVatRate(vatRate)
+            .withNetValue(new BigDecimal(netValue))
+            .withGrossValue(new BigDecimal(grossValue))
+            .build();
+    }
+}
@@ -0,0 +1,134 @@
+package pl.coderstrust.database;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.TestPropertySource;
+import pl.coderstrust.database.nosql.model.Invoice;
+import pl.coderstrust.generators.InvoiceGenerator;
+import pl.coderstrust.model.InvoiceTotal;
+
+@SpringBootTest
+@TestPropertySource(properties = {"pl.coderstrust.database=mongo", "spring.data.mongodb.database=invoicedb-it"})
+class MongoDatabaseIT {
+
+    private static final String MONGO_HOST = "localhost";
+    private static final int MONGO_PORT = 27017;
+
+    @Autowired
+    private Database database;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeAll
+    static void checkMongoIsAvailable() {
+        assumeTrue(isMongoAvailable(), "MongoDB is not available on " + MONGO_HOST + ":" + MONGO_PORT);
+    }
+
+    @BeforeEach
+    void setUp() throws DatabaseOperationException {
+        database.deleteAll();
+        for (int i = 0; i < 10; i++) {
+            database.save(InvoiceGenerator.getRandomInvoiceWithNullId());
+        }
+    }
+
+    @Test
+    void shouldUseIndexForIssuedDateRangeQuery() {
+        LocalDate today = LocalDate.now();
+
+        assertIndexScan(Query.query(Criteria.where("issuedDate").gte(today.minusDays(7)).lte(today)));
+    }
+
+    @Test
+    void shouldUseIndexForNumberQuery() {
+        assertIndexScan(Query.query(Criteria.where("number").is("1/2019")));
+    }
+
+    @Test
+    void shouldUseIndexForSellerTaxIdAndIssuedDateQuery() {
+        LocalDate today = LocalDate.now();
+
+        assertIndexScan(Query.query(Criteria.where("seller.taxId").is("1234567890").and("issuedDate").gte(today.minusDays(7)).lte(today)));
+    }
+
+    @Test
+    void shouldUseIndexForIdQuery() {
+        assertIndexScan(Query.query(Criteria.where("id").gt(5L)));
+    }
+
+    @Test
+    void shouldAggregateTotalsLikeInMemoryComputation() throws DatabaseOperationException {
+        LocalDate startDate = LocalDate.of(1900, 1, 1);
+        LocalDate endDate = LocalDate.of(2100, 1, 1);
+        List<InvoiceTotal> expected = InvoiceTotals.aggregate(database.getByIssueDate(startDate, endDate));
+
+        List<InvoiceTotal> totals = new ArrayList<>(database.getTotals(startDate, endDate));
+
+        assertEquals(expected.size(), totals.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getPeriod(), totals.get(i).getPeriod());
+            assertEquals(expected.get(i).getSellerTaxId(), totals.get(i).getSellerTaxId());
+            assertEquals(expected.get(i).getVatRate(), totals.get(i).getVatRate());
+            assertEquals(0, expected.get(i).getNetValue().compareTo(totals.get(i).getNetValue()));
+            assertEquals(0, expected.get(i).getGrossValue().compareTo(totals.get(i).getGrossValue()));
+        }
+    }
+
+    private void assertIndexScan(Query query) {
+        Document filter = new QueryMapper(mongoTemplate.getConverter())
+            .getMappedObject(query.getQueryObject(), mongoTemplate.getConverter().getMappingContext().getPersistentEntity(Invoice.class));
+        Document command = new Document("explain", new Document("find", mongoTemplate.getCollectionName(Invoice.class)).append("filter", filter))
+            .append("verbosity", "queryPlanner");
+        Document winningPlan = mongoTemplate.getDb().runCommand(command).get("queryPlanner", Document.class).get("winningPlan", Document.class);
+
+        List<String> stages = getStages(winningPlan);
+
+        assertFalse(stages.contains("COLLSCAN"), "Query " + filter.toJson() + " scans whole collection: " + winningPlan.toJson());
+        assertTrue(stages.contains("IXSCAN"), "Query " + filter.toJson() + " does not use index: " + winningPlan.toJson());
+    }
+
+    private List<String> getStages(Document plan) {
+        List<String> stages = new ArrayList<>();
+        stages.add(plan.getString("stage"));
+        Document inputStage = plan.get("inputStage", Document.class);
+        if (inputStage != null) {
+            stages.addAll(getStages(inputStage));
+        }
+        List<?> inputStages = plan.get("inputStages", List.class);
+        if (inputStages != null) {
+            for (Object stage : inputStages) {
+                stages.addAll(getStages((Document) stage));
+            }
+        }
+        return stages;
+    }
+
+    private static boolean isMongoAvailable() {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(MONGO_HOST, MONGO_PORT), 500);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
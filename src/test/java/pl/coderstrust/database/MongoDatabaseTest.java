@@ -5,21 +5,39 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.mongodb.MongoBulkWriteException;
 import com.mongodb.MongoException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.result.DeleteResult;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.types.Decimal128;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -28,45 +46,109 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.data.util.Pair;
+import pl.coderstrust.database.nosql.model.Counter;
 import pl.coderstrust.database.nosql.model.Invoice;
 import pl.coderstrust.database.nosql.model.NoSqlModelMapper;
 import pl.coderstrust.database.nosql.model.NoSqlModelMapperImpl;
 import pl.coderstrust.generators.InvoiceGenerator;
 import pl.coderstrust.generators.NoSqlInvoiceGenerator;
+import pl.coderstrust.model.InvoiceTotal;
 
 @ExtendWith(MockitoExtension.class)
 class MongoDatabaseTest {
 
+    private static final Query STREAM_QUERY = new Query().with(new Sort(Direction.ASC, "id")).cursorBatchSize(2);
+
     @Mock
     private MongoTemplate mongoTemplate;
+    @Mock
+    private BulkOperations bulkOperations;
     private NoSqlModelMapper noSqlModelMapper = new NoSqlModelMapperImpl();
     private MongoDatabase mongoDatabase;
 
     @BeforeEach
     void setUp() {
-        mongoDatabase = new MongoDatabase(mongoTemplate, noSqlModelMapper);
+        mongoDatabase = new MongoDatabase(mongoTemplate, noSqlModelMapper, 2, 2, 2);
     }
 
     @Test
-    void shouldAddInvoice() throws DatabaseOperationException {
+    void shouldAddInvoiceWithIdFromSequence() throws DatabaseOperationException {
         //given
-        Invoice noSqlSavedInvoice = NoSqlInvoiceGenerator.getRandomInvoice();
-        Query findQuery = new Query();
-        findQuery.addCriteria(Criteria.where("id").is(noSqlSavedInvoice.getId()));
-        pl.coderstrust.model.Invoice savedInvoice = noSqlModelMapper.toInvoice(noSqlSavedInvoice);
-        when(mongoTemplate.findOne(findQuery, Invoice.class)).thenReturn(null);
-        when(mongoTemplate.save(any(Invoice.class))).thenReturn(noSqlSavedInvoice);
+        pl.coderstrust.model.Invoice invoiceToAdd = InvoiceGenerator.getRandomInvoiceWithNullId();
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Counter.class))).thenReturn(new Counter("invoice", 2));
+        when(mongoTemplate.insert(any(Invoice.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         //when
-        pl.coderstrust.model.Invoice result = mongoDatabase.save(savedInvoice);
+        pl.coderstrust.model.Invoice firstResult = mongoDatabase.save(invoiceToAdd);
+        pl.coderstrust.model.Invoice secondResult = mongoDatabase.save(invoiceToAdd);
 
         //then
-        assertEquals(savedInvoice, result);
-        verify(mongoTemplate).findOne(findQuery, Invoice.class);
-        verify(mongoTemplate).save(any(Invoice.class));
+        assertEquals(1L, firstResult.getId());
+        assertEquals(2L, secondResult.getId());
+        assertEquals(invoiceToAdd.getNumber(), firstResult.getNumber());
+        verify(mongoTemplate).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Counter.class));
+        verify(mongoTemplate, never()).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Invoice.class));
+    }
+
+    @Test
+    void shouldAddInvoiceWithNewIdWhenInvoiceWithGivenIdDoesNotExist() throws DatabaseOperationException {
+        //given
+        pl.coderstrust.model.Invoice invoiceToAdd = InvoiceGenerator.getRandomInvoiceWithSpecificId(100L);
+        Query updateQuery = Query.query(Criteria.where("id").is(100L));
+        when(mongoTemplate.findAndModify(eq(updateQuery), any(Update.class), any(FindAndModifyOptions.class), eq(Invoice.class))).thenReturn(null);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Counter.class))).thenReturn(new Counter("invoice", 2));
+        when(mongoTemplate.insert(any(Invoice.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        //when
+        pl.coderstrust.model.Invoice result = mongoDatabase.save(invoiceToAdd);
+
+        //then
+        assertEquals(1L, result.getId());
+        assertEquals(invoiceToAdd.getNumber(), result.getNumber());
+        verify(mongoTemplate).insert(any(Invoice.class));
+        verify(mongoTemplate, never()).upsert(any(Query.class), any(Update.class), eq(Invoice.class));
+        verify(mongoTemplate, never()).upsert(Query.query(Criteria.where("_id").is("invoice")), new Update().max("value", 100L), Counter.class);
+    }
+
+    @Test
+    void shouldThrowDuplicateInvoiceNumberExceptionWhenNumberIsUsedByAnotherInvoice() {
+        //given
+        pl.coderstrust.model.Invoice invoice = InvoiceGenerator.getRandomInvoice();
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Invoice.class)))
+            .thenThrow(new DuplicateKeyException("E11000 duplicate key error collection: invoice index: number_unique dup key"));
+
+        //then
+        DuplicateInvoiceNumberException exception = assertThrows(DuplicateInvoiceNumberException.class, () -> mongoDatabase.save(invoice));
+        assertTrue(exception.getMessage().contains(invoice.getNumber()));
+    }
+
+    @Test
+    void shouldThrowDatabaseOperationExceptionForDuplicateKeyOfAnotherIndex() {
+        //given
+        pl.coderstrust.model.Invoice invoice = InvoiceGenerator.getRandomInvoiceWithNullId();
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Counter.class))).thenReturn(new Counter("invoice", 2));
+        when(mongoTemplate.insert(any(Invoice.class))).thenThrow(new DuplicateKeyException("E11000 duplicate key error collection: invoice index: _id_ dup key"));
+
+        //when
+        DatabaseOperationException exception = assertThrows(DatabaseOperationException.class, () -> mongoDatabase.save(invoice));
+
+        //then
+        assertFalse(exception instanceof DuplicateInvoiceNumberException);
     }
 
     @Test
@@ -75,35 +157,106 @@ class MongoDatabaseTest {
     }
 
     @Test
-    void shouldUpdateInvoice() throws DatabaseOperationException {
+    void shouldUpdateInvoiceInSingleOperation() throws DatabaseOperationException {
         //given
-        Invoice noSqlInvoiceToUpdate = NoSqlInvoiceGenerator.getRandomInvoice();
-        Query findQuery = new Query();
-        findQuery.addCriteria(Criteria.where("id").is(noSqlInvoiceToUpdate.getId()));
-        pl.coderstrust.model.Invoice updatedInvoice = noSqlModelMapper.toInvoice(noSqlInvoiceToUpdate);
-        when(mongoTemplate.findOne(findQuery, Invoice.class)).thenReturn(noSqlInvoiceToUpdate);
-        when(mongoTemplate.save(any(Invoice.class))).thenReturn(noSqlInvoiceToUpdate);
+        pl.coderstrust.model.Invoice invoiceToUpdate = InvoiceGenerator.getRandomInvoice();
+        Query updateQuery = Query.query(Criteria.where("id").is(invoiceToUpdate.getId()));
+        Invoice storedInvoice = noSqlModelMapper.toNoSqlInvoice(invoiceToUpdate);
+        when(mongoTemplate.findAndModify(eq(updateQuery), any(Update.class), any(FindAndModifyOptions.class), eq(Invoice.class))).thenReturn(storedInvoice);
 
         //when
-        pl.coderstrust.model.Invoice result = mongoDatabase.save(updatedInvoice);
+        pl.coderstrust.model.Invoice result = mongoDatabase.save(invoiceToUpdate);
 
         //then
-        assertEquals(updatedInvoice, result);
-        verify(mongoTemplate).findOne(findQuery, Invoice.class);
-        verify(mongoTemplate).save(any(Invoice.class));
+        assertEquals(noSqlModelMapper.toInvoice(storedInvoice), result);
+        verify(mongoTemplate).findAndModify(eq(updateQuery), argThat(update -> update.getUpdateObject().get("$set", Document.class).get("number").equals(invoiceToUpdate.getNumber())),
+            argThat(options -> options.isReturnNew() && !options.isUpsert()), eq(Invoice.class));
+        verify(mongoTemplate, never()).insert(any(Invoice.class));
+        verify(mongoTemplate, never()).findOne(updateQuery, Invoice.class);
+        verify(mongoTemplate, never()).upsert(Query.query(Criteria.where("_id").is("invoice")), new Update().max("value", invoiceToUpdate.getId()), Counter.class);
+    }
+
+    @Test
+    void shouldAdvanceSequenceToLastExistingIdOnStartup() {
+        //given
+        Invoice lastInvoice = NoSqlInvoiceGenerator.getRandomInvoiceWithSpecificId(41L);
+        Query lastInvoiceQuery = new Query().with(new Sort(Direction.DESC, "id"));
+        when(mongoTemplate.findOne(lastInvoiceQuery, Invoice.class)).thenReturn(lastInvoice);
+
+        //when
+        new MongoDatabase(mongoTemplate, noSqlModelMapper, 2, 2, 2);
+
+        //then
+        verify(mongoTemplate).upsert(Query.query(Criteria.where("_id").is("invoice")), new Update().max("value", 41L), Counter.class);
+    }
+
+    @Test
+    void shouldSaveAllInvoicesWithBulkOperationsReservingIdsOncePerBatch() throws DatabaseOperationException {
+        //given
+        pl.coderstrust.model.Invoice firstInvoice = InvoiceGenerator.getRandomInvoiceWithNullId();
+        pl.coderstrust.model.Invoice secondInvoice = InvoiceGenerator.getRandomInvoiceWithNullId();
+        pl.coderstrust.model.Invoice existingInvoice = InvoiceGenerator.getRandomInvoiceWithSpecificId(50L);
+        when(mongoTemplate.bulkOps(BulkMode.UNORDERED, Invoice.class)).thenReturn(bulkOperations);
+        when(mongoTemplate.findAndModify(any(Query.class), eq(new Update().inc("value", 2)), any(FindAndModifyOptions.class), eq(Counter.class))).thenReturn(new Counter("invoice", 2));
+        when(bulkOperations.execute()).thenReturn(BulkWriteResult.acknowledged(2, 0, 0, 0, List.of()), BulkWriteResult.acknowledged(0, 1, 0, 1, List.of()));
+
+        //when
+        List<pl.coderstrust.model.Invoice> result = new ArrayList<>(mongoDatabase.saveAll(List.of(firstInvoice, secondInvoice, existingInvoice)));
+
+        //then
+        assertEquals(List.of(1L, 2L, 50L), result.stream().map(pl.coderstrust.model.Invoice::getId).collect(Collectors.toList()));
+        assertEquals(existingInvoice, result.get(2));
+        verify(mongoTemplate).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Counter.class));
+        verify(bulkOperations).insert(argThat((List<Invoice> invoices) -> invoices.size() == 2 && invoices.get(0).getId() == 1L && invoices.get(1).getId() == 2L));
+        verify(bulkOperations).upsert(argThat((List<Pair<Query, Update>> upserts) -> upserts.size() == 1
+            && upserts.get(0).getFirst().equals(Query.query(Criteria.where("id").is(50L)))));
+        verify(mongoTemplate).upsert(Query.query(Criteria.where("_id").is("invoice")), new Update().max("value", 50L), Counter.class);
+        verify(bulkOperations, times(2)).execute();
+    }
+
+    @Test
+    void saveAllMethodShouldReportFailedInvoicesAndKeepSavedOnes() {
+        //given
+        pl.coderstrust.model.Invoice firstInvoice = InvoiceGenerator.getRandomInvoiceWithNullId();
+        pl.coderstrust.model.Invoice secondInvoice = InvoiceGenerator.getRandomInvoiceWithNullId();
+        pl.coderstrust.model.Invoice thirdInvoice = InvoiceGenerator.getRandomInvoiceWithNullId();
+        when(mongoTemplate.bulkOps(BulkMode.UNORDERED, Invoice.class)).thenReturn(bulkOperations);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Counter.class)))
+            .thenReturn(new Counter("invoice", 2), new Counter("invoice", 3));
+        MongoBulkWriteException bulkWriteException = new MongoBulkWriteException(BulkWriteResult.acknowledged(1, 0, 0, 0, List.of()),
+            List.of(new BulkWriteError(11000, "duplicate key", new BsonDocument(), 1)), null, new ServerAddress());
+        when(bulkOperations.execute())
+            .thenThrow(new DuplicateKeyException("duplicate key", bulkWriteException))
+            .thenThrow(new DataAccessResourceFailureException("connection lost"));
+
+        //when
+        BulkSaveException exception = assertThrows(BulkSaveException.class, () -> mongoDatabase.saveAll(List.of(firstInvoice, secondInvoice, thirdInvoice)));
+
+        //then
+        assertEquals(1, exception.getSavedInvoices().size());
+        assertEquals(firstInvoice.getNumber(), exception.getSavedInvoices().get(0).getNumber());
+        assertEquals(Map.of(1, "duplicate key", 2, "connection lost"), exception.getFailures());
+    }
+
+    @Test
+    void saveAllMethodShouldThrowExceptionForInvalidArguments() {
+        List<pl.coderstrust.model.Invoice> invoicesWithNull = new ArrayList<>();
+        invoicesWithNull.add(null);
+
+        assertThrows(IllegalArgumentException.class, () -> mongoDatabase.saveAll(null));
+        assertThrows(IllegalArgumentException.class, () -> mongoDatabase.saveAll(invoicesWithNull));
+        assertThrows(IllegalArgumentException.class, () -> new MongoDatabase(mongoTemplate, noSqlModelMapper, 2, 0, 2));
+        assertThrows(IllegalArgumentException.class, () -> new MongoDatabase(mongoTemplate, noSqlModelMapper, 2, 2, 0));
     }
 
     @Test
     void saveMethodShouldThrowDatabaseOperationExceptionWhenErrorOccurDuringSavingInvoice() {
         //given
         pl.coderstrust.model.Invoice invoice = InvoiceGenerator.getRandomInvoice();
-        Query findQuery = new Query();
-        findQuery.addCriteria(Criteria.where("id").is(invoice.getId()));
-        when(mongoTemplate.findOne(findQuery, Invoice.class)).thenThrow(new MongoException(""));
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Invoice.class))).thenThrow(new MongoException(""));
 
         //then
         assertThrows(DatabaseOperationException.class, () -> mongoDatabase.save(invoice));
-        verify(mongoTemplate).findOne(findQuery, Invoice.class);
     }
 
     @Test
@@ -249,46 +402,99 @@ class MongoDatabaseTest {
         //given
         List<Invoice> noSqlInvoices = List.of(NoSqlInvoiceGenerator.getRandomInvoice(), NoSqlInvoiceGenerator.getRandomInvoice());
         List<pl.coderstrust.model.Invoice> invoices = noSqlModelMapper.mapToInvoices(noSqlInvoices);
-        when(mongoTemplate.findAll(Invoice.class)).thenReturn(noSqlInvoices);
+        AtomicBoolean cursorClosed = new AtomicBoolean();
+        when(mongoTemplate.stream(STREAM_QUERY, Invoice.class)).thenReturn(cursorOf(noSqlInvoices, cursorClosed));
 
         //when
         Collection<pl.coderstrust.model.Invoice> result = mongoDatabase.getAll();
 
         //then
         assertEquals(invoices, result);
-        verify(mongoTemplate).findAll(Invoice.class);
+        assertTrue(cursorClosed.get());
+        verify(mongoTemplate, never()).findAll(Invoice.class);
+    }
+
+    @Test
+    void shouldReturnPageOfInvoices() throws DatabaseOperationException {
+        //given
+        List<Invoice> noSqlInvoices = List.of(NoSqlInvoiceGenerator.getRandomInvoice(), NoSqlInvoiceGenerator.getRandomInvoice());
+        Query afterQuery = Query.query(Criteria.where("id").gt(5L)).with(new Sort(Direction.ASC, "id")).limit(2);
+        Query firstPageQuery = new Query().with(new Sort(Direction.ASC, "id")).limit(2);
+        when(mongoTemplate.find(afterQuery, Invoice.class)).thenReturn(noSqlInvoices);
+        when(mongoTemplate.find(firstPageQuery, Invoice.class)).thenReturn(noSqlInvoices);
+
+        //then
+        assertEquals(noSqlModelMapper.mapToInvoices(noSqlInvoices), mongoDatabase.getPage(5L, 2));
+        assertEquals(noSqlModelMapper.mapToInvoices(noSqlInvoices), mongoDatabase.getPage(null, 2));
+        assertThrows(IllegalArgumentException.class, () -> mongoDatabase.getPage(null, 0));
+    }
+
+    @Test
+    void getPageMethodShouldThrowDatabaseOperationExceptionWhenErrorOccurDuringGettingPage() {
+        //given
+        doThrow(new MongoException("")).when(mongoTemplate).find(any(Query.class), any());
+
+        //then
+        assertThrows(DatabaseOperationException.class, () -> mongoDatabase.getPage(null, 2));
+    }
+
+    @Test
+    void shouldStreamInvoicesFromCursorOrderedByIdInBatches() throws DatabaseOperationException {
+        //given
+        List<Invoice> noSqlInvoices = List.of(NoSqlInvoiceGenerator.getRandomInvoice(), NoSqlInvoiceGenerator.getRandomInvoice());
+        AtomicBoolean cursorClosed = new AtomicBoolean();
+        when(mongoTemplate.stream(STREAM_QUERY, Invoice.class)).thenReturn(cursorOf(noSqlInvoices, cursorClosed));
+
+        //when
+        List<pl.coderstrust.model.Invoice> result;
+        try (Stream<pl.coderstrust.model.Invoice> stream = mongoDatabase.stream()) {
+            result = stream.collect(Collectors.toList());
+        }
+
+        //then
+        assertEquals(noSqlModelMapper.mapToInvoices(noSqlInvoices), result);
+        assertTrue(cursorClosed.get());
+    }
+
+    @Test
+    void streamMethodShouldThrowDatabaseOperationExceptionWhenErrorOccurDuringOpeningCursor() {
+        //given
+        doThrow(new MongoException("")).when(mongoTemplate).stream(any(Query.class), any());
+
+        //then
+        assertThrows(DatabaseOperationException.class, () -> mongoDatabase.stream());
     }
 
     @Test
     void getAllMethodShouldThrowDatabaseOperationExceptionWhenErrorOccurDuringGettingAllInvoices() {
         //given
-        when(mongoTemplate.findAll(Invoice.class)).thenThrow(new MongoException(""));
+        when(mongoTemplate.stream(STREAM_QUERY, Invoice.class)).thenThrow(new MongoException(""));
 
         //then
         assertThrows(DatabaseOperationException.class, () -> mongoDatabase.getAll());
-        verify(mongoTemplate).findAll(Invoice.class);
     }
 
     @Test
     void shouldDeleteAllInvoices() throws DatabaseOperationException {
         //given
-        doNothing().when(mongoTemplate).dropCollection(Invoice.class);
+        when(mongoTemplate.remove(new Query(), Invoice.class)).thenReturn(DeleteResult.acknowledged(2));
 
         //when
         mongoDatabase.deleteAll();
 
         //then
-        verify(mongoTemplate).dropCollection(Invoice.class);
+        verify(mongoTemplate).remove(new Query(), Invoice.class);
+        verify(mongoTemplate, never()).dropCollection(Invoice.class);
     }
 
     @Test
     void deleteAllMethodShouldThrowDatabaseOperationExceptionWhenErrorOccurDuringDeletingAllInvoices() {
         //given
-        doThrow(new MongoException("")).when(mongoTemplate).dropCollection(Invoice.class);
+        doThrow(new MongoException("")).when(mongoTemplate).remove(new Query(), Invoice.class);
 
         //then
         assertThrows(DatabaseOperationException.class, () -> mongoDatabase.deleteAll());
-        verify(mongoTemplate).dropCollection(Invoice.class);
+        verify(mongoTemplate).remove(new Query(), Invoice.class);
     }
 
     @Test
@@ -409,4 +615,59 @@ class MongoDatabaseTest {
 
         verify(mongoTemplate).find(findQuery, Invoice.class);
     }
+
+    @Test
+    void shouldReturnTotalsAggregatedByDatabase() throws DatabaseOperationException {
+        //given
+        LocalDate startDate = LocalDate.of(2019, 7, 1);
+        LocalDate endDate = LocalDate.of(2019, 8, 31);
+        Document augustTotal = new Document("_id", new Document("year", 2019).append("month", 8).append("sellerTaxId", "1234567890").append("vatRate", "VAT_23"))
+            .append("netValue", Decimal128.parse("100.00"))
+            .append("grossValue", Decimal128.parse("123.00"));
+        Document julyTotal = new Document("_id", new Document("year", 2019).append("month", 7).append("sellerTaxId", "1234567890").append("vatRate", "VAT_8"))
+            .append("netValue", Decimal128.parse("10"))
+            .append("grossValue", Decimal128.parse("10.80"));
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(Invoice.class), eq(Document.class)))
+            .thenReturn(new AggregationResults<>(List.of(augustTotal, julyTotal), new Document()));
+
+        //when
+        Collection<InvoiceTotal> result = mongoDatabase.getTotals(startDate, endDate);
+
+        //then
+        assertEquals(List.of(
+            InvoiceTotals.of(YearMonth.of(2019, 7), "1234567890", pl.coderstrust.model.Vat.VAT_8, new BigDecimal("10"), new BigDecimal("10.80")),
+            InvoiceTotals.of(YearMonth.of(2019, 8), "1234567890", pl.coderstrust.model.Vat.VAT_23, new BigDecimal("100.00"), new BigDecimal("123.00"))), result);
+        verify(mongoTemplate, never()).find(any(Query.class), eq(Invoice.class));
+    }
+
+    @Test
+    void getTotalsMethodShouldThrowDatabaseOperationExceptionWhenErrorOccurDuringAggregation() {
+        //given
+        LocalDate startDate = LocalDate.of(2019, 8, 1);
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(Invoice.class), eq(Document.class))).thenThrow(new MongoException(""));
+
+        //then
+        assertThrows(DatabaseOperationException.class, () -> mongoDatabase.getTotals(startDate, startDate));
+        assertThrows(IllegalArgumentException.class, () -> mongoDatabase.getTotals(startDate, null));
+    }
+
+    private static CloseableIterator<Invoice> cursorOf(List<Invoice> invoices, AtomicBoolean closed) {
+        Iterator<Invoice> iterator = invoices.iterator();
+        return new CloseableIterator<>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Invoice next() {
+                return iterator.next();
+            }
+
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+    }
 }
@@ -0,0 +1,156 @@
+package pl.coderstrust.database.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import pl.coderstrust.generators.InvoiceGenerator;
+import pl.coderstrust.model.Invoice;
+
+class InvoiceCacheTest {
+
+    @Test
+    void shouldReturnCachedInvoiceByIdAndNumber() {
+        InvoiceCache cache = new InvoiceCache(10);
+        Invoice invoice = InvoiceGenerator.getRandomInvoiceWithSpecificId(1L);
+
+        cache.put(invoice);
+
+        assertEquals(Optional.of(invoice), cache.getById(1L));
+        assertEquals(Optional.of(invoice), cache.getByNumber(invoice.getNumber()));
+        assertEquals(Optional.empty(), cache.getById(2L));
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedInvoice() {
+        InvoiceCache cache = new InvoiceCache(2);
+        Invoice invoice1 = InvoiceGenerator.getRandomInvoiceWithSpecificId(1L);
+        Invoice invoice2 = InvoiceGenerator.getRandomInvoiceWithSpecificId(2L);
+        Invoice invoice3 = InvoiceGenerator.getRandomInvoiceWithSpecificId(3L);
+        cache.put(invoice1);
+        cache.put(invoice2);
+        cache.getById(1L);
+
+        cache.put(invoice3);
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertTrue(cache.getById(1L).isPresent());
+        assertFalse(cache.getById(2L).isPresent());
+        assertFalse(cache.getByNumber(invoice2.getNumber()).isPresent());
+        assertTrue(cache.getById(3L).isPresent());
+    }
+
+    @Test
+    void shouldKeepFrequentlyReadInvoiceWhenReadsHappenBetweenManyWrites() {
+        InvoiceCache cache = new InvoiceCache(3);
+        Invoice hotInvoice = InvoiceGenerator.getRandomInvoiceWithSpecificId(1L);
+        cache.put(hotInvoice);
+
+        for (long id = 2; id <= 100; id++) {
+            cache.getById(1L);
+            cache.put(InvoiceGenerator.getRandomInvoiceWithSpecificId(id));
+        }
+
+        assertEquals(Optional.of(hotInvoice), cache.getById(1L));
+        assertEquals(3, cache.size());
+        assertEquals(97, cache.getEvictionCount());
+    }
+
+    @Test
+    void shouldServeConcurrentReadsWhileInvoicesAreWritten() throws Exception {
+        InvoiceCache cache = new InvoiceCache(50);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Callable<Object>> tasks = new ArrayList<>();
+        for (int task = 0; task < 8; task++) {
+            boolean writer = task % 4 == 0;
+            tasks.add(() -> {
+                for (int i = 1; i <= 1000; i++) {
+                    Long id = (long) (i % 100);
+                    if (writer) {
+                        cache.put(InvoiceGenerator.getRandomInvoiceWithSpecificId(id));
+                    } else {
+                        cache.getById(id).ifPresent(invoice -> assertEquals(id, invoice.getId()));
+                    }
+                }
+                return null;
+            });
+        }
+
+        try {
+            for (Future<Object> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(cache.size() <= 50);
+        assertEquals(6000, cache.getHitCount() + cache.getMissCount());
+    }
+
+    @Test
+    void shouldForgetOldNumberAfterInvoiceUpdate() {
+        InvoiceCache cache = new InvoiceCache(10);
+        Invoice invoice = InvoiceGenerator.getRandomInvoiceWithSpecificId(1L);
+        Invoice updatedInvoice = InvoiceGenerator.getRandomInvoiceWithSpecificId(1L);
+        cache.put(invoice);
+
+        cache.put(updatedInvoice);
+
+        assertEquals(Optional.empty(), cache.getByNumber(invoice.getNumber()));
+        assertEquals(Optional.of(updatedInvoice), cache.getByNumber(updatedInvoice.getNumber()));
+    }
+
+    @Test
+    void shouldRejectPutAfterInvalidation() {
+        InvoiceCache cache = new InvoiceCache(10);
+        Invoice invoice = InvoiceGenerator.getRandomInvoiceWithSpecificId(1L);
+        long version = cache.getVersion();
+
+        cache.invalidate(2L);
+
+        assertFalse(cache.putIfUnchanged(invoice, version));
+        assertTrue(cache.putIfUnchanged(invoice, cache.getVersion()));
+        assertEquals(Optional.of(invoice), cache.getById(1L));
+    }
+
+    @Test
+    void shouldInvalidateInvoices() {
+        InvoiceCache cache = new InvoiceCache(10);
+        Invoice invoice1 = InvoiceGenerator.getRandomInvoiceWithSpecificId(1L);
+        Invoice invoice2 = InvoiceGenerator.getRandomInvoiceWithSpecificId(2L);
+        cache.put(invoice1);
+        cache.put(invoice2);
+
+        cache.invalidate(1L);
+
+        assertEquals(Optional.empty(), cache.getByNumber(invoice1.getNumber()));
+        assertEquals(1, cache.size());
+
+        cache.invalidateAll();
+
+        assertEquals(0, cache.size());
+        assertEquals(Optional.empty(), cache.getByNumber(invoice2.getNumber()));
+    }
+
+    @Test
+    void shouldThrowExceptionForInvalidArguments() {
+        InvoiceCache cache = new InvoiceCache(1);
+
+        assertThrows(IllegalArgumentException.class, () -> new InvoiceCache(0));
+        assertThrows(IllegalArgumentException.class, () -> cache.put(null));
+        assertThrows(IllegalArgumentException.class, () -> cache.put(InvoiceGenerator.getRandomInvoiceWithNullId()));
+    }
+}
@@ -0,0 +1,253 @@
+package pl.coderstrust.database.hibernate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import org.hibernate.SessionFactory;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import pl.coderstrust.database.sql.model.Company;
+import pl.coderstrust.database.sql.model.Invoice;
+import pl.coderstrust.database.sql.model.InvoiceEntry;
+import pl.coderstrust.generators.SqlInvoiceGenerator;
+
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@TestPropertySource(properties = {"pl.coderstrust.database=hibernate", "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.jpa.properties.hibernate.jdbc.batch_size=50", "spring.jpa.properties.hibernate.order_inserts=true"})
+class InvoiceRepositoryTest {
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void shouldLoadAllInvoicesWithConstantNumberOfStatements() {
+        for (int i = 0; i < 20; i++) {
+            invoiceRepository.save(SqlInvoiceGenerator.getRandomInvoice());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        List<Invoice> invoices = invoiceRepository.findAll();
+
+        assertEquals(20, invoices.size());
+        assertEquals(5, invoices.get(19).getEntries().size());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void shouldLoadInvoicesByIssuedDateWithConstantNumberOfStatements() {
+        LocalDate date = LocalDate.of(2019, 8, 24);
+        for (int i = 0; i < 20; i++) {
+            invoiceRepository.save(SqlInvoiceGenerator.getRandomInvoiceWithSpecificIssuedDate(date));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        int count = invoiceRepository.findAllByIssuedDate(date, date).size();
+
+        assertEquals(20, count);
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void shouldLoadSingleInvoiceWithCompaniesAndEntries() {
+        final Invoice invoice = invoiceRepository.save(SqlInvoiceGenerator.getRandomInvoice());
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        Invoice invoiceById = invoiceRepository.findById(invoice.getId()).get();
+        entityManager.clear();
+        Invoice invoiceByNumber = invoiceRepository.findByNumber(invoice.getNumber()).get();
+
+        assertEquals(invoice.getSeller(), invoiceById.getSeller());
+        assertEquals(5, invoiceById.getEntries().size());
+        assertEquals(invoice.getBuyer(), invoiceByNumber.getBuyer());
+        assertEquals(5, invoiceByNumber.getEntries().size());
+        assertEquals(4, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void shouldCreateIndexesForLookupColumns() {
+        String indexes = entityManager.createNativeQuery("SELECT INDEX_NAME FROM INFORMATION_SCHEMA.INDEXES WHERE TABLE_NAME = 'INVOICE'").getResultList().toString();
+
+        for (String index : List.of("INVOICE_NUMBER_IDX", "INVOICE_ISSUED_DATE_IDX", "INVOICE_SELLER_IDX", "INVOICE_BUYER_IDX")) {
+            assertTrue(indexes.contains(index), indexes);
+        }
+    }
+
+    @Test
+    void shouldRejectDuplicateInvoiceNumber() {
+        Invoice invoice = invoiceRepository.save(SqlInvoiceGenerator.getRandomInvoice());
+        invoiceRepository.save(getNewInvoiceWithNumber(invoice.getNumber()));
+
+        PersistenceException exception = assertThrows(PersistenceException.class, () -> entityManager.flush());
+        assertTrue(exception.getCause() instanceof ConstraintViolationException);
+        assertTrue(((ConstraintViolationException) exception.getCause()).getConstraintName().toLowerCase(Locale.ROOT).contains(Invoice.NUMBER_INDEX));
+    }
+
+    @Test
+    void shouldLoadPageOfInvoicesAfterGivenId() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(invoiceRepository.save(getNewInvoice()).getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Invoice> page = invoiceRepository.findPage(ids.get(1), PageRequest.of(0, 2));
+
+        assertEquals(ids.subList(2, 4), page.stream().map(Invoice::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void shouldStreamAllInvoicesOrderedByIdWithCompanies() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(invoiceRepository.save(getNewInvoice()).getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Invoice> invoices;
+        try (Stream<Invoice> stream = invoiceRepository.streamAll()) {
+            invoices = stream.collect(Collectors.toList());
+        }
+
+        assertEquals(ids, invoices.stream().map(Invoice::getId).collect(Collectors.toList()));
+        assertTrue(invoices.stream().allMatch(invoice -> invoice.getSeller().getName() != null && invoice.getBuyer().getName() != null));
+    }
+
+    @Test
+    void shouldStreamAllInvoicesWithEntriesInSingleStatement() {
+        for (int i = 0; i < 20; i++) {
+            invoiceRepository.save(SqlInvoiceGenerator.getRandomInvoice());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        List<Invoice> invoices;
+        try (Stream<Invoice> stream = invoiceRepository.streamAll()) {
+            invoices = stream.peek(entityManager::detach).collect(Collectors.toList());
+        }
+
+        assertEquals(20, invoices.size());
+        assertTrue(invoices.stream().allMatch(invoice -> invoice.getEntries().size() == 5));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void shouldSumEntriesByMonthSellerAndVatRate() {
+        final List<Invoice> augustInvoices = List.of(
+            invoiceRepository.save(SqlInvoiceGenerator.getRandomInvoiceWithSpecificIssuedDate(LocalDate.of(2019, 8, 1))),
+            invoiceRepository.save(SqlInvoiceGenerator.getRandomInvoiceWithSpecificIssuedDate(LocalDate.of(2019, 8, 31))));
+        invoiceRepository.save(SqlInvoiceGenerator.getRandomInvoiceWithSpecificIssuedDate(LocalDate.of(2019, 9, 1)));
+        entityManager.flush();
+        entityManager.clear();
+        Map<String, BigDecimal> expectedNetValues = new HashMap<>();
+        Map<String, BigDecimal> expectedGrossValues = new HashMap<>();
+        for (Invoice invoice : augustInvoices) {
+            for (InvoiceEntry entry : invoice.getEntries()) {
+                expectedNetValues.merge(invoice.getSeller().getTaxId() + entry.getVatRate(), entry.getNetValue(), BigDecimal::add);
+                expectedGrossValues.merge(invoice.getSeller().getTaxId() + entry.getVatRate(), entry.getGrossValue(), BigDecimal::add);
+            }
+        }
+
+        List<InvoiceTotalRow> rows = invoiceRepository.sumByMonthSellerAndVatRate(LocalDate.of(2019, 8, 1), LocalDate.of(2019, 8, 31));
+
+        assertEquals(expectedNetValues.size(), rows.size());
+        for (InvoiceTotalRow row : rows) {
+            assertEquals(2019, row.getIssuedYear());
+            assertEquals(8, row.getIssuedMonth());
+            assertEquals(0, expectedNetValues.get(row.getSellerTaxId() + row.getVatRate()).compareTo(row.getNetValue()));
+            assertEquals(0, expectedGrossValues.get(row.getSellerTaxId() + row.getVatRate()).compareTo(row.getGrossValue()));
+        }
+    }
+
+    @Test
+    void shouldInsertNewInvoicesInJdbcBatches() {
+        List<Invoice> invoices = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            invoices.add(getNewInvoice());
+        }
+        statistics.clear();
+
+        invoiceRepository.saveAll(invoices);
+        entityManager.flush();
+
+        assertEquals(800, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() < 40);
+    }
+
+    private Invoice getNewInvoice() {
+        return getNewInvoiceWithNumber(SqlInvoiceGenerator.getRandomInvoiceWithNullId().getNumber());
+    }
+
+    private Invoice getNewInvoiceWithNumber(String number) {
+        Invoice invoice = SqlInvoiceGenerator.getRandomInvoiceWithNullId();
+        return Invoice.builder()
+            .withNumber(number)
+            .withIssuedDate(invoice.getIssuedDate())
+            .withDueDate(invoice.getDueDate())
+            .withSeller(getNewCompany(invoice.getSeller()))
+            .withBuyer(getNewCompany(invoice.getBuyer()))
+            .withEntries(invoice.getEntries().stream().map(this::getNewEntry).collect(Collectors.toList()))
+            .build();
+    }
+
+    private Company getNewCompany(Company company) {
+        return Company.builder()
+            .withName(company.getName())
+            .withAddress(company.getAddress())
+            .withTaxId(company.getTaxId())
+            .withAccountNumber(company.getAccountNumber())
+            .withPhoneNumber(company.getPhoneNumber())
+            .withEmail(company.getEmail())
+            .build();
+    }
+
+    private InvoiceEntry getNewEntry(InvoiceEntry entry) {
+        return InvoiceEntry.builder()
+            .withDescription(entry.getDescription())
+            .withQuantity(entry.getQuantity())
+            .withPrice(entry.getPrice())
+            .withNetValue(entry.getNetValue())
+            .withGrossValue(entry.getGrossValue())
+            .withVatRate(entry.getVatRate())
+            .build();
+    }
+}
@@ -0,0 +1,65 @@
+package pl.coderstrust.database.hibernate;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class SqlSequencesTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private DatabaseMetaData metaData;
+
+    @Mock
+    private Statement statement;
+
+    @Test
+    void shouldAdvanceEverySequenceToHighestIdOnPostgreSql() throws SQLException {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(metaData.getDatabaseProductName()).thenReturn("PostgreSQL");
+        when(connection.createStatement()).thenReturn(statement);
+
+        new SqlSequences(dataSource).advanceToExistingIds();
+
+        for (Map.Entry<String, String> sequence : SqlSequences.SEQUENCE_TABLES.entrySet()) {
+            verify(statement).execute(SqlSequences.advanceQuery(sequence.getKey(), sequence.getValue()));
+        }
+        verify(connection).close();
+    }
+
+    @Test
+    void shouldNotTouchSequencesOnOtherDatabases() throws SQLException {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(metaData.getDatabaseProductName()).thenReturn("H2");
+
+        new SqlSequences(dataSource).advanceToExistingIds();
+
+        verify(connection, never()).createStatement();
+        verify(connection).close();
+    }
+
+    @Test
+    void shouldThrowExceptionForNullDataSource() {
+        assertThrows(IllegalArgumentException.class, () -> new SqlSequences(null));
+    }
+}
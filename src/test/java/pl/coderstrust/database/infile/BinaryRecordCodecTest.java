@@ -0,0 +1,145 @@
+package pl.coderstrust.database.infile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import pl.coderstrust.configuration.ApplicationConfiguration;
+import pl.coderstrust.generators.InvoiceGenerator;
+import pl.coderstrust.model.Invoice;
+import pl.coderstrust.model.InvoiceEntry;
+import pl.coderstrust.model.Vat;
+
+class BinaryRecordCodecTest {
+
+    private final BinaryRecordCodec codec = new BinaryRecordCodec();
+
+    @Test
+    void shouldDecodeEncodedInvoice() throws IOException {
+        Invoice invoice = InvoiceGenerator.getRandomInvoice();
+
+        Invoice result = codec.decode(ByteBuffer.wrap(codec.encode(invoice)));
+
+        assertEquals(invoice, result);
+    }
+
+    @Test
+    void shouldDecodeInvoiceFromDirectBuffer() throws IOException {
+        Invoice invoice = InvoiceGenerator.getRandomInvoice();
+        byte[] payload = codec.encode(invoice);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(payload.length);
+        buffer.put(payload).flip();
+
+        assertEquals(invoice, codec.decode(buffer));
+    }
+
+    @Test
+    void shouldDecodeInvoiceWithMissingFields() throws IOException {
+        InvoiceEntry entry = InvoiceEntry.builder()
+            .withId(-1L)
+            .withPrice(new BigDecimal("-12.345"))
+            .withVatRate(Vat.VAT_23)
+            .build();
+        Invoice invoice = Invoice.builder()
+            .withId(Long.MAX_VALUE)
+            .withIssuedDate(LocalDate.of(1900, 1, 1))
+            .withEntries(Arrays.asList(entry, null))
+            .build();
+
+        Invoice result = codec.decode(ByteBuffer.wrap(codec.encode(invoice)));
+
+        assertEquals(invoice.getId(), result.getId());
+        assertNull(result.getNumber());
+        assertEquals(invoice.getIssuedDate(), result.getIssuedDate());
+        assertNull(result.getDueDate());
+        assertNull(result.getSeller());
+        assertNull(result.getBuyer());
+        assertEquals(invoice.getEntries().get(0).getPrice(), result.getEntries().get(0).getPrice());
+        assertEquals(Vat.VAT_23, result.getEntries().get(0).getVatRate());
+        assertNull(result.getEntries().get(0).getDescription());
+        assertNull(result.getEntries().get(1));
+    }
+
+    @Test
+    void shouldEncodeInvoiceMoreCompactlyThanJson() throws IOException {
+        ObjectMapper mapper = new ApplicationConfiguration().getObjectMapper();
+        Invoice invoice = InvoiceGenerator.getRandomInvoice();
+
+        assertTrue(codec.encode(invoice).length * 2 < mapper.writeValueAsBytes(invoice).length);
+    }
+
+    @Test
+    void shouldThrowExceptionForCorruptedPayload() throws IOException {
+        byte[] payload = codec.encode(InvoiceGenerator.getRandomInvoice());
+
+        assertThrows(IOException.class, () -> codec.decode(ByteBuffer.wrap(Arrays.copyOf(payload, payload.length / 2))));
+        assertThrows(IOException.class, () -> codec.decode(ByteBuffer.wrap(new byte[] {9})));
+    }
+
+    @Test
+    void shouldReferenceCompaniesFromDictionary() throws IOException {
+        CompanyDictionary companyDictionary = new CompanyDictionary();
+        BinaryRecordCodec dictionaryCodec = new BinaryRecordCodec(companyDictionary);
+        Invoice invoice = InvoiceGenerator.getRandomInvoice();
+        Invoice otherInvoice = Invoice.builder()
+            .withId(invoice.getId() + 1)
+            .withNumber(invoice.getNumber())
+            .withIssuedDate(invoice.getIssuedDate())
+            .withDueDate(invoice.getDueDate())
+            .withSeller(invoice.getBuyer())
+            .withBuyer(invoice.getSeller())
+            .withEntries(invoice.getEntries())
+            .build();
+
+        byte[] payload = dictionaryCodec.encode(invoice);
+
+        assertEquals(invoice, dictionaryCodec.decode(ByteBuffer.wrap(payload)));
+        assertEquals(otherInvoice, dictionaryCodec.decode(ByteBuffer.wrap(dictionaryCodec.encode(otherInvoice))));
+        assertEquals(2, companyDictionary.size());
+        assertTrue(payload.length < codec.encode(invoice).length);
+    }
+
+    @Test
+    void shouldDecodeInlineCompaniesWithDictionaryCodec() throws IOException {
+        Invoice invoice = InvoiceGenerator.getRandomInvoice();
+
+        assertEquals(invoice, new BinaryRecordCodec(new CompanyDictionary()).decode(ByteBuffer.wrap(codec.encode(invoice))));
+    }
+
+    @Test
+    void shouldThrowExceptionWhenReferencedCompanyIsUnknown() throws IOException {
+        byte[] payload = new BinaryRecordCodec(new CompanyDictionary()).encode(InvoiceGenerator.getRandomInvoice());
+
+        assertThrows(IOException.class, () -> codec.decode(ByteBuffer.wrap(payload)));
+        assertThrows(IOException.class, () -> new BinaryRecordCodec(new CompanyDictionary()).decode(ByteBuffer.wrap(payload)));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"VAT_0, 1", "VAT_5, 2", "VAT_8, 3", "VAT_23, 4"})
+    void shouldWriteStableCodeOfVatRate(Vat vatRate, byte expectedCode) throws IOException {
+        Invoice invoice = Invoice.builder()
+            .withEntries(Arrays.asList(InvoiceEntry.builder().withVatRate(vatRate).build()))
+            .build();
+
+        byte[] payload = codec.encode(invoice);
+
+        assertEquals(expectedCode, payload[payload.length - 1]);
+        assertEquals(vatRate, codec.decode(ByteBuffer.wrap(payload)).getEntries().get(0).getVatRate());
+    }
+
+    @Test
+    void shouldThrowExceptionForNullArguments() {
+        assertThrows(IllegalArgumentException.class, () -> codec.encode(null));
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(null));
+    }
+}
@@ -0,0 +1,153 @@
+package pl.coderstrust.database.infile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pl.coderstrust.generators.CompanyGenerator;
+import pl.coderstrust.model.Company;
+
+class CompanyDictionaryTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldStoreEachDistinctCompanyOnce() throws IOException {
+        CompanyDictionary dictionary = new CompanyDictionary();
+        Company company = CompanyGenerator.getRandomCompany();
+        Company sameCompany = Company.builder()
+            .withId(company.getId())
+            .withName(company.getName())
+            .withAddress(company.getAddress())
+            .withTaxId(company.getTaxId())
+            .withAccountNumber(company.getAccountNumber())
+            .withPhoneNumber(company.getPhoneNumber())
+            .withEmail(company.getEmail())
+            .build();
+        Company renamedCompany = Company.builder()
+            .withId(company.getId())
+            .withName(company.getName() + " Ltd")
+            .withTaxId(company.getTaxId())
+            .build();
+
+        long id = dictionary.intern(company);
+
+        assertEquals(id, dictionary.intern(sameCompany));
+        long renamedId = dictionary.intern(renamedCompany);
+        assertNotEquals(id, renamedId);
+        assertEquals(company, dictionary.get(id));
+        assertEquals(Set.of(id, renamedId), dictionary.getIdsByTaxId(company.getTaxId()));
+        assertTrue(dictionary.getIdsByTaxId("unknown").isEmpty());
+        assertEquals(2, dictionary.size());
+        assertNull(dictionary.get(renamedId + 1));
+    }
+
+    @Test
+    void shouldRestoreCompaniesAfterReopening() throws IOException {
+        String path = directory.resolve("invoices.companies").toString();
+        Company company = CompanyGenerator.getRandomCompany();
+        Company otherCompany = CompanyGenerator.getRandomCompany();
+        long id;
+        long otherId;
+        try (CompanyDictionary dictionary = new CompanyDictionary(path)) {
+            id = dictionary.intern(company);
+            otherId = dictionary.intern(otherCompany);
+        }
+
+        try (CompanyDictionary dictionary = new CompanyDictionary(path)) {
+            assertEquals(company, dictionary.get(id));
+            assertEquals(otherCompany, dictionary.get(otherId));
+            assertEquals(id, dictionary.intern(company));
+            assertEquals(otherId + 1, dictionary.intern(CompanyGenerator.getRandomCompany()));
+        }
+    }
+
+    @Test
+    void shouldRetainReferencedAndConcurrentlyUsedCompanies() throws IOException {
+        String path = directory.resolve("invoices.companies").toString();
+        Company referencedCompany = CompanyGenerator.getRandomCompany();
+        Company usedCompany = CompanyGenerator.getRandomCompany();
+        Company unusedCompany = CompanyGenerator.getRandomCompany();
+        long lastId;
+        long referencedId;
+        long usedId;
+        try (CompanyDictionary dictionary = new CompanyDictionary(path)) {
+            referencedId = dictionary.intern(referencedCompany);
+            usedId = dictionary.intern(usedCompany);
+            lastId = dictionary.intern(unusedCompany);
+            final long epoch = dictionary.getEpoch();
+            dictionary.startCompaction();
+            dictionary.intern(usedCompany);
+
+            assertEquals(1, dictionary.retain(Set.of(referencedId)));
+            assertNotEquals(epoch, dictionary.getEpoch());
+        }
+
+        try (CompanyDictionary dictionary = new CompanyDictionary(path)) {
+            assertEquals(2, dictionary.size());
+            assertEquals(referencedCompany, dictionary.get(referencedId));
+            assertEquals(usedCompany, dictionary.get(usedId));
+            assertNull(dictionary.get(lastId));
+            assertEquals(lastId + 1, dictionary.intern(unusedCompany));
+        }
+    }
+
+    @Test
+    void shouldKeepIdsUniqueAfterClearing() throws IOException {
+        String path = directory.resolve("invoices.companies").toString();
+        long id;
+        try (CompanyDictionary dictionary = new CompanyDictionary(path)) {
+            id = dictionary.intern(CompanyGenerator.getRandomCompany());
+            dictionary.clear();
+            assertEquals(0, dictionary.size());
+        }
+
+        try (CompanyDictionary dictionary = new CompanyDictionary(path)) {
+            assertEquals(0, dictionary.size());
+            assertEquals(id + 1, dictionary.intern(CompanyGenerator.getRandomCompany()));
+        }
+    }
+
+    @Test
+    void shouldDropTornTailWhenReopening() throws IOException {
+        Path path = directory.resolve("invoices.companies");
+        Company company = CompanyGenerator.getRandomCompany();
+        try (CompanyDictionary dictionary = new CompanyDictionary(path.toString())) {
+            dictionary.intern(company);
+            dictionary.intern(CompanyGenerator.getRandomCompany());
+        }
+        long size = Files.size(path);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(size - 3);
+        }
+
+        try (CompanyDictionary dictionary = new CompanyDictionary(path.toString())) {
+            assertEquals(1, dictionary.size());
+            assertEquals(company, dictionary.get(1L));
+            assertEquals(2L, dictionary.intern(CompanyGenerator.getRandomCompany()));
+        }
+        try (CompanyDictionary dictionary = new CompanyDictionary(path.toString())) {
+            assertEquals(2, dictionary.size());
+        }
+    }
+
+    @Test
+    void shouldThrowExceptionForNullArguments() {
+        CompanyDictionary dictionary = new CompanyDictionary();
+
+        assertThrows(IllegalArgumentException.class, () -> new CompanyDictionary(null));
+        assertThrows(IllegalArgumentException.class, () -> dictionary.intern(null));
+        assertThrows(IllegalArgumentException.class, () -> dictionary.getIdsByTaxId(null));
+    }
+}
@@ -0,0 +1,740 @@
+package pl.coderstrust.database.infile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import pl.coderstrust.configuration.ApplicationConfiguration;
+import pl.coderstrust.configuration.InFileDatabaseProperties;
+import pl.coderstrust.generators.InvoiceGenerator;
+import pl.coderstrust.helpers.FileHelper;
+import pl.coderstrust.model.Invoice;
+
+class InvoiceStoreTest {
+
+    private static final long SEGMENT_SIZE = 1048576;
+
+    @TempDir
+    Path temporaryFolder;
+
+    private ObjectMapper objectMapper;
+    private FileHelper fileHelper;
+    private String databaseFile;
+    private InvoiceStore store;
+
+    @BeforeEach
+    void setup() throws IOException {
+        objectMapper = new ApplicationConfiguration().getObjectMapper();
+        fileHelper = new FileHelper();
+        databaseFile = temporaryFolder.resolve("invoices.txt").toString();
+        store = new InvoiceStore(createProperties(databaseFile, SEGMENT_SIZE, ReadMode.STREAM), objectMapper, fileHelper);
+    }
+
+    @AfterEach
+    void teardown() throws IOException {
+        store.close();
+    }
+
+    @Test
+    void shouldAppendNewVersionOfUpdatedInvoice() throws IOException {
+        Invoice invoice = InvoiceGenerator.getRandomInvoice();
+        store.put(invoice);
+
+        store.put(invoice);
+
+        assertEquals(2, countRecords());
+        assertEquals(1, store.count());
+        assertEquals(Optional.of(invoice), store.get(invoice.getId()));
+    }
+
+    @Test
+    void shouldAppendTombstoneWhenRemovingInvoice() throws IOException {
+        Invoice invoice = InvoiceGenerator.getRandomInvoice();
+        store.put(invoice);
+
+        assertTrue(store.remove(invoice.getId()));
+
+        RecordFrame lastFrame = readFrames(databaseFile + ".000001").get(1);
+        assertTrue(lastFrame.isTombstone());
+        assertEquals(invoice.getId(), lastFrame.getId());
+        assertFalse(store.contains(invoice.getId()));
+        assertEquals(Optional.empty(), store.get(invoice.getId()));
+    }
+
+    @Test
+    void shouldReturnFalseWhenRemovingNonExistingInvoice() throws IOException {
+        assertFalse(store.remove(1L));
+        assertTrue(readFrames(databaseFile + ".000001").isEmpty());
+    }
+
+    @Test
+    void shouldCalculateDeadRecordRatio() throws IOException {
+        Invoice invoice1 = InvoiceGenerator.getRandomInvoice();
+        Invoice invoice2 = InvoiceGenerator.getRandomInvoice();
+        store.put(invoice1);
+        store.put(invoice2);
+
+        assertEquals(0, store.getDeadRecordRatio());
+
+        store.remove(invoice1.getId());
+
+        long liveBytes = SegmentFormat.SEGMENT_HEADER_SIZE + SegmentFormat.FRAME_HEADER_SIZE + objectMapper.writeValueAsBytes(invoice2).length;
+        assertEquals(1 - (double) liveBytes / fileHelper.size(databaseFile + ".000001"), store.getDeadRecordRatio(), 0.000001);
+    }
+
+    @Test
+    void shouldRemoveDeadRecordsWhenCompacting() throws IOException {
+        Invoice invoice1 = InvoiceGenerator.getRandomInvoice();
+        Invoice invoice2 = InvoiceGenerator.getRandomInvoice();
+        Invoice invoice3 = InvoiceGenerator.getRandomInvoice();
+        store.put(invoice1);
+        store.put(invoice2);
+        store.put(invoice2);
+        store.put(invoice3);
+        store.remove(invoice1.getId());
+
+        store.compact();
+
+        assertEquals(0, store.getDeadRecordRatio());
+        assertEquals(Arrays.asList(invoice2, invoice3), store.getAll());
+        assertEquals(Optional.of(invoice2), store.get(invoice2.getId()));
+        assertEquals(2, countRecords());
+        assertFalse(Files.exists(Path.of(databaseFile + ".000001.compaction")));
+    }
+
+    @Test
+    void shouldKeepMaxIdAfterCompactingAndReopening() throws IOException {
+        Invoice invoice = InvoiceGenerator.getRandomInvoice();
+        store.put(invoice);
+        store.remove(invoice.getId());
+
+        store.compact();
+        InvoiceStore reopenedStore = new InvoiceStore(createProperties(databaseFile, SEGMENT_SIZE, ReadMode.STREAM), objectMapper, fileHelper);
+
+        assertEquals(invoice.getId(), reopenedStore.getMaxId());
+        assertEquals(0, reopenedStore.count());
+        assertEquals(Collections.emptyList(), reopenedStore.getAll());
+    }
+
+    @Test
+    void shouldAcceptWritesAfterCompacting() throws IOException {
+        Invoice invoice1 = InvoiceGenerator.getRandomInvoice();
+        Invoice invoice2 = InvoiceGenerator.getRandomInvoice();
+        store.put(invoice1);
+        store.put(invoice1);
+
+        store.compact();
+        store.put(invoice2);
+        InvoiceStore reopenedStore = new InvoiceStore(createProperties(databaseFile, SEGMENT_SIZE, ReadMode.STREAM), objectMapper, fileHelper);
+
+        assertEquals(Arrays.asList(invoice1, invoice2), store.getAll());
+        assertEquals(Optional.of(invoice2), reopenedStore.get(invoice2.getId()));
+        assertEquals(2, reopenedStore.count());
+    }
+
+    @Test
+    void shouldRollOverToNewSegmentWhenSegmentSizeIsExceeded() throws IOException {
+        InvoiceStore segmentedStore = new InvoiceStore(createProperties(databaseFile, 1, ReadMode.STREAM), objectMapper, fileHelper);
+        Invoice invoice1 = InvoiceGenerator.getRandomInvoice();
+        Invoice invoice2 = InvoiceGenerator.getRandomInvoice();
+
+        segmentedStore.put(invoice1);
+        segmentedStore.put(invoice2);
+
+        assertEquals(Arrays.asList(databaseFile + ".000001", databaseFile + ".000002"), segmentedStore.getSegmentPaths());
+        assertEquals(Arrays.asList("1", "2"), Files.readAllLines(Path.of(databaseFile + ".manifest")));
+        assertEquals(Optional.of(invoice1), segmentedStore.get(invoice1.getId()));
+        assertEquals(Arrays.asList(invoice1, invoice2), segmentedStore.getAll());
+    }
+
+    @Test
+    void shouldNotRestoreInvoiceDeletedInLaterSegmentAfterCompactingAndReopening() throws IOException {
+        InvoiceStore segmentedStore = new InvoiceStore(createProperties(databaseFile, 1, ReadMode.STREAM), objectMapper, fileHelper);
+        Invoice invoice1 = InvoiceGenerator.getRandomInvoice();
+        Invoice invoice2 = InvoiceGenerator.getRandomInvoice();
+        segmentedStore.put(invoice1);
+        segmentedStore.put(invoice2);
+        segmentedStore.put(invoice2);
+        segmentedStore.remove(invoice1.getId());
+
+        segmentedStore.compact();
+        InvoiceStore reopenedStore = new InvoiceStore(createProperties(databaseFile, 1, ReadMode.STREAM), objectMapper, fileHelper);
+
+        assertEquals(Collections.singletonList(invoice2), reopenedStore.getAll());
+        assertFalse(reopenedStore.contains(invoice1.getId()));
+    }
+
+    @Test
+    void shouldRemoveSegmentWithoutLiveRecordsWhenCompacting() throws IOException {
+        InvoiceStore segmentedStore = new InvoiceStore(createProperties(databaseFile, 1, ReadMode.STREAM), objectMapper, fileHelper);
+        Invoice invoice1 = InvoiceGenerator.getRandomInvoice();
+        Invoice invoice2 = InvoiceGenerator.getRandomInvoice();
+        segmentedStore.put(invoice1);
+        segmentedStore.put(invoice2);
+        segmentedStore.put(invoice1);
+
+        assertEquals(1, segmentedStore.compact(0.5));
+
+        assertFalse(fileHelper.exists(databaseFile + ".000001"));
+        assertEquals(Arrays.asList(databaseFile + ".000002", databaseFile + ".000003"), segmentedStore.getSegmentPaths());
+        assertEquals(Arrays.asList(invoice2, invoice1), segmentedStore.getAll());
+    }
+
+    @Test
+    void shouldNotCompactSegmentsBelowThreshold() throws IOException {
+        Invoice invoice1 = InvoiceGenerator.getRandomInvoice();
+        Invoice invoice2 = InvoiceGenerator.getRandomInvoice();
+        store.put(invoice1);
+        store.put(invoice2);
+        store.put(invoice2);
+
+        assertEquals(0, store.compact(0.9));
+        assertEquals(3, countRecords());
+    }
+
+    @Test
+    void shouldMoveSingleFileDatabaseToFirstSegment() throws IOException {
+        String legacyDatabaseFile = temporaryFolder.resolve("legacy.txt").toString();
+        Invoice invoice = InvoiceGenerator.getRandomInvoice();
+        fileHelper.writeLine(legacyDatabaseFile, objectMapper.writeValueAsString(invoice));
+
+        InvoiceStore migratedStore = new InvoiceStore(createProperties(legacyDatabaseFile, SEGMENT_SIZE, ReadMode.STREAM), objectMapper, fileHelper);
+
+        assertFalse(fileHelper.exists(legacyDatabaseFile));
+        assertEquals(Collections.singletonList(legacyDatabaseFile + ".000001"), migratedStore.getSegmentPaths());
+        assertEquals(Optional.of(invoice), migratedStore.get(invoice.getId()));
+    }
+
+    @Test
+    void shouldReadInvoicesFromMemoryMappedSegments() throws IOException {
+        InvoiceStore mappedStore = new InvoiceStore(createProperties(databaseFile, 1, ReadMode.MEMORY_MAPPED), objectMapper, fileHelper);
+        Invoice invoice1 = InvoiceGenerator.getRandomInvoice();
+        Invoice invoice2 = InvoiceGenerator.getRandomInvoice();
+        mappedStore.put(invoice1);
+        mappedStore.put(invoice2);
+
+        assertEquals(Optional.of(invoice1), mappedStore.get(invoice1.getId()));
+        assertEquals(Optional.of(invoice2), mappedStore.get(invoice2.getId()));
+        assertEquals(Arrays.asList(invoice1, invoice2), mappedStore.getAll());
+    }
+
+    @Test
+    void shouldReadInvoicesAppendedToAlreadyMappedSegment() throws IOException {
+        InvoiceStore mappedStore = new InvoiceStore(createProperties(databaseFile, SEGMENT_SIZE, ReadMode.MEMORY_MAPPED), objectMapper, fileHelper);
+        Invoice invoice1 = InvoiceGenerator.getRandomInvoice();
+        Invoice invoice2 = InvoiceGenerator.getRandomInvoice();
+        mappedStore.put(invoice1);
+        mappedStore.get(invoice1.getId());
+
+        mappedStore.put(invoice2);
+
+        assertEquals(Optional.of(invoice2), mappedStore.get(invoice2.getId()));
+        assertEquals(Optional.of(invoice1), mappedStore.get(invoice1.getId()));
+    }
+
+    @Test
+    void shouldReadOnlyActiveSegmentThroughStreamInMemoryMappedMode() throws IOException {
+        FileHelper spiedFileHelper = spy(new FileHelper());
+        InvoiceStore mappedStore = new InvoiceStore(createProperties(databaseFile, 1, ReadMode.MEMORY_MAPPED), objectMapper, spiedFileHelper);
+        Invoice invoice1 = InvoiceGenerator.getRandomInvoice();
+        Invoice invoice2 = InvoiceGenerator.getRandomInvoice();
+        mappedStore.put(invoice1);
+        mappedStore.put(invoice2);
+
+        assertEquals(Optional.of(invoice1), mappedStore.get(invoice1.getId()));
+        assertEquals(Optional.of(invoice2), mappedStore.get(invoice2.getId()));
+        verify(spiedFileHelper, never()).readBytes(eq(databaseFile + ".000001"), anyLong(), anyInt());
+        verify(spiedFileHelper).readBytes(eq(databaseFile + ".000002"), anyLong(), anyInt());
+        mappedStore.close();
+    }
+
+    @Test
+    void shouldReadCompactedSegmentsInMemoryMappedMode() throws IOException {
+        InvoiceStore mappedStore = new InvoiceStore(createProperties(databaseFile, SEGMENT_SIZE, ReadMode.MEMORY_MAPPED), objectMapper, fileHelper);
+        Invoice invoice1 = InvoiceGenerator.getRandomInvoice();
+        Invoice invoice2 = InvoiceGenerator.getRandomInvoice();
+        mappedStore.put(invoice1);
+        mappedStore.put(invoice2);
+        mappedStore.remove(invoice1.getId());
+        mappedStore.getAll();
+
+        mappedStore.compact();
+
+        assertEquals(Optional.of(invoice2), mappedStore.get(invoice2.getId()));
+        assertEquals(Collections.singletonList(invoice2), mappedStore.getAll());
+    }
+
+    @ParameterizedTest
+    @EnumSource(FsyncPolicy.class)
+    void shouldKeepInvoicesSavedConcurrently(FsyncPolicy fsyncPolicy) throws Exception {
+        InFileDatabaseProperties properties = createProperties(temporaryFolder.resolve("concurrent.txt").toString(), 4096, ReadMode.STREAM);
+        properties.setFsyncPolicy(fsyncPolicy);
+        InvoiceStore concurrentStore = new InvoiceStore(properties, objectMapper, fileHelper);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (long id = 1; id <= 50; id++) {
+            Invoice invoice = InvoiceGenerator.getRandomInvoiceWithSpecificId(id);
+            futures.add(executor.submit(() -> {
+                concurrentStore.put(invoice);
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        concurrentStore.close();
+        InvoiceStore reopenedStore = new InvoiceStore(properties, objectMapper, fileHelper);
+
+        assertEquals(50, reopenedStore.count());
+        assertEquals(50, reopenedStore.getAll().size());
+        assertEquals(50, reopenedStore.getMaxId());
+        reopenedStore.close();
+    }
+
+    @ParameterizedTest
+    @EnumSource(ReadMode.class)
+    void shouldReturnConsistentInvoicesWhileWritingAndCompacting(ReadMode readMode) throws Exception {
+        InFileDatabaseProperties properties = createProperties(temporaryFolder.resolve("concurrent.txt").toString(), 4096, readMode);
+        properties.setFsyncPolicy(FsyncPolicy.OS);
+        InvoiceStore concurrentStore = new InvoiceStore(properties, objectMapper, fileHelper);
+        List<Invoice> stableInvoices = new ArrayList<>();
+        for (long id = 1; id <= 10; id++) {
+            Invoice invoice = InvoiceGenerator.getRandomInvoiceWithSpecificId(id);
+            concurrentStore.put(invoice);
+            stableInvoices.add(invoice);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(6);
+        List<Future<?>> futures = new ArrayList<>();
+
+        futures.add(executor.submit(() -> {
+            for (long id = 11; id <= 200; id++) {
+                concurrentStore.put(InvoiceGenerator.getRandomInvoiceWithSpecificId(id));
+                concurrentStore.remove(id);
+            }
+            return null;
+        }));
+        futures.add(executor.submit(() -> {
+            for (int i = 0; i < 50; i++) {
+                concurrentStore.compact();
+            }
+            return null;
+        }));
+        for (int reader = 0; reader < 4; reader++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 100; i++) {
+                    Invoice invoice = stableInvoices.get(i % stableInvoices.size());
+                    assertEquals(Optional.of(invoice), concurrentStore.get(invoice.getId()));
+                    assertTrue(concurrentStore.getAll().containsAll(stableInvoices));
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(stableInvoices, concurrentStore.getAll());
+        concurrentStore.close();
+    }
+
+    @Test
+    void shouldTruncateTornRecordAtTheEndOfSegment() throws IOException {
+        Invoice invoice = InvoiceGenerator.getRandomInvoice();
+        store.put(invoice);
+        store.close();
+        String segmentPath = databaseFile + ".000001";
+        long validSize = fileHelper.size(segmentPath);
+        byte[] record = SegmentFormat.encode(RecordFrame.INVOICE, invoice.getId() + 1, objectMapper.writeValueAsBytes(InvoiceGenerator.getRandomInvoice()));
+        Files.write(Path.of(segmentPath), Arrays.copyOf(record, record.length / 2), StandardOpenOption.APPEND);
+
+        store = new InvoiceStore(createProperties(databaseFile, SEGMENT_SIZE, ReadMode.STREAM), objectMapper, fileHelper);
+
+        assertEquals(validSize, fileHelper.size(segmentPath));
+        assertEquals(Collections.singletonList(invoice), store.getAll());
+        assertEquals(invoice.getId(), store.getMaxId());
+    }
+
+    @Test
+    void shouldTruncateSegmentAtFirstRecordWithInvalidChecksum() throws IOException {
+        Invoice invoice1 = InvoiceGenerator.getRandomInvoice();
+        Invoice invoice2 = InvoiceGenerator.getRandomInvoice();
+        store.put(invoice1);
+        store.put(invoice2);
+        store.close();
+        String segmentPath = databaseFile + ".000001";
+        byte[] segment = Files.readAllBytes(Path.of(segmentPath));
+        segment[segment.length - 1] ^= 1;
+        Files.write(Path.of(segmentPath), segment);
+
+        store = new InvoiceStore(createProperties(databaseFile, SEGMENT_SIZE, ReadMode.STREAM), objectMapper, fileHelper);
+
+        assertEquals(Collections.singletonList(invoice1), store.getAll());
+        assertEquals(invoice1.getId(), store.getMaxId());
+        assertEquals(1, readFrames(segmentPath).size());
+    }
+
+    @Test
+    void shouldFailToOpenStoreWithCorruptedSealedSegment() throws IOException {
+        String sealedDatabaseFile = temporaryFolder.resolve("sealed.txt").toString();
+        InvoiceStore sealedStore = new InvoiceStore(createProperties(sealedDatabaseFile, 1, ReadMode.STREAM), objectMapper, fileHelper);
+        sealedStore.put(InvoiceGenerator.getRandomInvoice());
+        sealedStore.put(InvoiceGenerator.getRandomInvoice());
+        sealedStore.close();
+        String sealedSegmentPath = sealedDatabaseFile + ".000001";
+        byte[] segment = Files.readAllBytes(Path.of(sealedSegmentPath));
+        segment[segment.length - 1] ^= 1;
+        Files.write(Path.of(sealedSegmentPath), segment);
+
+        assertThrows(IOException.class, () -> new InvoiceStore(createProperties(sealedDatabaseFile, 1, ReadMode.STREAM), objectMapper, fileHelper));
+        assertEquals(segment.length, fileHelper.size(sealedSegmentPath));
+    }
+
+    @Test
+    void shouldRecoverWithoutParsingInvoices() throws IOException {
+        Invoice invoice = InvoiceGenerator.getRandomInvoice();
+        store.put(invoice);
+        store.remove(invoice.getId());
+        store.put(InvoiceGenerator.getRandomInvoice());
+        store.close();
+        ObjectMapper recoveryMapper = spy(objectMapper);
+
+        InvoiceStore recoveredStore = new InvoiceStore(createProperties(databaseFile, SEGMENT_SIZE, ReadMode.STREAM), recoveryMapper, fileHelper);
+
+        assertEquals(1, recoveredStore.count());
+        assertFalse(recoveredStore.contains(invoice.getId()));
+        verify(recoveryMapper, never()).readValue(any(byte[].class), eq(Invoice.class));
+        verify(recoveryMapper, never()).readValue(anyString(), eq(Invoice.class));
+        recoveredStore.close();
+    }
+
+    @Test
+    void shouldRebuildNumberIndexWhenSnapshotIsMissing() throws IOException {
+        Invoice invoice1 = InvoiceGenerator.getRandomInvoice();
+        Invoice invoice2 = InvoiceGenerator.getRandomInvoice();
+        store.put(invoice1);
+        store.put(invoice2);
+        store.remove(invoice1.getId());
+        Files.delete(Path.of(databaseFile + ".indexes"));
+
+        InvoiceStore recoveredStore = new InvoiceStore(createProperties(databaseFile, SEGMENT_SIZE, ReadMode.STREAM), objectMapper, fileHelper);
+
+        assertEquals(Optional.empty(), recoveredStore.getIdByNumber(invoice1.getNumber()));
+        assertEquals(Optional.of(invoice2.getId()), recoveredStore.getIdByNumber(invoice2.getNumber()));
+        recoveredStore.close();
+    }
+
+    @Test
+    void shouldRestoreNumberIndexFromSnapshotAndKeepSnapshotAfterLoading() throws IOException {
+        Invoice invoice = InvoiceGenerator.getRandomInvoice();
+        store.put(invoice);
+        store.close();
+
+        store = new InvoiceStore(createProperties(databaseFile, SEGMENT_SIZE, ReadMode.STREAM), objectMapper, fileHelper);
+
+        assertEquals(Optional.of(invoice.getId()), store.getIdByNumber(invoice.getNumber()));
+        assertTrue(fileHelper.exists(databaseFile + ".indexes"));
+    }
+
+    @Test
+    void shouldReplayRecordsWrittenAfterSnapshot() throws IOException {
+        Invoice invoice1 = InvoiceGenerator.getRandomInvoice();
+        store.put(invoice1);
+        store.close();
+        final byte[] snapshot = Files.readAllBytes(Path.of(databaseFile + ".indexes"));
+        store = new InvoiceStore(createProperties(databaseFile, SEGMENT_SIZE, ReadMode.STREAM), objectMapper, fileHelper);
+        Invoice invoice2 = InvoiceGenerator.getRandomInvoice();
+        store.put(invoice2);
+        store.remove(invoice1.getId());
+        store.close();
+        Files.write(Path.of(databaseFile + ".indexes"), snapshot);
+
+        store = new InvoiceStore(createProperties(databaseFile, SEGMENT_SIZE, ReadMode.STREAM), objectMapper, fileHelper);
+
+        assertEquals(Optional.empty(), store.getIdByNumber(invoice1.getNumber()));
+        assertEquals(Optional.of(invoice2.getId()), store.getIdByNumber(invoice2.getNumber()));
+    }
+
+    @Test
+    void shouldWriteSnapshotWhenRollingOverToNewSegment() throws IOException {
+        String rolledDatabaseFile = temporaryFolder.resolve("rolled.txt").toString();
+        InvoiceStore rolledStore = new InvoiceStore(createProperties(rolledDatabaseFile, 1, ReadMode.STREAM), objectMapper, fileHelper);
+        Invoice invoice1 = InvoiceGenerator.getRandomInvoice();
+        rolledStore.put(invoice1);
+        rolledStore.put(InvoiceGenerator.getRandomInvoice());
+        NumberIndex numberIndex = new NumberIndex();
+
+        Optional<IndexSnapshot.HighWaterMark> highWaterMark = new IndexSnapshot(rolledDatabaseFile + ".indexes").read(List.of(numberIndex, new IssuedDateIndex()));
+
+        assertEquals(2, highWaterMark.get().getSegmentId());
+        assertEquals(SegmentFormat.SEGMENT_HEADER_SIZE, highWaterMark.get().getOffset());
+        assertEquals(Optional.of(invoice1.getId()), numberIndex.get(invoice1.getNumber()));
+        assertEquals(1, numberIndex.size());
+        rolledStore.close();
+    }
+
+    @Test
+    void shouldRebuildIndexesWhenSnapshotIsAheadOfSegment() throws IOException {
+        Invoice invoice1 = InvoiceGenerator.getRandomInvoice();
+        Invoice invoice2 = InvoiceGenerator.getRandomInvoice();
+        store.put(invoice1);
+        store.put(invoice2);
+        store.close();
+        String segmentPath = databaseFile + ".000001";
+        fileHelper.truncate(segmentPath, fileHelper.size(segmentPath) - 1);
+
+        store = new InvoiceStore(createProperties(databaseFile, SEGMENT_SIZE, ReadMode.STREAM), objectMapper, fileHelper);
+
+        assertEquals(Optional.of(invoice1.getId()), store.getIdByNumber(invoice1.getNumber()));
+        assertEquals(Optional.empty(), store.getIdByNumber(invoice2.getNumber()));
+    }
+
+    @Test
+    void putMethodShouldThrowExceptionForNumberUsedByAnotherInvoice() throws IOException {
+        Invoice invoice = InvoiceGenerator.getRandomInvoice();
+        store.put(invoice);
+        Invoice invoiceWithTakenNumber = InvoiceGenerator.getRandomInvoiceWithSpecificNumber(invoice.getNumber());
+
+        DuplicateNumberException exception = assertThrows(DuplicateNumberException.class, () -> store.put(invoiceWithTakenNumber));
+        assertEquals(invoice.getNumber(), exception.getNumber());
+        assertEquals(1, countRecords());
+        assertFalse(store.contains(invoiceWithTakenNumber.getId()));
+    }
+
+    @Test
+    void shouldAssignNextIdWhenInsertingInvoice() throws IOException {
+        Invoice invoice = InvoiceGenerator.getRandomInvoiceWithSpecificId(10L);
+        store.put(invoice);
+
+        Invoice insertedInvoice = store.insert(InvoiceGenerator.getRandomInvoiceWithNullId());
+
+        assertEquals(Long.valueOf(11L), insertedInvoice.getId());
+        assertEquals(Optional.of(insertedInvoice), store.get(11L));
+    }
+
+    @Test
+    void insertMethodShouldNotAssignIdToInvoiceWithTakenNumber() throws IOException {
+        Invoice invoice = InvoiceGenerator.getRandomInvoice();
+        store.put(invoice);
+        Invoice invoiceWithTakenNumber = InvoiceGenerator.getRandomInvoiceWithSpecificNumber(invoice.getNumber());
+
+        assertThrows(DuplicateNumberException.class, () -> store.insert(invoiceWithTakenNumber));
+        assertEquals(invoice.getId(), store.getMaxId());
+        assertEquals(1, countRecords());
+    }
+
+    @Test
+    void shouldConvertJsonLinesSegmentWithTombstones() throws IOException {
+        String legacyDatabaseFile = temporaryFolder.resolve("legacy.txt").toString();
+        Invoice invoice = InvoiceGenerator.getRandomInvoice();
+        Invoice deletedInvoice = InvoiceGenerator.getRandomInvoice();
+        fileHelper.writeLine(legacyDatabaseFile, objectMapper.writeValueAsString(invoice));
+        fileHelper.writeLine(legacyDatabaseFile, objectMapper.writeValueAsString(deletedInvoice));
+        fileHelper.writeLine(legacyDatabaseFile, "{\"deletedId\":" + deletedInvoice.getId() + "}");
+
+        InvoiceStore migratedStore = new InvoiceStore(createProperties(legacyDatabaseFile, SEGMENT_SIZE, ReadMode.STREAM), objectMapper, fileHelper);
+
+        assertTrue(SegmentFormat.hasSegmentHeader(legacyDatabaseFile + ".000001"));
+        assertEquals(Collections.singletonList(invoice), migratedStore.getAll());
+        assertEquals(deletedInvoice.getId(), migratedStore.getMaxId());
+        migratedStore.close();
+    }
+
+    @Test
+    void shouldKeepMaxIdAfterClearing() throws IOException {
+        Invoice invoice = InvoiceGenerator.getRandomInvoice();
+        store.put(invoice);
+
+        store.clear();
+
+        assertEquals(0, store.count());
+        assertEquals(invoice.getId(), store.getMaxId());
+    }
+
+    @ParameterizedTest
+    @EnumSource(ReadMode.class)
+    void shouldStoreInvoicesInBinaryFormat(ReadMode readMode) throws IOException {
+        String binaryDatabaseFile = temporaryFolder.resolve("binary.txt").toString();
+        InvoiceStore binaryStore = new InvoiceStore(createProperties(binaryDatabaseFile, SEGMENT_SIZE, readMode, RecordFormat.BINARY), objectMapper, fileHelper);
+        Invoice invoice1 = InvoiceGenerator.getRandomInvoice();
+        Invoice invoice2 = InvoiceGenerator.getRandomInvoice();
+        binaryStore.put(invoice1);
+        binaryStore.put(invoice2);
+        binaryStore.remove(invoice1.getId());
+        binaryStore.close();
+
+        InvoiceStore reopenedStore = new InvoiceStore(createProperties(binaryDatabaseFile, SEGMENT_SIZE, readMode, RecordFormat.BINARY), objectMapper, fileHelper);
+
+        assertEquals(RecordFormat.BINARY, SegmentFormat.readRecordFormat(binaryDatabaseFile + ".000001"));
+        assertEquals(Optional.of(invoice2), reopenedStore.get(invoice2.getId()));
+        assertEquals(Collections.singletonList(invoice2), reopenedStore.getAll());
+        reopenedStore.close();
+    }
+
+    @Test
+    void shouldStoreCompaniesSharedByInvoicesOnce() throws IOException {
+        String binaryDatabaseFile = temporaryFolder.resolve("binary.txt").toString();
+        InvoiceStore binaryStore = new InvoiceStore(createProperties(binaryDatabaseFile, SEGMENT_SIZE, ReadMode.STREAM, RecordFormat.BINARY), objectMapper, fileHelper);
+        Invoice template = InvoiceGenerator.getRandomInvoice();
+        List<Invoice> invoices = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) {
+            Invoice invoice = Invoice.builder()
+                .withId(id)
+                .withNumber(String.valueOf(id))
+                .withIssuedDate(template.getIssuedDate())
+                .withDueDate(template.getDueDate())
+                .withSeller(id % 2 == 0 ? template.getSeller() : template.getBuyer())
+                .withBuyer(id % 2 == 0 ? template.getBuyer() : template.getSeller())
+                .withEntries(template.getEntries())
+                .build();
+            binaryStore.put(invoice);
+            invoices.add(invoice);
+        }
+        binaryStore.close();
+
+        InvoiceStore reopenedStore = new InvoiceStore(createProperties(binaryDatabaseFile, SEGMENT_SIZE, ReadMode.STREAM, RecordFormat.BINARY), objectMapper, fileHelper);
+
+        assertEquals(2, reopenedStore.getCompanyCount());
+        assertEquals(1, reopenedStore.getCompanyIdsByTaxId(template.getSeller().getTaxId()).size());
+        assertEquals(invoices, reopenedStore.getAll());
+        reopenedStore.close();
+    }
+
+    @Test
+    void shouldNotCreateCompanyDictionaryForJsonRecords() {
+        assertFalse(fileHelper.exists(databaseFile + ".companies"));
+    }
+
+    @Test
+    void shouldClearCompanyDictionaryTogetherWithSegments() throws IOException {
+        String binaryDatabaseFile = temporaryFolder.resolve("binary.txt").toString();
+        InvoiceStore binaryStore = new InvoiceStore(createProperties(binaryDatabaseFile, SEGMENT_SIZE, ReadMode.STREAM, RecordFormat.BINARY), objectMapper, fileHelper);
+        binaryStore.put(InvoiceGenerator.getRandomInvoice());
+
+        binaryStore.clear();
+        Invoice invoice = InvoiceGenerator.getRandomInvoice();
+        binaryStore.put(invoice);
+        binaryStore.close();
+
+        InvoiceStore reopenedStore = new InvoiceStore(createProperties(binaryDatabaseFile, SEGMENT_SIZE, ReadMode.STREAM, RecordFormat.BINARY), objectMapper, fileHelper);
+        assertEquals(2, reopenedStore.getCompanyCount());
+        assertEquals(Collections.singletonList(invoice), reopenedStore.getAll());
+        reopenedStore.close();
+    }
+
+    @Test
+    void shouldRemoveUnreferencedCompaniesWhenCompacting() throws IOException {
+        String binaryDatabaseFile = temporaryFolder.resolve("binary.txt").toString();
+        InvoiceStore binaryStore = new InvoiceStore(createProperties(binaryDatabaseFile, SEGMENT_SIZE, ReadMode.STREAM, RecordFormat.BINARY), objectMapper, fileHelper);
+        Invoice invoice = InvoiceGenerator.getRandomInvoice();
+        Invoice updatedInvoice = InvoiceGenerator.getRandomInvoiceWithSpecificId(invoice.getId());
+        binaryStore.put(invoice);
+        binaryStore.put(updatedInvoice);
+
+        binaryStore.compact();
+        binaryStore.close();
+
+        InvoiceStore reopenedStore = new InvoiceStore(createProperties(binaryDatabaseFile, SEGMENT_SIZE, ReadMode.STREAM, RecordFormat.BINARY), objectMapper, fileHelper);
+        assertEquals(2, reopenedStore.getCompanyCount());
+        assertTrue(reopenedStore.getCompanyIdsByTaxId(invoice.getSeller().getTaxId()).isEmpty());
+        assertEquals(Collections.singletonList(updatedInvoice), reopenedStore.getAll());
+        reopenedStore.close();
+    }
+
+    @Test
+    void shouldConvertSegmentsToConfiguredRecordFormat() throws IOException {
+        List<Invoice> invoices = Arrays.asList(InvoiceGenerator.getRandomInvoice(), InvoiceGenerator.getRandomInvoice());
+        for (Invoice invoice : invoices) {
+            store.put(invoice);
+        }
+        store.remove(invoices.get(0).getId());
+        store.close();
+        String segmentPath = databaseFile + ".000001";
+        long jsonSize = fileHelper.size(segmentPath);
+
+        store = new InvoiceStore(createProperties(databaseFile, SEGMENT_SIZE, ReadMode.STREAM, RecordFormat.BINARY), objectMapper, fileHelper);
+
+        assertEquals(RecordFormat.BINARY, SegmentFormat.readRecordFormat(segmentPath));
+        assertTrue(fileHelper.size(segmentPath) < jsonSize);
+        assertEquals(Collections.singletonList(invoices.get(1)), store.getAll());
+        assertEquals(3, countRecords());
+    }
+
+    @Test
+    void constructorShouldThrowExceptionForNullArguments() {
+        InFileDatabaseProperties properties = createProperties(databaseFile, SEGMENT_SIZE, ReadMode.STREAM);
+        assertThrows(IllegalArgumentException.class, () -> new InvoiceStore(properties, null, fileHelper));
+        assertThrows(IllegalArgumentException.class, () -> new InvoiceStore(properties, objectMapper, null));
+        assertThrows(IllegalArgumentException.class, () -> new InvoiceStore(null, objectMapper, fileHelper));
+        assertThrows(IllegalArgumentException.class, () -> new InvoiceStore(createProperties(null, SEGMENT_SIZE, ReadMode.STREAM), objectMapper, fileHelper));
+        assertThrows(IllegalArgumentException.class, () -> new InvoiceStore(createProperties(databaseFile, 0, ReadMode.STREAM), objectMapper, fileHelper));
+        assertThrows(IllegalArgumentException.class, () -> new InvoiceStore(createProperties(databaseFile, SEGMENT_SIZE, null), objectMapper, fileHelper));
+        assertThrows(IllegalArgumentException.class, () -> new InvoiceStore(createProperties(databaseFile, SEGMENT_SIZE, ReadMode.STREAM, null), objectMapper, fileHelper));
+        assertThrows(IllegalArgumentException.class, () -> new InvoiceStore(createProperties(databaseFile, Integer.MAX_VALUE + 1L, ReadMode.MEMORY_MAPPED), objectMapper, fileHelper));
+    }
+
+    @Test
+    void putMethodShouldThrowExceptionForInvoiceWithoutId() {
+        Invoice invoice = InvoiceGenerator.getRandomInvoiceWithNullId();
+
+        assertThrows(IllegalArgumentException.class, () -> store.put(invoice));
+    }
+
+    private InFileDatabaseProperties createProperties(String filePath, long segmentSize, ReadMode readMode) {
+        return createProperties(filePath, segmentSize, readMode, RecordFormat.JSON);
+    }
+
+    private InFileDatabaseProperties createProperties(String filePath, long segmentSize, ReadMode readMode, RecordFormat recordFormat) {
+        InFileDatabaseProperties properties = new InFileDatabaseProperties();
+        properties.setFilePath(filePath);
+        properties.setSegmentSize(segmentSize);
+        properties.setReadMode(readMode);
+        properties.setRecordFormat(recordFormat);
+        return properties;
+    }
+
+    private long countRecords() throws IOException {
+        long records = 0;
+        for (String segmentPath : store.getSegmentPaths()) {
+            records += readFrames(segmentPath).size();
+        }
+        return records;
+    }
+
+    private List<RecordFrame> readFrames(String segmentPath) throws IOException {
+        List<RecordFrame> frames = new ArrayList<>();
+        SegmentFormat.scan(segmentPath, frames::add);
+        return frames;
+    }
+}
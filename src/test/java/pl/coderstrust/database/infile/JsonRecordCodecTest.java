@@ -0,0 +1,44 @@
+package pl.coderstrust.database.infile;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import org.junit.jupiter.api.Test;
+import pl.coderstrust.configuration.ApplicationConfiguration;
+import pl.coderstrust.generators.InvoiceGenerator;
+import pl.coderstrust.model.Invoice;
+
+class JsonRecordCodecTest {
+
+    private final ObjectMapper mapper = new ApplicationConfiguration().getObjectMapper();
+    private final JsonRecordCodec codec = new JsonRecordCodec(mapper);
+
+    @Test
+    void shouldEncodeInvoiceAsJson() throws IOException {
+        Invoice invoice = InvoiceGenerator.getRandomInvoice();
+
+        assertArrayEquals(mapper.writeValueAsBytes(invoice), codec.encode(invoice));
+    }
+
+    @Test
+    void shouldDecodeInvoiceFromHeapAndDirectBuffers() throws IOException {
+        Invoice invoice = InvoiceGenerator.getRandomInvoice();
+        byte[] payload = codec.encode(invoice);
+        ByteBuffer directBuffer = ByteBuffer.allocateDirect(payload.length);
+        directBuffer.put(payload).flip();
+
+        assertEquals(invoice, codec.decode(ByteBuffer.wrap(payload)));
+        assertEquals(invoice, codec.decode(directBuffer));
+    }
+
+    @Test
+    void shouldThrowExceptionForNullArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new JsonRecordCodec(null));
+        assertThrows(IllegalArgumentException.class, () -> codec.encode(null));
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(null));
+    }
+}
@@ -0,0 +1,62 @@
+package pl.coderstrust.database.infile;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class LogCompactorTest {
+
+    @Mock
+    private InvoiceStore store;
+
+    private LogCompactor compactor;
+
+    @BeforeEach
+    void setup() {
+        compactor = new LogCompactor(store, 0.5, 60000);
+    }
+
+    @AfterEach
+    void teardown() {
+        compactor.close();
+    }
+
+    @Test
+    void shouldReturnTrueWhenSegmentsWereCompacted() throws IOException {
+        when(store.compact(0.5)).thenReturn(1);
+
+        assertTrue(compactor.compactIfNeeded());
+    }
+
+    @Test
+    void shouldReturnFalseWhenNoSegmentWasCompacted() throws IOException {
+        when(store.compact(0.5)).thenReturn(0);
+
+        assertFalse(compactor.compactIfNeeded());
+    }
+
+    @Test
+    void shouldReturnFalseWhenCompactionFails() throws IOException {
+        when(store.compact(0.5)).thenThrow(IOException.class);
+
+        assertFalse(compactor.compactIfNeeded());
+    }
+
+    @Test
+    void constructorShouldThrowExceptionForInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new LogCompactor(null, 0.5, 60000));
+        assertThrows(IllegalArgumentException.class, () -> new LogCompactor(store, 0, 60000));
+        assertThrows(IllegalArgumentException.class, () -> new LogCompactor(store, 1.5, 60000));
+        assertThrows(IllegalArgumentException.class, () -> new LogCompactor(store, 0.5, 0));
+    }
+}
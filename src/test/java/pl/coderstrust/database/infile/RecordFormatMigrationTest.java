@@ -0,0 +1,66 @@
+package pl.coderstrust.database.infile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pl.coderstrust.configuration.ApplicationConfiguration;
+import pl.coderstrust.configuration.InFileDatabaseProperties;
+import pl.coderstrust.generators.InvoiceGenerator;
+import pl.coderstrust.helpers.FileHelper;
+import pl.coderstrust.model.Invoice;
+
+class RecordFormatMigrationTest {
+
+    @TempDir
+    Path temporaryFolder;
+
+    private ObjectMapper objectMapper;
+    private FileHelper fileHelper;
+    private RecordFormatMigration migration;
+
+    @BeforeEach
+    void setup() {
+        objectMapper = new ApplicationConfiguration().getObjectMapper();
+        fileHelper = new FileHelper();
+        migration = new RecordFormatMigration(objectMapper, fileHelper);
+    }
+
+    @Test
+    void shouldMigrateJsonLinesFileToBinaryRecords() throws IOException {
+        String databaseFile = temporaryFolder.resolve("invoices.txt").toString();
+        List<Invoice> invoices = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Invoice invoice = InvoiceGenerator.getRandomInvoice();
+            invoices.add(invoice);
+            fileHelper.writeLine(databaseFile, objectMapper.writeValueAsString(invoice));
+        }
+        long jsonLinesSize = fileHelper.size(databaseFile);
+
+        long binarySize = migration.migrate(databaseFile, RecordFormat.BINARY);
+
+        assertTrue(binarySize * 2 < jsonLinesSize);
+        InFileDatabaseProperties properties = new InFileDatabaseProperties();
+        properties.setFilePath(databaseFile);
+        properties.setRecordFormat(RecordFormat.BINARY);
+        try (InvoiceStore store = new InvoiceStore(properties, objectMapper, fileHelper)) {
+            assertEquals(invoices, store.getAll());
+        }
+    }
+
+    @Test
+    void shouldThrowExceptionForNullArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new RecordFormatMigration(null, fileHelper));
+        assertThrows(IllegalArgumentException.class, () -> new RecordFormatMigration(objectMapper, null));
+        assertThrows(IllegalArgumentException.class, () -> migration.migrate(null, RecordFormat.BINARY));
+        assertThrows(IllegalArgumentException.class, () -> migration.migrate("invoices.txt", null));
+    }
+}
@@ -0,0 +1,158 @@
+package pl.coderstrust.database.infile;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class RecordJournalTest {
+
+    @TempDir
+    Path temporaryFolder;
+
+    @ParameterizedTest
+    @EnumSource(FsyncPolicy.class)
+    void shouldWriteRecordsAtGivenPositions(FsyncPolicy fsyncPolicy) throws IOException {
+        Path segment = temporaryFolder.resolve("segment");
+        RecordJournal journal = new RecordJournal(fsyncPolicy, 10);
+        journal.open(segment.toString());
+
+        long firstSequence = journal.write(0, "abc".getBytes(UTF_8));
+        long secondSequence = journal.write(3, "de".getBytes(UTF_8));
+        journal.awaitDurable(secondSequence);
+        journal.close();
+
+        assertEquals(3, firstSequence);
+        assertEquals(5, secondSequence);
+        assertArrayEquals("abcde".getBytes(UTF_8), Files.readAllBytes(segment));
+    }
+
+    @ParameterizedTest
+    @EnumSource(FsyncPolicy.class)
+    void shouldQueueRecordsUntilCallerAwaitsTheirBatch(FsyncPolicy fsyncPolicy) throws IOException {
+        Path segment = temporaryFolder.resolve("segment");
+        RecordJournal journal = new RecordJournal(fsyncPolicy, 10);
+        journal.open(segment.toString());
+        journal.write(0, "abc".getBytes(UTF_8));
+        long sequence = journal.write(3, "de".getBytes(UTF_8));
+
+        long sizeBeforeCommit = Files.size(segment);
+        journal.awaitDurable(sequence);
+
+        assertEquals(0, sizeBeforeCommit);
+        assertArrayEquals("abcde".getBytes(UTF_8), Files.readAllBytes(segment));
+        journal.close();
+    }
+
+    @Test
+    void shouldWriteQueuedRecordsWhenFlushing() throws IOException {
+        Path segment = temporaryFolder.resolve("segment");
+        RecordJournal journal = new RecordJournal(FsyncPolicy.INTERVAL, 60000);
+        journal.open(segment.toString());
+        journal.write(0, "abc".getBytes(UTF_8));
+
+        journal.flush();
+
+        assertArrayEquals("abc".getBytes(UTF_8), Files.readAllBytes(segment));
+        journal.close();
+    }
+
+    @Test
+    void shouldWriteQueuedRecordsToPreviousSegmentBeforeOpeningNextOne() throws IOException {
+        Path firstSegment = temporaryFolder.resolve("segment1");
+        Path secondSegment = temporaryFolder.resolve("segment2");
+        RecordJournal journal = new RecordJournal(FsyncPolicy.INTERVAL, 60000);
+        journal.open(firstSegment.toString());
+        long sequence = journal.write(0, "abc".getBytes(UTF_8));
+
+        journal.open(secondSegment.toString());
+        journal.awaitDurable(sequence);
+
+        assertArrayEquals("abc".getBytes(UTF_8), Files.readAllBytes(firstSegment));
+        journal.close();
+    }
+
+    @Test
+    void shouldOverwriteBytesLeftAfterFailedWrite() throws IOException {
+        Path segment = temporaryFolder.resolve("segment");
+        Files.write(segment, "abcxyz".getBytes(UTF_8));
+        RecordJournal journal = new RecordJournal(FsyncPolicy.EVERY_WRITE, 0);
+        journal.open(segment.toString());
+
+        journal.write(3, "de".getBytes(UTF_8));
+        journal.close();
+
+        assertArrayEquals("abcdez".getBytes(UTF_8), Files.readAllBytes(segment));
+    }
+
+    @Test
+    void shouldWriteToNewlyOpenedSegment() throws IOException {
+        Path firstSegment = temporaryFolder.resolve("segment1");
+        Path secondSegment = temporaryFolder.resolve("segment2");
+        RecordJournal journal = new RecordJournal(FsyncPolicy.EVERY_WRITE, 0);
+        journal.open(firstSegment.toString());
+        journal.write(0, "abc".getBytes(UTF_8));
+
+        journal.open(secondSegment.toString());
+        journal.awaitDurable(journal.write(0, "de".getBytes(UTF_8)));
+        journal.close();
+
+        assertArrayEquals("abc".getBytes(UTF_8), Files.readAllBytes(firstSegment));
+        assertArrayEquals("de".getBytes(UTF_8), Files.readAllBytes(secondSegment));
+    }
+
+    @Test
+    void shouldMakeRecordsOfConcurrentWritersDurable() throws Exception {
+        Path segment = temporaryFolder.resolve("segment");
+        RecordJournal journal = new RecordJournal(FsyncPolicy.EVERY_WRITE, 0);
+        journal.open(segment.toString());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < 100; i++) {
+            long position = i;
+            futures.add(executor.submit(() -> {
+                journal.awaitDurable(journal.write(position, "x".getBytes(UTF_8)));
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        journal.close();
+
+        assertEquals(100, Files.size(segment));
+    }
+
+    @Test
+    void writeMethodShouldThrowExceptionWhenJournalIsNotOpened() {
+        RecordJournal journal = new RecordJournal(FsyncPolicy.OS, 0);
+
+        assertThrows(IllegalStateException.class, () -> journal.write(0, new byte[1]));
+    }
+
+    @Test
+    void shouldThrowExceptionForInvalidArguments() throws IOException {
+        RecordJournal journal = new RecordJournal(FsyncPolicy.OS, 0);
+
+        assertThrows(IllegalArgumentException.class, () -> new RecordJournal(null, 10));
+        assertThrows(IllegalArgumentException.class, () -> new RecordJournal(FsyncPolicy.INTERVAL, 0));
+        assertThrows(IllegalArgumentException.class, () -> journal.open(null));
+        assertThrows(IllegalArgumentException.class, () -> journal.write(0, null));
+        journal.close();
+    }
+}
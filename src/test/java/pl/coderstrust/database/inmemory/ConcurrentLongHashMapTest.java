@@ -0,0 +1,149 @@
+package pl.coderstrust.database.inmemory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+class ConcurrentLongHashMapTest {
+
+    @Test
+    void shouldPutGetAndRemoveValues() {
+        ConcurrentLongHashMap<String> map = new ConcurrentLongHashMap<>();
+
+        assertNull(map.put(1L, "first"));
+        assertEquals("first", map.put(1L, "second"));
+        assertEquals("second", map.putIfAbsent(1L, "third"));
+        assertNull(map.putIfAbsent(-5L, "negative"));
+
+        assertEquals("second", map.get(1L));
+        assertEquals("negative", map.get(Long.valueOf(-5L)));
+        assertNull(map.get("1"));
+        assertTrue(map.containsKey(1L));
+        assertEquals(2, map.size());
+
+        assertEquals("second", map.remove(1L));
+        assertNull(map.remove(1L));
+        assertFalse(map.containsKey(1L));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void shouldReuseRemovedSlotForSameKey() {
+        ConcurrentLongHashMap<String> map = new ConcurrentLongHashMap<>(1);
+        map.put(7L, "first");
+        map.remove(7L);
+
+        map.put(7L, "second");
+
+        assertEquals("second", map.get(7L));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void shouldGrowAndKeepAllValuesAfterManyInsertsAndRemovals() {
+        ConcurrentLongHashMap<Long> map = new ConcurrentLongHashMap<>(4);
+        Map<Long, Long> expected = new HashMap<>();
+        for (long i = 0; i < 10000; i++) {
+            map.put(i, Long.valueOf(i * 2));
+            expected.put(i, i * 2);
+            if (i % 3 == 0) {
+                map.remove(i / 2);
+                expected.remove(i / 2);
+            }
+        }
+
+        assertEquals(expected, map);
+        assertEquals(expected.size(), map.size());
+    }
+
+    @Test
+    void shouldComputeValueOnlyWhenAbsent() {
+        ConcurrentLongHashMap<String> map = new ConcurrentLongHashMap<>();
+
+        assertEquals("1", map.computeIfAbsent(1L, String::valueOf));
+        assertEquals("1", map.computeIfAbsent(1L, key -> "other"));
+        assertNull(map.computeIfAbsent(2L, key -> null));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void shouldIterateAndRemoveThroughEntrySet() {
+        ConcurrentLongHashMap<String> map = new ConcurrentLongHashMap<>();
+        map.put(1L, "one");
+        map.put(2L, "two");
+
+        Iterator<Map.Entry<Long, String>> iterator = map.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getKey() == 1L) {
+                iterator.remove();
+            }
+        }
+
+        assertEquals(Map.of(2L, "two"), map);
+    }
+
+    @Test
+    void shouldClearAllValues() {
+        ConcurrentLongHashMap<String> map = new ConcurrentLongHashMap<>();
+        map.put(1L, "one");
+
+        map.clear();
+
+        assertTrue(map.isEmpty());
+        assertNull(map.get(1L));
+    }
+
+    @Test
+    void shouldKeepAllValuesPutConcurrently() throws Exception {
+        ConcurrentLongHashMap<Long> map = new ConcurrentLongHashMap<>();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int thread = 0; thread < 8; thread++) {
+            long start = thread * 10000L;
+            tasks.add(() -> {
+                for (long i = start; i < start + 10000; i++) {
+                    map.put(i, Long.valueOf(i));
+                    assertEquals(Long.valueOf(i), map.get(i));
+                }
+                return null;
+            });
+        }
+
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(80000, map.size());
+        for (long i = 0; i < 80000; i++) {
+            assertEquals(Long.valueOf(i), map.get(i));
+        }
+    }
+
+    @Test
+    void shouldThrowExceptionForInvalidArguments() {
+        ConcurrentLongHashMap<String> map = new ConcurrentLongHashMap<>();
+
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentLongHashMap<>(0));
+        assertThrows(IllegalArgumentException.class, () -> map.put(1L, null));
+        assertThrows(IllegalArgumentException.class, () -> map.put(null, "value"));
+        assertThrows(IllegalArgumentException.class, () -> map.putIfAbsent(1L, null));
+        assertThrows(IllegalArgumentException.class, () -> map.computeIfAbsent(1L, null));
+    }
+}
@@ -0,0 +1,220 @@
+package pl.coderstrust.database.inmemory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pl.coderstrust.database.infile.FsyncPolicy;
+import pl.coderstrust.generators.InvoiceGenerator;
+import pl.coderstrust.model.Invoice;
+
+class InMemoryPersistenceTest {
+
+    @TempDir
+    Path temporaryFolder;
+
+    @Test
+    void shouldRestoreInvoicesFromJournal() throws IOException {
+        Map<Long, Invoice> storage = new HashMap<>();
+        InMemoryPersistence persistence = openPersistence(storage);
+        Invoice invoice1 = getInvoice(1L);
+        Invoice invoice2 = getInvoice(2L);
+        Invoice updatedInvoice1 = getInvoice(1L);
+        persistence.logPut(invoice1);
+        persistence.logPut(invoice2);
+        persistence.logPut(updatedInvoice1);
+        persistence.logRemove(2L);
+        persistence.close();
+
+        Map<Long, Invoice> restoredStorage = new HashMap<>();
+        InMemoryPersistence restoredPersistence = openPersistence(restoredStorage);
+        restoredPersistence.close();
+
+        assertEquals(Map.of(1L, updatedInvoice1), restoredStorage);
+        assertEquals(2L, restoredPersistence.getMaxId());
+    }
+
+    @Test
+    void shouldRestoreInvoicesFromSnapshotAndJournalTail() throws IOException {
+        Map<Long, Invoice> storage = new HashMap<>();
+        InMemoryPersistence persistence = openPersistence(storage);
+        for (long id = 1; id <= 3000; id++) {
+            Invoice invoice = getInvoice(id);
+            storage.put(id, invoice);
+            persistence.logPut(invoice);
+        }
+        persistence.snapshot(storage);
+        Invoice invoice = getInvoice(3001L);
+        storage.put(3001L, invoice);
+        persistence.logPut(invoice);
+        storage.remove(5L);
+        persistence.logRemove(5L);
+        persistence.close();
+
+        Map<Long, Invoice> restoredStorage = new ConcurrentHashMap<>();
+        openPersistence(restoredStorage).close();
+
+        assertEquals(storage, restoredStorage);
+        assertEquals(List.of("journal.000001", "snapshot.000001"), listFiles());
+    }
+
+    @Test
+    void shouldKeepHighestIdAfterItWasRemoved() throws IOException {
+        Map<Long, Invoice> storage = new HashMap<>();
+        InMemoryPersistence persistence = openPersistence(storage);
+        persistence.logPut(getInvoice(1L));
+        persistence.logPut(getInvoice(7L));
+        persistence.logRemove(7L);
+        storage.put(1L, getInvoice(1L));
+        persistence.snapshot(storage);
+        persistence.close();
+
+        InMemoryPersistence restoredPersistence = openPersistence(new HashMap<>());
+        restoredPersistence.close();
+
+        assertEquals(7L, restoredPersistence.getMaxId());
+    }
+
+    @Test
+    void shouldReplayClearRecord() throws IOException {
+        InMemoryPersistence persistence = openPersistence(new HashMap<>());
+        persistence.logPut(getInvoice(1L));
+        persistence.logClear();
+        Invoice invoice = getInvoice(2L);
+        persistence.logPut(invoice);
+        persistence.close();
+
+        Map<Long, Invoice> restoredStorage = new HashMap<>();
+        openPersistence(restoredStorage).close();
+
+        assertEquals(Map.of(2L, invoice), restoredStorage);
+    }
+
+    @Test
+    void shouldTruncateTornJournalTailAndContinueWriting() throws IOException {
+        InMemoryPersistence persistence = openPersistence(new HashMap<>());
+        Invoice invoice1 = getInvoice(1L);
+        persistence.logPut(invoice1);
+        persistence.close();
+        Files.write(temporaryFolder.resolve("journal.000000"), new byte[] {1, 2, 3}, StandardOpenOption.APPEND);
+
+        InMemoryPersistence reopenedPersistence = openPersistence(new HashMap<>());
+        Invoice invoice2 = getInvoice(2L);
+        reopenedPersistence.logPut(invoice2);
+        reopenedPersistence.close();
+        Map<Long, Invoice> restoredStorage = new HashMap<>();
+        openPersistence(restoredStorage).close();
+
+        assertEquals(Map.of(1L, invoice1, 2L, invoice2), restoredStorage);
+    }
+
+    @Test
+    void shouldIgnoreUnfinishedSnapshot() throws IOException {
+        InMemoryPersistence persistence = openPersistence(new HashMap<>());
+        Invoice invoice = getInvoice(1L);
+        persistence.logPut(invoice);
+        persistence.close();
+        Files.write(temporaryFolder.resolve("snapshot.000001.tmp"), new byte[] {1, 2, 3});
+
+        Map<Long, Invoice> restoredStorage = new HashMap<>();
+        openPersistence(restoredStorage).close();
+
+        assertEquals(Map.of(1L, invoice), restoredStorage);
+        assertFalse(Files.exists(temporaryFolder.resolve("snapshot.000001.tmp")));
+    }
+
+    @Test
+    void shouldTakeSnapshotWhileInvoicesAreWrittenConcurrently() throws Exception {
+        Map<Long, Invoice> storage = new ConcurrentHashMap<>();
+        InMemoryPersistence persistence = openPersistence(storage);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int thread = 0; thread < 4; thread++) {
+                long start = thread * 1000L + 1;
+                futures.add(executor.submit(() -> {
+                    for (long id = start; id < start + 1000; id++) {
+                        Invoice invoice = getInvoice(id);
+                        storage.put(id, invoice);
+                        persistence.logPut(invoice);
+                        if (id % 10 == 0) {
+                            storage.remove(id);
+                            persistence.logRemove(id);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (int i = 0; i < 3; i++) {
+                persistence.snapshot(storage);
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        persistence.close();
+
+        Map<Long, Invoice> restoredStorage = new ConcurrentHashMap<>();
+        openPersistence(restoredStorage).close();
+
+        assertEquals(3600, restoredStorage.size());
+        assertEquals(storage, restoredStorage);
+    }
+
+    @Test
+    void shouldThrowExceptionForCorruptedSnapshot() throws IOException {
+        Map<Long, Invoice> storage = new HashMap<>();
+        InMemoryPersistence persistence = openPersistence(storage);
+        storage.put(1L, getInvoice(1L));
+        persistence.snapshot(storage);
+        persistence.close();
+        Files.write(temporaryFolder.resolve("snapshot.000001"), new byte[] {1, 2, 3}, StandardOpenOption.APPEND);
+
+        assertThrows(IOException.class, () -> openPersistence(new HashMap<>()));
+    }
+
+    @Test
+    void shouldThrowExceptionForInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new InMemoryPersistence(null, FsyncPolicy.EVERY_WRITE, 0));
+        InMemoryPersistence persistence = new InMemoryPersistence(temporaryFolder.toString(), FsyncPolicy.EVERY_WRITE, 0);
+        assertThrows(IllegalArgumentException.class, () -> persistence.restore(null));
+        assertThrows(IllegalArgumentException.class, () -> persistence.snapshot(null));
+        assertThrows(IllegalArgumentException.class, () -> persistence.logPut(null));
+        assertThrows(IllegalArgumentException.class, () -> persistence.logRemove(null));
+    }
+
+    private InMemoryPersistence openPersistence(Map<Long, Invoice> storage) throws IOException {
+        InMemoryPersistence persistence = new InMemoryPersistence(temporaryFolder.toString(), FsyncPolicy.EVERY_WRITE, 0);
+        persistence.restore(storage);
+        return persistence;
+    }
+
+    private Invoice getInvoice(Long id) {
+        return InvoiceGenerator.getRandomInvoiceWithSpecificId(id);
+    }
+
+    private List<String> listFiles() throws IOException {
+        try (Stream<Path> files = Files.list(temporaryFolder)) {
+            return files.map(file -> file.getFileName().toString()).sorted().collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package pl.coderstrust.database.inmemory;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class LongLongHashMapTest {
+
+    @Test
+    void shouldPutGetAndRemoveValues() {
+        LongLongHashMap map = new LongLongHashMap();
+
+        assertEquals(LongLongHashMap.MISSING_VALUE, map.put(3L, 30L));
+        assertEquals(30L, map.put(3L, 31L));
+
+        assertEquals(31L, map.get(3L));
+        assertTrue(map.containsKey(3L));
+        assertEquals(LongLongHashMap.MISSING_VALUE, map.get(4L));
+        assertEquals(31L, map.remove(3L));
+        assertEquals(LongLongHashMap.MISSING_VALUE, map.remove(3L));
+        assertFalse(map.containsKey(3L));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void shouldKeepValuesConsistentWithHashMapAfterRandomOperations() {
+        LongLongHashMap map = new LongLongHashMap();
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 100000; i++) {
+            long key = random.nextInt(5000);
+            if (random.nextBoolean()) {
+                map.put(key, i);
+                expected.put(key, (long) i);
+            } else {
+                map.remove(key);
+                expected.remove(key);
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (long key = 0; key < 5000; key++) {
+            assertEquals(expected.getOrDefault(key, LongLongHashMap.MISSING_VALUE).longValue(), map.get(key));
+        }
+        long[] keys = map.keys();
+        Arrays.sort(keys);
+        assertArrayEquals(expected.keySet().stream().mapToLong(Long::longValue).sorted().toArray(), keys);
+    }
+
+    @Test
+    void shouldClearAllValues() {
+        LongLongHashMap map = new LongLongHashMap();
+        map.put(1L, 1L);
+
+        map.clear();
+
+        assertEquals(0, map.size());
+        assertFalse(map.containsKey(1L));
+    }
+
+    @Test
+    void putShouldThrowExceptionForMissingValueMarker() {
+        LongLongHashMap map = new LongLongHashMap();
+
+        assertThrows(IllegalArgumentException.class, () -> map.put(1L, LongLongHashMap.MISSING_VALUE));
+    }
+}
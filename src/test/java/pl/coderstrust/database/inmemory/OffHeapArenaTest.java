@@ -0,0 +1,52 @@
+package pl.coderstrust.database.inmemory;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class OffHeapArenaTest {
+
+    @Test
+    void shouldWriteReadAndRemoveRecords() {
+        OffHeapArena arena = new OffHeapArena(64);
+
+        assertNull(arena.write(1L, new byte[] {1, 2}));
+        assertArrayEquals(new byte[] {1, 2}, arena.write(1L, new byte[] {3}));
+        assertArrayEquals(new byte[] {3}, arena.read(1L));
+        assertTrue(arena.contains(1L));
+        assertEquals(1, arena.size());
+
+        assertArrayEquals(new byte[] {3}, arena.remove(1L));
+        assertNull(arena.read(1L));
+        assertNull(arena.remove(1L));
+        assertFalse(arena.contains(1L));
+    }
+
+    @Test
+    void shouldReuseCompactedChunksInsteadOfAllocatingNewOnes() {
+        OffHeapArena arena = new OffHeapArena(64);
+        byte[] record = new byte[20];
+        for (int i = 0; i < 10000; i++) {
+            record[0] = (byte) i;
+            arena.write(i % 3, record);
+        }
+
+        assertTrue(arena.getCapacity() <= 8 * 64, String.valueOf(arena.getCapacity()));
+        assertEquals(3, arena.size());
+        assertEquals((byte) 9999, arena.read(9999 % 3)[0]);
+
+        arena.clear();
+        assertEquals(0, arena.getCapacity());
+        assertEquals(0, arena.size());
+    }
+
+    @Test
+    void shouldThrowExceptionForTooSmallChunk() {
+        assertThrows(IllegalArgumentException.class, () -> new OffHeapArena(OffHeapArena.RECORD_HEADER_SIZE));
+    }
+}
@@ -0,0 +1,206 @@
+package pl.coderstrust.database.inmemory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import pl.coderstrust.generators.InvoiceGenerator;
+import pl.coderstrust.model.Invoice;
+
+class OffHeapInvoiceStorageTest {
+
+    @Test
+    void shouldStoreAndMaterializeInvoices() {
+        OffHeapInvoiceStorage storage = new OffHeapInvoiceStorage(4096);
+        Invoice invoice = createInvoice(1L);
+        Invoice updatedInvoice = createInvoice(1L);
+
+        assertNull(storage.put(1L, invoice));
+        assertEquals(invoice, storage.get(1L));
+        assertEquals(invoice, storage.put(1L, updatedInvoice));
+        assertEquals(updatedInvoice, storage.get(1L));
+        assertTrue(storage.containsKey(1L));
+        assertEquals(1, storage.size());
+
+        assertEquals(updatedInvoice, storage.remove(1L));
+        assertNull(storage.get(1L));
+        assertNull(storage.remove(1L));
+        assertFalse(storage.containsKey(1L));
+        assertNull(storage.get("1"));
+    }
+
+    @Test
+    void shouldKeepInvoicesWhenRecordsSpanManyChunksAndAreCompacted() {
+        OffHeapInvoiceStorage storage = new OffHeapInvoiceStorage(1024);
+        Map<Long, Invoice> expected = new HashMap<>();
+        for (long id = 1; id <= 200; id++) {
+            Invoice invoice = createInvoice(id);
+            storage.put(id, invoice);
+            expected.put(id, invoice);
+        }
+        long allocatedBytes = storage.getOffHeapBytes();
+        for (long id = 1; id <= 200; id++) {
+            if (id % 4 != 0) {
+                storage.remove(id);
+                expected.remove(id);
+            }
+        }
+
+        assertEquals(expected, storage);
+        assertTrue(storage.getOffHeapBytes() < allocatedBytes);
+    }
+
+    @Test
+    void shouldKeepOffHeapMemoryBoundedWhenInvoiceIsRewrittenManyTimes() {
+        OffHeapInvoiceStorage storage = new OffHeapInvoiceStorage(1024);
+        Invoice invoice = null;
+        for (int i = 0; i < 1000; i++) {
+            invoice = createInvoice(1L);
+            storage.put(1L, invoice);
+        }
+
+        assertEquals(invoice, storage.get(1L));
+        assertTrue(storage.getOffHeapBytes() <= 4 * 1024, String.valueOf(storage.getOffHeapBytes()));
+    }
+
+    @Test
+    void shouldSaveAndRemoveInvoicesConcurrently() throws Exception {
+        OffHeapInvoiceStorage storage = new OffHeapInvoiceStorage(1024);
+        Map<Long, Invoice> expected = new ConcurrentHashMap<>();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Callable<Object>> tasks = new ArrayList<>();
+        for (long id = 1; id <= 400; id++) {
+            long key = id;
+            tasks.add(() -> {
+                Invoice invoice = createInvoice(key);
+                storage.put(key, invoice);
+                if (key % 3 == 0) {
+                    storage.remove(key);
+                } else {
+                    expected.put(key, invoice);
+                }
+                return null;
+            });
+        }
+
+        try {
+            for (Future<Object> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(expected, storage);
+    }
+
+    @Test
+    void shouldStoreCompaniesSharedByInvoicesOnce() {
+        OffHeapInvoiceStorage storage = new OffHeapInvoiceStorage(4096);
+        Invoice invoice = createInvoice(1L);
+        Invoice otherInvoice = Invoice.builder()
+            .withId(2L)
+            .withNumber("2")
+            .withIssuedDate(invoice.getIssuedDate())
+            .withDueDate(invoice.getDueDate())
+            .withSeller(invoice.getBuyer())
+            .withBuyer(invoice.getSeller())
+            .withEntries(invoice.getEntries())
+            .build();
+
+        storage.put(1L, invoice);
+        storage.put(2L, otherInvoice);
+
+        assertEquals(2, storage.getCompanyCount());
+        assertEquals(otherInvoice.getSeller(), storage.get(2L).getSeller());
+    }
+
+    @Test
+    void shouldReleaseCompaniesNoLongerReferencedByInvoices() {
+        OffHeapInvoiceStorage storage = new OffHeapInvoiceStorage(1024);
+        Invoice invoice = createInvoice(1L);
+        Invoice invoiceSoldToItself = Invoice.builder()
+            .withId(2L)
+            .withNumber("2")
+            .withIssuedDate(invoice.getIssuedDate())
+            .withDueDate(invoice.getDueDate())
+            .withSeller(invoice.getSeller())
+            .withBuyer(invoice.getSeller())
+            .withEntries(invoice.getEntries())
+            .build();
+        storage.put(1L, invoice);
+        storage.put(2L, invoiceSoldToItself);
+
+        storage.remove(1L);
+        assertEquals(1, storage.getCompanyCount());
+        assertEquals(invoiceSoldToItself, storage.get(2L));
+
+        storage.put(2L, createInvoice(2L));
+        assertEquals(2, storage.getCompanyCount());
+
+        for (long id = 3; id <= 500; id++) {
+            storage.put(2L, createInvoice(2L));
+        }
+        assertEquals(2, storage.getCompanyCount());
+        assertTrue(storage.getOffHeapBytes() <= 8 * 1024, String.valueOf(storage.getOffHeapBytes()));
+
+        storage.clear();
+        assertEquals(0, storage.getCompanyCount());
+    }
+
+    @Test
+    void shouldStoreRecordBiggerThanChunk() {
+        OffHeapInvoiceStorage storage = new OffHeapInvoiceStorage(16);
+        Invoice invoice = createInvoice(1L);
+
+        storage.put(1L, invoice);
+
+        assertEquals(invoice, storage.get(1L));
+    }
+
+    @Test
+    void shouldIterateRemoveAndClearInvoices() {
+        OffHeapInvoiceStorage storage = new OffHeapInvoiceStorage(4096);
+        storage.put(1L, createInvoice(1L));
+        Invoice invoice = createInvoice(2L);
+        storage.put(2L, invoice);
+
+        Iterator<Map.Entry<Long, Invoice>> iterator = storage.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getKey() == 1L) {
+                iterator.remove();
+            }
+        }
+
+        assertEquals(Map.of(2L, invoice), storage);
+        storage.clear();
+        assertTrue(storage.isEmpty());
+        assertEquals(0, storage.getOffHeapBytes());
+    }
+
+    @Test
+    void shouldThrowExceptionForInvalidArguments() {
+        OffHeapInvoiceStorage storage = new OffHeapInvoiceStorage(4096);
+
+        assertThrows(IllegalArgumentException.class, () -> new OffHeapInvoiceStorage(4));
+        assertThrows(IllegalArgumentException.class, () -> storage.put(null, createInvoice(1L)));
+        assertThrows(IllegalArgumentException.class, () -> storage.put(1L, null));
+    }
+
+    private Invoice createInvoice(Long id) {
+        return InvoiceGenerator.getRandomInvoiceWithSpecificId(id);
+    }
+}
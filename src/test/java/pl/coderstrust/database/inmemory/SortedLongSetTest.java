@@ -0,0 +1,126 @@
+package pl.coderstrust.database.inmemory;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+
+class SortedLongSetTest {
+
+    @Test
+    void shouldKeepValuesSortedAndUnique() {
+        SortedLongSet set = new SortedLongSet();
+
+        assertTrue(set.add(5L));
+        assertTrue(set.add(1L));
+        assertTrue(set.add(9L));
+        assertFalse(set.add(5L));
+
+        assertArrayEquals(new long[] {1L, 5L, 9L}, set.getAfter(Long.MIN_VALUE, 10));
+        assertEquals(3, set.size());
+    }
+
+    @Test
+    void shouldReturnPageOfValuesGreaterThanGivenValue() {
+        SortedLongSet set = new SortedLongSet();
+        set.addAll(new long[] {7L, 3L, 1L, 3L, 10L});
+
+        assertArrayEquals(new long[] {7L, 10L}, set.getAfter(3L, 5));
+        assertArrayEquals(new long[] {7L}, set.getAfter(4L, 1));
+        assertArrayEquals(new long[0], set.getAfter(10L, 5));
+        assertEquals(4, set.size());
+    }
+
+    @Test
+    void shouldRemoveAndClearValues() {
+        SortedLongSet set = new SortedLongSet();
+        set.addAll(new long[] {1L, 2L, 3L});
+
+        assertTrue(set.remove(2L));
+        assertFalse(set.remove(2L));
+        assertArrayEquals(new long[] {1L, 3L}, set.getAfter(Long.MIN_VALUE, 10));
+
+        set.clear();
+        assertEquals(0, set.size());
+        assertArrayEquals(new long[0], set.getAfter(Long.MIN_VALUE, 10));
+    }
+
+    @Test
+    void shouldKeepValuesConsistentWithTreeSetAfterRandomOperations() {
+        SortedLongSet set = new SortedLongSet();
+        TreeSet<Long> expected = new TreeSet<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 100000; i++) {
+            long value = random.nextInt(5000);
+            if (random.nextBoolean()) {
+                assertEquals(expected.add(value), set.add(value));
+            } else {
+                assertEquals(expected.remove(value), set.remove(value));
+            }
+        }
+
+        assertArrayEquals(expected.stream().mapToLong(Long::longValue).toArray(), set.getAfter(Long.MIN_VALUE, expected.size()));
+    }
+
+    @Test
+    void shouldReturnPagesSpanningDistantAndNegativeValues() {
+        SortedLongSet set = new SortedLongSet();
+        set.addAll(new long[] {Long.MAX_VALUE, -5000L, -1L, 0L, 1023L, 1024L, 70000L, Long.MIN_VALUE});
+
+        assertArrayEquals(new long[] {-5000L, -1L, 0L, 1023L, 1024L, 70000L, Long.MAX_VALUE}, set.getAfter(Long.MIN_VALUE, 10));
+        assertArrayEquals(new long[] {1024L, 70000L}, set.getAfter(1023L, 2));
+        assertArrayEquals(new long[0], set.getAfter(Long.MAX_VALUE, 10));
+        assertArrayEquals(new long[0], set.getAfter(0L, 0));
+    }
+
+    @Test
+    void shouldAddAndRemoveValuesConcurrently() throws Exception {
+        SortedLongSet set = new SortedLongSet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Callable<Object>> tasks = new ArrayList<>();
+        for (int task = 0; task < 8; task++) {
+            long first = task * 5000L;
+            tasks.add(() -> {
+                for (long value = first; value < first + 5000; value++) {
+                    set.add(value);
+                }
+                for (long value = first; value < first + 5000; value += 2) {
+                    set.remove(value);
+                }
+                set.getAfter(first, 100);
+                return null;
+            });
+        }
+
+        try {
+            for (Future<Object> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertArrayEquals(LongStream.range(0, 40000).filter(value -> value % 2 == 1).toArray(), set.getAfter(-1L, 40000));
+        assertEquals(20000, set.size());
+    }
+
+    @Test
+    void shouldThrowExceptionForInvalidArguments() {
+        SortedLongSet set = new SortedLongSet();
+
+        assertThrows(IllegalArgumentException.class, () -> set.addAll(null));
+        assertThrows(IllegalArgumentException.class, () -> set.getAfter(0L, -1));
+    }
+}
@@ -0,0 +1,40 @@
+package pl.coderstrust.database.nosql;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import pl.coderstrust.database.nosql.model.Invoice;
+
+@ExtendWith(MockitoExtension.class)
+class MongoIndexesTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private IndexOperations indexOperations;
+
+    @Test
+    void shouldEnsureAllInvoiceIndexes() {
+        when(mongoTemplate.indexOps(Invoice.class)).thenReturn(indexOperations);
+
+        new MongoIndexes(mongoTemplate).ensureIndexes();
+
+        for (IndexDefinition index : MongoIndexes.INVOICE_INDEXES) {
+            verify(indexOperations).ensureIndex(index);
+        }
+    }
+
+    @Test
+    void shouldThrowExceptionForNullMongoTemplate() {
+        assertThrows(IllegalArgumentException.class, () -> new MongoIndexes(null));
+    }
+}
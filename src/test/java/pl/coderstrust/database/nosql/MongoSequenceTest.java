@@ -0,0 +1,77 @@
+package pl.coderstrust.database.nosql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import pl.coderstrust.database.nosql.model.Counter;
+
+@ExtendWith(MockitoExtension.class)
+class MongoSequenceTest {
+
+    private static final Query COUNTER_QUERY = Query.query(Criteria.where("_id").is("invoice"));
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Test
+    void shouldHandOutIdsFromReservedBlocks() {
+        MongoSequence sequence = new MongoSequence(mongoTemplate, "invoice", 3);
+        when(mongoTemplate.findAndModify(eq(COUNTER_QUERY), eq(new Update().inc("value", 3)), any(FindAndModifyOptions.class), eq(Counter.class)))
+            .thenReturn(new Counter("invoice", 3), new Counter("invoice", 9));
+
+        assertEquals(1L, sequence.next());
+        assertEquals(2L, sequence.next());
+        assertEquals(3L, sequence.next());
+        assertEquals(7L, sequence.next());
+        assertEquals(8L, sequence.next());
+
+        verify(mongoTemplate, times(2)).findAndModify(eq(COUNTER_QUERY), eq(new Update().inc("value", 3)), any(FindAndModifyOptions.class), eq(Counter.class));
+    }
+
+    @Test
+    void shouldReserveBlockOfGivenSizeWithSingleIncrement() {
+        MongoSequence sequence = new MongoSequence(mongoTemplate, "invoice", 3);
+        when(mongoTemplate.findAndModify(eq(COUNTER_QUERY), eq(new Update().inc("value", 500)), any(FindAndModifyOptions.class), eq(Counter.class)))
+            .thenReturn(new Counter("invoice", 510));
+
+        assertEquals(11L, sequence.nextBlock(500));
+        assertThrows(IllegalArgumentException.class, () -> sequence.nextBlock(0));
+    }
+
+    @Test
+    void shouldAdvanceCounterToGivenValue() {
+        MongoSequence sequence = new MongoSequence(mongoTemplate, "invoice", 3);
+
+        sequence.advanceTo(15L);
+
+        verify(mongoTemplate).upsert(COUNTER_QUERY, new Update().max("value", 15L), Counter.class);
+    }
+
+    @Test
+    void shouldThrowExceptionWhenCounterCouldNotBeIncremented() {
+        MongoSequence sequence = new MongoSequence(mongoTemplate, "invoice", 3);
+
+        assertThrows(IllegalStateException.class, sequence::next);
+    }
+
+    @Test
+    void shouldThrowExceptionForInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new MongoSequence(null, "invoice", 3));
+        assertThrows(IllegalArgumentException.class, () -> new MongoSequence(mongoTemplate, null, 3));
+        assertThrows(IllegalArgumentException.class, () -> new MongoSequence(mongoTemplate, "invoice", 0));
+    }
+}
@@ -3,15 +3,18 @@ package pl.coderstrust.generators;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 import pl.coderstrust.model.Company;
 import pl.coderstrust.model.Invoice;
 import pl.coderstrust.model.InvoiceEntry;
 
 public class InvoiceGenerator {
 
+    private static AtomicLong numberSequence = new AtomicLong(0);
+
     public static Invoice getRandomInvoice() {
         long id = IdGenerator.getNextId();
-        String number = WordGenerator.getRandomWord("1");
+        String number = getUniqueNumber();
         LocalDate issuedDate = LocalDate.now();
         LocalDate dueDate = issuedDate.plusDays(2);
         Company seller = CompanyGenerator.getRandomCompany();
@@ -33,7 +36,7 @@ public class InvoiceGenerator {
     }
 
     public static Invoice getRandomInvoiceWithNullId() {
-        String number = WordGenerator.getRandomWord("1");
+        String number = getUniqueNumber();
         LocalDate issuedDate = LocalDate.now();
         LocalDate dueDate = issuedDate.plusDays(2);
         Company seller = CompanyGenerator.getRandomCompany();
@@ -54,7 +57,7 @@ public class InvoiceGenerator {
     }
 
     public static Invoice getRandomInvoiceWithSpecificId(Long id) {
-        String number = WordGenerator.getRandomWord("1");
+        String number = getUniqueNumber();
         LocalDate issuedDate = LocalDate.now();
         LocalDate dueDate = issuedDate.plusDays(2);
         Company seller = CompanyGenerator.getRandomCompany();
@@ -77,7 +80,7 @@ public class InvoiceGenerator {
 
     public static Invoice getRandomInvoiceWithSpecificIssuedDate(LocalDate issuedDate) {
         Long id = IdGenerator.getNextId();
-        String number = WordGenerator.getRandomWord("1");
+        String number = getUniqueNumber();
         LocalDate dueDate = issuedDate.plusDays(2);
         Company seller = CompanyGenerator.getRandomCompany();
         Company buyer = CompanyGenerator.getRandomCompany();
@@ -98,7 +101,7 @@ public class InvoiceGenerator {
     }
 
     public static Invoice getRandomInvoiceWithFixedIdsAndIssuedDate(Long id, LocalDate issuedDate) {
-        String number = WordGenerator.getRandomWord("1");
+        String number = getUniqueNumber();
         LocalDate dueDate = issuedDate.plusDays(2);
         Company seller = CompanyGenerator.getRandomCompanyWithIdEqualZero();
         Company buyer = CompanyGenerator.getRandomCompanyWithIdEqualZero();
@@ -119,7 +122,7 @@ public class InvoiceGenerator {
     }
 
     public static Invoice getRandomInvoiceWithSpecificIdCompaniesAndEntriesWithIdsEqualZero(Long id) {
-        String number = WordGenerator.getRandomWord("1");
+        String number = getUniqueNumber();
         LocalDate issuedDate = LocalDate.now();
         LocalDate dueDate = issuedDate.plusDays(2);
         Company seller = CompanyGenerator.getRandomCompanyWithIdEqualZero();
@@ -139,4 +142,21 @@ public class InvoiceGenerator {
             .withEntries(entries)
             .build();
     }
+
+    public static Invoice getRandomInvoiceWithSpecificNumber(String number) {
+        Invoice invoice = getRandomInvoice();
+        return Invoice.builder()
+            .withId(invoice.getId())
+            .withNumber(number)
+            .withIssuedDate(invoice.getIssuedDate())
+            .withDueDate(invoice.getDueDate())
+            .withSeller(invoice.getSeller())
+            .withBuyer(invoice.getBuyer())
+            .withEntries(invoice.getEntries())
+            .build();
+    }
+
+    private static String getUniqueNumber() {
+        return String.format("%s/%d", WordGenerator.getRandomWord(), numberSequence.incrementAndGet());
+    }
 }
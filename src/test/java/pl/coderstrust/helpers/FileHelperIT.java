@@ -1,6 +1,7 @@
 package pl.coderstrust.helpers;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -14,6 +15,7 @@ import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -111,6 +113,40 @@ class FileHelperIT {
         assertEquals(lines, result);
     }
 
+    @Test
+    void shouldReadLineAtGivenOffset() throws IOException {
+        FileUtils.writeLines(inputFile, ENCODING.name(), Arrays.asList("bla1", "żółw", "bla3"), "\n", false);
+        String result = fileHelper.readLine(INPUT_FILE, 5, "żółw".getBytes(ENCODING).length);
+        assertEquals("żółw", result);
+    }
+
+    @Test
+    void shouldVisitEachLineWithOffsetAndLength() throws IOException {
+        FileUtils.writeLines(inputFile, ENCODING.name(), Arrays.asList("bla1", "żółw", "bla3"), "\r\n", false);
+        List<String> result = new ArrayList<>();
+        fileHelper.forEachLine(INPUT_FILE, (offset, length, line) -> result.add(String.format("%d:%d:%s", offset, length, line)));
+        assertEquals(Arrays.asList("0:4:bla1", "6:7:żółw", "15:4:bla3"), result);
+    }
+
+    @Test
+    void shouldReadBytesAtGivenOffset() throws IOException {
+        FileUtils.write(inputFile, "bla1bla2", ENCODING);
+        assertArrayEquals("bla2".getBytes(ENCODING), fileHelper.readBytes(INPUT_FILE, 4, 4));
+    }
+
+    @Test
+    void shouldTruncateFileToGivenSize() throws IOException {
+        FileUtils.write(inputFile, "bla1bla2", ENCODING);
+        fileHelper.truncate(INPUT_FILE, 4);
+        assertEquals("bla1", FileUtils.readFileToString(inputFile, ENCODING));
+    }
+
+    @Test
+    void shouldReturnSizeOfFile() throws IOException {
+        FileUtils.write(inputFile, "test", ENCODING);
+        assertEquals(4, fileHelper.size(INPUT_FILE));
+    }
+
     @Test
     void shouldClearFile() throws IOException {
         expectedFile.createNewFile();
@@ -177,6 +213,31 @@ class FileHelperIT {
         assertThrows(IllegalArgumentException.class, () -> fileHelper.readLines(null));
     }
 
+    @Test
+    void readLineMethodShouldThrowExceptionForNullFilePathArgument() {
+        assertThrows(IllegalArgumentException.class, () -> fileHelper.readLine(null, 0, 1));
+    }
+
+    @Test
+    void readLineMethodShouldThrowExceptionForNegativeOffsetArgument() {
+        assertThrows(IllegalArgumentException.class, () -> fileHelper.readLine(INPUT_FILE, -1, 1));
+    }
+
+    @Test
+    void readBytesMethodShouldThrowExceptionForNegativeLengthArgument() {
+        assertThrows(IllegalArgumentException.class, () -> fileHelper.readBytes(INPUT_FILE, 0, -1));
+    }
+
+    @Test
+    void truncateMethodShouldThrowExceptionForNegativeSizeArgument() {
+        assertThrows(IllegalArgumentException.class, () -> fileHelper.truncate(INPUT_FILE, -1));
+    }
+
+    @Test
+    void forEachLineMethodShouldThrowExceptionForNullConsumerArgument() {
+        assertThrows(IllegalArgumentException.class, () -> fileHelper.forEachLine(INPUT_FILE, null));
+    }
+
     @Test
     void readLastLineMethodShouldThrowExceptionForNullFilePathArgument() {
         assertThrows(IllegalArgumentException.class, () -> fileHelper.readLastLine(null));
@@ -13,9 +13,11 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
@@ -30,6 +32,7 @@ import pl.coderstrust.database.Database;
 import pl.coderstrust.database.DatabaseOperationException;
 import pl.coderstrust.generators.InvoiceGenerator;
 import pl.coderstrust.model.Invoice;
+import pl.coderstrust.model.InvoiceTotal;
 
 @ExtendWith(MockitoExtension.class)
 class InvoiceServiceTest {
@@ -128,6 +131,82 @@ class InvoiceServiceTest {
         verify(database, never()).exists(invoiceToAdd.getId());
     }
 
+    @Test
+    void shouldReturnPageOfInvoices() throws ServiceOperationException, DatabaseOperationException {
+        //given
+        List<Invoice> invoices = List.of(InvoiceGenerator.getRandomInvoice(), InvoiceGenerator.getRandomInvoice());
+        when(database.getPage(1L, 2)).thenReturn(invoices);
+
+        //when
+        List<Invoice> result = invoiceService.getInvoicesPage(1L, 2);
+
+        //then
+        assertEquals(invoices, result);
+        verify(database).getPage(1L, 2);
+    }
+
+    @Test
+    void getInvoicesPageMethodShouldThrowExceptionWhenAnErrorOccurDuringGettingPageFromDatabase() throws DatabaseOperationException {
+        //given
+        doThrow(new DatabaseOperationException()).when(database).getPage(null, 2);
+
+        //then
+        assertThrows(ServiceOperationException.class, () -> invoiceService.getInvoicesPage(null, 2));
+        assertThrows(IllegalArgumentException.class, () -> invoiceService.getInvoicesPage(null, 0));
+    }
+
+    @Test
+    void shouldStreamInvoices() throws ServiceOperationException, DatabaseOperationException {
+        //given
+        List<Invoice> invoices = List.of(InvoiceGenerator.getRandomInvoice(), InvoiceGenerator.getRandomInvoice());
+        when(database.stream()).thenReturn(invoices.stream());
+
+        //when
+        List<Invoice> result;
+        try (Stream<Invoice> stream = invoiceService.streamInvoices()) {
+            result = stream.collect(Collectors.toList());
+        }
+
+        //then
+        assertEquals(invoices, result);
+        verify(database).stream();
+    }
+
+    @Test
+    void streamInvoicesMethodShouldThrowExceptionWhenAnErrorOccurDuringStreamingFromDatabase() throws DatabaseOperationException {
+        //given
+        doThrow(new DatabaseOperationException()).when(database).stream();
+
+        //then
+        assertThrows(ServiceOperationException.class, () -> invoiceService.streamInvoices());
+    }
+
+    @Test
+    void shouldAddInvoices() throws ServiceOperationException, DatabaseOperationException {
+        //given
+        List<Invoice> invoicesToAdd = List.of(InvoiceGenerator.getRandomInvoiceWithNullId(), InvoiceGenerator.getRandomInvoiceWithNullId());
+        List<Invoice> addedInvoices = List.of(InvoiceGenerator.getRandomInvoice(), InvoiceGenerator.getRandomInvoice());
+        when(database.saveAll(invoicesToAdd)).thenReturn(addedInvoices);
+
+        //when
+        Collection<Invoice> result = invoiceService.addInvoices(invoicesToAdd);
+
+        //then
+        assertEquals(addedInvoices, result);
+        verify(database).saveAll(invoicesToAdd);
+    }
+
+    @Test
+    void addInvoicesMethodShouldThrowExceptionWhenAnErrorOccurDuringAddingInvoicesToDatabase() throws DatabaseOperationException {
+        //given
+        List<Invoice> invoices = List.of(InvoiceGenerator.getRandomInvoiceWithNullId());
+        doThrow(new DatabaseOperationException()).when(database).saveAll(invoices);
+
+        //then
+        assertThrows(ServiceOperationException.class, () -> invoiceService.addInvoices(invoices));
+        assertThrows(IllegalArgumentException.class, () -> invoiceService.addInvoices(null));
+    }
+
     @Test
     void addInvoiceMethodShouldThrowExceptionForInvoiceExistingInDatabase() throws DatabaseOperationException {
         //given
@@ -417,4 +496,36 @@ class InvoiceServiceTest {
 
         verify(database).getByIssueDate(startDate, endDate);
     }
+
+    @Test
+    void shouldReturnInvoiceTotals() throws ServiceOperationException, DatabaseOperationException {
+        //given
+        LocalDate startDate = LocalDate.of(2019, 8, 1);
+        LocalDate endDate = LocalDate.of(2019, 8, 31);
+        List<InvoiceTotal> totals = List.of(InvoiceTotal.builder().withPeriod(YearMonth.of(2019, 8)).withSellerTaxId("1234567890").build());
+        when(database.getTotals(startDate, endDate)).thenReturn(totals);
+
+        //when
+        Collection<InvoiceTotal> result = invoiceService.getTotals(startDate, endDate);
+
+        //then
+        assertEquals(totals, result);
+        verify(database).getTotals(startDate, endDate);
+    }
+
+    @ParameterizedTest
+    @MethodSource("invalidIssuedDateArgumentsAndExceptionMessages")
+    void getTotalsMethodShouldThrowExceptionWhenInvalidArgumentsArePassed(LocalDate startDate, LocalDate endDate, String message) {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> invoiceService.getTotals(startDate, endDate));
+        assertEquals(message, exception.getMessage());
+    }
+
+    @Test
+    void getTotalsMethodShouldThrowExceptionWhenDatabaseOperationExceptionOccurs() throws DatabaseOperationException {
+        LocalDate startDate = LocalDate.of(2019, 8, 1);
+        doThrow(new DatabaseOperationException()).when(database).getTotals(startDate, startDate);
+
+        ServiceOperationException exception = assertThrows(ServiceOperationException.class, () -> invoiceService.getTotals(startDate, startDate));
+        assertEquals("An error occurred during getting invoice totals.", exception.getMessage());
+    }
 }